@@ -2,11 +2,17 @@ package com.company.employee;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class EmployeeServiceApplication {
 
+    /** Startup steps kept for the timing report and /actuator/startup. */
+    private static final int STARTUP_STEP_CAPACITY = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(EmployeeServiceApplication.class, args);
+        SpringApplication app = new SpringApplication(EmployeeServiceApplication.class);
+        app.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        app.run(args);
     }
 }
@@ -0,0 +1,229 @@
+package com.company.employee.config;
+
+import com.company.employee.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how many database connections request threads hold at once, and adapts the limit to
+ * the latency the database delivers (gradient with AIMD backoff).
+ *
+ * Every connection hold is one sample. Samples are averaged in windows of at least 100 ms and
+ * 10 samples, and each window is compared with a baseline of the latency when not overloaded
+ * (it follows drops quickly and rises slowly, over about a minute):
+ * - latency within tolerance of the baseline: the limit grows by about sqrt(limit) per window;
+ * - latency above it: the limit shrinks in proportion (down to half per window), so a slow
+ *   database gets fewer concurrent queries instead of a longer pool queue;
+ * - a connection request that timed out in the pool cuts the limit by 10% at once.
+ * Windows in which less than half the limit was used leave it unchanged.
+ *
+ * Connections beyond the limit are refused straight away with ServiceUnavailableException
+ * (503 with Retry-After). Read-only transactions may use readShare of the limit; writes may use
+ * all of it, so a flood of reads cannot starve them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.db-concurrency.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    public enum Lane { READ, WRITE }
+
+    /** A window closes (and the limit is updated) once it spans both of these. */
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int WINDOW_MIN_SAMPLES = 10;
+    /** Windows the latency baseline averages over when latency rises (about a minute under load). */
+    private static final int BASELINE_WINDOWS = 600;
+    private static final double BASELINE_FALL = 0.2;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double readShare;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger readsInFlight = new AtomicInteger();
+    private final LongAdder readsRejected = new LongAdder();
+    private final LongAdder writesRejected = new LongAdder();
+    private volatile double limit;
+
+    // Current window and baseline, guarded by this
+    private long windowStart = System.nanoTime();
+    private long windowNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double baselineNanos;
+
+    public AdaptiveConcurrencyLimiter(DbConcurrencyProperties properties, Environment environment) {
+        int max = properties.getMaxLimit() > 0 ? properties.getMaxLimit()
+                : environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        this.minLimit = Math.max(1, Math.min(properties.getMinLimit(), max));
+        this.maxLimit = max;
+        this.readShare = properties.getReadShare();
+        this.tolerance = properties.getTolerance();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+        if (readShare <= 0 || readShare > 1 || tolerance < 1) {
+            throw new IllegalStateException("app.db-concurrency needs 0 < read-share <= 1 and tolerance >= 1");
+        }
+    }
+
+    /**
+     * Takes a slot for a connection in the given lane.
+     *
+     * @throws ServiceUnavailableException if the lane is at its limit
+     */
+    public Permit acquire(Lane lane) {
+        int current = (int) limit;
+        while (true) {
+            int used = inFlight.get();
+            if (used >= current) {
+                throw reject(lane);
+            }
+            if (inFlight.compareAndSet(used, used + 1)) {
+                break;
+            }
+        }
+        if (lane == Lane.READ && readsInFlight.incrementAndGet() > Math.max(1, (int) (current * readShare))) {
+            readsInFlight.decrementAndGet();
+            inFlight.decrementAndGet();
+            throw reject(lane);
+        }
+        return new Permit(lane, inFlight.get());
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Database connections request threads may currently hold at once")
+                .register(registry);
+        Gauge.builder("db.concurrency.in.flight", readsInFlight, AtomicInteger::get)
+                .tag("lane", "read")
+                .register(registry);
+        Gauge.builder("db.concurrency.in.flight", this, limiter -> limiter.inFlight.get() - limiter.readsInFlight.get())
+                .tag("lane", "write")
+                .register(registry);
+        FunctionCounter.builder("db.concurrency.rejected", readsRejected, LongAdder::sum)
+                .description("Requests refused with 503 because the database concurrency limit was reached")
+                .tag("lane", "read")
+                .register(registry);
+        FunctionCounter.builder("db.concurrency.rejected", writesRejected, LongAdder::sum)
+                .description("Requests refused with 503 because the database concurrency limit was reached")
+                .tag("lane", "write")
+                .register(registry);
+        Gauge.builder("db.concurrency.latency.baseline", this, limiter -> limiter.baseline() / 1_000_000.0)
+                .description("Long-term average connection hold time the limit is adapted against")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private ServiceUnavailableException reject(Lane lane) {
+        (lane == Lane.READ ? readsRejected : writesRejected).increment();
+        return new ServiceUnavailableException("The database is overloaded, retry later", 1);
+    }
+
+    private synchronized double baseline() {
+        return baselineNanos;
+    }
+
+    private synchronized void onSample(long nanos, int inFlightAtStart) {
+        windowNanos += nanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+        long now = System.nanoTime();
+        if (++windowSamples < WINDOW_MIN_SAMPLES || now - windowStart < WINDOW_NANOS) {
+            return;
+        }
+        double sample = (double) windowNanos / windowSamples;
+        int used = windowMaxInFlight;
+        windowStart = now;
+        windowNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        if (baselineNanos == 0 || sample < baselineNanos) {
+            // Follow improvements quickly (e.g. once warm-up or a slow period is over) ...
+            baselineNanos = baselineNanos == 0 ? sample : baselineNanos + (sample - baselineNanos) * BASELINE_FALL;
+        } else {
+            // ... and slowdowns only gradually, so overload shows up as a gradient first
+            baselineNanos += (sample - baselineNanos) * 2 / (BASELINE_WINDOWS + 1);
+        }
+        double current = limit;
+        if (used < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineNanos / sample));
+        double target = current * gradient + Math.sqrt(current);
+        setLimit(current * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private synchronized void onPoolTimeout() {
+        setLimit(limit * BACKOFF);
+    }
+
+    private void setLimit(double next) {
+        double previous = limit;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+        if ((int) previous != (int) limit) {
+            log.debug("Database concurrency limit {} -> {}", (int) previous, (int) limit);
+        }
+    }
+
+    /** One connection hold; release it exactly once when the connection is closed or was not obtained. */
+    public final class Permit {
+
+        private final Lane lane;
+        private final int inFlightAtStart;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Lane lane, int inFlightAtStart) {
+            this.lane = lane;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** Records how long the connection was held. */
+        public void release() {
+            if (free()) {
+                onSample(System.nanoTime() - startNanos, inFlightAtStart);
+            }
+        }
+
+        /** The pool did not hand out a connection in time: backs the limit off. */
+        public void releaseAfterPoolTimeout() {
+            if (free()) {
+                onPoolTimeout();
+            }
+        }
+
+        /** Gives the slot back without a latency sample (the connection failed for another reason). */
+        public void releaseWithoutSample() {
+            free();
+        }
+
+        private boolean free() {
+            if (!released.compareAndSet(false, true)) {
+                return false;
+            }
+            if (lane == Lane.READ) {
+                readsInFlight.decrementAndGet();
+            }
+            inFlight.decrementAndGet();
+            return true;
+        }
+    }
+}
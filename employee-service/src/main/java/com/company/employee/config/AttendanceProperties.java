@@ -0,0 +1,53 @@
+package com.company.employee.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Attendance check-in ingestion (AttendanceIngestor) and the rolling percentage folded into
+ * Employee.attendance (AttendanceRollup).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.attendance")
+public class AttendanceProperties {
+
+    /** Events accepted but not yet written; beyond this, requests get 503 with Retry-After. */
+    private int queueCapacity = 100_000;
+
+    /** Events per insert batch. */
+    private int writeBatchSize = 2_000;
+
+    /** How long the writer waits for a batch to fill before writing what it has. */
+    private Duration flushInterval = Duration.ofMillis(250);
+
+    /** Time zone that decides which day an event belongs to. */
+    private ZoneId zone = ZoneId.of("UTC");
+
+    /** Check-ins may be this many days late (0: today only). */
+    private int lateDays = 1;
+
+    /** The rolling percentage covers this many days, ending today. */
+    private int windowDays = 30;
+
+    /** Days that count towards the percentage; check-ins on other days are kept but ignored. */
+    private Set<DayOfWeek> workingDays = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+    /** How often employees with new check-ins get their attendance recomputed. */
+    private Duration rollupInterval = Duration.ofMinutes(1);
+
+    /** Employees per recompute transaction. */
+    private int rollupBatchSize = 500;
+
+    /** Check-ins are kept this long; must exceed the window. */
+    private Duration retention = Duration.ofDays(90);
+}
@@ -0,0 +1,26 @@
+package com.company.employee.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * In-process Caffeine caches (size and TTL from spring.cache.caffeine.spec).
+ *
+ * The caching advice runs before the transaction advice, so a cache hit does not open a
+ * transaction or take a connection. Writes evict through CacheInvalidationBus, which also
+ * tells the other instances.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    /** UserDetails by username or email (UserDetailsServiceImpl). */
+    public static final String USER_DETAILS = "userDetails";
+
+    /** EmployeeResponse by id. */
+    public static final String EMPLOYEES = "employees";
+
+    /** Employee list pages by page, size, sort and filters. */
+    public static final String EMPLOYEE_PAGES = "employeePages";
+}
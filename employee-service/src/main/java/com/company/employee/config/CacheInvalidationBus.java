@@ -0,0 +1,225 @@
+package com.company.employee.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the in-process caches of all instances coherent with the database.
+ *
+ * Writes call {@link #evictAfterCommit} / {@link #clearAfterCommit}. The entries collected in a
+ * transaction are sent with one {@code pg_notify} inside that transaction, which PostgreSQL
+ * delivers to every listening instance (see CacheInvalidationListener) only if and when it
+ * commits; the local caches are evicted right after the commit. A message is one entry per line:
+ * "{cache} L{long key}", "{cache} S{string key}" or "{cache} *" to clear the cache.
+ *
+ * Other in-memory state can ride on the same channel: a {@link Subscriber} registered for a topic
+ * receives the "{topic} {message}" entries sent with {@link #publishAfterCommit}, and is told to
+ * resync wherever a cache would be cleared (lost or oversized notifications).
+ *
+ * A read that started before the commit can still put the old value back after the eviction;
+ * the cache TTL bounds how long that can last.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    /** PostgreSQL rejects NOTIFY payloads of 8000 bytes or more. */
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final String CLEAR = "*";
+
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final boolean broadcasting;
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(CacheManager cacheManager, JdbcTemplate jdbcTemplate,
+                                CacheInvalidationProperties properties, DataSourceProperties dataSourceProperties) {
+        this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = properties.getChannel();
+        if (!channel.matches("[a-z_]+")) {
+            throw new IllegalStateException("app.cache.invalidation.channel must be lower-case letters and underscores: "
+                    + channel);
+        }
+        String url = dataSourceProperties.determineUrl();
+        this.broadcasting = properties.isEnabled() && url != null && url.startsWith("jdbc:postgresql:");
+        if (properties.isEnabled() && !broadcasting) {
+            log.info("Cache invalidation stays local: the datasource is not PostgreSQL");
+        }
+    }
+
+    /** Whether invalidations are sent to (and received from) other instances. */
+    public boolean isBroadcasting() {
+        return broadcasting;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /** Evicts {@code key} (a Long or String) from {@code cacheName} on every instance once the current transaction commits. */
+    public void evictAfterCommit(String cacheName, Object key) {
+        String entry;
+        if (key instanceof Long || key instanceof Integer) {
+            entry = cacheName + " L" + ((Number) key).longValue();
+        } else if (key instanceof String && ((String) key).indexOf('\n') < 0) {
+            entry = cacheName + " S" + key;
+        } else {
+            entry = cacheName + " " + CLEAR;
+        }
+        enqueue(entry);
+    }
+
+    /** Clears {@code cacheName} on every instance once the current transaction commits. */
+    public void clearAfterCommit(String cacheName) {
+        enqueue(cacheName + " " + CLEAR);
+    }
+
+    /** Registers the receiver of every message published on {@code topic}, on this instance. */
+    public void subscribe(String topic, Subscriber subscriber) {
+        if (topic.indexOf(' ') >= 0 || topic.indexOf('\n') >= 0 || cacheManager.getCacheNames().contains(topic)) {
+            throw new IllegalArgumentException("Invalid invalidation topic: " + topic);
+        }
+        subscribers.put(topic, subscriber);
+    }
+
+    /**
+     * Delivers {@code message} (one line, not "*") to the subscriber of {@code topic} on every
+     * instance once the current transaction commits.
+     */
+    public void publishAfterCommit(String topic, String message) {
+        if (message.isEmpty() || message.indexOf('\n') >= 0 || CLEAR.equals(message)) {
+            throw new IllegalArgumentException("Invalid invalidation message: " + message);
+        }
+        enqueue(topic + " " + message);
+    }
+
+    /** Applies a message received from another instance (or this one). */
+    public void apply(String payload) {
+        for (String entry : payload.split("\n")) {
+            applyEntry(entry);
+        }
+    }
+
+    /** Clears every cache and resyncs every subscriber; used when invalidations may have been missed. */
+    public void clearAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.onResync();
+        }
+    }
+
+    private void enqueue(String entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Set<String> entries = Set.of(entry);
+            send(entries);
+            entries.forEach(this::applyEntry);
+            return;
+        }
+        PendingInvalidations pending = (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInvalidations();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.entries.add(entry);
+    }
+
+    private void send(Set<String> entries) {
+        if (!broadcasting || entries.isEmpty()) {
+            return;
+        }
+        String payload = String.join("\n", entries);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            // Too many keys for one NOTIFY: clear the affected caches instead
+            Set<String> clears = new LinkedHashSet<>();
+            for (String entry : entries) {
+                clears.add(entry.substring(0, entry.indexOf(' ')) + " " + CLEAR);
+            }
+            payload = String.join("\n", clears);
+        }
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", channel, payload);
+    }
+
+    private void applyEntry(String entry) {
+        int space = entry.indexOf(' ');
+        if (space < 1 || space == entry.length() - 1) {
+            log.warn("Ignoring malformed cache invalidation: {}", entry);
+            return;
+        }
+        String key = entry.substring(space + 1);
+        Subscriber subscriber = subscribers.get(entry.substring(0, space));
+        if (subscriber != null) {
+            try {
+                if (CLEAR.equals(key)) {
+                    subscriber.onResync();
+                } else {
+                    subscriber.onMessage(key);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Invalidation subscriber failed on {}: {}", entry, e.getMessage());
+            }
+            return;
+        }
+        Cache cache = cacheManager.getCache(entry.substring(0, space));
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR.equals(key)) {
+            cache.clear();
+        } else if (key.charAt(0) == 'L') {
+            cache.evict(Long.valueOf(key.substring(1)));
+        } else if (key.charAt(0) == 'S') {
+            cache.evict(key.substring(1));
+        } else {
+            log.warn("Ignoring malformed cache invalidation: {}", entry);
+        }
+    }
+
+    /** Receives the messages of one topic. */
+    public interface Subscriber {
+
+        void onMessage(String message);
+
+        /** Messages may have been missed: rebuild the state from the database. */
+        void onResync();
+    }
+
+    /** Invalidations of one transaction: notified before it commits, applied locally after. */
+    private final class PendingInvalidations implements TransactionSynchronization {
+
+        private final Set<String> entries = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Runs in the transaction: the NOTIFY is delivered if and only if the write commits
+            send(entries);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(CacheInvalidationBus.this);
+            if (status == STATUS_COMMITTED) {
+                entries.forEach(CacheInvalidationBus.this::applyEntry);
+            }
+        }
+    }
+}
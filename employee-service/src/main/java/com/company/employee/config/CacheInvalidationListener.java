@@ -0,0 +1,148 @@
+package com.company.employee.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Receives the cache invalidations sent by CacheInvalidationBus on any instance.
+ *
+ * LISTENs on a dedicated connection outside the pool. Notifications sent while that connection is
+ * down are lost, so after every (re)connect all local caches are cleared (and bus subscribers
+ * resynced) before listening resumes.
+ * The connection is checked with a query whenever no notification arrives for pollTimeout.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationListener {
+
+    private static final String APPLICATION_NAME = "employee-service-cache-listener";
+
+    private final CacheInvalidationBus bus;
+    private final CacheInvalidationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final Counter received;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running = true;
+    private volatile Connection connection;
+
+    public CacheInvalidationListener(CacheInvalidationBus bus, CacheInvalidationProperties properties,
+                                     DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        this.bus = bus;
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.received = Counter.builder("cache.invalidation.received")
+                .description("Cache invalidation messages received over LISTEN/NOTIFY")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.listener.connected", this, listener -> listener.connection != null ? 1 : 0)
+                .description("1 while the cache invalidation listener is connected")
+                .register(meterRegistry);
+        if (bus.isBroadcasting()) {
+            executor.execute(this::listen);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        executor.shutdownNow();
+        // Unblocks getNotifications
+        closeQuietly(connection);
+    }
+
+    private void listen() {
+        long delayMs = properties.getReconnectDelay().toMillis();
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection listening = connect(); Statement statement = listening.createStatement()) {
+                statement.execute("LISTEN " + bus.getChannel());
+                connection = listening;
+                bus.clearAll();
+                if (reconnecting) {
+                    log.info("Cache invalidation listener reconnected; local caches cleared");
+                } else {
+                    log.info("Listening for cache invalidations on channel {}", bus.getChannel());
+                }
+                delayMs = properties.getReconnectDelay().toMillis();
+                receive(listening, statement);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener disconnected ({}), reconnecting in {} ms", e.getMessage(), delayMs);
+            } finally {
+                connection = null;
+            }
+            reconnecting = true;
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delayMs = Math.min(delayMs * 2, properties.getMaxReconnectDelay().toMillis());
+        }
+    }
+
+    private void receive(Connection listening, Statement statement) throws SQLException {
+        PGConnection pgConnection = listening.unwrap(PGConnection.class);
+        int timeoutMs = (int) properties.getPollTimeout().toMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(timeoutMs);
+            if (notifications == null || notifications.length == 0) {
+                // Nothing for a while: make sure the connection is still alive
+                statement.execute("SELECT 1");
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                received.increment();
+                bus.apply(notification.getParameter());
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties info = new Properties();
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        if (username != null) {
+            info.setProperty("user", username);
+        }
+        if (password != null) {
+            info.setProperty("password", password);
+        }
+        info.setProperty("ApplicationName", APPLICATION_NAME);
+        info.setProperty("tcpKeepAlive", "true");
+        info.setProperty("connectTimeout", "10");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), info);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing cache invalidation listener connection failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.company.employee.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cross-instance cache invalidation over PostgreSQL LISTEN/NOTIFY (see CacheInvalidationBus).
+ * Only active when spring.datasource.url is a PostgreSQL URL; otherwise evictions stay local.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.cache.invalidation")
+public class CacheInvalidationProperties {
+
+    private boolean enabled = true;
+
+    /** NOTIFY/LISTEN channel; lower-case letters and underscores only. */
+    private String channel = "cache_invalidation";
+
+    /** Longest wait for a notification before the listener connection is checked with a query. */
+    private Duration pollTimeout = Duration.ofSeconds(10);
+
+    /** First delay before reconnecting the listener; doubles up to maxReconnectDelay. */
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+
+    private Duration maxReconnectDelay = Duration.ofSeconds(30);
+}
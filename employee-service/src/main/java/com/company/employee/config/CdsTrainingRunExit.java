@@ -0,0 +1,25 @@
+package com.company.employee.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exits right after the context has started (before runners touch the database) when
+ * app.startup.exit-after-start=true. Used by the Docker build to run a training start that
+ * records the loaded classes for the AppCDS archive.
+ */
+@Component
+@ConditionalOnProperty(name = "app.startup.exit-after-start", havingValue = "true")
+@Slf4j
+public class CdsTrainingRunExit implements ApplicationListener<ApplicationStartedEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        log.info("Training run complete, exiting");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
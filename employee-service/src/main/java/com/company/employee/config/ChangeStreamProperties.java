@@ -0,0 +1,45 @@
+package com.company.employee.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the employee change stream (GET /employees/changes, see EmployeeChangeStream).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeStreamProperties {
+
+    /** How often the shared poller reads new outbox rows. */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /** Comment frame sent to idle subscribers so proxies keep the connection and dead clients are noticed. */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /** Subscriptions are closed after this long; EventSource clients reconnect with Last-Event-ID. */
+    private Duration subscriberTimeout = Duration.ofMinutes(30);
+
+    private int maxSubscribers = 10_000;
+
+    /** Undelivered events per subscriber before a slow subscriber is disconnected. */
+    private int subscriberBuffer = 1_000;
+
+    /** Most events replayed on resume; further behind, the client gets a reset event. */
+    private int maxBackfill = 1_000;
+
+    /**
+     * How long the poller waits for a missing outbox id (a transaction that has not committed yet)
+     * before skipping it as rolled back.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(5);
+
+    private Duration retention = Duration.ofDays(7);
+
+    private int fanOutThreads = 2;
+}
@@ -0,0 +1,94 @@
+package com.company.employee.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Puts the application DataSource behind AdaptiveConcurrencyLimiter.
+ *
+ * Connections taken on request threads need a permit, held until the connection is closed;
+ * without one the request fails fast instead of queueing in the pool for up to its
+ * connection-timeout. Other threads (migrations, pollers, listeners) are not limited.
+ * As in ReplicaRoutingDataSource, the physical connection is fetched lazily on the first
+ * statement, when the transaction's read-only flag (which picks the lane) is known.
+ */
+public class ConcurrencyLimitedDataSource extends LazyConnectionDataSourceProxy {
+
+    public ConcurrencyLimitedDataSource(DataSource pool, AdaptiveConcurrencyLimiter limiter) {
+        setTargetDataSource(new Limited(pool, limiter));
+    }
+
+    private static final class Limited extends DelegatingDataSource {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+
+        private Limited(DataSource pool, AdaptiveConcurrencyLimiter limiter) {
+            super(pool);
+            this.limiter = limiter;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (RequestContextHolder.getRequestAttributes() == null) {
+                return super.getConnection();
+            }
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(
+                    TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                            ? AdaptiveConcurrencyLimiter.Lane.READ : AdaptiveConcurrencyLimiter.Lane.WRITE);
+            Connection connection;
+            try {
+                connection = super.getConnection();
+            } catch (SQLTransientConnectionException ex) {
+                permit.releaseAfterPoolTimeout();
+                throw ex;
+            } catch (SQLException | RuntimeException ex) {
+                permit.releaseWithoutSample();
+                throw ex;
+            }
+            return (Connection) Proxy.newProxyInstance(ConcurrencyLimitedDataSource.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, new ReleaseOnClose(connection, permit));
+        }
+    }
+
+    private static final class ReleaseOnClose implements InvocationHandler {
+
+        private final Connection target;
+        private final AdaptiveConcurrencyLimiter.Permit permit;
+
+        private ReleaseOnClose(Connection target, AdaptiveConcurrencyLimiter.Permit permit) {
+            this.target = target;
+            this.permit = permit;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    permit.release();
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+}
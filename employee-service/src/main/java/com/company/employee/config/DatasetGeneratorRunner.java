@@ -0,0 +1,42 @@
+package com.company.employee.config;
+
+import com.company.employee.dto.DatasetRequest;
+import com.company.employee.service.DatasetGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line data set generation: with app.dataset.run=true the application generates the
+ * data set configured by app.dataset.* after the seed users are loaded, then exits (status 1
+ * on failure). Combine with spring.main.web-application-type=none to skip the web server.
+ */
+@Component
+@Order(2)
+@ConditionalOnProperty(name = "app.dataset.run", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    private final DatasetGenerator datasetGenerator;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            log.info("Data set generated: {}", datasetGenerator.generate(new DatasetRequest()));
+        } catch (RuntimeException e) {
+            log.error("Data set generation failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
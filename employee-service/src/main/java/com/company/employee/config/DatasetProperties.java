@@ -0,0 +1,39 @@
+package com.company.employee.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Synthetic data set generation (see DatasetGenerator): defaults for the admin endpoint and the
+ * settings of a command-line run.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.dataset")
+public class DatasetProperties {
+
+    /** Exposes POST/GET /admin/dataset. Off by default: generation writes millions of rows. */
+    private boolean endpointEnabled = false;
+
+    /** Generates a data set on startup, then exits (command-line use, see DatasetGeneratorRunner). */
+    private boolean run = false;
+
+    private long employees = 1_000_000;
+
+    /** Users to create; negative means one per 100 employees. */
+    private int users = -1;
+
+    private long seed = 42;
+
+    /** Number of distinct employeeClass values. */
+    private int classes = 500;
+
+    /** Parallel COPY connections. */
+    private int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /** Rows per COPY transaction. */
+    private int chunkSize = 50_000;
+}
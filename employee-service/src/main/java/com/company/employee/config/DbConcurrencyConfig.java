@@ -0,0 +1,55 @@
+package com.company.employee.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource (auto-configured or ReplicaRoutingDataSource) in a
+ * ConcurrencyLimitedDataSource. Pool metrics and health still reach the pool through the
+ * DelegatingDataSource chain.
+ *
+ * The post-processor is ordered last, after those of QueryTimeoutConfig and TracingConfig, so the
+ * limit is the outermost wrapper and covers the time spent in the others. Like theirs, its @Bean
+ * method declares the Ordered type, as Spring only orders post-processors by their declared type.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db-concurrency.enabled", havingValue = "true", matchIfMissing = true)
+public class DbConcurrencyConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static DataSourcePostProcessor concurrencyLimitedDataSourcePostProcessor(
+            ObjectProvider<AdaptiveConcurrencyLimiter> limiter) {
+        return new DataSourcePostProcessor(limiter);
+    }
+
+    static final class DataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<AdaptiveConcurrencyLimiter> limiter;
+
+        private DataSourcePostProcessor(ObjectProvider<AdaptiveConcurrencyLimiter> limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource
+                    && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                return new ConcurrencyLimitedDataSource((DataSource) bean, limiter.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.company.employee.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive limit on the database connections request threads may hold at once, see
+ * AdaptiveConcurrencyLimiter.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.db-concurrency")
+public class DbConcurrencyProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 10;
+
+    private int minLimit = 2;
+
+    /** Upper bound for the limit; 0 or less means spring.datasource.hikari.maximum-pool-size. */
+    private int maxLimit = 0;
+
+    /** Share of the limit read-only transactions may use; the rest is kept for writes. */
+    private double readShare = 0.75;
+
+    /**
+     * How far latency may rise above its long-term baseline before the limit is lowered
+     * (1.5 = 50% slower).
+     */
+    private double tolerance = 1.5;
+}
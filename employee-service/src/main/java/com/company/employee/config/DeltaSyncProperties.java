@@ -0,0 +1,30 @@
+package com.company.employee.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for GET /employees/delta (see EmployeeDeltaService).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.delta")
+public class DeltaSyncProperties {
+
+    /**
+     * Rows stamped within this window are not returned yet: a transaction that stamped updatedAt
+     * earlier may still be committing. Must exceed the longest employee write transaction plus
+     * clock skew between instances.
+     */
+    private Duration commitWindow = Duration.ofSeconds(2);
+
+    /** Tombstones are kept this long; older tokens get 410 Gone and must resync from scratch. */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    private int maxLimit = 1_000;
+}
@@ -0,0 +1,31 @@
+package com.company.employee.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-memory columnar copy of the employees table (see EmployeeSnapshot) serving GET /employees
+ * and GET /employees/counts.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.employees.snapshot")
+public class EmployeeSnapshotProperties {
+
+    /** Off by default: the snapshot holds every employee in the heap (roughly 150 bytes each). */
+    private boolean enabled = false;
+
+    /** Tables with at least this many rows are scanned and sorted on several cores. */
+    private int parallelThreshold = 100_000;
+
+    /**
+     * How often changes are re-read from the database as a safety net for lost notifications;
+     * committed writes normally reach the snapshot right away.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,69 @@
+package com.company.employee.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Migrates as Spring Boot would, after bringing the recorded checksums of applied migrations up
+ * to date where only their comments were corrected later (EDITED_MIGRATIONS). Each entry replaces
+ * one exact previous checksum, so any other change to an applied migration still fails Flyway's
+ * validation.
+ */
+@Configuration
+@Slf4j
+public class FlywayConfig {
+
+    /** Version, checksum as first released, current checksum. */
+    static final List<EditedMigration> EDITED_MIGRATIONS = List.of(
+            // V6: corrected which sorts idx_employee_class_name_id serves
+            new EditedMigration("6", -1987286072, 1014623359));
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            updateChecksums(flyway);
+            flyway.migrate();
+        };
+    }
+
+    private static void updateChecksums(Flyway flyway) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+        String[] schemas = flyway.getConfiguration().getSchemas();
+        String table = schemas.length > 0
+                ? schemas[0] + "." + flyway.getConfiguration().getTable()
+                : flyway.getConfiguration().getTable();
+        for (EditedMigration migration : EDITED_MIGRATIONS) {
+            int updated;
+            try {
+                updated = jdbcTemplate.update("UPDATE " + table + " SET checksum = ? WHERE version = ? AND checksum = ?",
+                        migration.checksum, migration.version, migration.previousChecksum);
+            } catch (DataAccessException e) {
+                // No history table yet: nothing applied, nothing to update
+                return;
+            }
+            if (updated > 0) {
+                log.info("Updated the recorded checksum of migration V{} after a comment-only change", migration.version);
+            }
+        }
+    }
+
+    static final class EditedMigration {
+
+        private final String version;
+        private final int previousChecksum;
+        private final int checksum;
+
+        EditedMigration(String version, int previousChecksum, int checksum) {
+            this.version = version;
+            this.previousChecksum = previousChecksum;
+            this.checksum = checksum;
+        }
+    }
+}
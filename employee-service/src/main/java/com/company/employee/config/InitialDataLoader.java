@@ -5,17 +5,32 @@ import com.company.employee.model.User;
 import com.company.employee.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Loads initial users on application startup: 1 admin and 5 employee users.
  * Uses BCrypt for password encoding. Skips creation if a user with the same username already exists.
+ *
+ * Existing users are found with one set-based query. Passwords for the missing users are
+ * hashed in parallel, or taken from app.seed.password-hash (a pre-computed BCrypt hash of the
+ * default password) so no hashing happens at all on startup.
  */
 @Component
 @Order(1)
@@ -25,48 +40,77 @@ public class InitialDataLoader implements ApplicationRunner {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationStartup applicationStartup;
+
+    @Value("${app.seed.password-hash:}")
+    private String seedPasswordHash;
 
     private static final String DEFAULT_PASSWORD = "password123";
 
     @Override
     public void run(ApplicationArguments args) {
-        loadAdminUser();
-        loadEmployeeUsers();
-    }
-
-    private void loadAdminUser() {
-        String username = "admin";
-        if (userRepository.existsByUsername(username)) {
-            log.debug("Admin user already exists, skipping");
+        StartupStep step = applicationStartup.start("employee.seed-users");
+        Map<String, Role> seedUsers = seedUsers();
+        Set<String> existing = userRepository.findExistingUsernames(seedUsers.keySet());
+        List<String> missing = new ArrayList<>();
+        for (String username : seedUsers.keySet()) {
+            if (existing.contains(username)) {
+                log.debug("User {} already exists, skipping", username);
+            } else {
+                missing.add(username);
+            }
+        }
+        step.tag("created", String.valueOf(missing.size()));
+        if (missing.isEmpty()) {
+            step.end();
             return;
         }
-        User admin = User.builder()
-                .username(username)
-                .email("admin@example.com")
-                .password(passwordEncoder.encode(DEFAULT_PASSWORD))
-                .roles(Set.of(Role.ROLE_ADMIN))
-                .enabled(true)
-                .build();
-        userRepository.save(admin);
-        log.info("Created admin user: {}", username);
+
+        List<String> hashes = encodePasswords(missing.size());
+        List<User> users = new ArrayList<>(missing.size());
+        for (int i = 0; i < missing.size(); i++) {
+            String username = missing.get(i);
+            users.add(User.builder()
+                    .username(username)
+                    .email(username + "@example.com")
+                    .password(hashes.get(i))
+                    .roles(Set.of(seedUsers.get(username)))
+                    .enabled(true)
+                    .build());
+        }
+        userRepository.saveAll(users);
+        users.forEach(u -> log.info("Created {} user: {}",
+                u.getRoles().contains(Role.ROLE_ADMIN) ? "admin" : "employee", u.getUsername()));
+        step.end();
     }
 
-    private void loadEmployeeUsers() {
+    private Map<String, Role> seedUsers() {
+        Map<String, Role> users = new LinkedHashMap<>();
+        users.put("admin", Role.ROLE_ADMIN);
         for (int i = 1; i <= 5; i++) {
-            String username = "employee" + i;
-            if (userRepository.existsByUsername(username)) {
-                log.debug("User {} already exists, skipping", username);
-                continue;
+            users.put("employee" + i, Role.ROLE_EMPLOYEE);
+        }
+        return users;
+    }
+
+    private List<String> encodePasswords(int count) {
+        List<String> hashes = new ArrayList<>(count);
+        if (StringUtils.hasText(seedPasswordHash)) {
+            for (int i = 0; i < count; i++) {
+                hashes.add(seedPasswordHash);
             }
-            User employee = User.builder()
-                    .username(username)
-                    .email("employee" + i + "@example.com")
-                    .password(passwordEncoder.encode(DEFAULT_PASSWORD))
-                    .roles(Set.of(Role.ROLE_EMPLOYEE))
-                    .enabled(true)
-                    .build();
-            userRepository.save(employee);
-            log.info("Created employee user: {}", username);
+            return hashes;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(count, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<CompletableFuture<String>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(DEFAULT_PASSWORD), pool));
+            }
+            futures.forEach(f -> hashes.add(f.join()));
+            return hashes;
+        } finally {
+            pool.shutdown();
         }
     }
 }
@@ -0,0 +1,50 @@
+package com.company.employee.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary content negotiation for service-to-service calls.
+ *
+ * Adds Smile (application/x-jackson-smile), CBOR (application/cbor) and Protobuf
+ * (application/x-protobuf) converters built from the application's Jackson settings, so
+ * inclusion rules, date handling and custom serializers behave exactly as for JSON.
+ * They are appended after the JSON converter: clients without a matching Accept header
+ * (including Accept: *&#47;*) still get JSON. Applies to every @RestController and to the error
+ * bodies returned by GlobalExceptionHandler.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replace Spring's defaults, which are built without the spring.jackson.* settings
+        converters.removeIf(c -> c instanceof MappingJackson2SmileHttpMessageConverter
+                || c instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+        converters.add(new ProtobufJacksonHttpMessageConverter(
+                objectMapperBuilder.getObject()
+                        .factory(new ProtobufFactory())
+                        .featuresToEnable(JsonGenerator.Feature.IGNORE_UNKNOWN)
+                        .build(),
+                ProtobufSchemas.load()));
+    }
+}
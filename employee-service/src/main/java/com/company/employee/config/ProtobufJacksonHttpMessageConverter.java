@@ -0,0 +1,78 @@
+package com.company.employee.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * application/x-protobuf converter backed by Jackson's protobuf backend, so the same DTOs and
+ * serializers used for JSON are encoded against the message types in proto/employee.proto
+ * (no generated classes).
+ */
+public class ProtobufJacksonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final ObjectMapper objectMapper;
+    private final ProtobufSchemas schemas;
+
+    public ProtobufJacksonHttpMessageConverter(ObjectMapper objectMapper, ProtobufSchemas schemas) {
+        super(ProtobufSchemas.APPLICATION_PROTOBUF);
+        this.objectMapper = objectMapper;
+        this.schemas = schemas;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return schemas.forClass(clazz) != null;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return supports(objectMapper.constructType(GenericTypeResolver.resolveType(type, contextClass)).getRawClass())
+                && canRead(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readJavaType(objectMapper.constructType(GenericTypeResolver.resolveType(type, contextClass)), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return readJavaType(objectMapper.constructType(clazz), inputMessage);
+    }
+
+    private Object readJavaType(JavaType javaType, HttpInputMessage inputMessage) throws IOException {
+        ProtobufSchema schema = schemas.forClass(javaType.getRawClass());
+        try {
+            return objectMapper.readerFor(javaType).with(schema).readValue(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Protobuf parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        ProtobufSchema schema = schemas.forClass(object.getClass());
+        try {
+            objectMapper.writer()
+                    .with(schema)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValue(outputMessage.getBody(), object);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write protobuf: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.employee.config;
+
+import com.company.employee.dto.ApiError;
+import com.company.employee.dto.EmployeeRequest;
+import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.dto.LoginRequest;
+import com.company.employee.dto.LoginResponse;
+import com.company.employee.dto.PageResponse;
+import com.company.employee.dto.RefreshTokenRequest;
+import com.company.employee.dto.RegisterRequest;
+import com.company.employee.dto.RegisterResponse;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps DTO classes to their message type in proto/employee.proto.
+ * Only classes listed here can be read or written as application/x-protobuf.
+ */
+public final class ProtobufSchemas {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final String SCHEMA_LOCATION = "proto/employee.proto";
+
+    private final Map<Class<?>, ProtobufSchema> schemas;
+
+    private ProtobufSchemas(Map<Class<?>, ProtobufSchema> schemas) {
+        this.schemas = schemas;
+    }
+
+    public static ProtobufSchemas load() {
+        try (InputStream in = new ClassPathResource(SCHEMA_LOCATION).getInputStream()) {
+            NativeProtobufSchema nativeSchema = ProtobufSchemaLoader.std.loadNative(in, false);
+            Map<Class<?>, ProtobufSchema> schemas = new HashMap<>();
+            schemas.put(EmployeeResponse.class, nativeSchema.forType("EmployeeResponse"));
+            schemas.put(EmployeeRequest.class, nativeSchema.forType("EmployeeRequest"));
+            schemas.put(PageResponse.class, nativeSchema.forType("EmployeePage"));
+            schemas.put(LoginRequest.class, nativeSchema.forType("LoginRequest"));
+            schemas.put(LoginResponse.class, nativeSchema.forType("LoginResponse"));
+            schemas.put(RefreshTokenRequest.class, nativeSchema.forType("RefreshTokenRequest"));
+            schemas.put(RegisterRequest.class, nativeSchema.forType("RegisterRequest"));
+            schemas.put(RegisterResponse.class, nativeSchema.forType("RegisterResponse"));
+            schemas.put(ApiError.class, nativeSchema.forType("ApiError"));
+            return new ProtobufSchemas(schemas);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load " + SCHEMA_LOCATION, e);
+        }
+    }
+
+    /** Returns the schema for the class, or null if it has no protobuf mapping. */
+    public ProtobufSchema forClass(Class<?> clazz) {
+        return schemas.get(clazz);
+    }
+}
@@ -0,0 +1,64 @@
+package com.company.employee.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers which users committed a write recently, so their reads can be kept on the primary
+ * until the replicas have caught up (app.datasource.read-your-writes-window).
+ *
+ * Users are identified by the authenticated principal; anonymous requests are never pinned.
+ * The window is tracked per instance.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_EVERY_WRITES = 1024;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final AtomicInteger writesSincePurge = new AtomicInteger();
+
+    public ReadYourWritesTracker(ReplicaProperties properties) {
+        this.windowNanos = properties.getReadYourWritesWindow().toNanos();
+    }
+
+    /** Records a committed write by the current user. */
+    public void recordWrite() {
+        String user = currentUser();
+        if (user == null || windowNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWriteNanos.put(user, now);
+        if (writesSincePurge.incrementAndGet() >= PURGE_EVERY_WRITES) {
+            writesSincePurge.set(0);
+            lastWriteNanos.values().removeIf(t -> now - t >= windowNanos);
+        }
+    }
+
+    /** True if the current user wrote within the window and must read from the primary. */
+    public boolean isPinnedToPrimary() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long last = lastWriteNanos.get(user);
+        return last != null && System.nanoTime() - last < windowNanos;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.employee.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions (see ReplicaRoutingDataSource).
+ * With no replicas configured, everything runs on the primary spring.datasource.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** How often each replica is probed. */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /** A replica further behind the primary than this is taken out of rotation. */
+    private Duration maxReplicationLag = Duration.ofSeconds(10);
+
+    /** After a user's write commits, that user's reads go to the primary for this long. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+        /** Defaults to spring.datasource.username. */
+        private String username;
+        /** Defaults to spring.datasource.password. */
+        private String password;
+        private int maximumPoolSize = 10;
+        /** Kept short so a dead replica fails over to the primary quickly. */
+        private long connectionTimeoutMs = 2000;
+    }
+}
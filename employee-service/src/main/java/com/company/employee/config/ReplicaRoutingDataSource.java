@@ -0,0 +1,199 @@
+package com.company.employee.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource that sends read-only transactions to a healthy replica and everything else to the
+ * primary.
+ *
+ * The routing decision needs the transaction's read-only flag, which Spring only publishes after
+ * the transaction manager has asked for a connection, so the physical connection is fetched
+ * lazily on the first statement (LazyConnectionDataSourceProxy).
+ *
+ * Replicas are probed in the background; one that is unreachable or lags more than
+ * app.datasource.max-replication-lag is skipped until it recovers, and a failed replica
+ * connection falls back to the primary. Users inside their read-your-writes window (see
+ * ReadYourWritesTracker) always read from the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    /** Seconds the replica is behind the primary; 0 when it has replayed everything it received. */
+    private static final String REPLICATION_LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0"
+                    + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+                    + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWritesTracker readYourWrites;
+    private final long healthCheckIntervalMs;
+    private final double maxLagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replica-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                                    ReplicaProperties properties, ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        for (HikariDataSource pool : replicaPools) {
+            replicas.add(new Replica(pool));
+        }
+        this.readYourWrites = readYourWrites;
+        this.healthCheckIntervalMs = properties.getHealthCheckInterval().toMillis();
+        this.maxLagSeconds = properties.getMaxReplicationLag().toMillis() / 1000.0;
+        setTargetDataSource(new Router());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+        primary.close();
+    }
+
+    private Connection route() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return primary.getConnection();
+        }
+        Replica replica = readYourWrites.isPinnedToPrimary() ? null : pickReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.pool.getConnection();
+        } catch (SQLException ex) {
+            replica.markDown(ex.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    private Replica pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite();
+            }
+        });
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(Math.max(1, (int) (healthCheckIntervalMs / 1000)));
+                try (ResultSet rs = statement.executeQuery(REPLICATION_LAG_SQL)) {
+                    rs.next();
+                    double lagSeconds = rs.getDouble(1);
+                    if (lagSeconds > maxLagSeconds) {
+                        replica.markDown(String.format("replication lag %.1fs", lagSeconds));
+                    } else {
+                        replica.markUp();
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                replica.markDown(ex.getMessage());
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        /** Out of rotation until the first successful probe. */
+        private volatile boolean healthy;
+        private volatile boolean probed;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private void markUp() {
+            probed = true;
+            if (!healthy) {
+                healthy = true;
+                log.info("Replica {} is available for reads", pool.getPoolName());
+            }
+        }
+
+        private void markDown(String reason) {
+            boolean wasHealthy = healthy || !probed;
+            probed = true;
+            if (wasHealthy) {
+                healthy = false;
+                log.warn("Replica {} taken out of rotation, reads fall back to the primary: {}",
+                        pool.getPoolName(), reason);
+            }
+        }
+    }
+
+    /** Physical connection source behind the lazy proxy. */
+    private final class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || primary.isWrapperFor(iface);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.employee.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Report jobs (see ReportJobService): where results go, how the work is split and how much of it
+ * runs at once.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.reports")
+public class ReportProperties {
+
+    /** Report files and in-progress chunk files. Shared storage when several instances run jobs. */
+    private String directory = "reports";
+
+    /** Worker threads shared by all jobs of this instance; each holds a database connection while busy. */
+    private int workers = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /** Chunks of one job processed at the same time, so a large job cannot take every worker. */
+    private int jobParallelism = 2;
+
+    /** Employee ids per chunk (ids, not rows: gaps make chunks smaller). */
+    private int chunkSize = 10_000;
+
+    /** Rows fetched per round trip while streaming a chunk. */
+    private int fetchSize = 1_000;
+
+    /** Queued or running jobs per user; beyond this, submissions get 409. */
+    private int maxActiveJobsPerUser = 2;
+
+    /** Attempts per chunk before the job fails. */
+    private int chunkAttempts = 3;
+
+    /** A running job's lease; after a crash, the job is resumed once it has expired. */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /** Finished jobs and their files are deleted after this. */
+    private Duration retention = Duration.ofDays(7);
+}
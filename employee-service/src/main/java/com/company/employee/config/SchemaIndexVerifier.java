@@ -0,0 +1,74 @@
+package com.company.employee.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Fails startup when an index the queries rely on is missing from the database.
+ *
+ * Indexes come from the Flyway migrations in db/migration. An index counts only if PostgreSQL
+ * marks it valid, so a concurrent build that failed halfway is reported as missing too.
+ * Disable with app.schema.verify-indexes=false (e.g. for databases that are not PostgreSQL).
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+    static final List<String> EXPECTED_INDEXES = List.of(
+            "idx_employee_name_id",
+            "idx_employee_class_name_id",
+            "idx_employee_created_at",
+            "idx_employee_subjects_employee_id",
+            "idx_refresh_tokens_user_id",
+            "idx_refresh_tokens_expiry_date",
+            "idx_user_roles_user_id",
+            "idx_employee_outbox_created_at",
+            "idx_employee_tombstones_deleted_at",
+            "idx_employee_updated_at",
+            "idx_revoked_tokens_expires_at",
+            "idx_attendance_events_day",
+            "idx_report_jobs_username");
+
+    private static final String VALID_INDEXES_SQL =
+            "SELECT c.relname FROM pg_index i"
+                    + " JOIN pg_class c ON c.oid = i.indexrelid"
+                    + " JOIN pg_namespace n ON n.oid = c.relnamespace"
+                    + " WHERE n.nspname = current_schema() AND i.indisvalid";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.schema.verify-indexes:true}")
+    private boolean verifyIndexes;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!verifyIndexes) {
+            return;
+        }
+        Set<String> present = new HashSet<>(jdbcTemplate.queryForList(VALID_INDEXES_SQL, String.class));
+        Set<String> missing = new TreeSet<>();
+        for (String index : EXPECTED_INDEXES) {
+            if (!present.contains(index)) {
+                missing.add(index);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing or invalid database indexes: " + missing
+                    + ". Run the Flyway migrations (db/migration) before starting the service.");
+        }
+        log.info("Verified {} database indexes", EXPECTED_INDEXES.size());
+    }
+}
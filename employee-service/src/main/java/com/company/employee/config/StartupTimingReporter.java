@@ -0,0 +1,55 @@
+package com.company.employee.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Logs a per-phase startup timing report once the application is ready.
+ *
+ * Steps recorded by BufferingApplicationStartup (set in EmployeeServiceApplication) are grouped
+ * by step name, so e.g. all "spring.beans.instantiate" steps are summed. Nested steps are
+ * included in their parent's time as well. The full timeline is also available from
+ * /actuator/startup.
+ */
+@Component
+@Slf4j
+public class StartupTimingReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final int TOP_PHASES = 15;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup)) {
+            return;
+        }
+        StartupTimeline timeline = ((BufferingApplicationStartup) startup).getBufferedTimeline();
+        Map<String, long[]> phases = new HashMap<>();
+        for (StartupTimeline.TimelineEvent e : timeline.getEvents()) {
+            long[] totals = phases.computeIfAbsent(e.getStartupStep().getName(), k -> new long[2]);
+            totals[0] += e.getDuration().toNanos();
+            totals[1]++;
+        }
+
+        StringBuilder report = new StringBuilder("Startup timing (ready after ")
+                .append(Duration.between(timeline.getStartTime(), Instant.now()).toMillis())
+                .append(" ms):");
+        phases.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> p) -> p.getValue()[0]).reversed())
+                .limit(TOP_PHASES)
+                .forEach(p -> report.append(String.format("%n  %-55s %7d ms  (%d steps)",
+                        p.getKey(), p.getValue()[0] / 1_000_000, p.getValue()[1])));
+        log.info(report.toString());
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.employee.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Start-up warm-up (see WarmupRunner): read-only requests against the application's own HTTP
+ * port before the readiness probe reports UP.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /** Requests to send; enough for the hot request path to be compiled by C2. */
+    private int requests = 3000;
+
+    /** Parallel warm-up clients; exercises the connection pool and request threads too. */
+    private int concurrency = 4;
+
+    /** Readiness turns UP after this long even if warm-up has not finished. */
+    private Duration timeout = Duration.ofSeconds(60);
+
+    /** Employees whose ids are used for GET /employees/{id}. */
+    private int sampleSize = 200;
+}
@@ -0,0 +1,206 @@
+package com.company.employee.config;
+
+import com.company.employee.model.EmployeeGroupBy;
+import com.company.employee.model.Role;
+import com.company.employee.security.JwtUtil;
+import com.company.employee.tracing.TraceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warms the JIT, Hibernate's query plans and the Jackson serializers before the instance takes
+ * traffic, so the first real requests after a deploy are not several times slower.
+ *
+ * Runs after the seed users are loaded and sends read-only requests to the application's own
+ * HTTP port, so the whole request path is exercised: security filters, JWT verification, the
+ * list, get-by-id and counts queries with every supported sort and filter, and serialization as
+ * JSON, Smile, CBOR and protobuf. Each request carries a freshly signed token for a synthetic
+ * EMPLOYEE user (no database row), so JWT signing is warmed too; the user changes every
+ * RATE_LIMIT_WINDOW requests to stay within the per-user read burst.
+ *
+ * Application runners finish before Spring Boot switches readiness to ACCEPTING_TRAFFIC, so
+ * /actuator/health/readiness stays DOWN (503) for the whole warm-up, while liveness is already
+ * UP. Warm-up stops at app.warmup.timeout and the instance becomes ready regardless.
+ */
+@Component
+@Order(3)
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final int RATE_LIMIT_WINDOW = 50;
+    private static final int LATENCY_WINDOW = 100;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final String[] SORTS = {
+            "name,asc", "name,desc", "employeeClass,asc", "employeeClass,asc,name,asc",
+            "createdAt,desc", "updatedAt,desc", "id,asc"};
+    private static final int[] PAGE_SIZES = {20, 50, 10};
+    private static final String[] ACCEPT = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            "application/x-jackson-smile", "application/cbor", ProtobufSchemas.APPLICATION_PROTOBUF.toString()};
+    /** Fixed, unsampled parent: warm-up requests share one trace id in the logs and export no spans. */
+    private static final String TRACEPARENT = TraceContext.format(
+            "5761726d75705761726d75705761726d", "5761726d75703031", false);
+
+    private final WarmupProperties properties;
+    private final JwtUtil jwtUtil;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext context;
+    private final Environment environment;
+    private final ApplicationStartup applicationStartup;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!(context instanceof WebServerApplicationContext)
+                || ((WebServerApplicationContext) context).getWebServer() == null) {
+            return;
+        }
+        StartupStep step = applicationStartup.start("employee.warmup");
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                + environment.getProperty("server.servlet.context-path", "");
+        List<String> paths = paths();
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong firstWindowNanos = new AtomicLong();
+        AtomicLong lastWindowNanos = new AtomicLong();
+        int total = properties.getRequests();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()), r -> {
+            Thread thread = new Thread(r, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int w = 0; w < properties.getConcurrency(); w++) {
+            workers.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < total && System.nanoTime() < deadline
+                        && !Thread.currentThread().isInterrupted()) {
+                    long sent = System.nanoTime();
+                    if (!send(client, baseUrl, paths.get(i % paths.size()), i)) {
+                        failed.incrementAndGet();
+                    }
+                    long elapsed = System.nanoTime() - sent;
+                    if (i < LATENCY_WINDOW) {
+                        firstWindowNanos.addAndGet(elapsed);
+                    } else if (i >= total - LATENCY_WINDOW) {
+                        lastWindowNanos.addAndGet(elapsed);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        boolean finished = workers.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        if (!finished) {
+            workers.shutdownNow();
+        }
+
+        int sent = Math.min(next.get(), total);
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        step.tag("requests", Integer.toString(sent)).tag("failed", Integer.toString(failed.get())).end();
+        if (!finished || sent < total) {
+            log.warn("Warm-up timed out after {} ms ({} of {} requests, {} failed); accepting traffic anyway",
+                    tookMs, sent, total, failed.get());
+        } else if (failed.get() > 0) {
+            log.warn("Warm-up finished in {} ms with {} of {} requests failed", tookMs, failed.get(), total);
+        } else {
+            log.info("Warm-up finished in {} ms: {} requests, mean latency {} ms for the first {} and {} ms for the last {}",
+                    tookMs, total, meanMs(firstWindowNanos.get(), Math.min(LATENCY_WINDOW, total)),
+                    Math.min(LATENCY_WINDOW, total), meanMs(lastWindowNanos.get(), Math.min(LATENCY_WINDOW, total)),
+                    Math.min(LATENCY_WINDOW, total));
+        }
+    }
+
+    /** One cycle of request paths; sends go round-robin through it. */
+    private List<String> paths() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM employees ORDER BY id LIMIT ?", Long.class,
+                properties.getSampleSize());
+        List<String> classes = jdbcTemplate.queryForList(
+                "SELECT DISTINCT employee_class FROM employees WHERE employee_class IS NOT NULL LIMIT 10", String.class);
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < Math.max(ids.size(), SORTS.length * PAGE_SIZES.length); i++) {
+            String page = "/employees?page=" + (i % 5) + "&size=" + PAGE_SIZES[i % PAGE_SIZES.length]
+                    + "&sort=" + encode(SORTS[i % SORTS.length]);
+            paths.add(page);
+            paths.add(page + "&name=" + (char) ('a' + i % 26));
+            if (!classes.isEmpty()) {
+                paths.add(page + "&employeeClass=" + encode(classes.get(i % classes.size())));
+            }
+            if (!ids.isEmpty()) {
+                paths.add("/employees/" + ids.get(i % ids.size()));
+                paths.add("/employees/" + ids.get((i * 7 + 3) % ids.size()));
+            }
+            EmployeeGroupBy groupBy = EmployeeGroupBy.values()[i % EmployeeGroupBy.values().length];
+            paths.add("/employees/counts?groupBy=" + groupBy.getParameter());
+        }
+        return paths;
+    }
+
+    private boolean send(HttpClient client, String baseUrl, String path, int i) {
+        // Counts are JSON only; the other endpoints rotate through every body format
+        String accept = path.startsWith("/employees/counts") ? MediaType.APPLICATION_JSON_VALUE
+                : ACCEPT[i % ACCEPT.length];
+        String token = jwtUtil.generateAccessToken("warmup-" + (i / RATE_LIMIT_WINDOW),
+                Set.of(Role.ROLE_EMPLOYEE.name()), 0);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", accept)
+                .header(TraceContext.TRACEPARENT_HEADER, TRACEPARENT)
+                .GET()
+                .build();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                log.debug("Warm-up request {} answered HTTP {}", path, response.statusCode());
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.debug("Warm-up request {} failed: {}", path, e.toString());
+            return false;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static long meanMs(long nanos, int count) {
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(nanos / count);
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.employee.controller;
+
+import com.company.employee.dto.DatasetRequest;
+import com.company.employee.dto.DatasetStatus;
+import com.company.employee.service.DatasetGenerator;
+import javax.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Synthetic data set generation for scale testing (ADMIN only). Only mapped when
+ * app.dataset.endpoint-enabled=true.
+ */
+@RestController
+@RequestMapping("/admin/dataset")
+@ConditionalOnProperty(name = "app.dataset.endpoint-enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AdminDatasetController {
+
+    private final DatasetGenerator datasetGenerator;
+
+    /**
+     * POST /admin/dataset - Start generating { employees, users, seed, classes } (all optional).
+     * Returns 202 Accepted with the status; 409 if a generation is running or the seed is already
+     * loaded; 400 if the database is not PostgreSQL.
+     */
+    @PostMapping
+    public ResponseEntity<DatasetStatus> generate(@Valid @RequestBody(required = false) DatasetRequest request) {
+        DatasetStatus status = datasetGenerator.start(request != null ? request : new DatasetRequest());
+        return ResponseEntity.accepted().body(status);
+    }
+
+    /**
+     * GET /admin/dataset - Progress of the current or last generation.
+     */
+    @GetMapping
+    public ResponseEntity<DatasetStatus> status() {
+        return ResponseEntity.ok(datasetGenerator.status());
+    }
+}
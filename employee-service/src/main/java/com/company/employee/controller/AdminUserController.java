@@ -0,0 +1,63 @@
+package com.company.employee.controller;
+
+import com.company.employee.dto.UserBulkProvisionRequest;
+import com.company.employee.dto.UserBulkProvisionResponse;
+import com.company.employee.service.TokenRevocationService;
+import com.company.employee.service.UserProvisioningService;
+import javax.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * User account administration (ADMIN only). The account endpoints return 204 No Content, or 404
+ * if the user does not exist.
+ */
+@RestController
+@RequestMapping("/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final TokenRevocationService tokenRevocationService;
+    private final UserProvisioningService userProvisioningService;
+
+    /**
+     * POST /admin/users/bulk - Create up to 1000 EMPLOYEE accounts, { users: [{ username, email,
+     * password }] }. Returns 200 with one result per row (CREATED, DUPLICATE or INVALID); rows that
+     * fail do not affect the others.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<UserBulkProvisionResponse> provision(@Valid @RequestBody UserBulkProvisionRequest request) {
+        return ResponseEntity.ok(userProvisioningService.provision(request.getUsers()));
+    }
+
+    /**
+     * POST /admin/users/{id}/revoke-tokens - Revoke all access and refresh tokens of the user
+     * (they have to log in again).
+     */
+    @PostMapping("/{id}/revoke-tokens")
+    public ResponseEntity<Void> revokeTokens(@PathVariable Long id) {
+        tokenRevocationService.revokeTokens(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * POST /admin/users/{id}/disable - Disable the account and revoke all of its tokens.
+     * 400 for the caller's own account.
+     */
+    @PostMapping("/{id}/disable")
+    public ResponseEntity<Void> disable(@PathVariable Long id, Authentication authentication) {
+        tokenRevocationService.disable(id, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * POST /admin/users/{id}/enable - Allow the account to log in again.
+     */
+    @PostMapping("/{id}/enable")
+    public ResponseEntity<Void> enable(@PathVariable Long id) {
+        tokenRevocationService.enable(id);
+        return ResponseEntity.noContent().build();
+    }
+}
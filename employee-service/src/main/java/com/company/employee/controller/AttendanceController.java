@@ -0,0 +1,29 @@
+package com.company.employee.controller;
+
+import com.company.employee.dto.AttendanceEventsRequest;
+import com.company.employee.dto.AttendanceEventsResponse;
+import com.company.employee.service.AttendanceIngestor;
+import javax.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/attendance")
+@RequiredArgsConstructor
+public class AttendanceController {
+
+    private final AttendanceIngestor ingestor;
+
+    /**
+     * POST /attendance/events - Record check-ins. Body: { events: [{ employeeId, date? }] }, at most
+     * 1000; date defaults to today and may be up to app.attendance.late-days in the past.
+     * Returns 202 with { accepted, duplicates } once queued; written to the database shortly after,
+     * attendance percentages within app.attendance.rollup-interval. 503 with Retry-After when the
+     * queue is full (nothing from the request was taken; resending is safe).
+     */
+    @PostMapping("/events")
+    public ResponseEntity<AttendanceEventsResponse> record(@Valid @RequestBody AttendanceEventsRequest request) {
+        return ResponseEntity.accepted().body(ingestor.accept(request.getEvents()));
+    }
+}
@@ -2,20 +2,25 @@ package com.company.employee.controller;
 
 import com.company.employee.dto.LoginRequest;
 import com.company.employee.dto.LoginResponse;
+import com.company.employee.dto.LogoutRequest;
 import com.company.employee.dto.RegisterRequest;
+import com.company.employee.dto.RegisterResponse;
 import com.company.employee.dto.RefreshTokenRequest;
 import com.company.employee.model.User;
+import com.company.employee.security.JwtAuthenticationFilter;
 import com.company.employee.service.AuthService;
+import com.company.employee.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
 /**
- * Authentication endpoints (no JWT required; these are used to obtain tokens).
+ * Authentication endpoints. Login, register and refresh need no JWT (they are used to obtain
+ * tokens); logout and logout-all need the access token they revoke.
  *
  * LOGIN FLOW:
  * 1. Client POSTs credentials (usernameOrEmail + password) to /v1/auth/login.
@@ -24,6 +29,11 @@ import java.util.Map;
  *    creates and stores a refresh token. Both are returned in the response.
  * 4. Client sends "Authorization: Bearer <accessToken>" on subsequent API requests. For expired
  *    access tokens, client can POST the refresh token to /v1/auth/refresh to get a new access token.
+ * 5. POST /v1/auth/logout revokes the access token (and the refresh token in the body, if any);
+ *    POST /v1/auth/logout-all revokes every token of the user (TokenRevocationService).
+ *
+ * Request and response bodies are content-negotiated: JSON by default, or Smile, CBOR and
+ * Protobuf via Content-Type / Accept (see MessageConverterConfig).
  */
 @RestController
 @RequestMapping("/v1/auth")
@@ -31,6 +41,7 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Login: validate credentials and return access + refresh tokens.
@@ -42,16 +53,36 @@ public class AuthController {
     }
 
     @PostMapping("/register")
-    public ResponseEntity<Map<String, String>> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<RegisterResponse> register(@Valid @RequestBody RegisterRequest request) {
         User user = authService.register(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
-                "message", "Registration successful",
-                "username", user.getUsername()
-        ));
+        return ResponseEntity.status(HttpStatus.CREATED).body(RegisterResponse.builder()
+                .message("Registration successful")
+                .username(user.getUsername())
+                .build());
     }
 
     @PostMapping("/refresh")
     public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
         return ResponseEntity.ok(authService.refreshToken(request));
     }
+
+    /**
+     * Logout: the access token of this request stops working on every instance, and so does the
+     * optional { refreshToken } if it belongs to the same user. Returns 204 No Content.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE) Claims claims,
+                                       @RequestBody(required = false) LogoutRequest request) {
+        tokenRevocationService.logout(claims, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Logout everywhere: revokes all access and refresh tokens of the current user. Returns 204 No Content.
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(Authentication authentication) {
+        tokenRevocationService.logoutEverywhere(authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,14 +1,27 @@
 package com.company.employee.controller;
 
+import com.company.employee.dto.EmployeeBulkDeleteRequest;
+import com.company.employee.dto.EmployeeBulkResponse;
+import com.company.employee.dto.EmployeeBulkUpdateRequest;
+import com.company.employee.dto.EmployeeCountsResponse;
+import com.company.employee.dto.EmployeeDeltaResponse;
 import com.company.employee.dto.EmployeeFilter;
 import com.company.employee.dto.EmployeeRequest;
 import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.dto.PageResponse;
+import com.company.employee.querytimeout.QueryTimeout;
+import com.company.employee.service.EmployeeBulkService;
+import com.company.employee.service.EmployeeChangeStream;
+import com.company.employee.service.EmployeeDeltaService;
+import com.company.employee.service.EmployeeReadCoalescer;
 import com.company.employee.service.EmployeeService;
+import com.company.employee.service.EmployeeSnapshot;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -19,13 +32,25 @@ import java.net.URI;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeChangeStream changeStream;
+    private final EmployeeDeltaService deltaService;
+    private final EmployeeReadCoalescer readCoalescer;
+    private final EmployeeBulkService bulkService;
+    private final EmployeeSnapshot snapshot;
 
     /**
      * GET /employees - List employees with pagination, sorting and optional filters.
-     * Query params: page (0-based), size, sort (e.g. name,asc), name (filter), employeeClass (filter).
+     * Query params: page (0-based), size, sort (name, employeeClass[,name], createdAt, updatedAt or id, each
+     * optionally followed by asc/desc, e.g. name,asc or employeeClass,desc,name,desc; id is always the final
+     * tie-breaker), name (filter), employeeClass (filter). Other sort keys are rejected with 400.
+     * Response body: { content, number, size, totalElements, totalPages }. Served from the in-memory
+     * EmployeeSnapshot when it is enabled and loaded (name and employeeClass sorts only if the database
+     * uses the C collation). Queries time out after app.query-timeouts.endpoints.list
+     * (504, handled by GlobalExceptionHandler) and are cancelled when the client disconnects.
      */
+    @QueryTimeout("list")
     @GetMapping
-    public ResponseEntity<Page<EmployeeResponse>> getEmployees(
+    public ResponseEntity<PageResponse<EmployeeResponse>> getEmployees(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false, defaultValue = "name,asc") String sort,
@@ -35,17 +60,68 @@ public class EmployeeController {
                 .name(name)
                 .employeeClass(employeeClass)
                 .build();
-        Page<EmployeeResponse> body = employeeService.getAllEmployees(page, size, sort, filter);
+        PageResponse<EmployeeResponse> body = PageResponse.of(snapshot.isServing(sort)
+                ? snapshot.getAllEmployees(page, size, sort, filter)
+                : readCoalescer.getAllEmployees(page, size, sort, filter));
         return ResponseEntity.ok(body);
     }
 
+    /**
+     * GET /employees/counts - Number of employees per employeeClass, role or subject (groupBy), with
+     * the same optional name and employeeClass filters as the list.
+     * Response body: { groupBy, total, groups: [{ value, count }] }, largest group first.
+     * Queries time out after app.query-timeouts.endpoints.counts.
+     */
+    @QueryTimeout("counts")
+    @GetMapping("/counts")
+    public ResponseEntity<EmployeeCountsResponse> countEmployees(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String employeeClass) {
+        EmployeeFilter filter = EmployeeFilter.builder()
+                .name(name)
+                .employeeClass(employeeClass)
+                .build();
+        EmployeeCountsResponse body = snapshot.isServing()
+                ? snapshot.countEmployees(groupBy, filter)
+                : employeeService.countEmployees(groupBy, filter);
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * GET /employees/changes - Server-sent stream of employee changes.
+     * Events: CREATED / UPDATED (data: employee), DELETED (data: {"id": ...}), RESET (resume point too
+     * old: reload and continue). Each event id is a change sequence number; reconnect with the
+     * Last-Event-ID header (or lastEventId param) to receive the changes missed in between.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseBodyEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam) {
+        return changeStream.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+    }
+
+    /**
+     * GET /employees/delta - Employees created/updated and ids deleted since the token.
+     * Without since, returns everything (initial sync). Keep calling with the returned token while
+     * hasMore is true. Returns 410 if the token is older than the tombstone retention.
+     * Queries time out after app.query-timeouts.endpoints.delta.
+     */
+    @QueryTimeout("delta")
+    @GetMapping("/delta")
+    public ResponseEntity<EmployeeDeltaResponse> getDelta(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(deltaService.getDelta(since, limit));
+    }
+
     /**
      * GET /employees/{id} - Get a single employee by id.
      * Returns 404 if not found (handled by GlobalExceptionHandler).
      */
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable Long id) {
-        EmployeeResponse body = employeeService.getEmployeeById(id);
+        EmployeeResponse body = readCoalescer.getEmployeeById(id);
         return ResponseEntity.ok(body);
     }
 
@@ -82,4 +158,23 @@ public class EmployeeController {
         employeeService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * POST /employees/bulk-delete - Delete the employees given by ids or by filter (name and/or
+     * employeeClass, matched as in GET /employees). Body: { ids: [...] } or { filter: {...} }.
+     * Returns 200 with { affected }. Ids that do not exist are ignored.
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<EmployeeBulkResponse> bulkDelete(@Valid @RequestBody EmployeeBulkDeleteRequest request) {
+        return ResponseEntity.ok(bulkService.delete(request));
+    }
+
+    /**
+     * POST /employees/bulk-update - Set employeeClass, role and/or attendance on the employees given
+     * by ids or by filter. Fields left out are not changed. Returns 200 with { affected }.
+     */
+    @PostMapping("/bulk-update")
+    public ResponseEntity<EmployeeBulkResponse> bulkUpdate(@Valid @RequestBody EmployeeBulkUpdateRequest request) {
+        return ResponseEntity.ok(bulkService.update(request));
+    }
 }
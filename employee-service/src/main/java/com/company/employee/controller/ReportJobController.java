@@ -0,0 +1,75 @@
+package com.company.employee.controller;
+
+import com.company.employee.dto.ReportJobRequest;
+import com.company.employee.dto.ReportJobResponse;
+import com.company.employee.service.ReportJobService;
+import javax.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Report jobs (ADMIN and EMPLOYEE): submit, poll, download. Users see their own jobs; admins can
+ * also open anyone's by id.
+ */
+@RestController
+@RequestMapping("/reports/jobs")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private final ReportJobService reportJobService;
+
+    /**
+     * POST /reports/jobs - Start a report, { type: ATTENDANCE | HEADCOUNT }.
+     * Returns 202 Accepted with the job; 409 if the user already has the maximum of jobs in progress.
+     */
+    @PostMapping
+    public ResponseEntity<ReportJobResponse> submit(@Valid @RequestBody ReportJobRequest request,
+                                                    Authentication authentication) {
+        return ResponseEntity.accepted().body(reportJobService.submit(authentication.getName(), request.getType()));
+    }
+
+    /**
+     * GET /reports/jobs - The caller's 20 most recent jobs, newest first.
+     */
+    @GetMapping
+    public ResponseEntity<List<ReportJobResponse>> list(Authentication authentication) {
+        return ResponseEntity.ok(reportJobService.list(authentication.getName()));
+    }
+
+    /**
+     * GET /reports/jobs/{id} - State and progress of a job.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobResponse> get(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(reportJobService.get(id, authentication.getName(), isAdmin(authentication)));
+    }
+
+    /**
+     * GET /reports/jobs/{id}/download - The report as CSV; 400 until the job has COMPLETED.
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> download(@PathVariable Long id, Authentication authentication) {
+        Path file = reportJobService.resultFile(id, authentication.getName(), isAdmin(authentication));
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.company.employee.dto;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/** One check-in: the employee and the day (today in app.attendance.zone when left out). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceEventRequest {
+
+    @NotNull(message = "Employee id is required")
+    @Positive(message = "Employee id must be a positive number")
+    private Long employeeId;
+
+    private LocalDate date;
+}
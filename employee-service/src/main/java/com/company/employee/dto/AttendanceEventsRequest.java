@@ -0,0 +1,24 @@
+package com.company.employee.dto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Body of POST /attendance/events: check-ins from one device or a gateway batching several. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceEventsRequest {
+
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = 1000, message = "At most 1000 events allowed")
+    @Valid
+    private List<AttendanceEventRequest> events;
+}
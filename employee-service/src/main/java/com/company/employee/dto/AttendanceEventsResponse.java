@@ -0,0 +1,20 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response of POST /attendance/events: events queued for writing, and events dropped because
+ * the same employee and day was already seen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceEventsResponse {
+
+    private int accepted;
+    private int duplicates;
+}
@@ -0,0 +1,30 @@
+package com.company.employee.dto;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Body of POST /admin/dataset; fields left null take the app.dataset.* defaults. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DatasetRequest {
+
+    @Min(value = 1, message = "Employees must be at least 1")
+    @Max(value = 100_000_000, message = "Employees must not exceed 100000000")
+    private Long employees;
+
+    @Min(value = 0, message = "Users must be 0 or greater")
+    @Max(value = 10_000_000, message = "Users must not exceed 10000000")
+    private Integer users;
+
+    private Long seed;
+
+    @Min(value = 1, message = "Classes must be at least 1")
+    @Max(value = 100_000, message = "Classes must not exceed 100000")
+    private Integer classes;
+}
@@ -0,0 +1,31 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress of the current or last data set generation (GET /admin/dataset).
+ * state: IDLE, RUNNING, COMPLETED or FAILED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DatasetStatus {
+
+    private String state;
+    private long seed;
+    private long employees;
+    private long users;
+    private long employeesWritten;
+    private long subjectsWritten;
+    private long usersWritten;
+    private long refreshTokensWritten;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
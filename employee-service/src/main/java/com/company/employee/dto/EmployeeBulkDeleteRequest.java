@@ -0,0 +1,25 @@
+package com.company.employee.dto;
+
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of POST /employees/bulk-delete: either ids or a filter (same matching as the list
+ * endpoint's name / employeeClass parameters, at least one of them set).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeBulkDeleteRequest {
+
+    @Size(max = 10000, message = "At most 10000 ids allowed")
+    private List<Long> ids;
+
+    private EmployeeFilter filter;
+}
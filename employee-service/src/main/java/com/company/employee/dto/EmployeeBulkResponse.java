@@ -0,0 +1,16 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Response of the bulk endpoints: number of employees deleted or updated. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeBulkResponse {
+
+    private long affected;
+}
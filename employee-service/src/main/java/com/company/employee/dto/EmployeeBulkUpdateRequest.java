@@ -0,0 +1,37 @@
+package com.company.employee.dto;
+
+import com.company.employee.model.EmployeeRole;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of POST /employees/bulk-update: the employees to change (ids or filter, as in
+ * EmployeeBulkDeleteRequest) and the fields to set. Fields left null are not changed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeBulkUpdateRequest {
+
+    @Size(max = 10000, message = "At most 10000 ids allowed")
+    private List<Long> ids;
+
+    private EmployeeFilter filter;
+
+    @Size(max = 100, message = "Employee class must not exceed 100 characters")
+    private String employeeClass;
+
+    private EmployeeRole role;
+
+    @Min(value = 0, message = "Attendance must be 0 or greater")
+    @Max(value = 100, message = "Attendance must not exceed 100")
+    private Integer attendance;
+}
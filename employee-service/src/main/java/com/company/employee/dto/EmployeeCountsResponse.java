@@ -0,0 +1,45 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of GET /employees/counts: employees matching the filters (total) and their number per
+ * value of groupBy, largest first. value is null for employees without a class or role. With
+ * groupBy=subject an employee counts once for each of its subjects, so the groups can add up to
+ * more or less than total.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeCountsResponse {
+
+    private String groupBy;
+    private long total;
+    private List<Group> groups;
+
+    public static EmployeeCountsResponse of(String groupBy, long total, Map<String, Long> counts) {
+        List<Group> groups = new ArrayList<>(counts.size());
+        counts.forEach((value, count) -> groups.add(new Group(value, count)));
+        groups.sort(Comparator.comparingLong(Group::getCount).reversed()
+                .thenComparing(Group::getValue, Comparator.nullsLast(Comparator.naturalOrder())));
+        return new EmployeeCountsResponse(groupBy, total, groups);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+
+        private String value;
+        private long count;
+    }
+}
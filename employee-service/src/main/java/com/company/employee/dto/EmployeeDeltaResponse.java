@@ -0,0 +1,24 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response of GET /employees/delta: employees created or updated and ids deleted since the
+ * request token, plus the token to send next time. hasMore means call again right away.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeDeltaResponse {
+
+    private List<EmployeeResponse> changed;
+    private List<Long> deleted;
+    private String token;
+    private boolean hasMore;
+}
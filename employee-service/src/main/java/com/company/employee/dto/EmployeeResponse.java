@@ -1,6 +1,7 @@
 package com.company.employee.dto;
 
 import com.company.employee.model.EmployeeRole;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,6 +14,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonSerialize(using = EmployeeResponseSerializer.class)
 public class EmployeeResponse {
 
     private Long id;
@@ -0,0 +1,147 @@
+package com.company.employee.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Hand-written serializer for {@link EmployeeResponse}, the hottest object on the wire.
+ * Writes fields directly through getters (no bean introspection or reflective access) and
+ * omits nulls, matching the application's default non_null inclusion and ISO-8601 instants.
+ * Instants are formatted by hand into a char buffer (same text as {@link Instant#toString()}),
+ * since DateTimeFormatter dominated serialization cost per employee.
+ */
+public class EmployeeResponseSerializer extends StdSerializer<EmployeeResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString AGE = new SerializedString("age");
+    private static final SerializedString EMPLOYEE_CLASS = new SerializedString("employeeClass");
+    private static final SerializedString SUBJECTS = new SerializedString("subjects");
+    private static final SerializedString ATTENDANCE = new SerializedString("attendance");
+    private static final SerializedString ROLE = new SerializedString("role");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    public EmployeeResponseSerializer() {
+        super(EmployeeResponse.class);
+    }
+
+    @Override
+    public void serialize(EmployeeResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        if (value.getId() != null) {
+            gen.writeFieldName(ID);
+            gen.writeNumber(value.getId());
+        }
+        writeString(gen, NAME, value.getName());
+        if (value.getAge() != null) {
+            gen.writeFieldName(AGE);
+            gen.writeNumber(value.getAge());
+        }
+        writeString(gen, EMPLOYEE_CLASS, value.getEmployeeClass());
+        List<String> subjects = value.getSubjects();
+        if (subjects != null) {
+            gen.writeFieldName(SUBJECTS);
+            gen.writeStartArray(subjects, subjects.size());
+            for (String subject : subjects) {
+                gen.writeString(subject);
+            }
+            gen.writeEndArray();
+        }
+        if (value.getAttendance() != null) {
+            gen.writeFieldName(ATTENDANCE);
+            gen.writeNumber(value.getAttendance());
+        }
+        if (value.getRole() != null) {
+            writeString(gen, ROLE, value.getRole().name());
+        }
+        writeInstant(gen, CREATED_AT, value.getCreatedAt());
+        writeInstant(gen, UPDATED_AT, value.getUpdatedAt());
+        gen.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator gen, SerializedString field, String value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(field);
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeInstant(JsonGenerator gen, SerializedString field, Instant value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        gen.writeFieldName(field);
+        char[] buf = new char[30];
+        int len = formatIsoInstant(value, buf);
+        if (len < 0) {
+            gen.writeString(value.toString());
+        } else {
+            gen.writeString(buf, 0, len);
+        }
+    }
+
+    /**
+     * Writes yyyy-MM-ddTHH:mm:ss[.SSS|.SSSSSS|.SSSSSSSSS]Z into buf, exactly as ISO_INSTANT does.
+     * Returns the length, or -1 for years outside 0000-9999 (caller falls back to toString()).
+     */
+    static int formatIsoInstant(Instant instant, char[] buf) {
+        long epochSecond = instant.getEpochSecond();
+        long epochDay = Math.floorDiv(epochSecond, 86_400);
+        int secondOfDay = Math.floorMod(epochSecond, 86_400);
+
+        // Civil-from-days conversion (proleptic Gregorian, March-based year)
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+
+        int pos = 0;
+        pos = digits(buf, pos, (int) year, 4);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, month, 2);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, day, 2);
+        buf[pos++] = 'T';
+        pos = digits(buf, pos, secondOfDay / 3600, 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, (secondOfDay / 60) % 60, 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, secondOfDay % 60, 2);
+        int nano = instant.getNano();
+        if (nano != 0) {
+            buf[pos++] = '.';
+            if (nano % 1_000_000 == 0) {
+                pos = digits(buf, pos, nano / 1_000_000, 3);
+            } else if (nano % 1000 == 0) {
+                pos = digits(buf, pos, nano / 1000, 6);
+            } else {
+                pos = digits(buf, pos, nano, 9);
+            }
+        }
+        buf[pos++] = 'Z';
+        return pos;
+    }
+
+    private static int digits(char[] buf, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogoutRequest {
+
+    /** Optional: also invalidated if it belongs to the logged-out user. */
+    private String refreshToken;
+}
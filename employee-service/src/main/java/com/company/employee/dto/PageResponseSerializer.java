@@ -0,0 +1,67 @@
+package com.company.employee.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Hand-written serializer for {@link PageResponse}: fixed field order, pre-encoded field names,
+ * and the element serializer resolved once per page instead of once per element.
+ */
+@SuppressWarnings("rawtypes")
+public class PageResponseSerializer extends StdSerializer<PageResponse> {
+
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString NUMBER = new SerializedString("number");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+
+    public PageResponseSerializer() {
+        super(PageResponse.class);
+    }
+
+    @Override
+    public void serialize(PageResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(CONTENT);
+        writeContent(value.getContent(), gen, provider);
+        gen.writeFieldName(NUMBER);
+        gen.writeNumber(value.getNumber());
+        gen.writeFieldName(SIZE);
+        gen.writeNumber(value.getSize());
+        gen.writeFieldName(TOTAL_ELEMENTS);
+        gen.writeNumber(value.getTotalElements());
+        gen.writeFieldName(TOTAL_PAGES);
+        gen.writeNumber(value.getTotalPages());
+        gen.writeEndObject();
+    }
+
+    private void writeContent(List<?> content, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (content == null) {
+            gen.writeStartArray(null, 0);
+            gen.writeEndArray();
+            return;
+        }
+        gen.writeStartArray(content, content.size());
+        Class<?> elementType = null;
+        JsonSerializer<Object> elementSerializer = null;
+        for (Object element : content) {
+            if (element == null) {
+                gen.writeNull();
+                continue;
+            }
+            if (element.getClass() != elementType) {
+                elementType = element.getClass();
+                elementSerializer = provider.findValueSerializer(elementType);
+            }
+            elementSerializer.serialize(element, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+}
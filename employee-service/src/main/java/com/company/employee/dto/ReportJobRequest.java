@@ -0,0 +1,19 @@
+package com.company.employee.dto;
+
+import com.company.employee.model.ReportType;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Body of POST /reports/jobs. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobRequest {
+
+    @NotNull(message = "Type is required")
+    private ReportType type;
+}
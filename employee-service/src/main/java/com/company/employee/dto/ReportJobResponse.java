@@ -0,0 +1,32 @@
+package com.company.employee.dto;
+
+import com.company.employee.model.ReportJobState;
+import com.company.employee.model.ReportType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A report job (GET /reports/jobs/{id}); progress is chunksDone of totalChunks, employees the
+ * employees covered so far. Download once state is COMPLETED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobResponse {
+
+    private Long id;
+    private ReportType type;
+    private ReportJobState state;
+    private int chunksDone;
+    private int totalChunks;
+    private long employees;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
@@ -0,0 +1,25 @@
+package com.company.employee.dto;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of POST /admin/users/bulk: the accounts to create, as for POST /v1/auth/register. Rows are
+ * validated one by one, so an invalid row is reported in the result instead of failing the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserBulkProvisionRequest {
+
+    @NotEmpty(message = "Users are required")
+    @Size(max = 1000, message = "At most 1000 users per request")
+    private List<RegisterRequest> users;
+}
@@ -0,0 +1,20 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Response of POST /admin/users/bulk: counts and one result per requested row, in request order. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserBulkProvisionResponse {
+
+    private int created;
+    private int failed;
+    private List<UserProvisionResult> results;
+}
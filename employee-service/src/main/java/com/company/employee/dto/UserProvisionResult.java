@@ -0,0 +1,23 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one row of POST /admin/users/bulk, by its index in the request.
+ * status: CREATED (with id), DUPLICATE or INVALID (with message).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserProvisionResult {
+
+    private int index;
+    private String username;
+    private String status;
+    private Long id;
+    private String message;
+}
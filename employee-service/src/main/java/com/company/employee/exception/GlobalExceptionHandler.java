@@ -1,10 +1,14 @@
 package com.company.employee.exception;
 
 import com.company.employee.dto.ApiError;
+import com.company.employee.querytimeout.QueryScope;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AccountStatusException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.FieldError;
@@ -71,6 +75,70 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<ApiError> handleSyncTokenExpired(SyncTokenExpiredException ex, WebRequest request) {
+        log.debug("Sync token expired: {}", ex.getMessage());
+        ApiError error = ApiError.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.GONE.value())
+                .error("Gone")
+                .message(ex.getMessage())
+                .path(getPath(request))
+                .build();
+        return ResponseEntity.status(HttpStatus.GONE).body(error);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiError> handleServiceUnavailable(ServiceUnavailableException ex, WebRequest request) {
+        if (ex.getRetryAfterSeconds() > 0) {
+            // Load shedding: counted in metrics, and a line per request would add to the overload
+            log.debug("Service unavailable: {}", ex.getMessage());
+        } else {
+            log.warn("Service unavailable: {}", ex.getMessage());
+        }
+        ApiError error = ApiError.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .path(getPath(request))
+                .build();
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (ex.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return response.body(error);
+    }
+
+    /**
+     * A statement cancelled by its @QueryTimeout endpoint's timeout (or after the client
+     * disconnected, in which case nobody reads the response). Retrying the same query would time
+     * out again, so the message asks for narrower filters.
+     */
+    @ExceptionHandler({QueryTimeoutException.class, javax.persistence.QueryTimeoutException.class})
+    public ResponseEntity<ApiError> handleQueryTimeout(RuntimeException ex, WebRequest request) {
+        QueryScope scope = QueryScope.current();
+        String message;
+        if (scope != null && scope.isDisconnected()) {
+            log.debug("Query cancelled after the client disconnected: {}", getPath(request));
+            message = "The query was cancelled because the client disconnected.";
+        } else {
+            log.warn("Query timed out: {} ({})", getPath(request), ex.getMessage());
+            message = scope != null && scope.getTimeoutMillis() > 0
+                    ? "The query did not finish within " + scope.getTimeoutMillis() / 1000
+                            + " s and was cancelled. Narrow the filters and try again."
+                    : "The query took too long and was cancelled. Narrow the filters and try again.";
+        }
+        ApiError error = ApiError.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.GATEWAY_TIMEOUT.value())
+                .error("Query Timeout")
+                .message(message)
+                .path(getPath(request))
+                .build();
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(MethodArgumentNotValidException ex, WebRequest request) {
         log.warn("Validation failed: {}", ex.getBindingResult().getFieldErrors());
@@ -101,6 +169,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    @ExceptionHandler(AccountStatusException.class)
+    public ResponseEntity<ApiError> handleAccountStatus(AccountStatusException ex, WebRequest request) {
+        // e.g. a disabled account; checked before the password, so do not tell the caller
+        log.warn("Authentication failed: {}", ex.getMessage());
+        ApiError error = ApiError.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.UNAUTHORIZED.value())
+                .error("Unauthorized")
+                .message("Invalid username or password")
+                .path(getPath(request))
+                .build();
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<ApiError> handleUsernameNotFound(UsernameNotFoundException ex, WebRequest request) {
         log.warn("Authentication failed: User not found");
@@ -116,6 +198,15 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneric(Exception ex, WebRequest request) {
+        // e.g. a database overload rejection wrapped by Spring Security during login
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ServiceUnavailableException) {
+                return handleServiceUnavailable((ServiceUnavailableException) cause, request);
+            }
+            if (cause instanceof QueryTimeoutException || cause instanceof javax.persistence.QueryTimeoutException) {
+                return handleQueryTimeout((RuntimeException) cause, request);
+            }
+        }
         log.error("Unhandled exception", ex);
         
         String message = isProduction() 
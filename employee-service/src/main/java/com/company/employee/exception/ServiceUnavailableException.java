@@ -0,0 +1,20 @@
+package com.company.employee.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    /** Sent as Retry-After when positive. */
+    private final int retryAfterSeconds;
+
+    public ServiceUnavailableException(String message) {
+        this(message, 0);
+    }
+
+    public ServiceUnavailableException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
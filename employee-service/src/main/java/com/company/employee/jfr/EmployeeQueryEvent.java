@@ -0,0 +1,56 @@
+package com.company.employee.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/** An employee list or count query, from the database or the in-memory snapshot. */
+@Name("com.company.employee.EmployeeQuery")
+@Label("Employee Query")
+@Category({"Employee Service", "Employees"})
+@Description("GET /employees and /employees/counts queries with their filters and result size")
+@Setter
+public class EmployeeQueryEvent extends Event {
+
+    @Label("Operation")
+    @Description("list or count")
+    private String operation;
+
+    @Label("Source")
+    @Description("database or snapshot")
+    private String source;
+
+    @Label("Name Filter")
+    private String nameFilter;
+
+    @Label("Class Filter")
+    private String classFilter;
+
+    @Label("Sort")
+    private String sort;
+
+    @Label("Group By")
+    private String groupBy;
+
+    @Label("Page")
+    private int page;
+
+    @Label("Page Size")
+    private int pageSize;
+
+    @Label("Rows")
+    @Description("Employees returned (list) or groups returned (count)")
+    private int rows;
+
+    @Label("Total")
+    @Description("Employees matching the filters")
+    private long total;
+
+    public EmployeeQueryEvent(String operation, String source) {
+        this.operation = operation;
+        this.source = source;
+    }
+}
@@ -0,0 +1,159 @@
+package com.company.employee.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/jfr (ADMIN only): on-demand Java Flight Recorder sessions, for production
+ * profiling without attaching an agent.
+ *
+ * - POST starts a recording with the JDK's "default" (about 1% overhead) or "profile" settings,
+ *   for a duration (which stops it by itself) and a size limit. One recording at a time; 409
+ *   while one exists.
+ * - GET describes the current recording.
+ * - DELETE stops it if still running and returns the .jfr file (application/octet-stream), for
+ *   JDK Mission Control or the jfr tool. The file is kept until the next recording starts.
+ *
+ * Recordings include the application's own events (com.company.employee.*): employee queries,
+ * JWT verification, password hashing and refresh-token rotation.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@Slf4j
+public class JfrEndpoint {
+
+    private static final String[] SETTINGS = {"default", "profile"};
+    private static final int STATUS_CONFLICT = 409;
+
+    private final JfrProperties properties;
+    private Recording recording;
+    private String settings;
+    private Path lastDump;
+
+    public JfrEndpoint(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        return recording != null ? describe() : Map.of("state", "NONE");
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(
+            @Nullable String settings, @Nullable Duration duration, @Nullable DataSize maxSize) {
+        String settingsName = settings != null ? settings : SETTINGS[0];
+        Duration length = duration != null ? duration : properties.getDefaultDuration();
+        DataSize size = maxSize != null ? maxSize : properties.getMaxSize();
+        if (!SETTINGS[0].equals(settingsName) && !SETTINGS[1].equals(settingsName)) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST, "settings must be default or profile");
+        }
+        if (length.isNegative() || length.isZero() || length.compareTo(properties.getMaxDuration()) > 0) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST,
+                    "duration must be positive and at most " + properties.getMaxDuration());
+        }
+        if (size.toBytes() <= 0 || size.compareTo(properties.getMaxSize()) > 0) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST,
+                    "maxSize must be positive and at most " + properties.getMaxSize());
+        }
+        if (recording != null) {
+            return error(STATUS_CONFLICT, "A recording already exists (" + recording.getState()
+                    + "); DELETE /actuator/jfr first");
+        }
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(settingsName));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot read JFR settings " + settingsName, e);
+        }
+        deleteLastDump();
+        started.setName("employee-service-" + Instant.now().getEpochSecond());
+        started.setToDisk(true);
+        started.setDuration(length);
+        started.setMaxSize(size.toBytes());
+        started.start();
+        recording = started;
+        this.settings = settingsName;
+        log.info("JFR recording {} started: settings {}, duration {}, max size {}",
+                started.getName(), settingsName, length, size);
+        return new WebEndpointResponse<>(describe(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Resource> stop() throws IOException {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Recording finished = recording;
+        recording = null;
+        try {
+            if (finished.getState() == RecordingState.RUNNING) {
+                finished.stop();
+            }
+            Path file = Files.createTempFile(finished.getName() + "-", ".jfr");
+            finished.dump(file);
+            lastDump = file;
+            log.info("JFR recording {} stopped: {} bytes", finished.getName(), Files.size(file));
+            return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+        } finally {
+            finished.close();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteLastDump();
+    }
+
+    private Map<String, Object> describe() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("settings", settings);
+        status.put("startTime", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+        status.put("duration", recording.getDuration() != null ? recording.getDuration().toString() : null);
+        status.put("maxSize", recording.getMaxSize());
+        return status;
+    }
+
+    private void deleteLastDump() {
+        if (lastDump != null) {
+            try {
+                Files.deleteIfExists(lastDump);
+            } catch (IOException e) {
+                log.warn("Cannot delete JFR dump {}: {}", lastDump, e.toString());
+            }
+            lastDump = null;
+        }
+    }
+
+    private static WebEndpointResponse<Map<String, Object>> error(int status, String message) {
+        return new WebEndpointResponse<>(Map.of("status", status, "message", message), status);
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.employee.jfr;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Flight Recorder sessions started through the jfr actuator endpoint (see JfrEndpoint).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.jfr")
+public class JfrProperties {
+
+    /** Recording length when the start request does not give one; the recording then stops by itself. */
+    private Duration defaultDuration = Duration.ofSeconds(60);
+
+    /** Longest recording that can be requested. */
+    private Duration maxDuration = Duration.ofMinutes(15);
+
+    /** Recordings keep at most this much data on disk, dropping the oldest. */
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+}
@@ -0,0 +1,24 @@
+package com.company.employee.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/** Signature and expiry check of one JWT. */
+@Name("com.company.employee.JwtVerification")
+@Label("JWT Verification")
+@Category({"Employee Service", "Security"})
+@Setter
+public class JwtVerificationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("valid, expired, bad-signature, malformed, unsupported or empty")
+    private String outcome;
+
+    @Label("Token Type")
+    @Description("access or refresh; empty unless the token is valid")
+    private String tokenType;
+}
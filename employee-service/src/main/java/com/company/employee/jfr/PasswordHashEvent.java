@@ -0,0 +1,24 @@
+package com.company.employee.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/** One BCrypt hash: encoding a new password or checking one at login. */
+@Name("com.company.employee.PasswordHash")
+@Label("Password Hash")
+@Category({"Employee Service", "Security"})
+@Setter
+public class PasswordHashEvent extends Event {
+
+    @Label("Operation")
+    @Description("encode or matches")
+    private String operation;
+
+    @Label("Matched")
+    @Description("Whether the password matched; false for encode")
+    private boolean matched;
+}
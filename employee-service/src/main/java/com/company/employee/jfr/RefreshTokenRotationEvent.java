@@ -0,0 +1,23 @@
+package com.company.employee.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/** POST /v1/auth/refresh: a refresh token exchanged for new access and refresh tokens. */
+@Name("com.company.employee.RefreshTokenRotation")
+@Label("Refresh Token Rotation")
+@Category({"Employee Service", "Security"})
+@Setter
+public class RefreshTokenRotationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("rotated, unknown, expired or disabled-user")
+    private String outcome;
+
+    @Label("Username")
+    private String username;
+}
@@ -0,0 +1,90 @@
+package com.company.employee.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.logging.LoggingApplicationListener;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Makes the console and file appenders Spring Boot configured from logging.* asynchronous: each
+ * is moved behind a CountingAsyncAppender (logback's AsyncAppender with neverBlock) on the root
+ * logger, and with app.logging.format=json its encoder is replaced by JsonEncoder. Runs right after
+ * LoggingApplicationListener, so levels, patterns, file name and rolling settings keep coming from
+ * the usual logging.* properties.
+ *
+ * Registered in META-INF/spring.factories so every SpringApplication (including the perf
+ * harnesses) gets it.
+ */
+public class AsyncLoggingListener implements ApplicationListener<ApplicationEnvironmentPreparedEvent>, Ordered {
+
+    @Override
+    public int getOrder() {
+        return LoggingApplicationListener.DEFAULT_ORDER + 1;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext)) {
+            return;
+        }
+        Environment environment = event.getEnvironment();
+        boolean json = "json".equalsIgnoreCase(environment.getProperty("app.logging.format", "text"));
+        int bufferSize = environment.getProperty("app.logging.async.buffer-size", Integer.class, 8192);
+
+        LoggerContext context = (LoggerContext) loggerFactory;
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            appenders.add(it.next());
+        }
+        for (Appender<ILoggingEvent> appender : appenders) {
+            if (appender instanceof CountingAsyncAppender) {
+                // Logging was already set up by an earlier SpringApplication in this JVM
+                continue;
+            }
+            if (json && appender instanceof OutputStreamAppender) {
+                useJson((OutputStreamAppender<ILoggingEvent>) appender, context);
+            }
+            CountingAsyncAppender async = new CountingAsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_" + appender.getName());
+            async.setQueueSize(bufferSize);
+            async.setDiscardingThreshold(bufferSize / 5);
+            async.addAppender(appender);
+            async.start();
+            root.addAppender(async);
+            root.detachAppender(appender);
+        }
+    }
+
+    private static void useJson(OutputStreamAppender<ILoggingEvent> appender, LoggerContext context) {
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        appender.stop();
+        appender.setEncoder(encoder);
+        if (appender instanceof RollingFileAppender) {
+            // stop() also stopped the policies, and the appender refuses to start without them
+            RollingFileAppender<ILoggingEvent> rolling = (RollingFileAppender<ILoggingEvent>) appender;
+            rolling.getRollingPolicy().start();
+            if (!rolling.getTriggeringPolicy().isStarted()) {
+                rolling.getTriggeringPolicy().start();
+            }
+        }
+        appender.start();
+    }
+}
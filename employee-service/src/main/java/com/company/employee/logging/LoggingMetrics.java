@@ -0,0 +1,19 @@
+package com.company.employee.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/** Publishes the events dropped by CountingAsyncAppender as logging.events.dropped. */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.events.dropped", CountingAsyncAppender.class,
+                        appender -> CountingAsyncAppender.totalDropped())
+                .description("Log events dropped because the asynchronous log buffer was full")
+                .register(registry);
+    }
+}
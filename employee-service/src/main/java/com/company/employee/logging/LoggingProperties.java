@@ -0,0 +1,46 @@
+package com.company.employee.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Log output format, asynchronous appender and access log settings.
+ * format and async.* are read by AsyncLoggingListener while logging starts, before any bean exists.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.logging")
+public class LoggingProperties {
+
+    /** text (the logging.pattern.* layouts) or json (one JSON object per line). */
+    private String format = "text";
+
+    private Async async = new Async();
+
+    private Access access = new Access();
+
+    @Getter
+    @Setter
+    public static class Async {
+
+        /** Events queued per appender before events below WARN and then all events are dropped. */
+        private int bufferSize = 8192;
+    }
+
+    @Getter
+    @Setter
+    public static class Access {
+
+        private boolean enabled = true;
+
+        /** Fraction of ordinary requests logged; 5xx responses and slow requests are always logged. */
+        private double sampleRate = 0.01;
+
+        private Duration slowThreshold = Duration.ofSeconds(1);
+    }
+}
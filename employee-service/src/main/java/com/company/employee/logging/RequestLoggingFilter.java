@@ -0,0 +1,102 @@
+package com.company.employee.logging;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Outermost filter: tags every log line of a request with its request id and writes sampled
+ * access log lines.
+ *
+ * The id is taken from the X-Request-Id header when it looks safe, otherwise generated, and is
+ * echoed in the response header and put in the MDC as requestId. Access lines go to the
+ * http.access logger for every 5xx and slow request and for a sample of the rest; the method,
+ * path, status and duration are also MDC fields, so they are separate fields in JSON output.
+ * Streaming (async) requests are not access-logged.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("http.access");
+    private static final Pattern SAFE_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final LoggingProperties.Access properties;
+    private final long slowThresholdNanos;
+
+    public RequestLoggingFilter(LoggingProperties properties) {
+        this.properties = properties.getAccess();
+        this.slowThresholdNanos = this.properties.getSlowThreshold().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !SAFE_REQUEST_ID.matcher(requestId).matches()) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            requestId = new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            try {
+                if (properties.isEnabled() && !request.isAsyncStarted()) {
+                    logAccess(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                            System.nanoTime() - start);
+                }
+            } finally {
+                MDC.remove(REQUEST_ID_MDC_KEY);
+            }
+        }
+    }
+
+    private void logAccess(HttpServletRequest request, int status, long elapsedNanos) {
+        boolean always = status >= 500 || elapsedNanos >= slowThresholdNanos;
+        if (!always && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return;
+        }
+        if (!ACCESS_LOG.isInfoEnabled()) {
+            return;
+        }
+        long elapsedMicros = elapsedNanos / 1_000;
+        MDC.put("http.method", request.getMethod());
+        MDC.put("http.path", request.getRequestURI());
+        MDC.put("http.status", Integer.toString(status));
+        MDC.put("http.durationMs", Long.toString(elapsedMicros / 1_000));
+        try {
+            ACCESS_LOG.info("{} {} {} {}.{}ms", request.getMethod(), request.getRequestURI(), status,
+                    elapsedMicros / 1_000, String.format("%03d", elapsedMicros % 1_000));
+        } finally {
+            MDC.remove("http.method");
+            MDC.remove("http.path");
+            MDC.remove("http.status");
+            MDC.remove("http.durationMs");
+        }
+    }
+}
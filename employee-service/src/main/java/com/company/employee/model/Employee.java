@@ -3,6 +3,7 @@ package com.company.employee.model;
 import javax.persistence.*;
 import lombok.*;
 
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,8 +16,10 @@ import java.util.List;
 @Table(
     name = "employees",
     indexes = {
-        @Index(name = "idx_employee_name", columnList = "name"),
-        @Index(name = "idx_employee_class", columnList = "employee_class")
+        @Index(name = "idx_employee_name_id", columnList = "name, id"),
+        @Index(name = "idx_employee_class_name_id", columnList = "employee_class, name, id"),
+        @Index(name = "idx_employee_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_employee_updated_at", columnList = "updated_at, id")
     }
 )
 @EntityListeners(AuditingEntityListener.class)
@@ -43,6 +46,7 @@ public class Employee {
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "employee_subjects", joinColumns = @JoinColumn(name = "employee_id"))
     @Column(name = "subject")
+    @BatchSize(size = 100)
     @Builder.Default
     private List<String> subjects = new ArrayList<>();
 
@@ -0,0 +1,7 @@
+package com.company.employee.model;
+
+public enum EmployeeChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
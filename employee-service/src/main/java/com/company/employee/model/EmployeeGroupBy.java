@@ -0,0 +1,18 @@
+package com.company.employee.model;
+
+/** Grouping of GET /employees/counts; parameter is its query-parameter value. */
+public enum EmployeeGroupBy {
+    EMPLOYEE_CLASS("employeeClass"),
+    ROLE("role"),
+    SUBJECT("subject");
+
+    private final String parameter;
+
+    EmployeeGroupBy(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+}
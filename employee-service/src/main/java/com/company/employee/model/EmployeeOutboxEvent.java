@@ -0,0 +1,46 @@
+package com.company.employee.model;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Employee mutation recorded in the same transaction as the change itself (transactional outbox).
+ * The id is the change sequence number exposed to clients as the SSE event id.
+ */
+@Entity
+@Table(
+    name = "employee_outbox",
+    indexes = @Index(name = "idx_employee_outbox_created_at", columnList = "created_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private EmployeeChangeType changeType;
+
+    /** JSON body sent to subscribers: the employee for CREATED/UPDATED, {"id":...} for DELETED. */
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+    }
+}
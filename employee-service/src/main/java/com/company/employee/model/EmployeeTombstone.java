@@ -0,0 +1,29 @@
+package com.company.employee.model;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Marker left behind by a deleted employee so delta sync clients can drop it from their cache.
+ */
+@Entity
+@Table(
+    name = "employee_tombstones",
+    indexes = @Index(name = "idx_employee_tombstones_deleted_at", columnList = "deleted_at, employee_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeTombstone {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,68 @@
+package com.company.employee.model;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A report job (see ReportJobService). The employee id space from firstId on is split into
+ * totalChunks chunks of chunkSize ids, fixed at submission so that a resumed job splits the same
+ * way; finished chunks are recorded in report_job_chunks.
+ */
+@Entity
+@Table(name = "report_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportJobState state;
+
+    @Column(name = "first_id", nullable = false)
+    private Long firstId;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "total_chunks", nullable = false)
+    private Integer totalChunks;
+
+    @Column(name = "chunks_done", nullable = false)
+    private Integer chunksDone;
+
+    /** Employees covered by the finished chunks. */
+    @Column(nullable = false)
+    private Long employees;
+
+    @Column(length = 500)
+    private String error;
+
+    /** The instance running the job renews this; once it has passed, any instance may resume the job. */
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+}
@@ -0,0 +1,8 @@
+package com.company.employee.model;
+
+public enum ReportJobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
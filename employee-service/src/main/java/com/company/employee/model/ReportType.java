@@ -0,0 +1,9 @@
+package com.company.employee.model;
+
+/** Reports produced by report jobs (ReportJobService), all CSV. */
+public enum ReportType {
+    /** One line per employee: attendance percentage and check-in days within the attendance window. */
+    ATTENDANCE,
+    /** Employees per class and role. */
+    HEADCOUNT
+}
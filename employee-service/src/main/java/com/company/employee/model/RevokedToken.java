@@ -0,0 +1,24 @@
+package com.company.employee.model;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** A logged-out access token, identified by its jti claim, until the token would have expired. */
+@Entity
+@Table(name = "revoked_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
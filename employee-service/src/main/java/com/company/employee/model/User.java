@@ -39,6 +39,15 @@ public class User {
     @Column(nullable = false)
     private boolean enabled = true;
 
+    /** Copied into access tokens; bumping it revokes every access token issued before. */
+    @Column(name = "token_version", nullable = false)
+    @Builder.Default
+    private int tokenVersion = 0;
+
+    /** When tokenVersion was last bumped. */
+    @Column(name = "tokens_revoked_at")
+    private Instant tokensRevokedAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -0,0 +1,141 @@
+package com.company.employee.querytimeout;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Tracks the statements of @QueryTimeout requests (see QueryScope): while one executes, it is
+ * registered with the request's scope, so ClientDisconnectWatchdog can cancel it. Statements
+ * ending with SQLState 57014 (timed out or cancelled) are counted in db.queries.cancelled, by
+ * endpoint and reason (timeout or client_disconnect). Connections taken outside a scope are
+ * returned unwrapped.
+ *
+ * Installed by QueryTimeoutConfig around TracingDataSource, which wraps the pool (or
+ * ReplicaRoutingDataSource when replicas are configured) directly; its statement proxies pass
+ * cancel() through to the driver. ConcurrencyLimitedDataSource wraps it in turn.
+ */
+public class CancellableDataSource extends DelegatingDataSource {
+
+    /** PostgreSQL query_canceled: statement timeout or cancel request. */
+    private static final String QUERY_CANCELED = "57014";
+
+    private final MeterRegistry meterRegistry;
+
+    public CancellableDataSource(DataSource target, MeterRegistry meterRegistry) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        QueryScope scope = QueryScope.current();
+        Connection connection = super.getConnection();
+        if (scope == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(CancellableDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ScopedConnection(connection, scope));
+    }
+
+    private void countCancelled(QueryScope scope) {
+        Counter.builder("db.queries.cancelled")
+                .description("Statements of @QueryTimeout endpoints cancelled by their timeout or a client disconnect")
+                .tag("endpoint", scope.getEndpoint())
+                .tag("reason", scope.isDisconnected() ? "client_disconnect" : "timeout")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private final class ScopedConnection implements InvocationHandler {
+
+        private final Connection target;
+        private final QueryScope scope;
+
+        private ScopedConnection(Connection target, QueryScope scope) {
+            this.target = target;
+            this.scope = scope;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "prepareStatement":
+                case "prepareCall":
+                case "createStatement":
+                    Statement statement = (Statement) CancellableDataSource.invoke(target, method, args);
+                    Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                            : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                    return Proxy.newProxyInstance(CancellableDataSource.class.getClassLoader(), new Class<?>[] {type},
+                            new ScopedStatement(statement, (Connection) proxy, scope));
+                default:
+                    return CancellableDataSource.invoke(target, method, args);
+            }
+        }
+    }
+
+    private final class ScopedStatement implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+        private final QueryScope scope;
+
+        private ScopedStatement(Statement target, Connection connection, QueryScope scope) {
+            this.target = target;
+            this.connection = connection;
+            this.scope = scope;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connection;
+                default:
+                    if (!name.startsWith("execute")) {
+                        return CancellableDataSource.invoke(target, method, args);
+                    }
+                    break;
+            }
+            scope.started(target);
+            try {
+                return CancellableDataSource.invoke(target, method, args);
+            } catch (SQLException ex) {
+                if (QUERY_CANCELED.equals(ex.getSQLState())) {
+                    countCancelled(scope);
+                }
+                throw ex;
+            } finally {
+                scope.finished(target);
+            }
+        }
+    }
+}
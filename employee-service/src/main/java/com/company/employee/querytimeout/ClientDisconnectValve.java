@@ -0,0 +1,63 @@
+package com.company.employee.querytimeout;
+
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.apache.coyote.ActionCode;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.coyote.http11.Http11NioProtocol;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Gives GET requests a probe (request attribute PROBE_ATTRIBUTE, a BooleanSupplier) telling
+ * whether the client has closed the connection. The servlet API has no such check, and Tomcat
+ * only notices a closed connection when it next reads or writes it, so the probe makes a
+ * non-blocking read into Tomcat's own input buffer (ActionCode.AVAILABLE): it reports data once
+ * the connection is at end of stream or reset. Bytes of a pipelined next request are reported
+ * too, but only once, as they stay in the buffer; QueryScope allows for that.
+ *
+ * The probe runs on the watchdog thread, not a container thread. Tomcat makes no promise that
+ * this is safe in general, so it is offered only where it is:
+ *
+ * - Http11NioProtocol (Spring Boot's default connector) without TLS, HTTP/1.x requests. There,
+ *   AVAILABLE is a plain non-blocking SocketChannel read into the request's input buffer, with
+ *   no poller registration and no connection state changed; end of stream only makes it report
+ *   data.
+ * - GET requests, whose body, if any, is not read, and only while the request thread is blocked
+ *   in JDBC and not using the connection (QueryScope holds its lock for the probe, and the
+ *   request thread takes it before going on).
+ *
+ * Not on NIO2 or APR connectors (their reads complete on other threads or in native code), with
+ * TLS (the SSLEngine state is shared with the request thread's writes) or for HTTP/2 streams.
+ * Requests there get no probe, so only their query timeouts apply.
+ */
+public class ClientDisconnectValve extends ValveBase {
+
+    public static final String PROBE_ATTRIBUTE = ClientDisconnectValve.class.getName() + ".probe";
+
+    public ClientDisconnectValve() {
+        super(true);
+    }
+
+    @Override
+    public void invoke(Request request, Response response) throws IOException, ServletException {
+        if ("GET".equals(request.getMethod()) && probeable(request)) {
+            org.apache.coyote.Request coyoteRequest = request.getCoyoteRequest();
+            request.setAttribute(PROBE_ATTRIBUTE, (BooleanSupplier) () -> {
+                coyoteRequest.action(ActionCode.AVAILABLE, Boolean.TRUE);
+                return coyoteRequest.getAvailable() > 0;
+            });
+        }
+        getNext().invoke(request, response);
+    }
+
+    private static boolean probeable(Request request) {
+        ProtocolHandler handler = request.getConnector().getProtocolHandler();
+        return handler instanceof Http11NioProtocol
+                && !((Http11NioProtocol) handler).isSSLEnabled()
+                && request.getProtocol().startsWith("HTTP/1.");
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.employee.querytimeout;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every app.query-timeouts.disconnect-check-interval, checks the client connection of each
+ * @QueryTimeout request with a running statement and cancels its statements once the client has
+ * disconnected (see QueryScope#cancelIfDisconnected).
+ */
+@Component
+@Slf4j
+public class ClientDisconnectWatchdog {
+
+    private final Set<QueryScope> scopes = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+
+    public ClientDisconnectWatchdog(QueryTimeoutProperties properties) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "client-disconnect-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.isEnabled() && properties.isCancelOnDisconnect()) {
+            long interval = Math.max(10, properties.getDisconnectCheckInterval().toMillis());
+            scheduler.scheduleWithFixedDelay(this::check, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    void watch(QueryScope scope) {
+        scopes.add(scope);
+    }
+
+    void unwatch(QueryScope scope) {
+        scopes.remove(scope);
+    }
+
+    private void check() {
+        for (QueryScope scope : scopes) {
+            try {
+                int cancelled = scope.cancelIfDisconnected();
+                if (cancelled > 0) {
+                    log.info("Client of {} disconnected; cancelled {} running statement(s)",
+                            scope.getEndpoint(), cancelled);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Client disconnect check failed for {}", scope.getEndpoint(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.company.employee.querytimeout;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Query-timeout state of one request to a @QueryTimeout endpoint, bound to the request thread by
+ * QueryTimeoutInterceptor:
+ *
+ * - QueryTimeoutJpaDialect puts the endpoint's timeout on the EntityManager of every transaction
+ *   begun meanwhile (javax.persistence.query.timeout). Hibernate passes that hint on to each JPA
+ *   query the transaction creates, Spring Data's specification and count queries included, and
+ *   the driver cancels a statement once it expires.
+ * - CancellableDataSource records which statements of the request are running, and
+ *   ClientDisconnectWatchdog cancels them once the client has closed its connection, so a query
+ *   nobody is waiting for stops holding a connection and database CPU.
+ *
+ * A request whose query other requests are waiting for (see SingleFlight) is not cancelled when
+ * its own client goes away: they still need the result. The timeout bounds it either way.
+ */
+@Slf4j
+public final class QueryScope {
+
+    private static final ThreadLocal<QueryScope> CURRENT = new ThreadLocal<>();
+
+    /** Probes in a row that must find the connection closed (see cancelIfDisconnected). */
+    private static final int CLOSED_PROBES = 2;
+
+    private final String endpoint;
+    private final int timeoutMillis;
+    private final BooleanSupplier clientGone;
+    private final Set<Statement> running = new HashSet<>();
+    private final AtomicInteger followers = new AtomicInteger();
+    private int closedProbes;
+    private volatile boolean disconnected;
+
+    QueryScope(String endpoint, Duration timeout, BooleanSupplier clientGone) {
+        this.endpoint = endpoint;
+        // JDBC query timeouts are whole seconds: a shorter one would be truncated to none at all
+        long seconds = timeout.isNegative() || timeout.isZero() ? 0 : (timeout.toMillis() + 999) / 1000;
+        this.timeoutMillis = (int) Math.min(seconds * 1000, Integer.MAX_VALUE);
+        this.clientGone = clientGone;
+    }
+
+    /** The scope of the current request thread, or null outside a @QueryTimeout endpoint. */
+    public static QueryScope current() {
+        return CURRENT.get();
+    }
+
+    static void bind(QueryScope scope) {
+        CURRENT.set(scope);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /** Query timeout in milliseconds (whole seconds); 0 for none. */
+    public int getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /** Whether this request's statements were cancelled because its client disconnected. */
+    public boolean isDisconnected() {
+        return disconnected;
+    }
+
+    /** Another request waits for this one's query; pair with {@link #removeFollower()}. */
+    public void addFollower() {
+        followers.incrementAndGet();
+    }
+
+    public void removeFollower() {
+        followers.decrementAndGet();
+    }
+
+    boolean watchesClient() {
+        return clientGone != null;
+    }
+
+    synchronized void started(Statement statement) {
+        running.add(statement);
+    }
+
+    /** Blocks while the watchdog is probing the connection, which it must not share with the request thread. */
+    synchronized void finished(Statement statement) {
+        running.remove(statement);
+    }
+
+    /**
+     * Called by the watchdog: while a statement is running (the request thread is blocked in
+     * JDBC and does not touch the connection), probes whether the client has closed it, and if so
+     * cancels the running statements. A closed connection reads as closed on every probe, but
+     * bytes of a pipelined next request read only once and then stay buffered, so it takes
+     * CLOSED_PROBES probes in a row.
+     *
+     * Only the probe runs under the lock. The statements are cancelled after it is released, so a
+     * cancel request that is slow to reach the database never holds up finished() on the request
+     * thread. A statement that completes meanwhile is not affected: the driver only sends a cancel
+     * for a statement that is still executing.
+     *
+     * @return the number of statements cancelled
+     */
+    int cancelIfDisconnected() {
+        List<Statement> statements;
+        synchronized (this) {
+            if (disconnected || running.isEmpty() || clientGone == null || followers.get() > 0) {
+                closedProbes = 0;
+                return 0;
+            }
+            if (!clientGone.getAsBoolean()) {
+                closedProbes = 0;
+                return 0;
+            }
+            if (++closedProbes < CLOSED_PROBES) {
+                return 0;
+            }
+            disconnected = true;
+            statements = new ArrayList<>(running);
+        }
+        for (Statement statement : statements) {
+            try {
+                statement.cancel();
+            } catch (SQLException ex) {
+                log.warn("Could not cancel a statement of {}: {}", endpoint, ex.getMessage());
+            }
+        }
+        return statements.size();
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.employee.querytimeout;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as a query-timeout endpoint: while it runs, JPA queries in its
+ * transactions time out after app.query-timeouts.endpoints.&lt;value&gt; (or the default timeout),
+ * and its running statements are cancelled when the client disconnects. See QueryScope.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryTimeout {
+
+    /** Endpoint name: the key of its timeout and the endpoint tag of db.queries.cancelled. */
+    String value();
+}
@@ -0,0 +1,96 @@
+package com.company.employee.querytimeout;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Query timeouts and disconnect cancellation of @QueryTimeout endpoints (see QueryScope): the
+ * interceptor, the Tomcat valve, the JPA dialect and CancellableDataSource. With
+ * app.query-timeouts.enabled=false none of it is installed.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-timeouts.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryTimeoutConfig implements WebMvcConfigurer {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final QueryTimeoutProperties properties;
+    private final ClientDisconnectWatchdog watchdog;
+
+    public QueryTimeoutConfig(QueryTimeoutProperties properties, ClientDisconnectWatchdog watchdog) {
+        this.properties = properties;
+        this.watchdog = watchdog;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryTimeoutInterceptor(properties, watchdog));
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> clientDisconnectValveCustomizer() {
+        return factory -> factory.addContextValves(new ClientDisconnectValve());
+    }
+
+    /** Replaces the vendor adapter's dialect; set before initialization, so the adapter's is never used. */
+    @Bean
+    public static BeanPostProcessor queryTimeoutJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean) {
+                    ((AbstractEntityManagerFactoryBean) bean).setJpaDialect(new QueryTimeoutJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public static DataSourcePostProcessor cancellableDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DataSourcePostProcessor(meterRegistry);
+    }
+
+    /**
+     * Wraps the application DataSource in a CancellableDataSource. Ordered after TracingConfig's
+     * post-processor and before DbConcurrencyConfig's, so it ends up between TracingDataSource and
+     * the concurrency limit; the statements it cancels are TracingDataSource's proxies, which pass
+     * cancel() on to the pool's. The @Bean method declares this type rather than BeanPostProcessor:
+     * Spring reads Ordered off the declared type, and applies post-processors it cannot see as
+     * Ordered in registration order instead.
+     */
+    static final class DataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        private DataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource
+                    && !(bean instanceof CancellableDataSource)) {
+                return new CancellableDataSource((DataSource) bean, meterRegistry.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
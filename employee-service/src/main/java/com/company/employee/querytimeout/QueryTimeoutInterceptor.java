@@ -0,0 +1,55 @@
+package com.company.employee.querytimeout;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Binds a QueryScope to the thread of each request to a @QueryTimeout method, and has
+ * ClientDisconnectWatchdog watch its connection when the request has a disconnect probe
+ * (ClientDisconnectValve) and app.query-timeouts.cancel-on-disconnect is on.
+ */
+public class QueryTimeoutInterceptor implements HandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = QueryTimeoutInterceptor.class.getName() + ".scope";
+
+    private final QueryTimeoutProperties properties;
+    private final ClientDisconnectWatchdog watchdog;
+
+    public QueryTimeoutInterceptor(QueryTimeoutProperties properties, ClientDisconnectWatchdog watchdog) {
+        this.properties = properties;
+        this.watchdog = watchdog;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryTimeout annotation = handler instanceof HandlerMethod
+                ? ((HandlerMethod) handler).getMethodAnnotation(QueryTimeout.class) : null;
+        if (annotation == null || QueryScope.current() != null) {
+            return true;
+        }
+        BooleanSupplier clientGone = properties.isCancelOnDisconnect()
+                ? (BooleanSupplier) request.getAttribute(ClientDisconnectValve.PROBE_ATTRIBUTE) : null;
+        QueryScope scope = new QueryScope(annotation.value(), properties.timeoutFor(annotation.value()), clientGone);
+        QueryScope.bind(scope);
+        request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        if (scope.watchesClient()) {
+            watchdog.watch(scope);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        QueryScope scope = (QueryScope) request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope != null) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            watchdog.unwatch(scope);
+            QueryScope.unbind();
+        }
+    }
+}
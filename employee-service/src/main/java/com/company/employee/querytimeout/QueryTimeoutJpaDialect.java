@@ -0,0 +1,28 @@
+package com.company.employee.querytimeout;
+
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.EntityManager;
+import java.sql.SQLException;
+
+/**
+ * Sets the current @QueryTimeout endpoint's timeout (see QueryScope) as the
+ * javax.persistence.query.timeout hint of each transaction's EntityManager; Hibernate applies
+ * it to every query created afterwards in that transaction.
+ */
+public class QueryTimeoutJpaDialect extends HibernateJpaDialect {
+
+    private static final String QUERY_TIMEOUT_HINT = "javax.persistence.query.timeout";
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        QueryScope scope = QueryScope.current();
+        if (scope != null && scope.getTimeoutMillis() > 0) {
+            entityManager.setProperty(QUERY_TIMEOUT_HINT, scope.getTimeoutMillis());
+        }
+        return transactionData;
+    }
+}
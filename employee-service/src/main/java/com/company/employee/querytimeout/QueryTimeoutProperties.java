@@ -0,0 +1,44 @@
+package com.company.employee.querytimeout;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Query timeouts of @QueryTimeout endpoints and cancellation of their statements when the client
+ * disconnects (see QueryScope).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.query-timeouts")
+public class QueryTimeoutProperties {
+
+    /** When false, endpoints run without query timeouts and disconnects are not watched. */
+    private boolean enabled = true;
+
+    /**
+     * Timeout of endpoints not listed in endpoints; 0 for none. Keep timeouts below the gateway's
+     * EMPLOYEE_API_TIMEOUT, so the client gets the timeout error rather than giving up first.
+     * JDBC timeouts are whole seconds, so they are rounded up.
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(8);
+
+    /** Timeouts per endpoint name (the value of @QueryTimeout), e.g. list: 5s. */
+    private Map<String, Duration> endpoints = new LinkedHashMap<>();
+
+    /** Cancel an endpoint's running statements once its client has closed the connection. */
+    private boolean cancelOnDisconnect = true;
+
+    /** How often the connections of requests with a running statement are checked. */
+    private Duration disconnectCheckInterval = Duration.ofMillis(250);
+
+    public Duration timeoutFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultTimeout);
+    }
+}
@@ -0,0 +1,20 @@
+package com.company.employee.repository;
+
+import com.company.employee.model.Employee;
+import com.company.employee.model.EmployeeGroupBy;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+/**
+ * Criteria-built GROUP BY counts; mixed into EmployeeRepository (implemented by
+ * EmployeeAggregationsImpl).
+ */
+public interface EmployeeAggregations {
+
+    /**
+     * Employees matching spec per value of the grouping (null key: no value). For subjects, the
+     * employees having each subject.
+     */
+    Map<String, Long> countBy(EmployeeGroupBy groupBy, Specification<Employee> spec);
+}
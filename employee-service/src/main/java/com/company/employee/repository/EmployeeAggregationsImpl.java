@@ -0,0 +1,57 @@
+package com.company.employee.repository;
+
+import com.company.employee.model.Employee;
+import com.company.employee.model.EmployeeGroupBy;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.HashMap;
+import java.util.Map;
+
+class EmployeeAggregationsImpl implements EmployeeAggregations {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<String, Long> countBy(EmployeeGroupBy groupBy, Specification<Employee> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Employee> root = query.from(Employee.class);
+        Expression<?> key;
+        Expression<Long> count;
+        switch (groupBy) {
+            case EMPLOYEE_CLASS:
+                key = root.get("employeeClass");
+                count = cb.count(root);
+                break;
+            case ROLE:
+                key = root.get("role");
+                count = cb.count(root);
+                break;
+            default:
+                // Inner join: employees without subjects are in no group
+                key = root.join("subjects");
+                count = cb.countDistinct(root);
+                break;
+        }
+        Predicate matches = spec.toPredicate(root, query, cb);
+        query.multiselect(key, count).groupBy(key);
+        if (matches != null) {
+            query.where(matches);
+        }
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            Object value = row[0];
+            counts.put(value instanceof Enum ? ((Enum<?>) value).name() : (String) value, (Long) row[1]);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.employee.repository;
+
+import com.company.employee.model.Employee;
+import com.company.employee.model.EmployeeRole;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria-built bulk statements that need more than a fixed JPQL query; mixed into
+ * EmployeeRepository (implemented by EmployeeBulkOperationsImpl).
+ */
+public interface EmployeeBulkOperations {
+
+    /**
+     * Locks (SELECT ... FOR UPDATE) and returns up to limit ids of employees matching spec with
+     * id greater than afterId, in id order. Rows deleted by a concurrent transaction are skipped.
+     */
+    List<Long> lockIdsAfter(Specification<Employee> spec, long afterId, int limit);
+
+    /**
+     * Sets employeeClass, role and attendance on the given employees, leaving the fields that are
+     * null unchanged, and sets updatedAt. Clears the persistence context.
+     */
+    int updateFields(Collection<Long> ids, String employeeClass, EmployeeRole role, Integer attendance,
+                     Instant updatedAt);
+}
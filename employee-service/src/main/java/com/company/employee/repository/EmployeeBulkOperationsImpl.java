@@ -0,0 +1,81 @@
+package com.company.employee.repository;
+
+import com.company.employee.model.Employee;
+import com.company.employee.model.EmployeeRole;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+class EmployeeBulkOperationsImpl implements EmployeeBulkOperations {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> lockIdsAfter(Specification<Employee> spec, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employee> root = query.from(Employee.class);
+        Predicate matches = spec.toPredicate(root, query, cb);
+        // Parameters rather than criteria literals, which Hibernate inlines for numbers
+        ParameterExpression<Long> afterParam = cb.parameter(Long.class);
+        Predicate after = cb.greaterThan(root.get("id"), afterParam);
+        query.select(root.get("id"))
+                .where(matches != null ? cb.and(matches, after) : after)
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setParameter(afterParam, afterId)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public int updateFields(Collection<Long> ids, String employeeClass, EmployeeRole role, Integer attendance,
+                            Instant updatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> root = update.from(Employee.class);
+        if (employeeClass != null) {
+            update.set(root.<String>get("employeeClass"), cb.parameter(String.class, "employeeClass"));
+        }
+        if (role != null) {
+            update.set(root.<EmployeeRole>get("role"), cb.parameter(EmployeeRole.class, "role"));
+        }
+        if (attendance != null) {
+            update.set(root.<Integer>get("attendance"), cb.parameter(Integer.class, "attendance"));
+        }
+        ParameterExpression<Collection> idsParam = cb.parameter(Collection.class, "ids");
+        update.set(root.<Instant>get("updatedAt"), cb.parameter(Instant.class, "updatedAt"))
+                .where(root.get("id").in(idsParam));
+
+        Query query = entityManager.createQuery(update)
+                .setParameter("ids", ids)
+                .setParameter("updatedAt", updatedAt);
+        if (employeeClass != null) {
+            query.setParameter("employeeClass", employeeClass);
+        }
+        if (role != null) {
+            query.setParameter("role", role);
+        }
+        if (attendance != null) {
+            query.setParameter("attendance", attendance);
+        }
+        int updated = query.executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+}
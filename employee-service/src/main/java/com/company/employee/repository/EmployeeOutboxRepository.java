@@ -0,0 +1,43 @@
+package com.company.employee.repository;
+
+import com.company.employee.model.EmployeeOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmployeeOutboxRepository extends JpaRepository<EmployeeOutboxEvent, Long> {
+
+    List<EmployeeOutboxEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<EmployeeOutboxEvent> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long upToId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM EmployeeOutboxEvent e WHERE e.createdAt < :cutoff")
+    long findMaxIdCreatedBefore(@Param("cutoff") Instant cutoff);
+
+    @Query("SELECT COALESCE(MIN(e.id), 0) FROM EmployeeOutboxEvent e")
+    long findMinId();
+
+    /**
+     * DELETED events ({"id":...} payloads, as EmployeeOutboxService writes them) for the given
+     * employees that still exist, in id order; call before deleting them.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO employee_outbox (employee_id, change_type, payload, created_at)"
+            + " SELECT e.id, 'DELETED', CONCAT('{\"id\":', e.id, '}'), :createdAt FROM employees e"
+            + " WHERE e.id IN (:ids) ORDER BY e.id", nativeQuery = true)
+    int insertDeletedEvents(@Param("ids") Collection<Long> ids, @Param("createdAt") Instant createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmployeeOutboxEvent e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,10 +1,48 @@
 package com.company.employee.repository;
 
 import com.company.employee.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeBulkOperations, EmployeeAggregations {
+
+    /**
+     * Employees after the (updatedAt, id) cursor, up to and including upTo, in cursor order.
+     * The redundant updatedAt >= :since bound lets the planner range-scan idx_employee_updated_at.
+     */
+    @Query("SELECT e FROM Employee e"
+            + " WHERE e.updatedAt >= :since AND (e.updatedAt > :since OR e.id > :sinceId)"
+            + " AND e.updatedAt <= :upTo"
+            + " ORDER BY e.updatedAt, e.id")
+    List<Employee> findUpdatedAfterCursor(@Param("since") Instant since, @Param("sinceId") long sinceId,
+                                          @Param("upTo") Instant upTo, Pageable pageable);
+
+    /** Locks (SELECT ... FOR UPDATE) and returns the ids that exist, in id order. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids ORDER BY e.id")
+    List<Long> lockIdsIn(@Param("ids") Collection<Long> ids);
+
+    /** Set-based delete of the subjects collection rows, which the JPQL bulk delete below does not cascade to. */
+    @Modifying
+    @Query(value = "DELETE FROM employee_subjects WHERE employee_id IN (:ids)", nativeQuery = true)
+    int deleteSubjectsByEmployeeIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Deletes the employees without loading them; delete their subjects first. */
+    @Modifying
+    @Query("DELETE FROM Employee e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,37 @@
+package com.company.employee.repository;
+
+import com.company.employee.model.EmployeeTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Long> {
+
+    /** Tombstones after the (deletedAt, employeeId) cursor, up to and including upTo, in cursor order. */
+    @Query("SELECT t FROM EmployeeTombstone t"
+            + " WHERE t.deletedAt >= :since AND (t.deletedAt > :since OR t.employeeId > :sinceId)"
+            + " AND t.deletedAt <= :upTo"
+            + " ORDER BY t.deletedAt, t.employeeId")
+    List<EmployeeTombstone> findAfterCursor(@Param("since") Instant since, @Param("sinceId") long sinceId,
+                                            @Param("upTo") Instant upTo, Pageable pageable);
+
+    /** Tombstones for the given employees that still exist; call before deleting them. */
+    @Modifying
+    @Query(value = "INSERT INTO employee_tombstones (employee_id, deleted_at)"
+            + " SELECT e.id, :deletedAt FROM employees e WHERE e.id IN (:ids)", nativeQuery = true)
+    int insertForEmployees(@Param("ids") Collection<Long> ids, @Param("deletedAt") Instant deletedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmployeeTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -15,4 +15,6 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     void deleteByUser(User user);
 
     void deleteByToken(String token);
+
+    void deleteByTokenAndUserUsername(String token, String username);
 }
@@ -0,0 +1,23 @@
+package com.company.employee.repository;
+
+import com.company.employee.model.ReportJob;
+import com.company.employee.model.ReportJobState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    List<ReportJob> findTop20ByUsernameOrderByCreatedAtDesc(String username);
+
+    long countByUsernameAndStateIn(String username, Collection<ReportJobState> states);
+
+    /** Unfinished jobs nobody is running: lease expired (or never taken). */
+    List<ReportJob> findByStateInAndLeaseUntilBefore(Collection<ReportJobState> states, Instant now);
+
+    List<ReportJob> findByStateInAndFinishedAtBefore(Collection<ReportJobState> states, Instant cutoff);
+}
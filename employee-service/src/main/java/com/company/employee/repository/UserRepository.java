@@ -6,7 +6,11 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -21,4 +25,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /** Users holding any of the usernames or any of the emails, in one query (bulk provisioning). */
+    @Query("SELECT u.username AS username, u.email AS email FROM User u"
+            + " WHERE u.username IN :usernames OR u.email IN :emails")
+    List<UsernameAndEmail> findByUsernameInOrEmailIn(@Param("usernames") Collection<String> usernames,
+                                                     @Param("emails") Collection<String> emails);
+
+    /** Users whose tokens were revoked after {@code since}, i.e. who may still hold revoked access tokens. */
+    @Query("SELECT u.username AS username, u.tokenVersion AS tokenVersion, u.tokensRevokedAt AS tokensRevokedAt"
+            + " FROM User u WHERE u.tokensRevokedAt > :since")
+    List<TokenVersion> findTokenVersionsRevokedAfter(@Param("since") Instant since);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.username = :username")
+    Optional<Integer> findTokenVersionByUsername(@Param("username") String username);
+
+    interface TokenVersion {
+        String getUsername();
+
+        int getTokenVersion();
+
+        Instant getTokensRevokedAt();
+    }
+
+    interface UsernameAndEmail {
+        String getUsername();
+
+        String getEmail();
+    }
 }
@@ -1,5 +1,8 @@
 package com.company.employee.security;
 
+import com.company.employee.tracing.Span;
+import com.company.employee.tracing.Tracer;
+import io.jsonwebtoken.Claims;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -27,21 +30,30 @@ import java.util.List;
  * 2. If no token or invalid format: do nothing; later filters or endpoint rules
  *    will require authentication and trigger 401 via JwtAuthenticationEntryPoint.
  * 3. If token present: validate signature and expiry via JwtUtil (reject if expired
- *    or tampered); ensure it is an access token (not a refresh token).
- * 4. Parse username (subject) and roles from token and build an
+ *    or tampered); ensure it is an access token (not a refresh token). The token is parsed
+ *    once, and its claims are kept in the CLAIMS_ATTRIBUTE request attribute (e.g. for logout).
+ * 4. Reject it if it was revoked (logout, logout everywhere, disabled user; see
+ *    TokenRevocationList) - a lock-free in-memory check.
+ * 5. Take username (subject) and roles from the claims and build an
  *    UsernamePasswordAuthenticationToken with authorities (roles).
- * 5. Set this Authentication in SecurityContextHolder so the rest of the filter
+ * 6. Set this Authentication in SecurityContextHolder so the rest of the filter
  *    chain and the controller see the request as authenticated with correct roles.
  *
  * SecurityContext is not persisted; it is per-request and cleared after the response.
+ * Steps 1-6 are traced as the JwtAuthenticationFilter span.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /** Request attribute holding the Claims of the authenticating access token. */
+    public static final String CLAIMS_ATTRIBUTE = "com.company.employee.security.JwtAuthenticationFilter.claims";
+
     private final JwtUtil jwtUtil;
     private final JwtProperties jwtProperties;
+    private final TokenRevocationList revocationList;
+    private final Tracer tracer;
 
     @Override
     protected void doFilterInternal(
@@ -49,17 +61,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
-        try {
+        try (Span span = tracer.startSpan("JwtAuthenticationFilter")) {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt) && !jwtUtil.isRefreshToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
-                List<SimpleGrantedAuthority> authorities = jwtUtil.getAuthoritiesFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? jwtUtil.parseAccessToken(jwt) : null;
+            if (claims != null && revocationList.isRevoked(claims.getId(), claims.getSubject(),
+                    jwtUtil.getTokenVersion(claims))) {
+                log.debug("Rejected revoked access token for {}", claims.getSubject());
+                span.setAttribute("auth.result", "revoked");
+            } else if (claims != null) {
+                String username = claims.getSubject();
+                List<SimpleGrantedAuthority> authorities = jwtUtil.getAuthorities(claims);
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(username, null, authorities);
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+                span.setAttribute("auth.result", "authenticated").setAttribute("enduser.id", username);
+            } else {
+                span.setAttribute("auth.result", jwt == null ? "anonymous" : "invalid");
             }
         } catch (Exception e) {
             log.debug("Cannot set user authentication: {}", e.getMessage());
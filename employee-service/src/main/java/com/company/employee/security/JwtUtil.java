@@ -1,8 +1,10 @@
 package com.company.employee.security;
 
+import com.company.employee.jfr.JwtVerificationEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -20,6 +22,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -27,19 +31,25 @@ import java.util.stream.Collectors;
  *
  * TOKEN GENERATION (used after successful login):
  * - Access token: contains subject (username), "roles" claim (comma-separated, e.g. ROLE_ADMIN),
- *   type=access, issuer, issuedAt, expiration. Signed with HMAC using configured secret.
+ *   type=access, issuer, issuedAt, expiration, a random id (jti) and the user's token version
+ *   ("ver"), both used for revocation (TokenRevocationList). Signed with HMAC using configured secret.
  * - Refresh token: subject, type=refresh, no roles; used only to obtain new access tokens.
  *
  * Token validation checks signature (getSigningKey), expiration, and that the token
  * is an access token when used for API authorization. Roles from the "roles" claim
  * are exposed as GrantedAuthority (e.g. ROLE_ADMIN) for Spring Security.
+ * Request authentication uses parseAccessToken, which does all of this with a single parse.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
     private final JwtProperties jwtProperties;
+    /** Immutable and thread-safe; built on first use. */
+    private volatile JwtParser parser;
 
     private SecretKey getSigningKey() {
         String secret = jwtProperties.getSecret();
@@ -51,7 +61,7 @@ public class JwtUtil {
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
-    public String generateAccessToken(String username, java.util.Set<String> roles) {
+    public String generateAccessToken(String username, Set<String> roles, int tokenVersion) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtProperties.getExpirationMs());
         String rolesClaim = roles.stream().collect(Collectors.joining(","));
@@ -60,6 +70,8 @@ public class JwtUtil {
                 .setSubject(username)
                 .claim("roles", rolesClaim)
                 .claim("type", "access")
+                .claim(TOKEN_VERSION_CLAIM, tokenVersion)
+                .setId(UUID.randomUUID().toString())
                 .setIssuer(jwtProperties.getIssuer())
                 .setIssuedAt(now)
                 .setExpiration(expiry)
@@ -91,42 +103,82 @@ public class JwtUtil {
 
     public List<SimpleGrantedAuthority> getAuthoritiesFromToken(String token) {
         try {
-            Claims claims = getClaims(token).getBody();
-            String rolesClaim = claims.get("roles", String.class);
-            if (rolesClaim == null || rolesClaim.isEmpty()) {
-                return Collections.emptyList();
-            }
-            return Arrays.stream(rolesClaim.split(","))
-                    .map(String::trim)
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toList());
+            return getAuthorities(getClaims(token).getBody());
         } catch (Exception e) {
             return Collections.emptyList();
         }
     }
 
+    public List<SimpleGrantedAuthority> getAuthorities(Claims claims) {
+        String rolesClaim = claims.get("roles", String.class);
+        if (rolesClaim == null || rolesClaim.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(rolesClaim.split(","))
+                .map(String::trim)
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+
+    /** The token version the access token was issued with; 0 for tokens issued before it was added. */
+    public int getTokenVersion(Claims claims) {
+        Integer version = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return version != null ? version : 0;
+    }
+
     public boolean validateToken(String token) {
+        return parse(token) != null;
+    }
+
+    /**
+     * Validates signature and expiry and that this is an access token, parsing it once.
+     *
+     * @return the token's claims, or null if it is not a valid access token
+     */
+    public Claims parseAccessToken(String token) {
+        Claims claims = parse(token);
+        return claims != null && "access".equals(claims.get("type", String.class)) ? claims : null;
+    }
+
+    private Claims parse(String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        String outcome;
         try {
-            getClaims(token);
-            return true;
+            Claims claims = getClaims(token).getBody();
+            event.setOutcome("valid");
+            event.setTokenType(claims.get("type", String.class));
+            event.commit();
+            return claims;
         } catch (SignatureException e) {
+            outcome = "bad-signature";
             log.warn("Invalid JWT signature");
         } catch (MalformedJwtException e) {
+            outcome = "malformed";
             log.warn("Invalid JWT token");
         } catch (ExpiredJwtException e) {
+            outcome = "expired";
             log.warn("Expired JWT token");
         } catch (UnsupportedJwtException e) {
+            outcome = "unsupported";
             log.warn("Unsupported JWT token");
         } catch (IllegalArgumentException e) {
+            outcome = "empty";
             log.warn("JWT claims string is empty");
         }
-        return false;
+        event.setOutcome(outcome);
+        event.commit();
+        return null;
     }
 
     private Jws<Claims> getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build();
+            parser = current;
+        }
+        return current.parseClaimsJws(token);
     }
 }
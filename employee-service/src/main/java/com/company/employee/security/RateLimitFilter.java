@@ -0,0 +1,76 @@
+package com.company.employee.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Rejects requests over the configured rate with 429 and a Retry-After header.
+ *
+ * Runs right after JwtAuthenticationFilter, so authenticated requests are limited per user and
+ * anonymous ones (login, register, refresh) per client IP. The IP is getRemoteAddr(), which Tomcat's
+ * RemoteIpValve (server.forward-headers-strategy=native) takes from X-Forwarded-For when the peer
+ * is one of server.tomcat.remoteip.internal-proxies. Not a bean on purpose: it is added to the
+ * security filter chain only, never registered as a plain servlet filter.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimiter.Rule rule = rateLimiter.match(request.getMethod(), request.getServletPath());
+        if (rule != null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            boolean authenticated = authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken);
+            String key = authenticated ? authentication.getName() : request.getRemoteAddr();
+            long waitNanos = rateLimiter.tryAcquire(rule, key, authenticated);
+            if (waitNanos > 0) {
+                reject(request, response, rule, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RateLimiter.Rule rule,
+                        long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        log.debug("Rate limit '{}' exceeded for {} {}", rule.name(), request.getMethod(), request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        Map<String, Object> body = Map.of(
+                "timestamp", Instant.now().toString(),
+                "status", 429,
+                "error", "Too Many Requests",
+                "message", "Rate limit exceeded, retry after " + retryAfterSeconds + "s",
+                "path", request.getRequestURI()
+        );
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.employee.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request rate limits per user (authenticated) or client IP (anonymous), see RateLimiter.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Buckets unused (and full) for this long are dropped. */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    /** Checked in order; the first rule matching method and path applies. Unmatched requests are not limited. */
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+
+        private String name;
+        /** HTTP methods; empty matches all. */
+        private List<String> methods = new ArrayList<>();
+        /** Exact paths, or prefixes ending in /** (relative to the context path). */
+        private List<String> paths = new ArrayList<>();
+        private double permitsPerSecond;
+        /** Requests allowed back-to-back before the rate applies. */
+        private int burst = 1;
+    }
+}
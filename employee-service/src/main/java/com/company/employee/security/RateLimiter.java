@@ -0,0 +1,191 @@
+package com.company.employee.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory rate limiter with one bucket per rule and user (or client IP).
+ *
+ * Each bucket is a single AtomicLong holding the GCRA "theoretical arrival time": a request is
+ * allowed when it would not push that time more than burst intervals ahead of now, and is
+ * admitted with one compare-and-set. Buckets live in per-rule ConcurrentHashMaps, whose bins are
+ * independently locked on insert and read without locks, so the hot path never blocks.
+ * Limits are per instance.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private static final long SWEEP_INTERVAL_SECONDS = 60;
+
+    private final boolean enabled;
+    private final List<CompiledRule> rules = new ArrayList<>();
+    private final long idleExpiryNanos;
+    /** Bucket times are stored relative to this so an empty bucket can start at 0. */
+    private final long epochNanos = System.nanoTime();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "rate-limit-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.idleExpiryNanos = properties.getIdleExpiry().toNanos();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (rule.getPermitsPerSecond() <= 0 || rule.getBurst() < 1) {
+                throw new IllegalStateException("Rate limit rule " + rule.getName()
+                        + " needs permits-per-second > 0 and burst >= 1");
+            }
+            rules.add(new CompiledRule(rule, Counter.builder("http.rate.limit.rejected")
+                    .description("Requests rejected with 429")
+                    .tag("rule", rule.getName())
+                    .register(meterRegistry)));
+        }
+        if (enabled && !rules.isEmpty()) {
+            sweeper.scheduleWithFixedDelay(this::sweepIdleBuckets, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    /** The first rule matching the request, or null if the request is not limited. */
+    public Rule match(String method, String path) {
+        if (!enabled) {
+            return null;
+        }
+        for (CompiledRule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes one permit from the bucket of {@code key} under {@code rule}.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(Rule rule, String key, boolean authenticated) {
+        CompiledRule compiled = (CompiledRule) rule;
+        ConcurrentHashMap<String, AtomicLong> buckets = authenticated ? compiled.userBuckets : compiled.ipBuckets;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            AtomicLong created = new AtomicLong();
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        long now = System.nanoTime() - epochNanos;
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + compiled.intervalNanos;
+            long ahead = next - now;
+            if (ahead > compiled.toleranceNanos) {
+                compiled.rejected.increment();
+                return ahead - compiled.toleranceNanos;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private void sweepIdleBuckets() {
+        long cutoff = System.nanoTime() - epochNanos - idleExpiryNanos;
+        int removed = 0;
+        for (CompiledRule rule : rules) {
+            removed += sweep(rule.userBuckets, cutoff) + sweep(rule.ipBuckets, cutoff);
+        }
+        if (removed > 0) {
+            log.debug("Dropped {} idle rate limit buckets", removed);
+        }
+    }
+
+    private static int sweep(ConcurrentHashMap<String, AtomicLong> buckets, long cutoff) {
+        int before = buckets.size();
+        // A bucket whose arrival time is older than the cutoff has been full and unused since
+        buckets.values().removeIf(bucket -> bucket.get() < cutoff);
+        return before - buckets.size();
+    }
+
+    /** A configured limit as matched by RateLimitFilter. */
+    public interface Rule {
+
+        String name();
+    }
+
+    private static final class CompiledRule implements Rule {
+
+        private final String name;
+        private final Set<String> methods = new HashSet<>();
+        private final List<String> exactPaths = new ArrayList<>();
+        private final List<String> pathPrefixes = new ArrayList<>();
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final Counter rejected;
+        private final ConcurrentHashMap<String, AtomicLong> userBuckets = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, AtomicLong> ipBuckets = new ConcurrentHashMap<>();
+
+        private CompiledRule(RateLimitProperties.Rule rule, Counter rejected) {
+            this.name = rule.getName();
+            for (String method : rule.getMethods()) {
+                methods.add(method.trim().toUpperCase(Locale.ROOT));
+            }
+            for (String path : rule.getPaths()) {
+                String trimmed = path.trim();
+                if (trimmed.endsWith("/**")) {
+                    pathPrefixes.add(trimmed.substring(0, trimmed.length() - 3));
+                } else {
+                    exactPaths.add(trimmed);
+                }
+            }
+            this.intervalNanos = (long) (1_000_000_000L / rule.getPermitsPerSecond());
+            this.toleranceNanos = intervalNanos * rule.getBurst();
+            this.rejected = rejected;
+        }
+
+        private boolean matches(String method, String path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (String exact : exactPaths) {
+                if (exact.equals(path)) {
+                    return true;
+                }
+            }
+            for (String prefix : pathPrefixes) {
+                // "/employees/**" matches /employees and anything below it, not /employeesX
+                if (path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+}
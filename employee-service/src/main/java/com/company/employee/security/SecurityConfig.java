@@ -1,5 +1,7 @@
 package com.company.employee.security;
 
+import com.company.employee.jfr.JfrPasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -36,14 +38,18 @@ import java.util.List;
  *    - Refresh token (stored in DB, used to obtain new access token).
  * 4. Client stores tokens and sends "Authorization: Bearer <accessToken>" on subsequent requests.
  * 5. JwtAuthenticationFilter runs before the dispatcher: extracts Bearer token, validates signature
- *    and expiry via JwtUtil, parses roles from token, and sets Authentication in SecurityContext.
+ *    and expiry via JwtUtil, rejects revoked tokens (TokenRevocationList), parses roles from token,
+ *    and sets Authentication in SecurityContext.
  * 6. SecurityContextHolder then holds the authenticated principal (username) and authorities (roles)
  *    for the current request, so authorization rules (hasRole, etc.) can be evaluated.
+ * 7. RateLimitFilter then applies the per-user (or per-IP, when anonymous) rate limits.
  *
  * ROLE-BASED ACCESS:
- * - ADMIN (ROLE_ADMIN): full CRUD on /employees (create, update, delete, and view).
+ * - ADMIN (ROLE_ADMIN): full CRUD on /employees (create, update, delete, bulk update/delete, and view),
+ *   and /admin/**.
  * - EMPLOYEE (ROLE_EMPLOYEE): view only (GET /employees, GET /employees/{id}).
- * - Unauthenticated: only /v1/auth/* and /actuator/health.
+ * - Any authenticated user: POST /v1/auth/logout and /v1/auth/logout-all.
+ * - Unauthenticated: only /v1/auth/login, /register, /refresh and /actuator/health.
  */
 @Configuration
 @EnableWebSecurity
@@ -55,6 +61,8 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final AccessDeniedHandlerImpl accessDeniedHandler;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
 
     @Value("${cors.allowed-origins:http://localhost:3000,http://localhost:5173,https://employee-frontend-neon.vercel.app,https://employee-frontend.onrender.com}")
     private String corsAllowedOrigins;
@@ -65,6 +73,7 @@ public class SecurityConfig {
             "/v1/auth/register",
             "/v1/auth/refresh",
             "/actuator/health",
+            "/actuator/health/**",
             "/error"
     };
 
@@ -97,15 +106,22 @@ public class SecurityConfig {
                     .antMatchers(AUTH_WHITELIST).permitAll()
                     .antMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                     // Only ADMIN can create, update or delete employees
-                    .antMatchers(HttpMethod.POST, "/employees").hasRole("ADMIN")
+                    .antMatchers(HttpMethod.POST, "/employees", "/employees/bulk-delete", "/employees/bulk-update").hasRole("ADMIN")
                     .antMatchers(HttpMethod.PUT, "/employees/*").hasRole("ADMIN")
                     .antMatchers(HttpMethod.DELETE, "/employees/*").hasRole("ADMIN")
+                    // Admin operations (e.g. /admin/dataset, JFR recordings)
+                    .antMatchers("/admin/**", "/actuator/jfr", "/actuator/jfr/**").hasRole("ADMIN")
                     // ADMIN and EMPLOYEE can view (list and get by id)
                     .antMatchers(HttpMethod.GET, "/employees", "/employees/*").hasAnyRole("ADMIN", "EMPLOYEE")
+                    // Check-ins
+                    .antMatchers(HttpMethod.POST, "/attendance/events").hasAnyRole("ADMIN", "EMPLOYEE")
+                    // Report jobs (each user sees their own)
+                    .antMatchers("/reports/**").hasAnyRole("ADMIN", "EMPLOYEE")
                     .anyRequest().authenticated()
                 .and()
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -123,8 +139,9 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /** BCrypt; each hash is recorded as a JFR PasswordHashEvent. */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        return new JfrPasswordEncoder(new BCryptPasswordEncoder(12));
     }
 }
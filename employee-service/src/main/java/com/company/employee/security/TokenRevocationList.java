@@ -0,0 +1,291 @@
+package com.company.employee.security;
+
+import com.company.employee.config.CacheInvalidationBus;
+import com.company.employee.model.RevokedToken;
+import com.company.employee.repository.RevokedTokenRepository;
+import com.company.employee.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory view of the revoked access tokens, checked by JwtAuthenticationFilter on every request.
+ *
+ * Two kinds of revocation, both kept only until the tokens they cover have expired:
+ * - single tokens (logout), by jti: a Bloom filter answers "not revoked" for almost every token
+ *   without touching the exact set, which is consulted only on a filter hit;
+ * - all tokens of a user (logout everywhere, disable): tokens whose "ver" claim is below the
+ *   user's current token version. Also covers tokens issued before jti existed.
+ * Lookups take no locks; additions and filter rebuilds are serialized.
+ *
+ * The database (revoked_tokens, users.token_version) is the source of truth: the list is loaded
+ * from it in the background after startup and whenever CacheInvalidationBus reports that messages
+ * may have been lost, and revocations made on any instance arrive through the bus once their
+ * transaction commits. A load that fails (e.g. the database is not reachable yet) is retried every
+ * RELOAD_RETRY_SECONDS; startup does not wait for it, so the context also starts without a
+ * database (the AppCDS training run). Until the first load has succeeded the list fails closed:
+ * each check goes to the database instead, and a check that fails there counts as revoked. Expired entries are pruned from memory and the database
+ * every pruneInterval.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList implements CacheInvalidationBus.Subscriber {
+
+    static final String TOPIC = "tokenRevocations";
+
+    private static final long RELOAD_RETRY_SECONDS = 5;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserRepository userRepository;
+    private final CacheInvalidationBus bus;
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final long accessTokenLifetimeMillis;
+
+    /** Revoked jti -> token expiry (epoch millis). */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    /** Username -> lowest token version still accepted. */
+    private final Map<String, MinimumVersion> minimumVersions = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    /** Set once reload() has succeeded; until then isRevoked() asks the database. */
+    private volatile boolean loaded;
+
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final ScheduledExecutorService pruner = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "token-revocation-pruner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository, UserRepository userRepository,
+                               CacheInvalidationBus bus, TokenRevocationProperties properties,
+                               JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userRepository = userRepository;
+        this.bus = bus;
+        this.expectedTokens = properties.getExpectedTokens();
+        this.falsePositiveRate = properties.getFalsePositiveRate();
+        this.accessTokenLifetimeMillis = jwtProperties.getExpirationMs();
+        this.filter = new BloomFilter(expectedTokens, falsePositiveRate);
+        registerMeters(meterRegistry);
+        long pruneMillis = properties.getPruneInterval().toMillis();
+        pruner.scheduleWithFixedDelay(this::prune, pruneMillis, pruneMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PostConstruct
+    public void init() {
+        bus.subscribe(TOPIC, this);
+        scheduleReload(0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pruner.shutdownNow();
+    }
+
+    /** Whether the list has been loaded from the database at least once. */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** Whether an otherwise valid access token (jti may be null for old tokens) has been revoked. */
+    public boolean isRevoked(String jti, String username, int tokenVersion) {
+        if (!loaded) {
+            return isRevokedInDatabase(jti, username, tokenVersion);
+        }
+        MinimumVersion minimum = minimumVersions.get(username);
+        if (minimum != null && tokenVersion < minimum.version) {
+            rejected.increment();
+            return true;
+        }
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        if (revokedTokens.containsKey(jti)) {
+            rejected.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Checks against the database directly, for requests arriving before the list has been
+     * loaded. Token versions only increase on revocation, so any version below the user's
+     * current one is revoked.
+     */
+    private boolean isRevokedInDatabase(String jti, String username, int tokenVersion) {
+        boolean revoked;
+        try {
+            revoked = (jti != null && revokedTokenRepository.existsById(jti))
+                    || userRepository.findTokenVersionByUsername(username)
+                            .map(current -> tokenVersion < current).orElse(false);
+        } catch (RuntimeException e) {
+            log.debug("Token revocation list not loaded and the database check failed, rejecting token: {}",
+                    e.getMessage());
+            revoked = true;
+        }
+        if (revoked) {
+            rejected.increment();
+        }
+        return revoked;
+    }
+
+    /** Revokes one token on every instance once the current transaction (which persists it) commits. */
+    public void revokeTokenAfterCommit(String jti, Instant expiresAt) {
+        bus.publishAfterCommit(TOPIC, "J" + expiresAt.toEpochMilli() + " " + jti);
+    }
+
+    /**
+     * Revokes the user's tokens below {@code tokenVersion} on every instance once the current
+     * transaction (which bumps the version) commits.
+     */
+    public void revokeUserAfterCommit(String username, int tokenVersion, Instant revokedAt) {
+        bus.publishAfterCommit(TOPIC, "U" + tokenVersion + " " + revokedAt.toEpochMilli() + " " + username);
+    }
+
+    @Override
+    public void onMessage(String message) {
+        int space = message.indexOf(' ');
+        if (message.charAt(0) == 'J' && space > 1) {
+            addToken(message.substring(space + 1), Long.parseLong(message.substring(1, space)));
+            return;
+        }
+        int second = message.indexOf(' ', space + 1);
+        if (message.charAt(0) == 'U' && space > 1 && second > space) {
+            addUser(message.substring(second + 1), Integer.parseInt(message.substring(1, space)),
+                    Long.parseLong(message.substring(space + 1, second)) + accessTokenLifetimeMillis);
+            return;
+        }
+        log.warn("Ignoring malformed token revocation: {}", message);
+    }
+
+    @Override
+    public void onResync() {
+        scheduleReload(0);
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        Gauge.builder("auth.token.revocations", revokedTokens, Map::size)
+                .description("Revoked access tokens held in memory until they expire")
+                .tag("kind", "token")
+                .register(registry);
+        Gauge.builder("auth.token.revocations", minimumVersions, Map::size)
+                .description("Revoked access tokens held in memory until they expire")
+                .tag("kind", "user")
+                .register(registry);
+        FunctionCounter.builder("auth.token.revocations.rejected", rejected, LongAdder::sum)
+                .description("Requests whose access token had been revoked")
+                .register(registry);
+        FunctionCounter.builder("auth.token.revocations.false.positives", falsePositives, LongAdder::sum)
+                .description("Bloom filter hits for tokens that were not revoked")
+                .register(registry);
+    }
+
+    /** Runs reload() on the pruner thread, retrying until it succeeds; at most one is pending. */
+    private void scheduleReload(long delaySeconds) {
+        if (reloadScheduled.compareAndSet(false, true)) {
+            pruner.schedule(() -> {
+                reloadScheduled.set(false);
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    log.warn("Loading token revocations failed, retrying in {} s: {}", RELOAD_RETRY_SECONDS, e.getMessage());
+                    scheduleReload(RELOAD_RETRY_SECONDS);
+                }
+            }, delaySeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /** Merges the revocations in the database into the list. */
+    synchronized void reload() {
+        Instant now = Instant.now();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            addToken(token.getJti(), token.getExpiresAt().toEpochMilli());
+        }
+        for (UserRepository.TokenVersion user : userRepository.findTokenVersionsRevokedAfter(
+                now.minusMillis(accessTokenLifetimeMillis))) {
+            addUser(user.getUsername(), user.getTokenVersion(),
+                    user.getTokensRevokedAt().toEpochMilli() + accessTokenLifetimeMillis);
+        }
+        loaded = true;
+        log.debug("Token revocation list loaded: {} tokens, {} users", revokedTokens.size(), minimumVersions.size());
+    }
+
+    private synchronized void addToken(String jti, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        // Exact set first: a reader that sees the filter bits also sees the entry
+        if (revokedTokens.put(jti, expiresAtMillis) == null) {
+            if (revokedTokens.size() > filter.expectedKeys()) {
+                rebuildFilter();
+            } else {
+                filter.put(jti);
+            }
+        }
+    }
+
+    private synchronized void addUser(String username, int tokenVersion, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        minimumVersions.merge(username, new MinimumVersion(tokenVersion, expiresAtMillis),
+                (current, added) -> current.version >= added.version ? current : added);
+    }
+
+    /** Drops expired revocations; the filter is rebuilt so their bits stop causing exact-set lookups. */
+    void prune() {
+        try {
+            int deleted = revokedTokenRepository.deleteExpired(Instant.now());
+            if (deleted > 0) {
+                log.debug("Deleted {} expired token revocations", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Pruning expired token revocations failed: {}", e.getMessage());
+        }
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            int before = revokedTokens.size();
+            revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+            minimumVersions.values().removeIf(minimum -> minimum.expiresAtMillis <= now);
+            if (revokedTokens.size() < before) {
+                rebuildFilter();
+            }
+        }
+    }
+
+    private void rebuildFilter() {
+        int expected = Math.max(expectedTokens, revokedTokens.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(expected, falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+
+    private static final class MinimumVersion {
+
+        private final int version;
+        /** When the last token issued with a lower version expires. */
+        private final long expiresAtMillis;
+
+        private MinimumVersion(int version, long expiresAtMillis) {
+            this.version = version;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
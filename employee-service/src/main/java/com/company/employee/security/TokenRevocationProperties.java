@@ -0,0 +1,27 @@
+package com.company.employee.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sizing and pruning of the in-memory access-token revocation list, see TokenRevocationList.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.token-revocation")
+public class TokenRevocationProperties {
+
+    /** Revoked tokens the Bloom filter is sized for; it is rebuilt twice as large when exceeded. */
+    private int expectedTokens = 10_000;
+
+    /** Share of unrevoked tokens that fall through the Bloom filter to the exact set. */
+    private double falsePositiveRate = 0.01;
+
+    /** How often expired revocations are removed from memory and the database. */
+    private Duration pruneInterval = Duration.ofMinutes(10);
+}
@@ -1,26 +1,45 @@
 package com.company.employee.security;
 
+import com.company.employee.config.CacheConfig;
 import com.company.employee.model.User;
 import com.company.employee.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.stream.Collectors;
 
+/**
+ * Loads users for authentication through the userDetails cache (keyed by the username or email
+ * as given). Every call returns a fresh copy: Spring Security erases the password of the
+ * UserDetails it authenticated, which must not reach the cached instance.
+ */
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS);
+        UserDetails cached = cache != null ? cache.get(usernameOrEmail, UserDetails.class) : null;
+        if (cached == null) {
+            cached = load(usernameOrEmail);
+            if (cache != null) {
+                cache.put(usernameOrEmail, cached);
+            }
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    private UserDetails load(String usernameOrEmail) {
         User user = userRepository.findByUsernameOrEmail(usernameOrEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
 
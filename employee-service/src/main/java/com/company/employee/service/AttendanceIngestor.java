@@ -0,0 +1,259 @@
+package com.company.employee.service;
+
+import com.company.employee.config.AttendanceProperties;
+import com.company.employee.dto.AttendanceEventRequest;
+import com.company.employee.dto.AttendanceEventsResponse;
+import com.company.employee.exception.BadRequestException;
+import com.company.employee.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts attendance check-ins (POST /attendance/events) into a bounded in-memory queue and
+ * writes them to attendance_events in large batches on one writer thread.
+ *
+ * - Deduplication: the employee/day pairs seen since start are kept in memory, for the days
+ *   still open for check-ins only, so repeats never reach the queue. The table's primary key
+ *   (INSERT ... ON CONFLICT DO NOTHING) catches the rest: other instances and restarts.
+ * - Backpressure: a request either gets queue room for all its new events at once or fails with
+ *   503 and Retry-After; nothing is dropped silently. Room is freed only once a batch is written,
+ *   so a slow or unavailable database fills the queue and turns into 503s rather than into
+ *   unbounded memory. Writes that fail are retried with backoff, keeping their room.
+ * - Unknown employee ids are skipped by the insert and counted as skipped.
+ *
+ * An accepted event is not durable until written (normally within app.attendance.flush-interval);
+ * on shutdown the queue is drained first. Written check-ins are handed to AttendanceRollup, which
+ * folds them into Employee.attendance.
+ */
+@Service
+@Slf4j
+public class AttendanceIngestor {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO attendance_events (employee_id, day, recorded_at)"
+            + " SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM employees WHERE id = ?)"
+            + " ON CONFLICT DO NOTHING";
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static final long SHUTDOWN_DRAIN_MILLIS = 10_000;
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    private final AttendanceProperties properties;
+    private final AttendanceRollup rollup;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Event> queue;
+    /** Queue room; taken on accept and given back once the events are written. */
+    private final Semaphore room;
+    private final Map<LocalDate, Set<Long>> seen = new ConcurrentHashMap<>();
+    private final Counter accepted;
+    private final Counter duplicates;
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter skipped;
+    private final DistributionSummary batchSizes;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AttendanceIngestor(AttendanceProperties properties, AttendanceRollup rollup, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rollup = rollup;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.room = new Semaphore(properties.getQueueCapacity());
+        this.accepted = counter(meterRegistry, "accepted");
+        this.duplicates = counter(meterRegistry, "duplicate");
+        this.rejected = counter(meterRegistry, "rejected");
+        this.written = counter(meterRegistry, "written");
+        this.skipped = counter(meterRegistry, "skipped");
+        this.batchSizes = DistributionSummary.builder("attendance.write.batch.size")
+                .description("Check-ins per insert batch")
+                .register(meterRegistry);
+        Gauge.builder("attendance.queue.size", this, ingestor -> ingestor.pending())
+                .description("Accepted check-ins not yet written")
+                .register(meterRegistry);
+        this.writer = new Thread(this::writeLoop, "attendance-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("attendance.events")
+                .description("Attendance check-ins by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the events not seen before. All or nothing: if the queue cannot take every new event,
+     * none is taken and ServiceUnavailableException (503, Retry-After) is thrown; resending is safe.
+     */
+    public AttendanceEventsResponse accept(List<AttendanceEventRequest> events) {
+        LocalDate today = LocalDate.now(properties.getZone());
+        LocalDate earliest = today.minusDays(properties.getLateDays());
+        seen.keySet().removeIf(day -> day.isBefore(earliest));
+
+        for (AttendanceEventRequest request : events) {
+            LocalDate day = request.getDate() != null ? request.getDate() : today;
+            if (day.isAfter(today) || day.isBefore(earliest)) {
+                throw new BadRequestException("Check-in date must be between " + earliest + " and " + today);
+            }
+        }
+        Instant now = Instant.now();
+        // Room is reserved before any pair is marked as seen, and a mark is never taken back: a
+        // concurrent request may already have reported that pair as a duplicate
+        Map<LocalDate, Set<Long>> candidates = new HashMap<>();
+        int candidateCount = 0;
+        for (AttendanceEventRequest request : events) {
+            LocalDate day = request.getDate() != null ? request.getDate() : today;
+            Set<Long> known = seen.get(day);
+            if ((known == null || !known.contains(request.getEmployeeId()))
+                    && candidates.computeIfAbsent(day, d -> new HashSet<>()).add(request.getEmployeeId())) {
+                candidateCount++;
+            }
+        }
+        if (!running || !room.tryAcquire(candidateCount)) {
+            rejected.increment(candidateCount);
+            throw new ServiceUnavailableException("Attendance queue is full, retry later", RETRY_AFTER_SECONDS);
+        }
+        List<Event> fresh = new ArrayList<>(candidateCount);
+        for (Map.Entry<LocalDate, Set<Long>> entry : candidates.entrySet()) {
+            Set<Long> known = seen.computeIfAbsent(entry.getKey(), d -> ConcurrentHashMap.newKeySet());
+            for (Long employeeId : entry.getValue()) {
+                // False if a concurrent request took this pair since the check above
+                if (known.add(employeeId)) {
+                    fresh.add(new Event(employeeId, entry.getKey(), now));
+                }
+            }
+        }
+        room.release(candidateCount - fresh.size());
+        int duplicateCount = events.size() - fresh.size();
+        duplicates.increment(duplicateCount);
+        // Cannot fail: room was taken for every event
+        queue.addAll(fresh);
+        accepted.increment(fresh.size());
+        return new AttendanceEventsResponse(fresh.size(), duplicateCount);
+    }
+
+    /** Accepted events not yet written. */
+    public int pending() {
+        return properties.getQueueCapacity() - room.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(SHUTDOWN_DRAIN_MILLIS);
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+        if (pending() > 0) {
+            log.warn("Shutting down with {} attendance check-ins not written", pending());
+        }
+    }
+
+    private void writeLoop() {
+        int batchSize = properties.getWriteBatchSize();
+        long flushNanos = properties.getFlushInterval().toNanos();
+        List<Event> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Event first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Let the batch fill up for a while unless it is full already
+                long deadline = System.nanoTime() + flushNanos;
+                queue.drainTo(batch, batchSize - batch.size());
+                while (running && batch.size() < batchSize) {
+                    Event next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                writeWithRetry(batch);
+                room.release(batch.size());
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeWithRetry(List<Event> batch) throws InterruptedException {
+        long backoff = 100;
+        while (true) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Writing {} attendance check-ins failed, retrying in {} ms: {}",
+                        batch.size(), backoff, e.toString());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void write(List<Event> batch) {
+        int[][] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(),
+                (ps, event) -> {
+                    ps.setLong(1, event.employeeId);
+                    ps.setDate(2, Date.valueOf(event.day));
+                    ps.setTimestamp(3, Timestamp.from(event.recordedAt));
+                    ps.setLong(4, event.employeeId);
+                }));
+        batchSizes.record(batch.size());
+        List<Long> employees = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts[0][i] > 0) {
+                employees.add(batch.get(i).employeeId);
+            }
+        }
+        written.increment(employees.size());
+        // Unknown employees, or a check-in another instance wrote first
+        skipped.increment(batch.size() - employees.size());
+        rollup.markChanged(employees);
+    }
+
+    private static final class Event {
+
+        private final long employeeId;
+        private final LocalDate day;
+        private final Instant recordedAt;
+
+        private Event(long employeeId, LocalDate day, Instant recordedAt) {
+            this.employeeId = employeeId;
+            this.day = day;
+            this.recordedAt = recordedAt;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.company.employee.service;
+
+import com.company.employee.config.AttendanceProperties;
+import com.company.employee.config.CacheConfig;
+import com.company.employee.config.CacheInvalidationBus;
+import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.model.EmployeeChangeType;
+import com.company.employee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Folds check-ins into Employee.attendance: the share of working days within the last
+ * app.attendance.window-days on which the employee checked in, as a whole percentage.
+ *
+ * The window starts no earlier than the employee's first recorded check-in, so tracking does not
+ * count the days before it as absences. Today counts only once the employee has checked in;
+ * otherwise every morning would start with a drop.
+ *
+ * Every rollup interval, the employees with new check-ins (see markChanged) are recomputed in
+ * batches of app.attendance.rollup-batch-size. Each batch is one JDBC batch of UPDATEs that skip
+ * unchanged values, then outbox events, cache eviction and one EmployeeChangedEvent for the rows
+ * that changed, as bulk updates do. Once a day every tracked employee is recomputed, so missed
+ * days lower the percentage too, and check-ins past the retention are deleted. Only one instance
+ * does this: the one that takes a session advisory lock first, which records the day in
+ * attendance_full_rollups when done. The others skip the day once they see it there. An instance
+ * that dies midway releases the lock with its connection, and another one redoes the day. On
+ * databases other than PostgreSQL (the H2 perf profile, one instance) it runs without the lock. A
+ * full recompute that fails is retried on the next run; the changed employees are recomputed
+ * meanwhile all the same.
+ */
+@Service
+@Slf4j
+public class AttendanceRollup {
+
+    private static final String RATES_SQL =
+            "SELECT employee_id, MIN(day) AS first_day,"
+            + " COUNT(*) FILTER (WHERE day >= :from AND day < :today AND EXTRACT(ISODOW FROM day) IN (:workdays))"
+            + " AS present, BOOL_OR(day = :today) AS present_today"
+            + " FROM attendance_events WHERE employee_id IN (:ids) GROUP BY employee_id";
+    private static final String UPDATE_SQL =
+            "UPDATE employees SET attendance = ?, updated_at = ? WHERE id = ? AND attendance IS DISTINCT FROM ?";
+    private static final String FULL_ROLLUP_LOCK = "attendance_full_rollup";
+
+    private final AttendanceProperties properties;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeService employeeService;
+    private final EmployeeOutboxService outboxService;
+    private final CacheInvalidationBus cacheInvalidation;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter updated;
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "attendance-rollup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Only touched by the scheduler thread. */
+    private LocalDate lastFullRollup;
+    /** Whether the database has advisory locks (PostgreSQL); null until the first run asks. Scheduler thread only. */
+    private Boolean advisoryLocks;
+
+    public AttendanceRollup(AttendanceProperties properties, EmployeeRepository employeeRepository,
+                            EmployeeService employeeService, EmployeeOutboxService outboxService,
+                            CacheInvalidationBus cacheInvalidation, ApplicationEventPublisher eventPublisher,
+                            JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.employeeRepository = employeeRepository;
+        this.employeeService = employeeService;
+        this.outboxService = outboxService;
+        this.cacheInvalidation = cacheInvalidation;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.updated = Counter.builder("attendance.rollup.updated")
+                .description("Employees whose attendance percentage changed")
+                .register(meterRegistry);
+        long interval = properties.getRollupInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::rollup, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /** Employees with newly written check-ins; recomputed on the next run. */
+    public void markChanged(Collection<Long> employeeIds) {
+        changed.addAll(employeeIds);
+    }
+
+    /** Recomputes the changed employees, or on a new day all tracked employees. */
+    public void rollup() {
+        LocalDate today = LocalDate.now(properties.getZone());
+        if (!today.equals(lastFullRollup)) {
+            try {
+                if (Boolean.TRUE.equals(jdbcTemplate.execute(
+                        (ConnectionCallback<Boolean>) lockConnection -> fullRollup(lockConnection, today)))) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Full attendance rollup failed, retrying on the next run: {}", e.toString());
+            }
+        }
+        try {
+            List<Long> ids = new ArrayList<>(changed);
+            changed.removeAll(ids);
+            recompute(ids, today);
+        } catch (RuntimeException e) {
+            log.warn("Attendance rollup failed, retrying on the next run: {}", e.toString());
+        }
+    }
+
+    /**
+     * Runs the day's full recompute if no other instance has done it or is doing it. The lock is
+     * held on its own connection for the whole run; the recompute uses the pool as usual.
+     *
+     * @return true if it ran; false if another instance has it, and the changed employees are
+     *         recomputed as on any other run
+     */
+    private boolean fullRollup(Connection lockConnection, LocalDate today) throws SQLException {
+        if (advisoryLocks == null) {
+            advisoryLocks = "PostgreSQL".equals(lockConnection.getMetaData().getDatabaseProductName());
+        }
+        boolean locking = advisoryLocks;
+        if (locking && !advisoryLock(lockConnection, "pg_try_advisory_lock")) {
+            return false;
+        }
+        try {
+            Integer finished = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM attendance_full_rollups WHERE day = ?", Integer.class, Date.valueOf(today));
+            if (finished != null && finished > 0) {
+                lastFullRollup = today;
+                return false;
+            }
+            // Taken before the full list is read: check-ins written meanwhile stay marked
+            changed.clear();
+            prune(today);
+            recompute(jdbcTemplate.queryForList(
+                    "SELECT DISTINCT employee_id FROM attendance_events ORDER BY employee_id", Long.class), today);
+            jdbcTemplate.update("INSERT INTO attendance_full_rollups (day, finished_at) VALUES (?, ?)",
+                    Date.valueOf(today), Timestamp.from(Instant.now()));
+            lastFullRollup = today;
+            return true;
+        } finally {
+            if (locking) {
+                advisoryLock(lockConnection, "pg_advisory_unlock");
+            }
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(hashtext(?))")) {
+            statement.setString(1, FULL_ROLLUP_LOCK);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void recompute(List<Long> ids, LocalDate today) {
+        int batchSize = properties.getRollupBatchSize();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            try {
+                recomputeBatch(chunk, today);
+            } catch (RuntimeException e) {
+                // Retried with the next run's changes
+                changed.addAll(ids.subList(from, ids.size()));
+                throw e;
+            }
+        }
+    }
+
+    private void recomputeBatch(List<Long> ids, LocalDate today) {
+        Map<Long, Integer> percentages = percentages(ids, today);
+        if (percentages.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(percentages.entrySet());
+        transactionTemplate.executeWithoutResult(status -> {
+            Timestamp now = Timestamp.from(Instant.now());
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, entries, entries.size(), (ps, entry) -> {
+                ps.setInt(1, entry.getValue());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, entry.getKey());
+                ps.setInt(4, entry.getValue());
+            });
+            List<Long> changedIds = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                if (counts[0][i] > 0) {
+                    changedIds.add(entries.get(i).getKey());
+                }
+            }
+            if (changedIds.isEmpty()) {
+                return;
+            }
+            List<EmployeeResponse> responses = employeeRepository.findAllById(changedIds).stream()
+                    .map(employeeService::toResponse)
+                    .collect(Collectors.toList());
+            outboxService.recordUpdated(responses);
+            for (Long id : changedIds) {
+                cacheInvalidation.evictAfterCommit(CacheConfig.EMPLOYEES, id);
+            }
+            cacheInvalidation.clearAfterCommit(CacheConfig.EMPLOYEE_PAGES);
+            eventPublisher.publishEvent(new EmployeeChangedEvent(changedIds, EmployeeChangeType.UPDATED));
+            updated.increment(changedIds.size());
+        });
+    }
+
+    /** Attendance percentage per employee; employees with no working day to count yet are left out. */
+    private Map<Long, Integer> percentages(List<Long> ids, LocalDate today) {
+        Set<DayOfWeek> workingDays = properties.getWorkingDays();
+        LocalDate windowStart = today.minusDays(properties.getWindowDays() - 1L);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("from", Date.valueOf(windowStart))
+                .addValue("today", Date.valueOf(today))
+                .addValue("workdays", workingDays.stream().map(DayOfWeek::getValue).collect(Collectors.toList()));
+        Map<Long, Integer> percentages = new LinkedHashMap<>();
+        boolean todayCounts = workingDays.contains(today.getDayOfWeek());
+        namedJdbcTemplate.query(RATES_SQL, params, rs -> {
+            LocalDate first = rs.getDate("first_day").toLocalDate();
+            int present = rs.getInt("present");
+            int days = 0;
+            for (LocalDate day = first.isAfter(windowStart) ? first : windowStart; day.isBefore(today);
+                    day = day.plusDays(1)) {
+                if (workingDays.contains(day.getDayOfWeek())) {
+                    days++;
+                }
+            }
+            if (todayCounts && rs.getBoolean("present_today")) {
+                present++;
+                days++;
+            }
+            if (days > 0) {
+                percentages.put(rs.getLong("employee_id"), (int) Math.round(100.0 * present / days));
+            }
+        });
+        return percentages;
+    }
+
+    private void prune(LocalDate today) {
+        LocalDate cutoff = today.minusDays(properties.getRetention().toDays());
+        int deleted = jdbcTemplate.update("DELETE FROM attendance_events WHERE day < ?", Date.valueOf(cutoff));
+        jdbcTemplate.update("DELETE FROM attendance_full_rollups WHERE day < ?", Date.valueOf(cutoff));
+        if (deleted > 0) {
+            log.info("Pruned {} check-ins before {}", deleted, cutoff);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.company.employee.service;
 
+import com.company.employee.config.CacheConfig;
+import com.company.employee.config.CacheInvalidationBus;
 import com.company.employee.dto.LoginRequest;
 import com.company.employee.dto.LoginResponse;
 import com.company.employee.dto.RegisterRequest;
@@ -11,6 +13,7 @@ import com.company.employee.model.User;
 import com.company.employee.repository.UserRepository;
 import com.company.employee.security.JwtProperties;
 import com.company.employee.security.JwtUtil;
+import com.company.employee.tracing.Traced;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,6 +29,7 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Traced
 public class AuthService {
 
     private final UserRepository userRepository;
@@ -34,6 +38,7 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final JwtProperties jwtProperties;
     private final RefreshTokenService refreshTokenService;
+    private final CacheInvalidationBus cacheInvalidation;
 
     @Transactional
     public LoginResponse login(LoginRequest request) {
@@ -45,7 +50,7 @@ public class AuthService {
         String username = user.getUsername();
 
         Set<String> roles = user.getRoles().stream().map(Role::name).collect(Collectors.toSet());
-        String accessToken = jwtUtil.generateAccessToken(username, roles);
+        String accessToken = jwtUtil.generateAccessToken(username, roles, user.getTokenVersion());
         String refreshToken = refreshTokenService.createRefreshToken(user);
 
         return LoginResponse.builder()
@@ -74,7 +79,11 @@ public class AuthService {
                 .roles(Set.of(Role.ROLE_EMPLOYEE))
                 .enabled(true)
                 .build();
-        return userRepository.save(user);
+        user = userRepository.save(user);
+        // Drop anything cached under the new username or email on every instance
+        cacheInvalidation.evictAfterCommit(CacheConfig.USER_DETAILS, user.getUsername());
+        cacheInvalidation.evictAfterCommit(CacheConfig.USER_DETAILS, user.getEmail());
+        return user;
     }
 
     public LoginResponse refreshToken(RefreshTokenRequest request) {
@@ -0,0 +1,88 @@
+package com.company.employee.service;
+
+import java.util.Arrays;
+
+/**
+ * Growable bit set over row slots, for the bitmap indexes of EmployeeColumns. Unlike
+ * java.util.BitSet it exposes its words, so scans can be split into word ranges and intersections
+ * counted without allocating. Not thread-safe; parallel scans write disjoint word ranges.
+ */
+final class Bitmap {
+
+    private long[] words;
+
+    Bitmap(int bits) {
+        this.words = new long[Math.max(1, wordsFor(bits))];
+    }
+
+    private Bitmap(long[] words) {
+        this.words = words;
+    }
+
+    static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    void set(int bit) {
+        int word = bit >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length + (words.length >> 1)));
+        }
+        words[word] |= 1L << bit;
+    }
+
+    void clear(int bit) {
+        int word = bit >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << bit);
+        }
+    }
+
+    boolean get(int bit) {
+        int word = bit >>> 6;
+        return word < words.length && (words[word] & (1L << bit)) != 0;
+    }
+
+    int wordCount() {
+        return words.length;
+    }
+
+    long word(int index) {
+        return index < words.length ? words[index] : 0;
+    }
+
+    void setWord(int index, long value) {
+        words[index] = value;
+    }
+
+    void or(Bitmap other) {
+        if (other.words.length > words.length) {
+            words = Arrays.copyOf(words, other.words.length);
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /** Number of bits set in both this and other. */
+    int andCardinality(Bitmap other) {
+        int count = 0;
+        int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    Bitmap copy() {
+        return new Bitmap(words.clone());
+    }
+}
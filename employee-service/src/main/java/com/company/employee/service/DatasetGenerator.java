@@ -0,0 +1,331 @@
+package com.company.employee.service;
+
+import com.company.employee.config.CacheConfig;
+import com.company.employee.config.CacheInvalidationBus;
+import com.company.employee.config.DatasetProperties;
+import com.company.employee.dto.DatasetRequest;
+import com.company.employee.dto.DatasetStatus;
+import com.company.employee.exception.BadRequestException;
+import com.company.employee.exception.DuplicateResourceException;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the database with a synthetic, seed-determined data set of employees (with subjects),
+ * users (with roles) and refresh tokens for scale testing; see DatasetRows for the data.
+ *
+ * Rows are streamed with PostgreSQL COPY over app.dataset.threads connections in chunks of
+ * app.dataset.chunk-size rows. Users are written one transaction per chunk. Employees are written
+ * in transactions of EMPLOYEE_BATCH rows, each stamped with updated_at right before it is copied,
+ * so that, like any other employee write, it commits well inside app.delta.commit-window of its
+ * updated_at: delta sync and the snapshot catch-up move their cursors past a timestamp only once
+ * that window has passed, so a batch stamped minutes before its commit would be skipped. The id
+ * ranges are reserved from the table sequences up front (under a short table lock), so chunks can
+ * be written in any order and normal inserts can continue meanwhile. Afterwards the tables are
+ * analyzed and the employee page caches cleared. Outbox events are not written: change stream
+ * clients should reload.
+ *
+ * One generation runs at a time. Users are named dataset-{seed}-{n}, so a seed can be loaded
+ * once per database.
+ */
+@Service
+@Slf4j
+public class DatasetGenerator {
+
+    private static final String DEFAULT_PASSWORD = "password123";
+    /** Employees per transaction (with their subjects); small enough to commit in milliseconds. */
+    private static final int EMPLOYEE_BATCH = 2_000;
+    private static final String EMPLOYEES_COPY =
+            "COPY employees (id, name, age, employee_class, attendance, role, created_at, updated_at) FROM STDIN";
+    private static final String SUBJECTS_COPY = "COPY employee_subjects (employee_id, subject) FROM STDIN";
+    private static final String USERS_COPY =
+            "COPY users (id, created_at, email, enabled, password, updated_at, username) FROM STDIN";
+    private static final String USER_ROLES_COPY = "COPY user_roles (user_id, role) FROM STDIN";
+    private static final String REFRESH_TOKENS_COPY =
+            "COPY refresh_tokens (created_at, expiry_date, token, user_id) FROM STDIN";
+
+    private final DataSource dataSource;
+    private final DatasetProperties properties;
+    private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidationBus cacheInvalidation;
+    private final TransactionTemplate transactionTemplate;
+    private final String seedPasswordHash;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(daemonThreads("dataset-generator"));
+
+    private Run current;
+
+    public DatasetGenerator(DataSource dataSource, DatasetProperties properties, PasswordEncoder passwordEncoder,
+                            CacheInvalidationBus cacheInvalidation, PlatformTransactionManager transactionManager,
+                            @Value("${app.seed.password-hash:}") String seedPasswordHash) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.passwordEncoder = passwordEncoder;
+        this.cacheInvalidation = cacheInvalidation;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.seedPasswordHash = seedPasswordHash;
+    }
+
+    /** Starts generating in the background and returns the initial status. */
+    public DatasetStatus start(DatasetRequest request) {
+        Run run = begin(request);
+        runner.execute(() -> execute(run));
+        return run.status();
+    }
+
+    /** Generates on the calling thread and returns the final status; throws if generation fails. */
+    public DatasetStatus generate(DatasetRequest request) {
+        Run run = begin(request);
+        execute(run);
+        DatasetStatus status = run.status();
+        if ("FAILED".equals(status.getState())) {
+            throw new IllegalStateException("Data set generation failed: " + status.getError());
+        }
+        return status;
+    }
+
+    public synchronized DatasetStatus status() {
+        return current != null ? current.status() : DatasetStatus.builder().state("IDLE").build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private synchronized Run begin(DatasetRequest request) {
+        if (current != null && "RUNNING".equals(current.state)) {
+            throw new DuplicateResourceException("A data set is already being generated");
+        }
+        long employees = request.getEmployees() != null ? request.getEmployees() : properties.getEmployees();
+        long seed = request.getSeed() != null ? request.getSeed() : properties.getSeed();
+        int classes = request.getClasses() != null ? request.getClasses() : properties.getClasses();
+        int users = request.getUsers() != null ? request.getUsers()
+                : properties.getUsers() >= 0 ? properties.getUsers() : (int) Math.min(Integer.MAX_VALUE, employees / 100);
+        if (employees < 1 || users < 0 || classes < 1) {
+            throw new BadRequestException("employees and classes must be positive and users not negative");
+        }
+        checkTarget(seed, users);
+        current = new Run(employees, users, seed, classes);
+        return current;
+    }
+
+    /** Fails fast, before anything is written, on a non-PostgreSQL database or a seed already loaded. */
+    private void checkTarget(long seed, int users) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new BadRequestException("Data set generation needs PostgreSQL (it loads with COPY)");
+            }
+            if (users > 0) {
+                try (PreparedStatement ps = connection.prepareStatement("SELECT 1 FROM users WHERE username = ?")) {
+                    ps.setString(1, DatasetRows.username(seed, 1));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) {
+                            throw new DuplicateResourceException("A data set with seed " + seed + " is already loaded");
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot check the database for data set generation", e);
+        }
+    }
+
+    private void execute(Run run) {
+        log.info("Generating data set: {} employees, {} users, {} classes, seed {}",
+                run.employees, run.users, run.classes, run.seed);
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(properties.getThreads(), daemonThreads("dataset-copy"));
+        try {
+            DatasetRows rows = new DatasetRows(run.seed, run.classes, Instant.now());
+            String passwordHash = StringUtils.hasText(seedPasswordHash) ? seedPasswordHash
+                    : passwordEncoder.encode(DEFAULT_PASSWORD);
+            long employeeBaseId;
+            long userBaseId;
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                employeeBaseId = reserveIds(connection, "employees", run.employees);
+                userBaseId = reserveIds(connection, "users", run.users);
+                connection.commit();
+            }
+
+            int chunkSize = properties.getChunkSize();
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long first = 0; first < run.users; first += chunkSize) {
+                long from = first;
+                int count = (int) Math.min(chunkSize, run.users - first);
+                chunks.add(pool.submit(() -> copyUsers(run, rows, from, count, userBaseId, passwordHash)));
+            }
+            for (long first = 0; first < run.employees; first += chunkSize) {
+                long from = first;
+                int count = (int) Math.min(chunkSize, run.employees - first);
+                chunks.add(pool.submit(() -> copyEmployees(run, rows, from, count, employeeBaseId)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+
+            try (Connection connection = dataSource.getConnection(); Statement st = connection.createStatement()) {
+                st.execute("ANALYZE employees, employee_subjects, users, user_roles, refresh_tokens");
+            }
+            transactionTemplate.executeWithoutResult(status -> cacheInvalidation.clearAfterCommit(CacheConfig.EMPLOYEE_PAGES));
+            run.finish("COMPLETED", null);
+            log.info("Generated data set in {} s: {}", (System.nanoTime() - start) / 1_000_000_000, run.status());
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            run.finish("FAILED", cause.getMessage());
+            log.error("Data set generation failed after {} employees", run.employeesWritten.get(), cause);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Moves the table's id sequence past count ids and returns the first of them. */
+    private static long reserveIds(Connection connection, String table, long count) throws SQLException {
+        if (count == 0) {
+            return 0;
+        }
+        try (Statement st = connection.createStatement()) {
+            // Inserts evaluate nextval under their ROW EXCLUSIVE lock, so none can interleave
+            st.execute("LOCK TABLE " + table + " IN SHARE ROW EXCLUSIVE MODE");
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT setval(pg_get_serial_sequence(?, 'id'), nextval(pg_get_serial_sequence(?, 'id')) + ? - 1)")) {
+            ps.setString(1, table);
+            ps.setString(2, table);
+            ps.setLong(3, count);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1) - count + 1;
+            }
+        }
+    }
+
+    private Void copyEmployees(Run run, DatasetRows rows, long first, int count, long baseId) throws Exception {
+        StringBuilder employees = new StringBuilder(EMPLOYEE_BATCH * 96);
+        StringBuilder subjects = new StringBuilder(EMPLOYEE_BATCH * 48);
+        for (int done = 0; done < count; done += EMPLOYEE_BATCH) {
+            int batch = Math.min(EMPLOYEE_BATCH, count - done);
+            employees.setLength(0);
+            subjects.setLength(0);
+            // Ordinal k maps to id baseId + k
+            int subjectRows = rows.appendEmployees(first + done, batch, baseId, Instant.now(), employees, subjects);
+            copy(new String[] {EMPLOYEES_COPY, SUBJECTS_COPY}, employees, subjects);
+            run.employeesWritten.addAndGet(batch);
+            run.subjectsWritten.addAndGet(subjectRows);
+        }
+        return null;
+    }
+
+    private Void copyUsers(Run run, DatasetRows rows, long first, int count, long baseId, String passwordHash)
+            throws Exception {
+        StringBuilder users = new StringBuilder(count * 160);
+        StringBuilder roles = new StringBuilder(count * 24);
+        StringBuilder tokens = new StringBuilder(count * 100);
+        int tokenRows = rows.appendUsers(first, count, baseId, passwordHash, users, roles, tokens);
+        copy(new String[] {USERS_COPY, USER_ROLES_COPY, REFRESH_TOKENS_COPY}, users, roles, tokens);
+        run.usersWritten.addAndGet(count);
+        run.refreshTokensWritten.addAndGet(tokenRows);
+        return null;
+    }
+
+    /** Runs COPY statements[i] with data[i], in order, in one transaction. */
+    private void copy(String[] statements, StringBuilder... data) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                for (int i = 0; i < statements.length; i++) {
+                    copyManager.copyIn(statements[i], new StringReader(data[i].toString()));
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Run {
+
+        final long employees;
+        final int users;
+        final long seed;
+        final int classes;
+        final Instant startedAt = Instant.now();
+        final AtomicLong employeesWritten = new AtomicLong();
+        final AtomicLong subjectsWritten = new AtomicLong();
+        final AtomicLong usersWritten = new AtomicLong();
+        final AtomicLong refreshTokensWritten = new AtomicLong();
+        volatile String state = "RUNNING";
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Run(long employees, int users, long seed, int classes) {
+            this.employees = employees;
+            this.users = users;
+            this.seed = seed;
+            this.classes = classes;
+        }
+
+        void finish(String state, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        DatasetStatus status() {
+            return DatasetStatus.builder()
+                    .state(state)
+                    .seed(seed)
+                    .employees(employees)
+                    .users(users)
+                    .employeesWritten(employeesWritten.get())
+                    .subjectsWritten(subjectsWritten.get())
+                    .usersWritten(usersWritten.get())
+                    .refreshTokensWritten(refreshTokensWritten.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.company.employee.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates the synthetic rows for DatasetGenerator as PostgreSQL COPY text.
+ *
+ * Every row is drawn from its own random stream, derived from the seed and the row's ordinal, so
+ * a seed always produces the same data however the rows are split into chunks and threads.
+ * Distributions:
+ * - names: Zipf-weighted first and last names, some with a middle initial or a double surname
+ *   (5 to about 30 characters);
+ * - employeeClass: Zipf over the configured number of classes (a few large, a long tail), 1% null;
+ * - subjects: 0 to 8 per employee (mean about 2.5), distinct, Zipf-weighted;
+ * - age: normal around 38, clamped to 18..67; attendance: mostly 85..100 with a low tail;
+ * - role: 3% ADMIN, 2% null, otherwise EMPLOYEE;
+ * - createdAt: uniform over 2020..2024; updatedAt: passed in by the caller, the time its batch
+ *   is written (see DatasetGenerator).
+ * Users get 0 to 3 refresh tokens, a fifth of them expired.
+ */
+final class DatasetRows {
+
+    static final String USERNAME_PREFIX = "dataset-";
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+            "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Margaret", "Anthony", "Betty", "Mark", "Sandra",
+            "Wei", "Priya", "Mohammed", "Fatima", "Hiroshi", "Yuki", "Carlos", "Sofia", "Olumide", "Aisha",
+            "Ivan", "Olga", "Lars", "Ingrid", "Pierre", "Amelie", "Giovanni", "Chiara", "Kwame", "Ama",
+            "Bo", "Al", "Ed", "Jo", "Maximilian", "Alexandrina", "Bartholomew", "Evangeline", "Jo-Anne", "Zoe"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Wang", "Li", "Zhang", "Kumar", "Singh", "Patel", "Tanaka", "Suzuki", "Kim", "Nguyen",
+            "Okafor", "Mensah", "Ivanov", "Petrova", "Johansson", "Dubois", "Rossi", "Mueller", "Schmidt", "Novak",
+            "Ng", "Wu", "O'Brien", "McAllister", "Vanderberg", "Fitzgerald", "Papadopoulos", "Abernathy",
+            "Christodoulou", "Wojciechowski"
+    };
+    private static final String[] SUBJECTS = {
+            "Mathematics", "English", "Physics", "Chemistry", "Biology", "History", "Geography", "Computer Science",
+            "Economics", "Art", "Music", "Physical Education", "French", "Spanish", "German", "Chinese",
+            "Literature", "Philosophy", "Psychology", "Sociology", "Statistics", "Accounting", "Business Studies",
+            "Drama", "Design and Technology", "Religious Studies", "Latin", "Astronomy", "Geology", "Law"
+    };
+
+    private static final long EMPLOYEE_STREAM = 0x3c6ef372fe94f82bL;
+    private static final long USER_STREAM = 0xa54ff53a5f1d36f1L;
+    private static final long CREATED_FROM = Instant.parse("2020-01-01T00:00:00Z").getEpochSecond();
+    private static final long CREATED_SPAN = Instant.parse("2025-01-01T00:00:00Z").getEpochSecond() - CREATED_FROM;
+    // Hibernate stores Instants in TIMESTAMP columns as JVM-local date-times; match that
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static final double[] FIRST_NAME_CDF = zipfCdf(FIRST_NAMES.length, 0.8);
+    private static final double[] LAST_NAME_CDF = zipfCdf(LAST_NAMES.length, 0.8);
+    private static final double[] SUBJECT_CDF = zipfCdf(SUBJECTS.length, 0.9);
+
+    private final long seed;
+    private final String[] classes;
+    private final double[] classCdf;
+    private final Instant now;
+
+    DatasetRows(long seed, int classCount, Instant now) {
+        this.seed = seed;
+        this.classes = new String[classCount];
+        for (int c = 0; c < classCount; c++) {
+            // Grad2000-A .. Grad2000-Z, Grad2001-A, ...
+            classes[c] = "Grad" + (2000 + c / 26) + "-" + (char) ('A' + c % 26);
+        }
+        this.classCdf = zipfCdf(classCount, 0.8);
+        this.now = now;
+    }
+
+    static String username(long seed, long ordinal) {
+        return USERNAME_PREFIX + seed + "-" + ordinal;
+    }
+
+    /**
+     * Appends employees [firstOrdinal, firstOrdinal + count) to the employees and
+     * employee_subjects COPY buffers; ordinal k gets id baseId + k. Returns the number of subject rows.
+     */
+    int appendEmployees(long firstOrdinal, int count, long baseId, Instant updated,
+                        StringBuilder employees, StringBuilder subjects) {
+        int subjectRows = 0;
+        String updatedAt = timestamp(updated);
+        boolean[] taken = new boolean[SUBJECTS.length];
+        for (int i = 0; i < count; i++) {
+            long ordinal = firstOrdinal + i;
+            long id = baseId + ordinal;
+            SplittableRandom random = new SplittableRandom(streamSeed(EMPLOYEE_STREAM, ordinal));
+
+            employees.append(id).append('\t');
+            appendName(random, employees);
+            employees.append('\t').append(clamp((int) Math.round(38 + gaussian(random) * 10), 18, 67)).append('\t');
+            if (random.nextInt(100) == 0) {
+                employees.append("\\N");
+            } else {
+                employees.append(classes[pick(classCdf, random)]);
+            }
+            employees.append('\t').append(attendance(random)).append('\t');
+            int role = random.nextInt(100);
+            employees.append(role < 3 ? "ADMIN" : role < 5 ? "\\N" : "EMPLOYEE").append('\t');
+            long created = CREATED_FROM + (long) (random.nextDouble() * CREATED_SPAN);
+            employees.append(timestamp(Instant.ofEpochSecond(created))).append('\t')
+                    .append(updatedAt).append('\n');
+
+            int subjectCount = Math.min(poisson(random, 2.5), 8);
+            Arrays.fill(taken, false);
+            for (int s = 0; s < subjectCount; s++) {
+                int subject = pick(SUBJECT_CDF, random);
+                if (!taken[subject]) {
+                    taken[subject] = true;
+                    subjects.append(id).append('\t').append(SUBJECTS[subject]).append('\n');
+                    subjectRows++;
+                }
+            }
+        }
+        return subjectRows;
+    }
+
+    /**
+     * Appends users [firstOrdinal, firstOrdinal + count) to the users, user_roles and
+     * refresh_tokens COPY buffers; ordinal k gets id baseId + k. Returns the number of refresh tokens.
+     */
+    int appendUsers(long firstOrdinal, int count, long baseId, String passwordHash,
+                    StringBuilder users, StringBuilder roles, StringBuilder tokens) {
+        int tokenRows = 0;
+        String nowText = timestamp(now);
+        for (int i = 0; i < count; i++) {
+            long ordinal = firstOrdinal + i;
+            long id = baseId + ordinal;
+            SplittableRandom random = new SplittableRandom(streamSeed(USER_STREAM, ordinal));
+            String username = username(seed, ordinal + 1);
+
+            users.append(id).append('\t').append(nowText).append('\t')
+                    .append(username).append("@example.com\tt\t")
+                    .append(passwordHash).append('\t').append(nowText).append('\t')
+                    .append(username).append('\n');
+            roles.append(id).append('\t').append(random.nextInt(100) == 0 ? "ROLE_ADMIN" : "ROLE_EMPLOYEE").append('\n');
+
+            int draw = random.nextInt(100);
+            int tokenCount = draw < 40 ? 0 : draw < 75 ? 1 : draw < 90 ? 2 : 3;
+            for (int t = 0; t < tokenCount; t++) {
+                boolean expired = random.nextInt(5) == 0;
+                long offsetSeconds = 3_600 + random.nextInt(7 * 86_400);
+                Instant expiry = expired ? now.minusSeconds(offsetSeconds) : now.plusSeconds(offsetSeconds);
+                // Same shape as RefreshTokenService tokens: UUID-epochMillis
+                tokens.append(nowText).append('\t').append(timestamp(expiry)).append('\t')
+                        .append(new UUID(random.nextLong(), random.nextLong())).append('-')
+                        .append(now.toEpochMilli()).append('\t').append(id).append('\n');
+                tokenRows++;
+            }
+        }
+        return tokenRows;
+    }
+
+    private long streamSeed(long stream, long ordinal) {
+        // SplittableRandom mixes its seed, so distinct (seed, stream, ordinal) give unrelated streams
+        return (seed * 0x9e3779b97f4a7c15L + stream) ^ (ordinal * 0xbf58476d1ce4e5b9L);
+    }
+
+    private static void appendName(SplittableRandom random, StringBuilder out) {
+        out.append(FIRST_NAMES[pick(FIRST_NAME_CDF, random)]);
+        if (random.nextInt(10) == 0) {
+            out.append(' ').append((char) ('A' + random.nextInt(26))).append('.');
+        }
+        out.append(' ').append(LAST_NAMES[pick(LAST_NAME_CDF, random)]);
+        if (random.nextInt(20) == 0) {
+            out.append('-').append(LAST_NAMES[pick(LAST_NAME_CDF, random)]);
+        }
+    }
+
+    private static int attendance(SplittableRandom random) {
+        if (random.nextInt(50) == 0) {
+            return random.nextInt(41);
+        }
+        return clamp((int) Math.round(100 - Math.abs(gaussian(random)) * 8), 0, 100);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian before Java 17
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static int poisson(SplittableRandom random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static int pick(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static String timestamp(Instant instant) {
+        return TIMESTAMP.format(LocalDateTime.ofInstant(instant, ZONE));
+    }
+}
@@ -0,0 +1,177 @@
+package com.company.employee.service;
+
+import com.company.employee.config.CacheConfig;
+import com.company.employee.config.CacheInvalidationBus;
+import com.company.employee.dto.EmployeeBulkDeleteRequest;
+import com.company.employee.dto.EmployeeBulkResponse;
+import com.company.employee.dto.EmployeeBulkUpdateRequest;
+import com.company.employee.dto.EmployeeFilter;
+import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.exception.BadRequestException;
+import com.company.employee.model.Employee;
+import com.company.employee.model.EmployeeChangeType;
+import com.company.employee.repository.EmployeeRepository;
+import com.company.employee.repository.EmployeeSpecifications;
+import com.company.employee.repository.EmployeeTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes many employees, or sets employeeClass / role / attendance on many, with set-based SQL.
+ *
+ * The employees (given by id or by list filter) are processed in id order, in batches of
+ * app.employees.bulk.batch-size, each in its own transaction. A batch first locks its rows
+ * (SELECT id ... FOR UPDATE), so the counts, tombstones and events cover exactly the rows changed
+ * even with concurrent writers. Then:
+ * - delete: INSERT ... SELECT tombstones and outbox events, DELETE the subjects and the rows;
+ * - update: one UPDATE, a reload of the batch and its outbox events as one JDBC batch.
+ * Each batch invalidates the caches and publishes one EmployeeChangedEvent, as single writes do.
+ *
+ * A failure keeps the batches already committed. Both operations are idempotent, so the
+ * request can simply be repeated.
+ */
+@Service
+@Slf4j
+public class EmployeeBulkService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final EmployeeOutboxService outboxService;
+    private final EmployeeService employeeService;
+    private final CacheInvalidationBus cacheInvalidation;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public EmployeeBulkService(EmployeeRepository employeeRepository,
+                               EmployeeTombstoneRepository tombstoneRepository,
+                               EmployeeOutboxService outboxService,
+                               EmployeeService employeeService,
+                               CacheInvalidationBus cacheInvalidation,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.employees.bulk.batch-size:500}") int batchSize) {
+        this.employeeRepository = employeeRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.outboxService = outboxService;
+        this.employeeService = employeeService;
+        this.cacheInvalidation = cacheInvalidation;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public EmployeeBulkResponse delete(EmployeeBulkDeleteRequest request) {
+        if (request == null) {
+            throw new BadRequestException("Bulk delete request must not be null");
+        }
+        long deleted = forEachBatch(request.getIds(), request.getFilter(), this::deleteBatch);
+        log.info("Bulk delete removed {} employees", deleted);
+        return new EmployeeBulkResponse(deleted);
+    }
+
+    public EmployeeBulkResponse update(EmployeeBulkUpdateRequest request) {
+        if (request == null) {
+            throw new BadRequestException("Bulk update request must not be null");
+        }
+        if (request.getEmployeeClass() == null && request.getRole() == null && request.getAttendance() == null) {
+            throw new BadRequestException("Set at least one of employeeClass, role or attendance");
+        }
+        long updated = forEachBatch(request.getIds(), request.getFilter(), ids -> updateBatch(ids, request));
+        log.info("Bulk update changed {} employees", updated);
+        return new EmployeeBulkResponse(updated);
+    }
+
+    private void deleteBatch(List<Long> ids) {
+        // Tombstones and events are selected from the rows, so they go first
+        tombstoneRepository.insertForEmployees(ids, Instant.now());
+        outboxService.recordDeleted(ids);
+        employeeRepository.deleteSubjectsByEmployeeIdIn(ids);
+        employeeRepository.deleteByIdIn(ids);
+        afterBatch(ids, EmployeeChangeType.DELETED);
+    }
+
+    private void updateBatch(List<Long> ids, EmployeeBulkUpdateRequest request) {
+        employeeRepository.updateFields(ids, request.getEmployeeClass(), request.getRole(),
+                request.getAttendance(), Instant.now());
+        List<EmployeeResponse> updated = employeeRepository.findAllById(ids).stream()
+                .map(employeeService::toResponse)
+                .collect(Collectors.toList());
+        outboxService.recordUpdated(updated);
+        afterBatch(ids, EmployeeChangeType.UPDATED);
+    }
+
+    private void afterBatch(List<Long> ids, EmployeeChangeType changeType) {
+        for (Long id : ids) {
+            cacheInvalidation.evictAfterCommit(CacheConfig.EMPLOYEES, id);
+        }
+        cacheInvalidation.clearAfterCommit(CacheConfig.EMPLOYEE_PAGES);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ids, changeType));
+    }
+
+    /**
+     * Runs action once per batch of locked, existing employee ids and returns how many there were.
+     * Given ids are split into batches up front; a filter is walked with an id cursor, so rows an
+     * update makes stop matching are not missed or visited twice.
+     */
+    private long forEachBatch(List<Long> ids, EmployeeFilter filter, Consumer<List<Long>> action) {
+        long affected = 0;
+        if (ids != null && filter == null) {
+            List<Long> sorted = validateIds(ids);
+            for (int from = 0; from < sorted.size(); from += batchSize) {
+                List<Long> chunk = sorted.subList(from, Math.min(from + batchSize, sorted.size()));
+                affected += lockAndRun(() -> employeeRepository.lockIdsIn(chunk), action).size();
+            }
+            return affected;
+        }
+        if (filter == null || ids != null) {
+            throw new BadRequestException("Give either ids or a filter");
+        }
+        if (!StringUtils.hasText(filter.getName()) && !StringUtils.hasText(filter.getEmployeeClass())) {
+            throw new BadRequestException("The filter must set name or employeeClass");
+        }
+        Specification<Employee> spec = EmployeeSpecifications.withFilters(filter.getName(), filter.getEmployeeClass());
+        long afterId = 0;
+        List<Long> batch;
+        do {
+            long from = afterId;
+            batch = lockAndRun(() -> employeeRepository.lockIdsAfter(spec, from, batchSize), action);
+            affected += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1);
+            }
+        } while (batch.size() == batchSize);
+        return affected;
+    }
+
+    private List<Long> lockAndRun(Supplier<List<Long>> lock, Consumer<List<Long>> action) {
+        return transactionTemplate.execute(status -> {
+            List<Long> locked = lock.get();
+            if (!locked.isEmpty()) {
+                action.accept(locked);
+            }
+            return locked;
+        });
+    }
+
+    private static List<Long> validateIds(List<Long> ids) {
+        for (Long id : ids) {
+            if (id == null || id <= 0) {
+                throw new BadRequestException("Employee ids must be positive numbers");
+            }
+        }
+        return ids.stream().distinct().sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,323 @@
+package com.company.employee.service;
+
+import com.company.employee.config.ChangeStreamProperties;
+import com.company.employee.exception.ServiceUnavailableException;
+import com.company.employee.model.EmployeeOutboxEvent;
+import com.company.employee.repository.EmployeeOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams employee changes from the outbox to SSE subscribers.
+ *
+ * One poller thread reads new outbox rows for all subscribers; each event is encoded once and
+ * queued to every subscriber, and a small fan-out pool writes the queues to the connections.
+ * Subscriptions are async requests, so an idle subscriber holds neither a request thread nor a
+ * database connection. A subscriber that falls too far behind is disconnected and can resume
+ * with Last-Event-ID.
+ *
+ * Outbox ids are assigned at insert but become visible at commit, so a lower id can appear after
+ * a higher one. The poller therefore stops at a missing id and waits up to app.changes.gap-timeout
+ * for it before treating it as rolled back. For the same reason it never starts at the latest id:
+ * see resume().
+ */
+@Service
+@Slf4j
+public class EmployeeChangeStream {
+
+    private static final int POLL_BATCH = 500;
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final EmployeeOutboxRepository outboxRepository;
+    private final ChangeStreamProperties properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Queue<Subscriber> joining = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(
+            daemonThreads("employee-changes-poller"));
+    private final ExecutorService fanOut;
+
+    // Poller thread only
+    private long lastDeliveredId = -1;
+    private boolean idle = true;
+    private long gapId = -1;
+    private long gapSinceNanos;
+    private long lastHeartbeatNanos = System.nanoTime();
+    private long lastPruneNanos = System.nanoTime();
+
+    public EmployeeChangeStream(EmployeeOutboxRepository outboxRepository, ChangeStreamProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.properties = properties;
+        this.fanOut = Executors.newFixedThreadPool(properties.getFanOutThreads(), daemonThreads("employee-changes-fanout"));
+        Gauge.builder("employee.changes.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open GET /employees/changes subscriptions")
+                .register(meterRegistry);
+        long pollMs = properties.getPollInterval().toMillis();
+        poller.scheduleWithFixedDelay(this::poll, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a subscription. With lastEventId, events after that id are replayed first.
+     */
+    public ResponseBodyEmitter subscribe(Long lastEventId) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many change stream subscribers, retry later");
+        }
+        FrameEmitter emitter = new FrameEmitter(properties.getSubscriberTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, lastEventId);
+        emitter.onCompletion(subscriber::closed);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriber.closed());
+        joining.add(subscriber);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        fanOut.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+    }
+
+    private void poll() {
+        try {
+            if (subscribers.isEmpty() && joining.isEmpty()) {
+                // Nobody listening: nothing is read, the position is kept for the next subscriber
+                idle = true;
+            } else {
+                if (idle) {
+                    resume();
+                    idle = false;
+                }
+                deliverNewEvents();
+                admitJoining();
+                heartbeat();
+            }
+            prune();
+        } catch (RuntimeException ex) {
+            log.warn("Employee change stream poll failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Positions the poller at start-up or after an idle period. The highest id is not a safe start,
+     * as a lower one may still be uncommitted. An id written more than gap-timeout ago and still
+     * missing would be skipped by the gap wait anyway, so every id up to the last event written
+     * before then is settled: the poller continues after it, or where it stopped if that is later,
+     * and the gap wait handles the rest.
+     */
+    private void resume() {
+        Instant settled = Instant.now().minus(properties.getGapTimeout());
+        lastDeliveredId = Math.max(lastDeliveredId, outboxRepository.findMaxIdCreatedBefore(settled));
+    }
+
+    private void deliverNewEvents() {
+        List<EmployeeOutboxEvent> batch = outboxRepository.findByIdGreaterThanOrderByIdAsc(
+                lastDeliveredId, PageRequest.of(0, POLL_BATCH));
+        for (EmployeeOutboxEvent event : batch) {
+            long expected = lastDeliveredId + 1;
+            if (event.getId() != expected && !gapTimedOut(expected)) {
+                return;
+            }
+            gapId = -1;
+            Set<DataWithMediaType> encoded = encode(event);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(encoded);
+            }
+            lastDeliveredId = event.getId();
+        }
+    }
+
+    private boolean gapTimedOut(long missingId) {
+        long now = System.nanoTime();
+        if (gapId != missingId) {
+            gapId = missingId;
+            gapSinceNanos = now;
+            return false;
+        }
+        return now - gapSinceNanos >= properties.getGapTimeout().toNanos();
+    }
+
+    private void admitJoining() {
+        Subscriber subscriber;
+        while ((subscriber = joining.poll()) != null) {
+            Long resumeAfter = subscriber.resumeAfter;
+            if (resumeAfter != null && resumeAfter < lastDeliveredId) {
+                backfill(subscriber, resumeAfter);
+            }
+            subscribers.add(subscriber);
+            if (subscriber.closed.get()) {
+                // Closed while joining; closed() may have run before the add
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private void backfill(Subscriber subscriber, long resumeAfter) {
+        int max = properties.getMaxBackfill();
+        List<EmployeeOutboxEvent> missed = outboxRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                resumeAfter, lastDeliveredId, PageRequest.of(0, max + 1));
+        boolean pruned = resumeAfter < outboxRepository.findMinId() - 1;
+        if (missed.size() > max || pruned) {
+            // Too far behind to replay: the client reloads its data and continues from here
+            subscriber.enqueue(SseEmitter.event()
+                    .id(Long.toString(lastDeliveredId))
+                    .name("RESET")
+                    .data("{\"lastEventId\":" + lastDeliveredId + "}")
+                    .build());
+            return;
+        }
+        for (EmployeeOutboxEvent event : missed) {
+            subscriber.enqueue(encode(event));
+        }
+    }
+
+    private void heartbeat() {
+        long now = System.nanoTime();
+        if (now - lastHeartbeatNanos >= properties.getHeartbeatInterval().toNanos()) {
+            lastHeartbeatNanos = now;
+            subscribers.forEach(s -> s.enqueue(HEARTBEAT));
+        }
+    }
+
+    private void prune() {
+        long now = System.nanoTime();
+        if (now - lastPruneNanos >= PRUNE_INTERVAL_NANOS) {
+            lastPruneNanos = now;
+            int deleted = outboxRepository.deleteCreatedBefore(Instant.now().minus(properties.getRetention()));
+            if (deleted > 0) {
+                log.debug("Pruned {} employee outbox events", deleted);
+            }
+        }
+    }
+
+    /** Encodes an event once; the frame is written unchanged to every subscriber. */
+    private static Set<DataWithMediaType> encode(EmployeeOutboxEvent event) {
+        return SseEmitter.event()
+                .id(Long.toString(event.getId()))
+                .name(event.getChangeType().name())
+                .data(event.getPayload())
+                .build();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+
+        private final FrameEmitter emitter;
+        private final Long resumeAfter;
+        private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(FrameEmitter emitter, Long resumeAfter) {
+            this.emitter = emitter;
+            this.resumeAfter = resumeAfter;
+        }
+
+        private void enqueue(Set<DataWithMediaType> event) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > properties.getSubscriberBuffer()) {
+                log.debug("Disconnecting slow change stream subscriber");
+                emitter.complete();
+                closed();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                fanOut.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away; the container reports the error and completes the emitter
+                closed();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !pending.isEmpty() && draining.compareAndSet(false, true)) {
+                fanOut.execute(this::drain);
+            }
+        }
+
+        private void closed() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                pending.clear();
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * An SSE response that writes pre-encoded frames. SseEmitter only sends event builders, and its
+     * send(Object, MediaType) would wrap the frame in another event, so the frame's parts are sent
+     * through ResponseBodyEmitter as they are.
+     */
+    private static final class FrameEmitter extends ResponseBodyEmitter {
+
+        private FrameEmitter(long timeout) {
+            super(timeout);
+        }
+
+        @Override
+        protected void extendResponse(ServerHttpResponse outputMessage) {
+            super.extendResponse(outputMessage);
+            HttpHeaders headers = outputMessage.getHeaders();
+            if (headers.getContentType() == null) {
+                headers.setContentType(MediaType.TEXT_EVENT_STREAM);
+            }
+        }
+
+        private synchronized void send(Set<DataWithMediaType> frame) throws IOException {
+            for (DataWithMediaType part : frame) {
+                send(part.getData(), part.getMediaType());
+            }
+        }
+    }
+}
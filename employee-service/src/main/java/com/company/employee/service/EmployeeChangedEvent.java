@@ -0,0 +1,24 @@
+package com.company.employee.service;
+
+import com.company.employee.model.EmployeeChangeType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published by EmployeeService (one employee), EmployeeBulkService and AttendanceRollup (one
+ * event per batch) inside the writing transaction; listen with
+ * {@code @TransactionalEventListener} to act once the change is committed.
+ */
+@Getter
+@RequiredArgsConstructor
+public class EmployeeChangedEvent {
+
+    private final List<Long> employeeIds;
+    private final EmployeeChangeType changeType;
+
+    public EmployeeChangedEvent(Long employeeId, EmployeeChangeType changeType) {
+        this(List.of(employeeId), changeType);
+    }
+}
@@ -0,0 +1,627 @@
+package com.company.employee.service;
+
+import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.model.EmployeeGroupBy;
+import com.company.employee.model.EmployeeRole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Column store behind EmployeeSnapshot: one slot per employee, each field in its own primitive
+ * array.
+ *
+ * - employeeClass, role and subjects are dictionary-encoded (int codes), with one bitmap of slots
+ *   per code: a class filter ORs the bitmaps of the matching dictionary values instead of testing
+ *   every row, and group-by counts are bitmap intersections.
+ * - For every supported sort there is a permutation of the live slots in (keys..., id) order, the
+ *   in-memory equivalent of the index the JPA path reads: a page is a walk along it.
+ * - Slots of deleted employees stay allocated until the next full load; the permutations and
+ *   bitmaps drop them at once.
+ * Scans over more than parallelThreshold slots are split into word ranges run in parallel.
+ *
+ * Strings compare with String.compareTo, which for text without supplementary characters is
+ * PostgreSQL's C collation order; EmployeeSnapshot only serves name and employeeClass sorts when
+ * the database uses it. Not thread-safe: EmployeeSnapshot guards it with a read-write lock.
+ */
+final class EmployeeColumns {
+
+    enum SortKey { NAME, EMPLOYEE_CLASS, CREATED_AT, UPDATED_AT, ID }
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int NO_CODE = -1;
+    private static final int[] NO_SUBJECTS = new int[0];
+    private static final EmployeeRole[] ROLES = EmployeeRole.values();
+    /** Words per parallel scan task (65,536 slots). */
+    private static final int CHUNK_WORDS = 1024;
+
+    private final int parallelThreshold;
+
+    private int slotCount;
+    private int liveCount;
+    private long[] ids;
+    private String[] names;
+    private String[] lowerNames;
+    private int[] ages;
+    private int[] classCodes;
+    private int[] attendance;
+    private byte[] roleCodes;
+    private long[] createdAt;
+    private long[] updatedAt;
+    private int[][] subjectCodes;
+
+    private final Dictionary classes = new Dictionary();
+    private final Dictionary subjects = new Dictionary();
+    private final List<Bitmap> classRows = new ArrayList<>();
+    private final List<Bitmap> subjectRows = new ArrayList<>();
+    private final Bitmap[] roleRows = new Bitmap[ROLES.length];
+    private final Bitmap liveRows;
+    /** Live slots in each sort key's order; the first liveCount entries are used. */
+    private final int[][] orders = new int[SortKey.values().length][];
+
+    /** Slots [0, sortedSlots) were loaded in ascending id order; later ones are found through laterSlots. */
+    private int sortedSlots;
+    private final Map<Long, Integer> laterSlots = new HashMap<>();
+    /** Deduplicates name strings while loading (names repeat a lot); dropped by finishLoad. */
+    private Map<String, String> loadStrings = new HashMap<>();
+
+    EmployeeColumns(int capacity, int parallelThreshold) {
+        int initial = Math.max(16, capacity);
+        this.parallelThreshold = parallelThreshold;
+        this.ids = new long[initial];
+        this.names = new String[initial];
+        this.lowerNames = new String[initial];
+        this.ages = new int[initial];
+        this.classCodes = new int[initial];
+        this.attendance = new int[initial];
+        this.roleCodes = new byte[initial];
+        this.createdAt = new long[initial];
+        this.updatedAt = new long[initial];
+        this.subjectCodes = new int[initial][];
+        this.liveRows = new Bitmap(initial);
+        for (int r = 0; r < ROLES.length; r++) {
+            roleRows[r] = new Bitmap(initial);
+        }
+    }
+
+    /** One employee as read from the database. */
+    static final class Row {
+        long id;
+        String name;
+        Integer age;
+        String employeeClass;
+        Integer attendance;
+        EmployeeRole role;
+        Instant createdAt;
+        Instant updatedAt;
+        final List<String> subjects = new ArrayList<>();
+    }
+
+    // ---- Loading ------------------------------------------------------------------------------
+
+    /** Adds a row during the initial load; rows must come in ascending id order. */
+    void append(Row row) {
+        int slot = newSlot(row.id);
+        sortedSlots = slotCount;
+        write(slot, row);
+    }
+
+    /** Adds a subject to an employee during the initial load. */
+    void addSubject(long id, String subject) {
+        int slot = slotOf(id);
+        if (slot < 0 || !liveRows.get(slot)) {
+            return;
+        }
+        int code = subjects.codeOf(subject);
+        int[] current = subjectCodes[slot];
+        int[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = code;
+        subjectCodes[slot] = next;
+        subjectBitmap(code).set(slot);
+    }
+
+    /** Ends the initial load: builds the sort permutations. */
+    void finishLoad() {
+        loadStrings = null;
+        IntStream keys = IntStream.range(0, orders.length);
+        (slotCount >= parallelThreshold ? keys.parallel() : keys).forEach(k -> {
+            int[] order = new int[Math.max(16, ids.length)];
+            for (int slot = 0; slot < slotCount; slot++) {
+                order[slot] = slot;
+            }
+            SortKey key = SortKey.values()[k];
+            if (key != SortKey.ID) {
+                sort(order, slotCount, key);
+            }
+            orders[k] = order;
+        });
+    }
+
+    // ---- Incremental updates -----------------------------------------------------------------
+
+    /**
+     * Inserts or replaces an employee. Ignored if the row is older than the one held (a slower
+     * reader raced a newer write) or the employee was deleted.
+     */
+    void upsert(Row row) {
+        int slot = slotOf(row.id);
+        if (slot >= 0) {
+            if (!liveRows.get(slot) || toNanos(row.updatedAt) < updatedAt[slot]) {
+                return;
+            }
+            unindex(slot);
+            write(slot, row);
+            index(slot);
+            return;
+        }
+        slot = newSlot(row.id);
+        laterSlots.put(row.id, slot);
+        write(slot, row);
+        index(slot);
+    }
+
+    void delete(long id) {
+        int slot = slotOf(id);
+        if (slot < 0 || !liveRows.get(slot)) {
+            return;
+        }
+        unindex(slot);
+        liveRows.clear(slot);
+        liveCount--;
+    }
+
+    int liveCount() {
+        return liveCount;
+    }
+
+    /** Slots held by deleted employees, reclaimed by the next full load. */
+    int deadSlots() {
+        return slotCount - liveCount;
+    }
+
+    // ---- Queries ------------------------------------------------------------------------------
+
+    /**
+     * Slots matching the GET /employees filters (case-insensitive contains, with SQL LIKE wildcards
+     * as in EmployeeSpecifications), or null when neither filter is set.
+     */
+    Bitmap filter(String name, String employeeClass) {
+        Bitmap matches = null;
+        if (employeeClass != null && !employeeClass.trim().isEmpty()) {
+            Predicate<String> test = containsMatcher(employeeClass);
+            matches = new Bitmap(slotCount);
+            for (int code = 0; code < classes.size(); code++) {
+                if (test.test(classes.lowerValue(code))) {
+                    matches.or(classRows.get(code));
+                }
+            }
+        }
+        if (name != null && !name.trim().isEmpty()) {
+            Predicate<String> test = containsMatcher(name);
+            Bitmap candidates = matches != null ? matches : liveRows;
+            Bitmap result = new Bitmap(slotCount);
+            scan(result.wordCount(), (from, to) -> {
+                for (int w = from; w < to; w++) {
+                    long bits = candidates.word(w);
+                    long hits = 0;
+                    while (bits != 0) {
+                        int slot = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        if (test.test(lowerNames[slot])) {
+                            hits |= 1L << slot;
+                        }
+                        bits &= bits - 1;
+                    }
+                    result.setWord(w, hits);
+                }
+            });
+            matches = result;
+        }
+        return matches;
+    }
+
+    int count(Bitmap matches) {
+        return matches == null ? liveCount : matches.cardinality();
+    }
+
+    /** The slots of rows [offset, offset + limit) among matches (null: all) in the key's order. */
+    int[] page(SortKey key, boolean descending, long offset, int limit, Bitmap matches) {
+        int[] order = orders[key.ordinal()];
+        if (matches == null) {
+            int from = (int) Math.min(offset, liveCount);
+            int to = (int) Math.min(offset + limit, liveCount);
+            int[] page = new int[to - from];
+            for (int i = from; i < to; i++) {
+                page[i - from] = order[descending ? liveCount - 1 - i : i];
+            }
+            return page;
+        }
+        int[] page = new int[limit];
+        int found = 0;
+        long skipped = 0;
+        for (int i = 0; i < liveCount && found < limit; i++) {
+            int slot = order[descending ? liveCount - 1 - i : i];
+            if (matches.get(slot)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    page[found++] = slot;
+                }
+            }
+        }
+        return Arrays.copyOf(page, found);
+    }
+
+    /**
+     * Employees per value (null key: no class / no role) among matches (null: all). Subject counts
+     * are the employees having each subject; there is no null group for subjects.
+     */
+    Map<String, Long> groupCounts(EmployeeGroupBy groupBy, Bitmap matches) {
+        List<Bitmap> bitmaps;
+        String[] values;
+        switch (groupBy) {
+            case EMPLOYEE_CLASS:
+                bitmaps = classRows;
+                values = classes.values();
+                break;
+            case ROLE:
+                bitmaps = Arrays.asList(roleRows);
+                values = Arrays.stream(ROLES).map(Enum::name).toArray(String[]::new);
+                break;
+            default:
+                bitmaps = subjectRows;
+                values = subjects.values();
+                break;
+        }
+        Bitmap rows = matches != null ? matches : liveRows;
+        int[] counts = new int[bitmaps.size()];
+        IntStream codes = IntStream.range(0, counts.length);
+        (slotCount >= parallelThreshold ? codes.parallel() : codes)
+                .forEach(code -> counts[code] = bitmaps.get(code).andCardinality(rows));
+
+        Map<String, Long> result = new HashMap<>();
+        long grouped = 0;
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(values[code], (long) counts[code]);
+                grouped += counts[code];
+            }
+        }
+        if (groupBy != EmployeeGroupBy.SUBJECT && count(matches) > grouped) {
+            result.put(null, count(matches) - grouped);
+        }
+        return result;
+    }
+
+    EmployeeResponse toResponse(int slot) {
+        int[] codes = subjectCodes[slot];
+        List<String> subjectNames = new ArrayList<>(codes.length);
+        for (int code : codes) {
+            subjectNames.add(subjects.value(code));
+        }
+        return EmployeeResponse.builder()
+                .id(ids[slot])
+                .name(names[slot])
+                .age(ages[slot] == NULL_INT ? null : ages[slot])
+                .employeeClass(classCodes[slot] == NO_CODE ? null : classes.value(classCodes[slot]))
+                .subjects(subjectNames)
+                .attendance(attendance[slot] == NULL_INT ? null : attendance[slot])
+                .role(roleCodes[slot] == NO_CODE ? null : ROLES[roleCodes[slot]])
+                .createdAt(toInstant(createdAt[slot]))
+                .updatedAt(toInstant(updatedAt[slot]))
+                .build();
+    }
+
+    // ---- Internals ----------------------------------------------------------------------------
+
+    private int slotOf(long id) {
+        int low = 0;
+        int high = sortedSlots - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] < id) {
+                low = mid + 1;
+            } else if (ids[mid] > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        Integer slot = laterSlots.get(id);
+        return slot != null ? slot : -1;
+    }
+
+    private int newSlot(long id) {
+        if (slotCount == ids.length) {
+            grow();
+        }
+        int slot = slotCount++;
+        ids[slot] = id;
+        liveRows.set(slot);
+        liveCount++;
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        lowerNames = Arrays.copyOf(lowerNames, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        classCodes = Arrays.copyOf(classCodes, capacity);
+        attendance = Arrays.copyOf(attendance, capacity);
+        roleCodes = Arrays.copyOf(roleCodes, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+        subjectCodes = Arrays.copyOf(subjectCodes, capacity);
+        for (int k = 0; k < orders.length; k++) {
+            if (orders[k] != null) {
+                orders[k] = Arrays.copyOf(orders[k], capacity);
+            }
+        }
+    }
+
+    /** Writes the row's values into the slot and sets its bitmap bits. */
+    private void write(int slot, Row row) {
+        names[slot] = loadStrings != null ? loadStrings.computeIfAbsent(row.name, n -> n) : row.name;
+        String lower = row.name.toLowerCase(Locale.ROOT);
+        lowerNames[slot] = lower.equals(row.name) ? names[slot]
+                : loadStrings != null ? loadStrings.computeIfAbsent(lower, n -> n) : lower;
+        ages[slot] = row.age != null ? row.age : NULL_INT;
+        attendance[slot] = row.attendance != null ? row.attendance : NULL_INT;
+        createdAt[slot] = toNanos(row.createdAt);
+        updatedAt[slot] = toNanos(row.updatedAt);
+        if (row.employeeClass != null) {
+            classCodes[slot] = classes.codeOf(row.employeeClass);
+            classBitmap(classCodes[slot]).set(slot);
+        } else {
+            classCodes[slot] = NO_CODE;
+        }
+        if (row.role != null) {
+            roleCodes[slot] = (byte) row.role.ordinal();
+            roleRows[row.role.ordinal()].set(slot);
+        } else {
+            roleCodes[slot] = NO_CODE;
+        }
+        if (row.subjects.isEmpty()) {
+            subjectCodes[slot] = NO_SUBJECTS;
+        } else {
+            int[] codes = new int[row.subjects.size()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = subjects.codeOf(row.subjects.get(i));
+                subjectBitmap(codes[i]).set(slot);
+            }
+            subjectCodes[slot] = codes;
+        }
+    }
+
+    private void clearBitmaps(int slot) {
+        if (classCodes[slot] != NO_CODE) {
+            classRows.get(classCodes[slot]).clear(slot);
+        }
+        if (roleCodes[slot] != NO_CODE) {
+            roleRows[roleCodes[slot]].clear(slot);
+        }
+        for (int code : subjectCodes[slot]) {
+            subjectRows.get(code).clear(slot);
+        }
+    }
+
+    private Bitmap classBitmap(int code) {
+        while (classRows.size() <= code) {
+            classRows.add(new Bitmap(ids.length));
+        }
+        return classRows.get(code);
+    }
+
+    private Bitmap subjectBitmap(int code) {
+        while (subjectRows.size() <= code) {
+            subjectRows.add(new Bitmap(ids.length));
+        }
+        return subjectRows.get(code);
+    }
+
+    /** Removes a live slot from the sort permutations and bitmaps, before its values change. */
+    private void unindex(int slot) {
+        for (SortKey key : SortKey.values()) {
+            int[] order = orders[key.ordinal()];
+            int position = lowerBound(order, key, slot);
+            System.arraycopy(order, position + 1, order, position, liveCount - position - 1);
+        }
+        clearBitmaps(slot);
+    }
+
+    /** Inserts a slot into the sort permutations; its bitmap bits are set by write. */
+    private void index(int slot) {
+        // liveCount already includes the slot; the permutations hold liveCount - 1 entries
+        int size = liveCount - 1;
+        for (SortKey key : SortKey.values()) {
+            int[] order = orders[key.ordinal()];
+            int position = lowerBound(order, size, key, slot);
+            System.arraycopy(order, position, order, position + 1, size - position);
+            order[position] = slot;
+        }
+    }
+
+    private int lowerBound(int[] order, SortKey key, int slot) {
+        return lowerBound(order, liveCount, key, slot);
+    }
+
+    private int lowerBound(int[] order, int size, SortKey key, int slot) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(key, order[mid], slot) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compare(SortKey key, int a, int b) {
+        int result;
+        switch (key) {
+            case NAME:
+                result = names[a].compareTo(names[b]);
+                break;
+            case EMPLOYEE_CLASS:
+                result = compareClasses(classCodes[a], classCodes[b]);
+                if (result == 0) {
+                    result = names[a].compareTo(names[b]);
+                }
+                break;
+            case CREATED_AT:
+                result = Long.compare(createdAt[a], createdAt[b]);
+                break;
+            case UPDATED_AT:
+                result = Long.compare(updatedAt[a], updatedAt[b]);
+                break;
+            default:
+                result = 0;
+                break;
+        }
+        return result != 0 ? result : Long.compare(ids[a], ids[b]);
+    }
+
+    private int compareClasses(int a, int b) {
+        if (a == b) {
+            return 0;
+        }
+        // NULLs sort last ascending, as in PostgreSQL
+        if (a == NO_CODE || b == NO_CODE) {
+            return a == NO_CODE ? 1 : -1;
+        }
+        return classes.value(a).compareTo(classes.value(b));
+    }
+
+    /** Merge sort of order[0, size) by key (no boxing, unlike List.sort on Integers). */
+    private void sort(int[] order, int size, SortKey key) {
+        int[] buffer = new int[size];
+        mergeSort(order, buffer, 0, size, key);
+    }
+
+    private void mergeSort(int[] a, int[] buffer, int from, int to, SortKey key) {
+        if (to - from <= 32) {
+            for (int i = from + 1; i < to; i++) {
+                int value = a[i];
+                int j = i - 1;
+                while (j >= from && compare(key, a[j], value) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = value;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, buffer, from, mid, key);
+        mergeSort(a, buffer, mid, to, key);
+        if (compare(key, a[mid - 1], a[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(a, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && compare(key, buffer[left], buffer[right]) <= 0)) {
+                a[i] = buffer[left++];
+            } else {
+                a[i] = buffer[right++];
+            }
+        }
+    }
+
+    /** Runs body over word ranges of [0, words), in parallel for large tables. */
+    private void scan(int words, WordRange body) {
+        int chunks = (words + CHUNK_WORDS - 1) / CHUNK_WORDS;
+        IntStream tasks = IntStream.range(0, chunks);
+        (slotCount >= parallelThreshold ? tasks.parallel() : tasks).forEach(chunk ->
+                body.run(chunk * CHUNK_WORDS, Math.min(words, (chunk + 1) * CHUNK_WORDS)));
+    }
+
+    private interface WordRange {
+        void run(int fromWord, int toWord);
+    }
+
+    /**
+     * Case-insensitive "contains" on lower-cased values, matching lower(x) LIKE '%query%': % and _
+     * in the query are wildcards there too.
+     */
+    static Predicate<String> containsMatcher(String query) {
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        if (needle.indexOf('%') < 0 && needle.indexOf('_') < 0) {
+            return value -> value.contains(needle);
+        }
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : needle.toCharArray()) {
+            if (c == '%' || c == '_') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '%' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        Pattern pattern = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        return value -> pattern.matcher(value).find();
+    }
+
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static Instant toInstant(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+    }
+
+    /** Distinct values of one column, coded in order of first appearance. */
+    private static final class Dictionary {
+
+        private final List<String> values = new ArrayList<>();
+        private final List<String> lowerValues = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int codeOf(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+                lowerValues.add(value.toLowerCase(Locale.ROOT));
+            }
+            return code;
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        String lowerValue(int code) {
+            return lowerValues.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        String[] values() {
+            return values.toArray(new String[0]);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.company.employee.service;
+
+import com.company.employee.config.DeltaSyncProperties;
+import com.company.employee.config.ReplicaProperties;
+import com.company.employee.dto.EmployeeDeltaResponse;
+import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.exception.BadRequestException;
+import com.company.employee.exception.SyncTokenExpiredException;
+import com.company.employee.model.Employee;
+import com.company.employee.model.EmployeeTombstone;
+import com.company.employee.repository.EmployeeRepository;
+import com.company.employee.repository.EmployeeTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental sync for clients that cache the employee directory (GET /employees/delta).
+ *
+ * The token is an opaque cursor (timestamp, id) over employees.updated_at and
+ * employee_tombstones.deleted_at. Each call returns the rows and tombstones after the cursor in
+ * cursor order, so paging through a large change set never skips or repeats an entry. Only rows
+ * stamped before now - commit window are returned, which keeps a change from a transaction that
+ * was still committing from landing behind a token already handed out.
+ */
+@Service
+@Slf4j
+public class EmployeeDeltaService {
+
+    private static final String TOKEN_VERSION = "1";
+    private static final long PRUNE_INTERVAL_HOURS = 1;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final EmployeeService employeeService;
+    private final DeltaSyncProperties properties;
+    private final Duration visibilityDelay;
+    private final ScheduledExecutorService pruner = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "employee-tombstone-pruner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmployeeDeltaService(EmployeeRepository employeeRepository, EmployeeTombstoneRepository tombstoneRepository,
+                                EmployeeService employeeService, DeltaSyncProperties properties,
+                                ReplicaProperties replicaProperties) {
+        this.employeeRepository = employeeRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.employeeService = employeeService;
+        this.properties = properties;
+        // Reads may be served by a replica (read-only transaction); allow for its permitted lag too
+        this.visibilityDelay = replicaProperties.getReplicas().isEmpty()
+                ? properties.getCommitWindow()
+                : properties.getCommitWindow().plus(replicaProperties.getMaxReplicationLag());
+        pruner.scheduleWithFixedDelay(this::pruneTombstones, PRUNE_INTERVAL_HOURS, PRUNE_INTERVAL_HOURS, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pruner.shutdownNow();
+    }
+
+    @Transactional(readOnly = true)
+    public EmployeeDeltaResponse getDelta(String token, int limit) {
+        if (limit < 1 || limit > properties.getMaxLimit()) {
+            throw new BadRequestException("Limit must be between 1 and " + properties.getMaxLimit());
+        }
+        Instant now = Instant.now();
+        Cursor since = token == null || token.isEmpty() ? Cursor.START : Cursor.decode(token);
+        if (since != Cursor.START && since.time.isBefore(now.minus(properties.getTombstoneRetention()))) {
+            throw new SyncTokenExpiredException("Sync token is older than "
+                    + properties.getTombstoneRetention().toDays() + " days, reload all employees");
+        }
+        Instant upTo = now.minus(visibilityDelay).truncatedTo(ChronoUnit.MICROS);
+        if (!since.time.isBefore(upTo)) {
+            return EmployeeDeltaResponse.builder()
+                    .changed(List.of())
+                    .deleted(List.of())
+                    .token(since.encode())
+                    .build();
+        }
+
+        Pageable window = PageRequest.of(0, limit + 1);
+        List<Employee> updated = employeeRepository.findUpdatedAfterCursor(since.time, since.id, upTo, window);
+        List<EmployeeTombstone> tombstones = tombstoneRepository.findAfterCursor(since.time, since.id, upTo, window);
+
+        // Merge both cursor-ordered lists and take the first `limit` entries
+        List<EmployeeResponse> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        Cursor last = null;
+        int u = 0;
+        int t = 0;
+        while (changed.size() + deleted.size() < limit && (u < updated.size() || t < tombstones.size())) {
+            Employee employee = u < updated.size() ? updated.get(u) : null;
+            EmployeeTombstone tombstone = t < tombstones.size() ? tombstones.get(t) : null;
+            if (tombstone == null || (employee != null
+                    && new Cursor(employee.getUpdatedAt(), employee.getId())
+                            .compareTo(new Cursor(tombstone.getDeletedAt(), tombstone.getEmployeeId())) <= 0)) {
+                changed.add(employeeService.toResponse(employee));
+                last = new Cursor(employee.getUpdatedAt(), employee.getId());
+                u++;
+            } else {
+                deleted.add(tombstone.getEmployeeId());
+                last = new Cursor(tombstone.getDeletedAt(), tombstone.getEmployeeId());
+                t++;
+            }
+        }
+        boolean hasMore = u < updated.size() || t < tombstones.size();
+        Cursor next = hasMore ? last : new Cursor(upTo, Long.MAX_VALUE);
+        return EmployeeDeltaResponse.builder()
+                .changed(changed)
+                .deleted(deleted)
+                .token(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private void pruneTombstones() {
+        try {
+            int deleted = tombstoneRepository.deleteDeletedBefore(Instant.now().minus(properties.getTombstoneRetention()));
+            if (deleted > 0) {
+                log.debug("Pruned {} employee tombstones", deleted);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Employee tombstone pruning failed: {}", ex.getMessage());
+        }
+    }
+
+    /** Position in the (timestamp, id) order shared by employees and tombstones. */
+    private static final class Cursor implements Comparable<Cursor> {
+
+        private static final Cursor START = new Cursor(Instant.EPOCH, 0);
+
+        private final Instant time;
+        private final long id;
+
+        private Cursor(Instant time, long id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        private static Cursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII).split(":");
+                if (parts.length != 3 || !TOKEN_VERSION.equals(parts[0])) {
+                    throw new IllegalArgumentException();
+                }
+                long micros = Long.parseLong(parts[1]);
+                Instant time = Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                        Math.floorMod(micros, 1_000_000L) * 1_000L);
+                return new Cursor(time, Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid sync token");
+            }
+        }
+
+        private String encode() {
+            long micros = time.getEpochSecond() * 1_000_000L + time.getNano() / 1_000;
+            String raw = TOKEN_VERSION + ":" + micros + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int byTime = time.compareTo(other.time);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+    }
+}
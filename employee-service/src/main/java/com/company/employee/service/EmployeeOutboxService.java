@@ -0,0 +1,83 @@
+package com.company.employee.service;
+
+import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.model.EmployeeChangeType;
+import com.company.employee.model.EmployeeOutboxEvent;
+import com.company.employee.repository.EmployeeOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends employee mutations to the outbox. Must run inside the mutating transaction, so a change
+ * and its event commit or roll back together.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeOutboxService {
+
+    private final EmployeeOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(EmployeeResponse employee) {
+        record(EmployeeChangeType.CREATED, employee.getId(), employee);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(EmployeeResponse employee) {
+        record(EmployeeChangeType.UPDATED, employee.getId(), employee);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long id) {
+        record(EmployeeChangeType.DELETED, id, Map.of("id", id));
+    }
+
+    /** One UPDATED event per employee, written as a single JDBC batch. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(List<EmployeeResponse> employees) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO employee_outbox (employee_id, change_type, payload, created_at) VALUES (?, ?, ?, ?)",
+                employees, employees.size(), (ps, employee) -> {
+                    ps.setLong(1, employee.getId());
+                    ps.setString(2, EmployeeChangeType.UPDATED.name());
+                    ps.setString(3, toJson(EmployeeChangeType.UPDATED, employee.getId(), employee));
+                    ps.setTimestamp(4, createdAt);
+                });
+    }
+
+    /** One DELETED event per employee in ids that still exists; call before deleting them. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Collection<Long> ids) {
+        outboxRepository.insertDeletedEvents(ids, Instant.now());
+    }
+
+    private void record(EmployeeChangeType type, Long employeeId, Object payload) {
+        outboxRepository.save(EmployeeOutboxEvent.builder()
+                .employeeId(employeeId)
+                .changeType(type)
+                .payload(toJson(type, employeeId, payload))
+                .build());
+    }
+
+    private String toJson(EmployeeChangeType type, Long employeeId, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + type + " event for employee " + employeeId, e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.employee.service;
+
+import com.company.employee.config.ReadYourWritesTracker;
+import com.company.employee.dto.EmployeeFilter;
+import com.company.employee.dto.EmployeeResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent employee reads: while one getAllEmployees / getEmployeeById call
+ * is running, identical calls wait for it and share its result instead of running their own query
+ * (and COUNT). Waiting callers hold no transaction or connection.
+ *
+ * The key is the query arguments only, not the caller: results do not depend on the principal.
+ * It also includes a generation bumped after every committed employee write, so a request made
+ * after a write never joins a query that started before it. Users inside their read-your-writes
+ * window (see ReadYourWritesTracker) are not coalesced, since the shared query may run on a replica.
+ */
+@Service
+public class EmployeeReadCoalescer {
+
+    private final EmployeeService employeeService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final boolean enabled;
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<List<Object>, Page<EmployeeResponse>> listFlights = new SingleFlight<>();
+    private final SingleFlight<List<Object>, EmployeeResponse> getFlights = new SingleFlight<>();
+    private final Counter listSaved;
+    private final Counter getSaved;
+
+    public EmployeeReadCoalescer(EmployeeService employeeService, ReadYourWritesTracker readYourWritesTracker,
+                                 @Value("${app.read-coalescing.enabled:true}") boolean enabled,
+                                 MeterRegistry meterRegistry) {
+        this.employeeService = employeeService;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.enabled = enabled;
+        this.listSaved = savedCounter(meterRegistry, "list");
+        this.getSaved = savedCounter(meterRegistry, "get");
+    }
+
+    public Page<EmployeeResponse> getAllEmployees(int page, int size, String sort, EmployeeFilter filters) {
+        String name = filters != null ? filters.getName() : null;
+        String employeeClass = filters != null ? filters.getEmployeeClass() : null;
+        return coalesce(listFlights, listSaved, Arrays.asList(generation.get(), page, size, sort, name, employeeClass),
+                () -> employeeService.getAllEmployees(page, size, sort, filters));
+    }
+
+    public EmployeeResponse getEmployeeById(Long id) {
+        return coalesce(getFlights, getSaved, Arrays.asList(generation.get(), id),
+                () -> employeeService.getEmployeeById(id));
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private <V> V coalesce(SingleFlight<List<Object>, V> flights, Counter saved, List<Object> key, Supplier<V> loader) {
+        if (!enabled || readYourWritesTracker.isPinnedToPrimary()) {
+            return loader.get();
+        }
+        SingleFlight.Result<V> result = flights.execute(key, loader);
+        if (result.shared()) {
+            saved.increment();
+        }
+        return result.value();
+    }
+
+    private static Counter savedCounter(MeterRegistry meterRegistry, String query) {
+        return Counter.builder("employee.reads.coalesced")
+                .description("Employee reads served from another caller's in-flight query")
+                .tag("query", query)
+                .register(meterRegistry);
+    }
+}
@@ -1,49 +1,60 @@
 package com.company.employee.service;
 
+import com.company.employee.config.CacheConfig;
+import com.company.employee.config.CacheInvalidationBus;
+import com.company.employee.dto.EmployeeCountsResponse;
 import com.company.employee.dto.EmployeeFilter;
 import com.company.employee.dto.EmployeeRequest;
 import com.company.employee.dto.EmployeeResponse;
 import com.company.employee.exception.BadRequestException;
 import com.company.employee.exception.ResourceNotFoundException;
+import com.company.employee.jfr.EmployeeQueryEvent;
 import com.company.employee.model.Employee;
+import com.company.employee.model.EmployeeChangeType;
+import com.company.employee.model.EmployeeGroupBy;
+import com.company.employee.model.EmployeeTombstone;
 import com.company.employee.repository.EmployeeRepository;
 import com.company.employee.repository.EmployeeSpecifications;
+import com.company.employee.repository.EmployeeTombstoneRepository;
+import com.company.employee.tracing.Traced;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Traced
 public class EmployeeService {
 
     private static final int MAX_PAGE_SIZE = 100;
-    private static final String DEFAULT_SORT = "name,asc";
 
     private final EmployeeRepository employeeRepository;
+    private final EmployeeOutboxService outboxService;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheInvalidationBus cacheInvalidation;
 
+    @Cacheable(CacheConfig.EMPLOYEE_PAGES)
     @Transactional(readOnly = true)
     public Page<EmployeeResponse> getAllEmployees(int page, int size, String sort, EmployeeFilter filters) {
         log.debug("Fetching employees - page: {}, size: {}, sort: {}", page, size, sort);
+        validatePage(page, size);
+        EmployeeQueryEvent event = new EmployeeQueryEvent("list", "database");
+        event.begin();
         
-        if (page < 0) {
-            log.warn("Invalid page index: {}", page);
-            throw new BadRequestException("Page index must not be less than zero");
-        }
-        if (size < 1 || size > MAX_PAGE_SIZE) {
-            log.warn("Invalid page size: {} (max: {})", size, MAX_PAGE_SIZE);
-            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
-        }
-        
-        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+        Pageable pageable = PageRequest.of(page, size, EmployeeSortPlanner.plan(sort));
         String name = filters != null ? filters.getName() : null;
         String employeeClass = filters != null ? filters.getEmployeeClass() : null;
         
@@ -51,11 +62,47 @@ public class EmployeeService {
                 EmployeeSpecifications.withFilters(name, employeeClass),
                 pageable
         ).map(this::toResponse);
+        commitQuery(event, name, employeeClass, sort, page, size, result.getNumberOfElements(), result.getTotalElements());
         
         log.debug("Found {} employees (page {} of {})", result.getNumberOfElements(), page + 1, result.getTotalPages());
         return result;
     }
 
+    /**
+     * Employees matching the list filters, counted per employeeClass, role or subject (groupBy).
+     * Not cached: served from EmployeeSnapshot when that is enabled.
+     */
+    @Transactional(readOnly = true)
+    public EmployeeCountsResponse countEmployees(String groupBy, EmployeeFilter filters) {
+        EmployeeGroupBy grouping = parseGroupBy(groupBy);
+        EmployeeQueryEvent event = new EmployeeQueryEvent("count", "database");
+        event.begin();
+        String name = filters != null ? filters.getName() : null;
+        String employeeClass = filters != null ? filters.getEmployeeClass() : null;
+        Specification<Employee> spec = EmployeeSpecifications.withFilters(name, employeeClass);
+        EmployeeCountsResponse counts = EmployeeCountsResponse.of(grouping.getParameter(), employeeRepository.count(spec),
+                employeeRepository.countBy(grouping, spec));
+        event.setGroupBy(grouping.getParameter());
+        commitQuery(event, name, employeeClass, null, 0, 0, counts.getGroups().size(), counts.getTotal());
+        return counts;
+    }
+
+    /** Fills in and commits a JFR EmployeeQueryEvent (a no-op unless a recording enables it). */
+    static void commitQuery(EmployeeQueryEvent event, String name, String employeeClass, String sort,
+                            int page, int size, int rows, long total) {
+        if (event.shouldCommit()) {
+            event.setNameFilter(name);
+            event.setClassFilter(employeeClass);
+            event.setSort(sort);
+            event.setPage(page);
+            event.setPageSize(size);
+            event.setRows(rows);
+            event.setTotal(total);
+            event.commit();
+        }
+    }
+
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, key = "#id")
     @Transactional(readOnly = true)
     public EmployeeResponse getEmployeeById(Long id) {
         log.debug("Fetching employee with id: {}", id);
@@ -75,7 +122,11 @@ public class EmployeeService {
         }
         Employee employee = toEntity(request);
         employee = employeeRepository.save(employee);
-        return toResponse(employee);
+        EmployeeResponse response = toResponse(employee);
+        outboxService.recordCreated(response);
+        cacheInvalidation.clearAfterCommit(CacheConfig.EMPLOYEE_PAGES);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(response.getId(), EmployeeChangeType.CREATED));
+        return response;
     }
 
     @Transactional
@@ -87,7 +138,12 @@ public class EmployeeService {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
         updateEntity(employee, request);
-        return toResponse(employeeRepository.save(employee));
+        // Flush so the audited updatedAt is current in the response and the outbox event
+        EmployeeResponse response = toResponse(employeeRepository.saveAndFlush(employee));
+        outboxService.recordUpdated(response);
+        invalidateCaches(id);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id, EmployeeChangeType.UPDATED));
+        return response;
     }
 
     @Transactional
@@ -97,24 +153,42 @@ public class EmployeeService {
             throw new ResourceNotFoundException("Employee", "id", id);
         }
         employeeRepository.deleteById(id);
+        tombstoneRepository.save(new EmployeeTombstone(id, Instant.now()));
+        outboxService.recordDeleted(id);
+        invalidateCaches(id);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id, EmployeeChangeType.DELETED));
     }
 
-    private void validateId(Long id) {
-        if (id == null || id <= 0) {
-            throw new BadRequestException("Employee id must be a positive number");
+    private void invalidateCaches(Long id) {
+        cacheInvalidation.evictAfterCommit(CacheConfig.EMPLOYEES, id);
+        cacheInvalidation.clearAfterCommit(CacheConfig.EMPLOYEE_PAGES);
+    }
+
+    static void validatePage(int page, int size) {
+        if (page < 0) {
+            log.warn("Invalid page index: {}", page);
+            throw new BadRequestException("Page index must not be less than zero");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            log.warn("Invalid page size: {} (max: {})", size, MAX_PAGE_SIZE);
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
     }
 
-    private Sort parseSort(String sort) {
-        if (sort == null || sort.trim().isEmpty()) {
-            sort = DEFAULT_SORT;
+    static EmployeeGroupBy parseGroupBy(String groupBy) {
+        for (EmployeeGroupBy grouping : EmployeeGroupBy.values()) {
+            if (grouping.getParameter().equals(groupBy)) {
+                return grouping;
+            }
+        }
+        throw new BadRequestException((groupBy == null ? "groupBy is required" : "Cannot group by '" + groupBy + "'")
+                + "; supported: employeeClass, role, subject");
+    }
+
+    private void validateId(Long id) {
+        if (id == null || id <= 0) {
+            throw new BadRequestException("Employee id must be a positive number");
         }
-        String trimmed = sort.trim();
-        String[] parts = trimmed.split(",");
-        String property = parts[0].trim().isEmpty() ? "name" : parts[0].trim();
-        Sort.Direction direction = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim())
-                ? Sort.Direction.DESC : Sort.Direction.ASC;
-        return Sort.by(direction, property);
     }
 
     private Employee toEntity(EmployeeRequest request) {
@@ -128,7 +202,7 @@ public class EmployeeService {
                 .build();
     }
 
-    private EmployeeResponse toResponse(Employee employee) {
+    EmployeeResponse toResponse(Employee employee) {
         return EmployeeResponse.builder()
                 .id(employee.getId())
                 .name(employee.getName())
@@ -0,0 +1,439 @@
+package com.company.employee.service;
+
+import com.company.employee.config.CacheInvalidationBus;
+import com.company.employee.config.DeltaSyncProperties;
+import com.company.employee.config.EmployeeSnapshotProperties;
+import com.company.employee.dto.EmployeeCountsResponse;
+import com.company.employee.dto.EmployeeFilter;
+import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.jfr.EmployeeQueryEvent;
+import com.company.employee.model.EmployeeGroupBy;
+import com.company.employee.model.EmployeeRole;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Optional in-memory copy of the employees table (app.employees.snapshot.enabled) that serves
+ * GET /employees and GET /employees/counts without touching the database; see EmployeeColumns for
+ * the layout. Results are the same as the JPA path's: same filters, orders and page boundaries.
+ *
+ * It is loaded after startup with two plain JDBC scans in one REPEATABLE READ transaction, and
+ * serves once that is done (EmployeeController falls back to the JPA path until then, or when it
+ * is disabled). Changes reach it like the caches do: every EmployeeChangedEvent publishes the
+ * changed ids on CacheInvalidationBus, and each instance re-reads those rows once the write has
+ * committed; on the writing instance that happens before the request returns. When notifications
+ * may have been lost, and every refreshInterval anyway, rows updated and deleted since the last
+ * catch-up (less the delta commit window) are re-read. A full reload reclaims the slots of deleted
+ * employees once they make up a quarter of the table.
+ *
+ * Sorts by name and employeeClass are only served when the database orders those columns by code
+ * point (C or POSIX collation), as EmployeeColumns does; under any other collation the load logs a
+ * warning and those sorts stay on the JPA path, so both paths still return the same pages.
+ */
+@Service
+@Slf4j
+public class EmployeeSnapshot implements CacheInvalidationBus.Subscriber {
+
+    static final String TOPIC = "employeeSnapshot";
+
+    private static final int IDS_PER_MESSAGE = 100;
+    private static final int MIN_DEAD_SLOTS_FOR_RELOAD = 10_000;
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final String SELECT_EMPLOYEES =
+            "SELECT id, name, age, employee_class, attendance, role, created_at, updated_at FROM employees";
+    private static final String SELECT_SUBJECTS = "SELECT employee_id, subject FROM employee_subjects";
+    /** Whether employees.name and employee_class both sort in C order, column collation or database default. */
+    private static final String SELECT_CODE_POINT_COLLATION = "SELECT bool_and(CASE WHEN co.collname = 'default'"
+            + " THEN d.datcollate IN ('C', 'POSIX') ELSE co.collname IN ('C', 'POSIX') END)"
+            + " FROM pg_attribute a JOIN pg_collation co ON co.oid = a.attcollation"
+            + " JOIN pg_database d ON d.datname = current_database()"
+            + " WHERE a.attrelid = 'employees'::regclass AND a.attname IN ('name', 'employee_class')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate loadJdbcTemplate;
+    private final CacheInvalidationBus bus;
+    private final TransactionTemplate loadTransaction;
+    private final boolean enabled;
+    private final int parallelThreshold;
+    private final Duration refreshInterval;
+    private final Duration commitWindow;
+    private final Timer loadTimer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Null until the first load has finished; replaced under the write lock. */
+    private volatile EmployeeColumns columns;
+    /** Whether the database's order of names and classes is EmployeeColumns' order; set by each load. */
+    private volatile boolean codePointCollation;
+    /** Changes at or after this time (less the commit window) are re-read by the next catch-up. */
+    private volatile Instant watermark;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "employee-snapshot-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmployeeSnapshot(JdbcTemplate jdbcTemplate, CacheInvalidationBus bus,
+                            PlatformTransactionManager transactionManager, EmployeeSnapshotProperties properties,
+                            DeltaSyncProperties deltaSyncProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Streams the full scans (inside the load transaction) instead of buffering the result sets
+        this.loadJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        loadJdbcTemplate.setFetchSize(LOAD_FETCH_SIZE);
+        this.bus = bus;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        // One consistent view for both scans; not read-only, so it stays on the primary and the
+        // catch-up that follows starts from what the primary had committed
+        loadTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.enabled = properties.isEnabled();
+        this.parallelThreshold = properties.getParallelThreshold();
+        this.refreshInterval = properties.getRefreshInterval();
+        this.commitWindow = deltaSyncProperties.getCommitWindow();
+        this.loadTimer = Timer.builder("employee.snapshot.load")
+                .description("Full loads of the employee snapshot")
+                .register(meterRegistry);
+        Gauge.builder("employee.snapshot.rows", this, EmployeeSnapshot::rows)
+                .description("Employees held by the in-memory snapshot")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        bus.subscribe(TOPIC, this);
+        refresher.execute(this::reload);
+        long refreshMillis = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::catchUp, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /** Whether the snapshot is enabled and loaded, i.e. can serve reads. */
+    public boolean isServing() {
+        return columns != null;
+    }
+
+    /**
+     * Whether the snapshot can serve a list in this order: it is loaded and, for name and
+     * employeeClass sorts, the database collation agrees with EmployeeColumns.
+     */
+    public boolean isServing(String sort) {
+        if (!isServing()) {
+            return false;
+        }
+        if (codePointCollation) {
+            return true;
+        }
+        EmployeeColumns.SortKey key = sortKey(EmployeeSortPlanner.plan(sort).iterator().next().getProperty());
+        return key != EmployeeColumns.SortKey.NAME && key != EmployeeColumns.SortKey.EMPLOYEE_CLASS;
+    }
+
+    /** Same contract as EmployeeService.getAllEmployees. */
+    public Page<EmployeeResponse> getAllEmployees(int page, int size, String sort, EmployeeFilter filters) {
+        EmployeeService.validatePage(page, size);
+        EmployeeQueryEvent event = new EmployeeQueryEvent("list", "snapshot");
+        event.begin();
+        Sort order = EmployeeSortPlanner.plan(sort);
+        Sort.Order first = order.iterator().next();
+        EmployeeColumns.SortKey key = sortKey(first.getProperty());
+        String name = filters != null ? filters.getName() : null;
+        String employeeClass = filters != null ? filters.getEmployeeClass() : null;
+
+        lock.readLock().lock();
+        try {
+            EmployeeColumns current = loaded();
+            Bitmap matches = current.filter(name, employeeClass);
+            int[] slots = current.page(key, first.isDescending(), (long) page * size, size, matches);
+            List<EmployeeResponse> content = new ArrayList<>(slots.length);
+            for (int slot : slots) {
+                content.add(current.toResponse(slot));
+            }
+            long total = current.count(matches);
+            EmployeeService.commitQuery(event, name, employeeClass, sort, page, size, content.size(), total);
+            return new PageImpl<>(content, PageRequest.of(page, size, order), total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Same contract as EmployeeService.countEmployees. */
+    public EmployeeCountsResponse countEmployees(String groupBy, EmployeeFilter filters) {
+        EmployeeGroupBy grouping = EmployeeService.parseGroupBy(groupBy);
+        EmployeeQueryEvent event = new EmployeeQueryEvent("count", "snapshot");
+        event.begin();
+        String name = filters != null ? filters.getName() : null;
+        String employeeClass = filters != null ? filters.getEmployeeClass() : null;
+
+        lock.readLock().lock();
+        try {
+            EmployeeColumns current = loaded();
+            Bitmap matches = current.filter(name, employeeClass);
+            EmployeeCountsResponse counts = EmployeeCountsResponse.of(grouping.getParameter(), current.count(matches),
+                    current.groupCounts(grouping, matches));
+            event.setGroupBy(grouping.getParameter());
+            EmployeeService.commitQuery(event, name, employeeClass, null, 0, 0, counts.getGroups().size(),
+                    counts.getTotal());
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Sends the changed ids to every instance's snapshot once the writing transaction commits. */
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> ids = event.getEmployeeIds();
+        for (int from = 0; from < ids.size(); from += IDS_PER_MESSAGE) {
+            bus.publishAfterCommit(TOPIC, ids.subList(from, Math.min(ids.size(), from + IDS_PER_MESSAGE)).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        }
+    }
+
+    @Override
+    public void onMessage(String message) {
+        List<Long> ids = new ArrayList<>();
+        for (String id : message.split(",")) {
+            ids.add(Long.valueOf(id));
+        }
+        if (isServing()) {
+            apply(ids, readRows(SELECT_EMPLOYEES + " WHERE id IN (" + placeholders(ids.size()) + ")",
+                    SELECT_SUBJECTS + " WHERE employee_id IN (" + placeholders(ids.size()) + ")", ids.toArray()));
+        }
+        // Still loading: the catch-up after the load picks the change up
+    }
+
+    @Override
+    public void onResync() {
+        refresher.execute(this::catchUp);
+    }
+
+    private EmployeeColumns loaded() {
+        if (columns == null) {
+            throw new IllegalStateException("Employee snapshot is not loaded");
+        }
+        return columns;
+    }
+
+    private int rows() {
+        lock.readLock().lock();
+        try {
+            return columns != null ? columns.liveCount() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Builds a new snapshot from the database and swaps it in. */
+    void reload() {
+        try {
+            long started = System.nanoTime();
+            Instant loadedAt = Instant.now();
+            EmployeeColumns loadedColumns = loadTransaction.execute(status -> load());
+            boolean collationMatches = isCodePointCollation();
+            lock.writeLock().lock();
+            try {
+                columns = loadedColumns;
+                codePointCollation = collationMatches;
+                watermark = loadedAt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loadTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            log.info("Employee snapshot loaded: {} employees in {} ms", loadedColumns.liveCount(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("Employee snapshot load failed, retrying in {}: {}", refreshInterval, e.getMessage());
+            refresher.schedule(this::reload, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private EmployeeColumns load() {
+        Long count = loadJdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Long.class);
+        EmployeeColumns loading = new EmployeeColumns((int) Math.min(Integer.MAX_VALUE - 8, count * 9 / 8),
+                parallelThreshold);
+        loadJdbcTemplate.query(SELECT_EMPLOYEES + " ORDER BY id", rs -> {
+            loading.append(row(rs));
+        });
+        loadJdbcTemplate.query(SELECT_SUBJECTS, rs -> {
+            loading.addSubject(rs.getLong(1), rs.getString(2));
+        });
+        loading.finishLoad();
+        return loading;
+    }
+
+    private boolean isCodePointCollation() {
+        Boolean codePoint;
+        try {
+            codePoint = jdbcTemplate.queryForObject(SELECT_CODE_POINT_COLLATION, Boolean.class);
+        } catch (DataAccessException e) {
+            codePoint = null;
+        }
+        if (!Boolean.TRUE.equals(codePoint)) {
+            log.warn("employees.name and employee_class do not use the C collation; name and employeeClass sorts"
+                    + " are served from the database, not the employee snapshot");
+        }
+        return Boolean.TRUE.equals(codePoint);
+    }
+
+    /** Re-reads the employees updated or deleted since the last catch-up. */
+    void catchUp() {
+        Instant since = watermark;
+        if (since == null) {
+            return;
+        }
+        try {
+            Instant started = Instant.now();
+            Timestamp from = Timestamp.from(since.minus(commitWindow));
+            List<Long> deleted = new ArrayList<>();
+            Map<Long, EmployeeColumns.Row> updated = loadTransaction.execute(status -> {
+                deleted.addAll(jdbcTemplate.queryForList(
+                        "SELECT employee_id FROM employee_tombstones WHERE deleted_at >= ?", Long.class, from));
+                return readRows(SELECT_EMPLOYEES + " WHERE updated_at >= ?", SELECT_SUBJECTS
+                        + " WHERE employee_id IN (SELECT id FROM employees WHERE updated_at >= ?)", from);
+            });
+            apply(deleted, Collections.emptyMap());
+            apply(updated.keySet(), updated);
+            watermark = started;
+            if (!updated.isEmpty() || !deleted.isEmpty()) {
+                log.debug("Employee snapshot caught up: {} updated, {} deleted", updated.size(), deleted.size());
+            }
+            reloadIfFragmented();
+        } catch (RuntimeException e) {
+            log.warn("Employee snapshot catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    private void reloadIfFragmented() {
+        lock.readLock().lock();
+        boolean fragmented;
+        try {
+            fragmented = columns != null && columns.deadSlots() >= MIN_DEAD_SLOTS_FOR_RELOAD
+                    && columns.deadSlots() * 4L >= columns.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (fragmented) {
+            reload();
+        }
+    }
+
+    /** Upserts the rows read and deletes the ids that were not found. */
+    private void apply(Collection<Long> ids, Map<Long, EmployeeColumns.Row> rows) {
+        lock.writeLock().lock();
+        try {
+            if (columns == null) {
+                return;
+            }
+            for (Long id : ids) {
+                EmployeeColumns.Row row = rows.get(id);
+                if (row != null) {
+                    columns.upsert(row);
+                } else {
+                    columns.delete(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Rows by id with their subjects; both queries take the same arguments. */
+    private Map<Long, EmployeeColumns.Row> readRows(String employeesSql, String subjectsSql, Object... args) {
+        Map<Long, EmployeeColumns.Row> rows = new LinkedHashMap<>();
+        jdbcTemplate.query(employeesSql, (ResultSetExtractor<Void>) rs -> {
+            while (rs.next()) {
+                EmployeeColumns.Row row = row(rs);
+                rows.put(row.id, row);
+            }
+            return null;
+        }, args);
+        if (!rows.isEmpty()) {
+            jdbcTemplate.query(subjectsSql, (ResultSetExtractor<Void>) rs -> {
+                while (rs.next()) {
+                    EmployeeColumns.Row row = rows.get(rs.getLong(1));
+                    if (row != null) {
+                        row.subjects.add(rs.getString(2));
+                    }
+                }
+                return null;
+            }, args);
+        }
+        return rows;
+    }
+
+    private static EmployeeColumns.Row row(ResultSet rs) throws SQLException {
+        EmployeeColumns.Row row = new EmployeeColumns.Row();
+        row.id = rs.getLong(1);
+        row.name = rs.getString(2);
+        row.age = rs.getObject(3) != null ? rs.getInt(3) : null;
+        row.employeeClass = rs.getString(4);
+        row.attendance = rs.getObject(5) != null ? rs.getInt(5) : null;
+        String role = rs.getString(6);
+        row.role = role != null ? EmployeeRole.valueOf(role) : null;
+        row.createdAt = rs.getTimestamp(7).toInstant();
+        row.updatedAt = rs.getTimestamp(8).toInstant();
+        return row;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static EmployeeColumns.SortKey sortKey(String property) {
+        switch (property) {
+            case "name":
+                return EmployeeColumns.SortKey.NAME;
+            case "employeeClass":
+                return EmployeeColumns.SortKey.EMPLOYEE_CLASS;
+            case "createdAt":
+                return EmployeeColumns.SortKey.CREATED_AT;
+            case "updatedAt":
+                return EmployeeColumns.SortKey.UPDATED_AT;
+            default:
+                return EmployeeColumns.SortKey.ID;
+        }
+    }
+}
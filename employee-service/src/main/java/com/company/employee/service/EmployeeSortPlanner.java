@@ -0,0 +1,100 @@
+package com.company.employee.service;
+
+import com.company.employee.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns the sort parameter of GET /employees into an index-backed ORDER BY.
+ *
+ * The parameter is a comma-separated list of keys, each optionally followed by asc or desc
+ * ("employeeClass,asc,name,asc"; repeated sort params arrive joined like that). Only the key
+ * sequences below are accepted, each matching a (keys..., id) index from the migrations, and all
+ * keys must share one direction so PostgreSQL can walk the index forwards or backwards and stop
+ * after the page, with no sort step. That is a plain index scan: the rows themselves still come
+ * from the table, as the query selects every column. id is always appended, which keeps paging
+ * stable across equal names.
+ */
+final class EmployeeSortPlanner {
+
+    private static final String DEFAULT_SORT = "name,asc";
+
+    private static final String ID = "id";
+    private static final Set<String> KEYS = Set.of("name", "employeeClass", "createdAt", "updatedAt", ID);
+
+    /** Supported key sequences (without the id tie-breaker) and the keys they sort by. */
+    private static final Map<List<String>, List<String>> PLANS = Map.of(
+            // idx_employee_name_id
+            List.of("name"), List.of("name"),
+            // idx_employee_class_name_id: class alone also sorts by name within each class
+            List.of("employeeClass"), List.of("employeeClass", "name"),
+            List.of("employeeClass", "name"), List.of("employeeClass", "name"),
+            // idx_employee_created_at
+            List.of("createdAt"), List.of("createdAt"),
+            // idx_employee_updated_at
+            List.of("updatedAt"), List.of("updatedAt"),
+            // primary key
+            List.of(), List.of());
+
+    private EmployeeSortPlanner() {
+    }
+
+    static Sort plan(String sort) {
+        if (sort == null || sort.trim().isEmpty()) {
+            sort = DEFAULT_SORT;
+        }
+        List<String> keys = new ArrayList<>();
+        Sort.Direction direction = null;
+        String[] tokens = sort.split(",");
+        for (int i = 0; i < tokens.length; i++) {
+            String key = tokens[i].trim();
+            if (key.isEmpty()) {
+                continue;
+            }
+            if (!KEYS.contains(key)) {
+                throw new BadRequestException("Cannot sort by '" + key + "'; sortable: name, employeeClass, createdAt, "
+                        + "updatedAt, id");
+            }
+            Sort.Direction keyDirection = Sort.Direction.ASC;
+            if (i + 1 < tokens.length && isDirection(tokens[i + 1])) {
+                keyDirection = Sort.Direction.fromString(tokens[++i].trim());
+            }
+            if (direction != null && direction != keyDirection) {
+                throw new BadRequestException("All sort keys must use the same direction");
+            }
+            direction = keyDirection;
+            if (keys.contains(key)) {
+                throw new BadRequestException("Sort key '" + key + "' is repeated");
+            }
+            keys.add(key);
+        }
+        if (direction == null) {
+            return plan(DEFAULT_SORT);
+        }
+
+        // id is implied last; anything after it would never apply
+        int idIndex = keys.indexOf(ID);
+        if (idIndex >= 0 && idIndex != keys.size() - 1) {
+            throw new BadRequestException("id must be the last sort key");
+        }
+        keys.remove(ID);
+        List<String> planned = PLANS.get(keys);
+        if (planned == null) {
+            throw new BadRequestException("Cannot sort by " + String.join(", ", keys)
+                    + "; supported: name | employeeClass[,name] | createdAt | updatedAt | id");
+        }
+        List<String> properties = new ArrayList<>(planned);
+        properties.add(ID);
+        return Sort.by(direction, properties.toArray(new String[0]));
+    }
+
+    private static boolean isDirection(String token) {
+        String value = token.trim().toLowerCase(Locale.ROOT);
+        return "asc".equals(value) || "desc".equals(value);
+    }
+}
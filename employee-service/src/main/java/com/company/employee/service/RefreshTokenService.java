@@ -2,6 +2,7 @@ package com.company.employee.service;
 
 import com.company.employee.dto.LoginResponse;
 import com.company.employee.exception.BadRequestException;
+import com.company.employee.jfr.RefreshTokenRotationEvent;
 import com.company.employee.model.RefreshToken;
 import com.company.employee.model.User;
 import com.company.employee.repository.RefreshTokenRepository;
@@ -44,19 +45,30 @@ public class RefreshTokenService {
 
     @Transactional
     public LoginResponse refresh(String requestToken) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(requestToken)
-                .orElseThrow(() -> new BadRequestException("Invalid refresh token"));
+        RefreshTokenRotationEvent event = new RefreshTokenRotationEvent();
+        event.begin();
+        RefreshToken refreshToken = refreshTokenRepository.findByToken(requestToken).orElse(null);
+        if (refreshToken == null) {
+            commit(event, "unknown", null);
+            throw new BadRequestException("Invalid refresh token");
+        }
 
+        User user = refreshToken.getUser();
         if (refreshToken.isExpired()) {
             refreshTokenRepository.delete(refreshToken);
+            commit(event, "expired", user.getUsername());
             throw new BadRequestException("Refresh token expired");
         }
 
-        User user = refreshToken.getUser();
+        if (!user.isEnabled()) {
+            commit(event, "disabled-user", user.getUsername());
+            throw new BadRequestException("Invalid refresh token");
+        }
         Set<String> roles = user.getRoles().stream().map(Enum::name).collect(Collectors.toSet());
-        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), roles);
+        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), roles, user.getTokenVersion());
         String newRefreshToken = createRefreshToken(user);
         refreshTokenRepository.delete(refreshToken);
+        commit(event, "rotated", user.getUsername());
 
         return LoginResponse.builder()
                 .accessToken(accessToken)
@@ -67,4 +79,10 @@ public class RefreshTokenService {
                 .roles(roles)
                 .build();
     }
+
+    private static void commit(RefreshTokenRotationEvent event, String outcome, String username) {
+        event.setOutcome(outcome);
+        event.setUsername(username);
+        event.commit();
+    }
 }
@@ -0,0 +1,544 @@
+package com.company.employee.service;
+
+import com.company.employee.config.AttendanceProperties;
+import com.company.employee.config.ReportProperties;
+import com.company.employee.dto.ReportJobResponse;
+import com.company.employee.exception.BadRequestException;
+import com.company.employee.exception.DuplicateResourceException;
+import com.company.employee.exception.ResourceNotFoundException;
+import com.company.employee.model.ReportJob;
+import com.company.employee.model.ReportJobState;
+import com.company.employee.model.ReportType;
+import com.company.employee.repository.ReportJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Report jobs: submitted by a user, generated in the background, downloaded as a CSV file once
+ * COMPLETED (POST/GET /reports/jobs).
+ *
+ * A job splits the employee id range, as of submission, into chunks of app.reports.chunk-size ids.
+ * Chunks run on a worker pool of app.reports.workers threads shared by all jobs, at most
+ * app.reports.job-parallelism of them per job. Each chunk streams its rows from the database
+ * (read-only, so a replica serves them when configured) into its own file and is then recorded in
+ * report_job_chunks; when the last chunk is done the files are joined (or, for HEADCOUNT, summed)
+ * into the report. The report is not a consistent snapshot: chunks read at different times.
+ *
+ * The instance running a job holds a lease on it and renews it. After a crash or restart, any
+ * instance takes over jobs whose lease has expired and runs only the chunks without a recorded,
+ * still present file. Results are local files in app.reports.directory, so with several instances
+ * that directory must be shared for downloads to work everywhere.
+ *
+ * A user may have app.reports.max-active-jobs-per-user jobs queued or running; finished jobs and
+ * their files are deleted after app.reports.retention.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final Set<ReportJobState> ACTIVE = EnumSet.of(ReportJobState.QUEUED, ReportJobState.RUNNING);
+    private static final Set<ReportJobState> FINISHED = EnumSet.of(ReportJobState.COMPLETED, ReportJobState.FAILED);
+    private static final String ATTENDANCE_SQL =
+            "SELECT e.id, e.name, e.employee_class, e.attendance, COUNT(a.day) AS check_in_days"
+            + " FROM employees e LEFT JOIN attendance_events a ON a.employee_id = e.id AND a.day >= ?"
+            + " WHERE e.id BETWEEN ? AND ? GROUP BY e.id ORDER BY e.id";
+    private static final String HEADCOUNT_SQL =
+            "SELECT employee_class, role, COUNT(*) FROM employees WHERE id BETWEEN ? AND ? GROUP BY employee_class, role";
+    private static final String ATTENDANCE_HEADER = "id,name,employee_class,attendance,check_in_days\n";
+    private static final String HEADCOUNT_HEADER = "employee_class,role,employees\n";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReportProperties properties;
+    private final AttendanceProperties attendanceProperties;
+    private final ReportJobRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path directory;
+    private final Map<Long, Execution> executions = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("report-jobs"));
+    private final Counter completed;
+    private final Counter failed;
+    private final Timer chunkTimer;
+    private volatile boolean stopping;
+
+    public ReportJobService(ReportProperties properties, AttendanceProperties attendanceProperties,
+                            ReportJobRepository repository, DataSource dataSource,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.attendanceProperties = attendanceProperties;
+        this.repository = repository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        this.directory = Paths.get(properties.getDirectory()).toAbsolutePath();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create the report directory " + directory, e);
+        }
+        this.workers = Executors.newFixedThreadPool(properties.getWorkers(), daemonThreads("report-worker"));
+        this.completed = jobCounter(meterRegistry, "completed");
+        this.failed = jobCounter(meterRegistry, "failed");
+        this.chunkTimer = Timer.builder("report.chunk.duration")
+                .description("Time to generate one report chunk")
+                .register(meterRegistry);
+        Gauge.builder("report.jobs.running", executions, Map::size)
+                .description("Report jobs this instance is running")
+                .register(meterRegistry);
+        long interval = Math.max(1, properties.getLease().toMillis() / 3);
+        scheduler.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private static Counter jobCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("report.jobs")
+                .description("Finished report jobs by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** Creates a job and starts it; 409 if the user already has the maximum of active jobs. */
+    public ReportJobResponse submit(String username, ReportType type) {
+        ReportJob job = transactionTemplate.execute(status -> {
+            // Serializes a user's submissions, so concurrent ones cannot both pass the limit
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext(?))", username);
+            long active = repository.countByUsernameAndStateIn(username, ACTIVE);
+            if (active >= properties.getMaxActiveJobsPerUser()) {
+                throw new DuplicateResourceException("You already have " + active
+                        + " report jobs in progress; wait for one to finish");
+            }
+            Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(id) AS first_id, MAX(id) AS last_id FROM employees");
+            Number first = (Number) range.get("first_id");
+            Number last = (Number) range.get("last_id");
+            int chunkSize = properties.getChunkSize();
+            long firstId = first != null ? first.longValue() : 1;
+            int chunks = last != null ? (int) ((last.longValue() - firstId) / chunkSize + 1) : 0;
+            Instant now = Instant.now();
+            return repository.save(ReportJob.builder()
+                    .username(username)
+                    .type(type)
+                    .state(ReportJobState.QUEUED)
+                    .firstId(firstId)
+                    .chunkSize(chunkSize)
+                    .totalChunks(chunks)
+                    .chunksDone(0)
+                    .employees(0L)
+                    .leaseUntil(now.plus(properties.getLease()))
+                    .createdAt(now)
+                    .build());
+        });
+        log.info("Report job {} ({}, {} chunks) submitted by {}", job.getId(), type, job.getTotalChunks(), username);
+        dispatch(job);
+        return toResponse(job);
+    }
+
+    /** The job, if it belongs to the user or the user is an admin; 404 otherwise. */
+    public ReportJobResponse get(Long id, String username, boolean admin) {
+        return toResponse(find(id, username, admin));
+    }
+
+    /** The user's 20 most recent jobs. */
+    public List<ReportJobResponse> list(String username) {
+        return repository.findTop20ByUsernameOrderByCreatedAtDesc(username).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /** The report file of a COMPLETED job; 400 while it is not, 404 if the file is gone. */
+    public Path resultFile(Long id, String username, boolean admin) {
+        ReportJob job = find(id, username, admin);
+        if (job.getState() != ReportJobState.COMPLETED) {
+            throw new BadRequestException("Report job " + id + " is " + job.getState() + ", not COMPLETED");
+        }
+        Path file = resultPath(id);
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Report file", "job", id);
+        }
+        return file;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs keep their lease until it expires, then are resumed (here after a restart, or elsewhere)
+        stopping = true;
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private ReportJob find(Long id, String username, boolean admin) {
+        return repository.findById(id)
+                .filter(job -> admin || job.getUsername().equals(username))
+                .orElseThrow(() -> new ResourceNotFoundException("Report job", "id", id));
+    }
+
+    /** Renews the leases of running jobs, takes over abandoned ones and deletes expired ones. */
+    private void maintain() {
+        try {
+            Instant now = Instant.now();
+            Timestamp leaseUntil = Timestamp.from(now.plus(properties.getLease()));
+            List<Long> running = new ArrayList<>(executions.keySet());
+            if (!running.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE report_jobs SET lease_until = ? WHERE id = ?", running, running.size(),
+                        (ps, id) -> {
+                            ps.setTimestamp(1, leaseUntil);
+                            ps.setLong(2, id);
+                        });
+            }
+            for (ReportJob job : repository.findByStateInAndLeaseUntilBefore(ACTIVE, now)) {
+                int claimed = jdbcTemplate.update("UPDATE report_jobs SET lease_until = ?"
+                                + " WHERE id = ? AND lease_until < ? AND state IN ('QUEUED', 'RUNNING')",
+                        leaseUntil, job.getId(), Timestamp.from(now));
+                if (claimed == 1 && !executions.containsKey(job.getId())) {
+                    log.info("Resuming report job {} ({}/{} chunks done)", job.getId(), job.getChunksDone(), job.getTotalChunks());
+                    dispatch(job);
+                }
+            }
+            for (ReportJob job : repository.findByStateInAndFinishedAtBefore(FINISHED, now.minus(properties.getRetention()))) {
+                Files.deleteIfExists(resultPath(job.getId()));
+                FileSystemUtils.deleteRecursively(chunkDirectory(job.getId()));
+                repository.delete(job);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Report job maintenance failed, retrying on the next run: {}", e.toString());
+        }
+    }
+
+    /** Queues the job's missing chunks on the workers. */
+    private void dispatch(ReportJob job) {
+        Long id = job.getId();
+        List<Integer> recorded = jdbcTemplate.queryForList(
+                "SELECT chunk FROM report_job_chunks WHERE job_id = ?", Integer.class, id);
+        Set<Integer> done = new HashSet<>();
+        List<Integer> lost = new ArrayList<>();
+        for (Integer chunk : recorded) {
+            (Files.isRegularFile(chunkFile(id, chunk)) ? done : lost).add(chunk);
+        }
+        if (!lost.isEmpty()) {
+            // Written by an instance whose files this one cannot see: redo them
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("DELETE FROM report_job_chunks WHERE job_id = ? AND chunk = ?", lost, lost.size(),
+                        (ps, chunk) -> {
+                            ps.setLong(1, id);
+                            ps.setInt(2, chunk);
+                        });
+                jdbcTemplate.update("UPDATE report_jobs SET chunks_done = (SELECT COUNT(*) FROM report_job_chunks WHERE job_id = ?),"
+                        + " employees = (SELECT COALESCE(SUM(employees), 0) FROM report_job_chunks WHERE job_id = ?)"
+                        + " WHERE id = ?", id, id, id);
+            });
+        }
+        List<Integer> pending = new ArrayList<>();
+        for (int chunk = 0; chunk < job.getTotalChunks(); chunk++) {
+            if (!done.contains(chunk)) {
+                pending.add(chunk);
+            }
+        }
+        Execution execution = new Execution(job, pending);
+        if (executions.putIfAbsent(id, execution) != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(chunkDirectory(id));
+        } catch (IOException e) {
+            fail(execution, e);
+            return;
+        }
+        if (pending.isEmpty()) {
+            workers.execute(() -> complete(execution));
+            return;
+        }
+        for (int lane = 0; lane < Math.min(properties.getJobParallelism(), pending.size()); lane++) {
+            workers.execute(() -> runChunks(execution));
+        }
+    }
+
+    /**
+     * One of a job's lanes: runs the job's next pending chunk, then queues itself again behind the
+     * other jobs' lanes, so jobs share the workers round-robin.
+     */
+    private void runChunks(Execution execution) {
+        ReportJob job = execution.job;
+        if (execution.started.compareAndSet(false, true)) {
+            jdbcTemplate.update("UPDATE report_jobs SET state = 'RUNNING', started_at = COALESCE(started_at, ?)"
+                    + " WHERE id = ? AND state = 'QUEUED'", Timestamp.from(Instant.now()), job.getId());
+        }
+        int index = execution.next.getAndIncrement();
+        if (execution.failed.get() || stopping || index >= execution.pending.size()) {
+            return;
+        }
+        try {
+            runChunkWithRetry(job, execution.pending.get(index));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException | RuntimeException e) {
+            if (!stopping) {
+                fail(execution, e);
+            }
+            return;
+        }
+        if (execution.remaining.decrementAndGet() == 0) {
+            complete(execution);
+        } else if (execution.next.get() < execution.pending.size()) {
+            workers.execute(() -> runChunks(execution));
+        }
+    }
+
+    private void runChunkWithRetry(ReportJob job, int chunk) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long start = System.nanoTime();
+                long employees = writeChunk(job, chunk);
+                recordChunk(job.getId(), chunk, employees);
+                chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (stopping || attempt >= properties.getChunkAttempts()) {
+                    throw e;
+                }
+                log.warn("Report job {} chunk {} failed (attempt {}), retrying: {}", job.getId(), chunk, attempt, e.toString());
+                Thread.sleep(1000L * attempt);
+            }
+        }
+    }
+
+    /** Streams the chunk's rows into its file; returns the employees it covers. */
+    private long writeChunk(ReportJob job, int chunk) throws IOException {
+        long from = job.getFirstId() + (long) chunk * job.getChunkSize();
+        long to = from + job.getChunkSize() - 1;
+        Path file = chunkFile(job.getId(), chunk);
+        Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+        long employees;
+        try (Writer out = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            employees = readOnlyTransaction.execute(status -> job.getType() == ReportType.ATTENDANCE
+                    ? writeAttendance(out, from, to)
+                    : writeHeadcount(out, from, to));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return employees;
+    }
+
+    private long writeAttendance(Writer out, long from, long to) {
+        LocalDate since = LocalDate.now(attendanceProperties.getZone()).minusDays(attendanceProperties.getWindowDays() - 1L);
+        long[] employees = {0};
+        jdbcTemplate.query(ATTENDANCE_SQL, rs -> {
+            line(out, rs.getLong(1), rs.getString(2), rs.getString(3), rs.getObject(4), rs.getLong(5));
+            employees[0]++;
+        }, Date.valueOf(since), from, to);
+        return employees[0];
+    }
+
+    private long writeHeadcount(Writer out, long from, long to) {
+        long[] employees = {0};
+        jdbcTemplate.query(HEADCOUNT_SQL, rs -> {
+            line(out, rs.getString(1), rs.getString(2), rs.getLong(3));
+            employees[0] += rs.getLong(3);
+        }, from, to);
+        return employees[0];
+    }
+
+    private void recordChunk(Long id, int chunk, long employees) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // A retry after a lost commit acknowledgement must not count the chunk twice
+            int inserted = jdbcTemplate.update("INSERT INTO report_job_chunks (job_id, chunk, employees) VALUES (?, ?, ?)"
+                    + " ON CONFLICT DO NOTHING", id, chunk, employees);
+            if (inserted == 1) {
+                jdbcTemplate.update("UPDATE report_jobs SET chunks_done = chunks_done + 1, employees = employees + ?"
+                        + " WHERE id = ?", employees, id);
+            }
+        });
+    }
+
+    /** Joins the chunk files into the report and marks the job COMPLETED. */
+    private void complete(Execution execution) {
+        ReportJob job = execution.job;
+        Long id = job.getId();
+        Path file = resultPath(id);
+        Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                if (job.getType() == ReportType.ATTENDANCE) {
+                    out.write(ATTENDANCE_HEADER.getBytes(StandardCharsets.UTF_8));
+                    for (int chunk = 0; chunk < job.getTotalChunks(); chunk++) {
+                        Files.copy(chunkFile(id, chunk), out);
+                    }
+                } else {
+                    out.write(HEADCOUNT_HEADER.getBytes(StandardCharsets.UTF_8));
+                    for (Map.Entry<String, Long> group : sumHeadcounts(job).entrySet()) {
+                        out.write((group.getKey() + "," + group.getValue() + "\n").getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            jdbcTemplate.update("UPDATE report_jobs SET state = 'COMPLETED', started_at = COALESCE(started_at, ?),"
+                    + " finished_at = ? WHERE id = ?", Timestamp.from(Instant.now()), Timestamp.from(Instant.now()), id);
+            FileSystemUtils.deleteRecursively(chunkDirectory(id));
+            executions.remove(id);
+            completed.increment();
+            log.info("Report job {} completed: {}", id, file);
+        } catch (IOException | RuntimeException e) {
+            if (!stopping) {
+                fail(execution, e);
+            }
+        }
+    }
+
+    /** HEADCOUNT chunk lines are "class,role,count"; the groups are summed across chunks. */
+    private Map<String, Long> sumHeadcounts(ReportJob job) throws IOException {
+        Map<String, Long> groups = new TreeMap<>();
+        for (int chunk = 0; chunk < job.getTotalChunks(); chunk++) {
+            try (BufferedReader in = Files.newBufferedReader(chunkFile(job.getId(), chunk), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    int comma = line.lastIndexOf(',');
+                    groups.merge(line.substring(0, comma), Long.parseLong(line.substring(comma + 1)), Long::sum);
+                }
+            }
+        }
+        return groups;
+    }
+
+    private void fail(Execution execution, Exception e) {
+        if (!execution.failed.compareAndSet(false, true)) {
+            return;
+        }
+        Long id = execution.job.getId();
+        log.error("Report job {} failed", id, e);
+        String error = String.valueOf(e.getMessage());
+        try {
+            jdbcTemplate.update("UPDATE report_jobs SET state = 'FAILED', error = ?, finished_at = ? WHERE id = ?",
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                    Timestamp.from(Instant.now()), id);
+            FileSystemUtils.deleteRecursively(chunkDirectory(id));
+        } catch (IOException | RuntimeException cleanup) {
+            // The lease expires and the job is resumed instead
+            log.warn("Cannot mark report job {} failed: {}", id, cleanup.toString());
+        }
+        executions.remove(id);
+        failed.increment();
+    }
+
+    private static void line(Writer out, Object... values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(csv(values[i]));
+            }
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private Path resultPath(Long id) {
+        return directory.resolve("report-" + id + ".csv");
+    }
+
+    private Path chunkDirectory(Long id) {
+        return directory.resolve("job-" + id);
+    }
+
+    private Path chunkFile(Long id, int chunk) {
+        return chunkDirectory(id).resolve("chunk-" + chunk + ".csv");
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .state(job.getState())
+                .chunksDone(job.getChunksDone())
+                .totalChunks(job.getTotalChunks())
+                .employees(job.getEmployees())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .error(job.getError())
+                .build();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Execution {
+
+        final ReportJob job;
+        /** Chunks without a recorded file, taken in order by the job's lanes. */
+        final List<Integer> pending;
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger remaining;
+        final AtomicBoolean started = new AtomicBoolean();
+        final AtomicBoolean failed = new AtomicBoolean();
+
+        Execution(ReportJob job, List<Integer> pending) {
+            this.job = job;
+            this.pending = pending;
+            this.remaining = new AtomicInteger(pending.size());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.company.employee.service;
+
+import com.company.employee.querytimeout.QueryScope;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one loader per key at a time: callers arriving while a load for the same key is in
+ * flight wait for it and get its result (or exception) instead of starting their own.
+ *
+ * The first caller runs the loader on its own thread; nothing is cached once the load completes.
+ * While callers wait, the first caller's load is not cancelled if its own client disconnects
+ * (see QueryScope).
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final QueryScope scope = QueryScope.current();
+    }
+
+    /** Result of {@link #execute}: the value and whether this caller shared another caller's load. */
+    static final class Result<V> {
+
+        private final V value;
+        private final boolean shared;
+
+        private Result(V value, boolean shared) {
+            this.value = value;
+            this.shared = shared;
+        }
+
+        V value() {
+            return value;
+        }
+
+        boolean shared() {
+            return shared;
+        }
+    }
+
+    Result<V> execute(K key, Supplier<V> loader) {
+        Flight<V> mine = new Flight<>();
+        Flight<V> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            if (leader.scope == null) {
+                return new Result<>(await(leader.future), true);
+            }
+            leader.scope.addFollower();
+            try {
+                return new Result<>(await(leader.future), true);
+            } finally {
+                leader.scope.removeFollower();
+            }
+        }
+        try {
+            V value = loader.get();
+            mine.future.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error e) {
+            mine.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's exception as is, so callers see e.g. ResourceNotFoundException
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
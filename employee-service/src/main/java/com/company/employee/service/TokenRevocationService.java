@@ -0,0 +1,108 @@
+package com.company.employee.service;
+
+import com.company.employee.config.CacheConfig;
+import com.company.employee.config.CacheInvalidationBus;
+import com.company.employee.exception.BadRequestException;
+import com.company.employee.exception.ResourceNotFoundException;
+import com.company.employee.model.RevokedToken;
+import com.company.employee.model.User;
+import com.company.employee.repository.RefreshTokenRepository;
+import com.company.employee.repository.RevokedTokenRepository;
+import com.company.employee.repository.UserRepository;
+import com.company.employee.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Logout, logout everywhere and account disabling: persists the revocation, deletes the affected
+ * refresh tokens and, once the transaction commits, updates TokenRevocationList on every instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final CacheInvalidationBus cacheInvalidation;
+
+    /**
+     * Revokes the access token with these claims and, if given, the refresh token when it belongs
+     * to the same user. Tokens issued before they carried a jti can only be revoked all at once.
+     */
+    @Transactional
+    public void logout(Claims accessToken, String refreshToken) {
+        String username = accessToken.getSubject();
+        if (accessToken.getId() == null) {
+            revokeAll(findByUsername(username));
+            return;
+        }
+        Instant expiresAt = accessToken.getExpiration().toInstant();
+        revokedTokenRepository.save(new RevokedToken(accessToken.getId(), expiresAt));
+        revocationList.revokeTokenAfterCommit(accessToken.getId(), expiresAt);
+        if (refreshToken != null && !refreshToken.isEmpty()) {
+            refreshTokenRepository.deleteByTokenAndUserUsername(refreshToken, username);
+        }
+    }
+
+    /** Revokes every access and refresh token of the user. */
+    @Transactional
+    public void logoutEverywhere(String username) {
+        revokeAll(findByUsername(username));
+    }
+
+    @Transactional
+    public void revokeTokens(Long userId) {
+        revokeAll(findById(userId));
+    }
+
+    /** Disables the account (login and refresh fail) and revokes all of its tokens. */
+    @Transactional
+    public void disable(Long userId, String currentUsername) {
+        User user = findById(userId);
+        if (user.getUsername().equals(currentUsername)) {
+            throw new BadRequestException("You cannot disable your own account");
+        }
+        user.setEnabled(false);
+        revokeAll(user);
+        evictUserDetails(user);
+        log.info("Disabled user {}", user.getUsername());
+    }
+
+    @Transactional
+    public void enable(Long userId) {
+        User user = findById(userId);
+        user.setEnabled(true);
+        evictUserDetails(user);
+    }
+
+    private void revokeAll(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        user.setTokensRevokedAt(Instant.now());
+        refreshTokenRepository.deleteByUser(user);
+        revocationList.revokeUserAfterCommit(user.getUsername(), user.getTokenVersion(), user.getTokensRevokedAt());
+    }
+
+    private void evictUserDetails(User user) {
+        // Cached UserDetails carry the enabled flag and are keyed by username or email
+        cacheInvalidation.evictAfterCommit(CacheConfig.USER_DETAILS, user.getUsername());
+        cacheInvalidation.evictAfterCommit(CacheConfig.USER_DETAILS, user.getEmail());
+    }
+
+    private User findByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+
+    private User findById(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    }
+}
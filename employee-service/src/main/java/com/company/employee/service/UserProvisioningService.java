@@ -0,0 +1,221 @@
+package com.company.employee.service;
+
+import com.company.employee.config.CacheConfig;
+import com.company.employee.config.CacheInvalidationBus;
+import com.company.employee.dto.RegisterRequest;
+import com.company.employee.dto.UserBulkProvisionResponse;
+import com.company.employee.dto.UserProvisionResult;
+import com.company.employee.model.Role;
+import com.company.employee.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many EMPLOYEE accounts at once (POST /admin/users/bulk), with the same rules as
+ * registration but without its per-user round trips and serial hashing:
+ *
+ * - Rows are validated one by one; repeats within the request and usernames or emails already
+ *   taken (found with one query for the whole request) are reported per row, not thrown.
+ * - Passwords are hashed in parallel on a fixed pool of app.users.bulk.hash-threads threads (one
+ *   per core by default), shared by concurrent requests, before any transaction is opened.
+ * - Users and user_roles rows are inserted with JDBC batches of app.users.bulk.batch-size in one
+ *   transaction; ids come from the users sequence in one query. A username or email taken
+ *   meanwhile by a concurrent registration skips that row (ON CONFLICT DO NOTHING) and reports it
+ *   as a duplicate instead of failing the batch.
+ */
+@Service
+@Slf4j
+public class UserProvisioningService {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, username, email, password, enabled, token_version, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, TRUE, 0, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String INSERT_ROLE_SQL = "INSERT INTO user_roles (user_id, role) VALUES (?, ?)";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final CacheInvalidationBus cacheInvalidation;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ExecutorService hashPool;
+
+    public UserProvisioningService(UserRepository userRepository, PasswordEncoder passwordEncoder, Validator validator,
+                                   CacheInvalidationBus cacheInvalidation, JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.users.bulk.hash-threads:0}") int hashThreads,
+                                   @Value("${app.users.bulk.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.cacheInvalidation = cacheInvalidation;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    public UserBulkProvisionResponse provision(List<RegisterRequest> users) {
+        long start = System.nanoTime();
+        UserProvisionResult[] results = new UserProvisionResult[users.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            RegisterRequest user = users.get(i);
+            String invalid = user == null ? "User is required" : violations(user);
+            if (invalid != null) {
+                results[i] = result(i, user, "INVALID", null, invalid);
+            } else if (usernames.contains(user.getUsername())) {
+                results[i] = result(i, user, "DUPLICATE", null, "Username repeated in the request: " + user.getUsername());
+            } else if (emails.contains(user.getEmail())) {
+                results[i] = result(i, user, "DUPLICATE", null, "Email repeated in the request: " + user.getEmail());
+            } else {
+                usernames.add(user.getUsername());
+                emails.add(user.getEmail());
+                candidates.add(i);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            Set<String> takenUsernames = new HashSet<>();
+            Set<String> takenEmails = new HashSet<>();
+            for (UserRepository.UsernameAndEmail taken : userRepository.findByUsernameInOrEmailIn(usernames, emails)) {
+                takenUsernames.add(taken.getUsername());
+                takenEmails.add(taken.getEmail());
+            }
+            candidates.removeIf(i -> {
+                RegisterRequest user = users.get(i);
+                if (takenUsernames.contains(user.getUsername())) {
+                    results[i] = result(i, user, "DUPLICATE", null, "Username already taken: " + user.getUsername());
+                } else if (takenEmails.contains(user.getEmail())) {
+                    results[i] = result(i, user, "DUPLICATE", null, "Email already registered: " + user.getEmail());
+                } else {
+                    return false;
+                }
+                return true;
+            });
+        }
+
+        if (!candidates.isEmpty()) {
+            List<String> hashes = hashPasswords(candidates.stream().map(i -> users.get(i).getPassword())
+                    .collect(Collectors.toList()));
+            insert(users, candidates, hashes, results);
+        }
+
+        int created = (int) Arrays.stream(results).filter(r -> "CREATED".equals(r.getStatus())).count();
+        log.info("Provisioned {} of {} users in {} ms", created, users.size(), (System.nanoTime() - start) / 1_000_000);
+        return UserBulkProvisionResponse.builder()
+                .created(created)
+                .failed(users.size() - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /** Hashes on the shared pool; the calling thread waits, but holds no database connection. */
+    private List<String> hashPasswords(List<String> passwords) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(passwords.size());
+        for (String password : passwords) {
+            futures.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), hashPool));
+        }
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    private void insert(List<RegisterRequest> users, List<Integer> rows, List<String> hashes,
+                        UserProvisionResult[] results) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT nextval(pg_get_serial_sequence('users', 'id')) FROM generate_series(1, ?)", Long.class, rows.size());
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Integer> positions = new ArrayList<>(rows.size());
+            for (int p = 0; p < rows.size(); p++) {
+                positions.add(p);
+            }
+            int[][] counts = jdbcTemplate.batchUpdate(INSERT_USER_SQL, positions, batchSize, (ps, p) -> {
+                RegisterRequest user = users.get(rows.get(p));
+                ps.setLong(1, ids.get(p));
+                ps.setString(2, user.getUsername());
+                ps.setString(3, user.getEmail());
+                ps.setString(4, hashes.get(p));
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+            });
+            List<Long> createdIds = new ArrayList<>();
+            int p = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    int i = rows.get(p);
+                    RegisterRequest user = users.get(i);
+                    if (count > 0) {
+                        createdIds.add(ids.get(p));
+                        results[i] = result(i, user, "CREATED", ids.get(p), null);
+                        // Drop anything cached under the new username or email on every instance
+                        cacheInvalidation.evictAfterCommit(CacheConfig.USER_DETAILS, user.getUsername());
+                        cacheInvalidation.evictAfterCommit(CacheConfig.USER_DETAILS, user.getEmail());
+                    } else {
+                        results[i] = result(i, user, "DUPLICATE", null, "Username or email already taken");
+                    }
+                    p++;
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_ROLE_SQL, createdIds, batchSize, (ps, id) -> {
+                ps.setLong(1, id);
+                ps.setString(2, Role.ROLE_EMPLOYEE.name());
+            });
+        });
+    }
+
+    private String violations(RegisterRequest user) {
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static UserProvisionResult result(int index, RegisterRequest user, String status, Long id, String message) {
+        return UserProvisionResult.builder()
+                .index(index)
+                .username(user != null ? user.getUsername() : null)
+                .status(status)
+                .id(id)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.company.employee.tracing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes each span as one JSON object on the tracing.spans logger (INFO), so spans can be sent to
+ * their own file with an ordinary logging configuration, e.g. logging.level.tracing.spans=OFF to
+ * silence them or a dedicated appender to collect them.
+ */
+class LogSpanExporter implements SpanExporter {
+
+    private static final Logger SPAN_LOG = LoggerFactory.getLogger("tracing.spans");
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Override
+    public void export(List<Span> spans) throws IOException {
+        if (!SPAN_LOG.isInfoEnabled()) {
+            return;
+        }
+        for (Span span : spans) {
+            SPAN_LOG.info(toJson(span));
+        }
+    }
+
+    String toJson(Span span) throws IOException {
+        StringWriter out = new StringWriter(256);
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("traceId", span.getTraceId());
+            json.writeStringField("spanId", span.getSpanId());
+            if (span.getParentSpanId() != null) {
+                json.writeStringField("parentSpanId", span.getParentSpanId());
+            }
+            json.writeStringField("name", span.getName());
+            json.writeStringField("kind", span.getKind().name());
+            long epochNanos = span.getStartEpochNanos();
+            json.writeStringField("start", Instant.ofEpochSecond(0, epochNanos).toString());
+            json.writeNumberField("durationMicros", span.getDurationNanos() / 1000);
+            json.writeStringField("thread", span.getThreadName());
+            if (span.getErrorMessage() != null) {
+                json.writeStringField("error", span.getErrorMessage());
+            }
+            if (!span.getAttributes().isEmpty()) {
+                json.writeObjectFieldStart("attributes");
+                for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+                    writeValue(json, attribute.getKey(), attribute.getValue());
+                }
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    private static void writeValue(JsonGenerator json, String key, Object value) throws IOException {
+        if (value instanceof Long || value instanceof Integer) {
+            json.writeNumberField(key, ((Number) value).longValue());
+        } else if (value instanceof Number) {
+            json.writeNumberField(key, ((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            json.writeBooleanField(key, (Boolean) value);
+        } else {
+            json.writeStringField(key, value.toString());
+        }
+    }
+}
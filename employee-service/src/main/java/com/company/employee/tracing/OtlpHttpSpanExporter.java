@@ -0,0 +1,113 @@
+package com.company.employee.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Posts batches to an OpenTelemetry collector as OTLP/HTTP with JSON encoding
+ * (ExportTraceServiceRequest: resourceSpans / scopeSpans / spans, hex ids, nanosecond times as
+ * strings), which every collector accepts on its /v1/traces endpoint.
+ */
+class OtlpHttpSpanExporter implements SpanExporter {
+
+    private static final int KIND_INTERNAL = 1;
+    private static final int KIND_SERVER = 2;
+    private static final int KIND_CLIENT = 3;
+    private static final int STATUS_ERROR = 2;
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final Duration timeout;
+    private final String serviceName;
+
+    OtlpHttpSpanExporter(TracingProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.endpoint = URI.create(properties.getOtlp().getEndpoint());
+        this.timeout = properties.getOtlp().getTimeout();
+        this.serviceName = properties.getServiceName();
+        // Sends are synchronous on the export thread; no worker pool needed
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).executor(Runnable::run).build();
+    }
+
+    @Override
+    public void export(List<Span> spans) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(toRequest(spans))))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Collector answered HTTP " + response.statusCode());
+        }
+    }
+
+    ObjectNode toRequest(List<Span> spans) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode resourceSpans = root.putArray("resourceSpans").addObject();
+        ArrayNode resourceAttributes = resourceSpans.putObject("resource").putArray("attributes");
+        addAttribute(resourceAttributes, "service.name", serviceName);
+        ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+        scopeSpans.putObject("scope").put("name", Tracer.class.getName());
+        ArrayNode spanArray = scopeSpans.putArray("spans");
+        for (Span span : spans) {
+            ObjectNode node = spanArray.addObject();
+            node.put("traceId", span.getTraceId());
+            node.put("spanId", span.getSpanId());
+            if (span.getParentSpanId() != null) {
+                node.put("parentSpanId", span.getParentSpanId());
+            }
+            node.put("name", span.getName());
+            node.put("kind", kind(span.getKind()));
+            node.put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+            node.put("endTimeUnixNano", Long.toString(span.getStartEpochNanos() + span.getDurationNanos()));
+            ArrayNode attributes = node.putArray("attributes");
+            addAttribute(attributes, "thread.name", span.getThreadName());
+            for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+                addAttribute(attributes, attribute.getKey(), attribute.getValue());
+            }
+            if (span.getErrorMessage() != null) {
+                node.putObject("status").put("code", STATUS_ERROR).put("message", span.getErrorMessage());
+            }
+        }
+        return root;
+    }
+
+    private static int kind(Span.Kind kind) {
+        switch (kind) {
+            case SERVER:
+                return KIND_SERVER;
+            case CLIENT:
+                return KIND_CLIENT;
+            default:
+                return KIND_INTERNAL;
+        }
+    }
+
+    private static void addAttribute(ArrayNode attributes, String key, Object value) {
+        ObjectNode attribute = attributes.addObject();
+        attribute.put("key", key);
+        ObjectNode anyValue = attribute.putObject("value");
+        if (value instanceof Long || value instanceof Integer) {
+            // int64 values are strings in the protobuf JSON mapping
+            anyValue.put("intValue", value.toString());
+        } else if (value instanceof Number) {
+            anyValue.put("doubleValue", ((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            anyValue.put("boolValue", (Boolean) value);
+        } else {
+            anyValue.put("stringValue", String.valueOf(value));
+        }
+    }
+}
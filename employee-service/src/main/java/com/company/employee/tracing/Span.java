@@ -0,0 +1,162 @@
+package com.company.employee.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed operation of a trace. Spans are started by the Tracer and become the current span of
+ * their thread until closed, so use them in try-with-resources on the thread that started them:
+ *
+ * <pre>
+ * try (Span span = tracer.startSpan("work")) {
+ *     span.setAttribute("rows", rows);
+ * }
+ * </pre>
+ *
+ * A span that is not recording (unsampled trace, or no trace at all) ignores attributes; NOOP is
+ * the shared instance handed out when there is nothing to record.
+ */
+public final class Span implements AutoCloseable {
+
+    public enum Kind {
+        INTERNAL, SERVER, CLIENT
+    }
+
+    static final Span NOOP = new Span(null, null, Kind.INTERNAL, null, null, null, false, null);
+
+    private final Tracer tracer;
+    private final Span parent;
+    private final Kind kind;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final boolean recording;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final String threadName;
+    private String name;
+    private long durationNanos = -1;
+    private String errorMessage;
+    private Map<String, Object> attributes;
+
+    Span(Tracer tracer, Span parent, Kind kind, String name, String traceId, String parentSpanId,
+            boolean recording, String spanId) {
+        this.tracer = tracer;
+        this.parent = parent;
+        this.kind = kind;
+        this.name = name;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.recording = recording;
+        if (recording) {
+            long now = System.currentTimeMillis();
+            this.startNanos = System.nanoTime();
+            this.startEpochNanos = now * 1_000_000L;
+            this.threadName = Thread.currentThread().getName();
+        } else {
+            this.startNanos = 0;
+            this.startEpochNanos = 0;
+            this.threadName = null;
+        }
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /** Null for NOOP. */
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /** The traceparent to pass on to services called within this span. */
+    public String traceparent() {
+        return traceId == null ? null : TraceContext.format(traceId, spanId, recording);
+    }
+
+    public Span setName(String name) {
+        if (recording) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    public Span setAttribute(String key, Object value) {
+        if (recording && value != null) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    /** Marks the span as failed; the exception's class and message become its status message. */
+    public Span setError(Throwable error) {
+        if (recording) {
+            String message = error.getMessage();
+            errorMessage = message == null ? error.getClass().getName() : error.getClass().getName() + ": " + message;
+        }
+        return this;
+    }
+
+    public Span setError(String message) {
+        if (recording) {
+            errorMessage = message;
+        }
+        return this;
+    }
+
+    /** Ends the span and makes its parent the current span again. Closing twice has no effect. */
+    @Override
+    public void close() {
+        if (tracer == null || durationNanos >= 0) {
+            return;
+        }
+        durationNanos = recording ? System.nanoTime() - startNanos : 0;
+        tracer.end(this);
+    }
+
+    Span parent() {
+        return parent;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /** Null unless setError was called. */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes == null ? Collections.emptyMap() : attributes;
+    }
+}
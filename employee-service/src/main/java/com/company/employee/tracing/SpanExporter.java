@@ -0,0 +1,13 @@
+package com.company.employee.tracing;
+
+import java.util.List;
+
+/**
+ * Destination of finished spans, called with batches from the Tracer's export thread. The
+ * built-in exporters are chosen with app.tracing.exporter; a SpanExporter bean replaces them.
+ */
+public interface SpanExporter {
+
+    /** Throwing counts the whole batch as failed; it is not retried. */
+    void export(List<Span> spans) throws Exception;
+}
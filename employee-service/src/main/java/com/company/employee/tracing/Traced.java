@@ -0,0 +1,18 @@
+package com.company.employee.tracing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Every public method of an annotated bean gets a span named ClassName.methodName while a trace
+ * is being recorded. Like @Transactional it works through the bean's proxy, so calls from within
+ * the class itself are not traced.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Traced {
+}
@@ -0,0 +1,201 @@
+package com.company.employee.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts spans and ships finished ones to the SpanExporter.
+ *
+ * Each request thread has a current span: TracingFilter opens the server span, and spans started
+ * below it (filters, @Traced services, JDBC) become its children. Whether a trace is recorded is
+ * decided once, at the server span: the caller's traceparent sampled flag when there is one,
+ * otherwise app.tracing.sample-rate. Below an unrecorded span startSpan returns Span.NOOP, so
+ * unsampled requests cost one thread-local read per instrumented call.
+ *
+ * Finished spans go into a bounded queue that a daemon thread drains in batches; when the
+ * exporter falls behind, new spans are dropped rather than slowing requests down.
+ */
+@Component
+@Slf4j
+public class Tracer {
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final boolean recordingEnabled;
+    private final double sampleRate;
+    private final SpanExporter exporter;
+    private final BlockingQueue<Span> queue;
+    private final int batchSize;
+    private final long exportIntervalNanos;
+    private final Thread exportThread;
+    private volatile boolean running = true;
+    private boolean exportFailing;
+
+    private final LongAdder exported = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public Tracer(TracingProperties properties, ObjectProvider<SpanExporter> customExporter,
+                  ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.sampleRate = properties.getSampleRate();
+        this.exporter = customExporter.getIfAvailable(() -> builtInExporter(properties, objectMapper));
+        this.recordingEnabled = properties.isEnabled() && exporter != null;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueSize()));
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.exportIntervalNanos = properties.getExportInterval().toNanos();
+        registerMeters(meterRegistry);
+        this.exportThread = new Thread(this::exportLoop, "trace-exporter");
+        exportThread.setDaemon(true);
+        if (recordingEnabled) {
+            exportThread.start();
+        }
+    }
+
+    private static SpanExporter builtInExporter(TracingProperties properties, ObjectMapper objectMapper) {
+        switch (properties.getExporter().trim().toLowerCase(Locale.ROOT)) {
+            case "log":
+                return new LogSpanExporter();
+            case "otlp":
+                return new OtlpHttpSpanExporter(properties, objectMapper);
+            case "none":
+                return null;
+            default:
+                throw new IllegalStateException("Unknown app.tracing.exporter '" + properties.getExporter()
+                        + "'; supported: log, otlp, none");
+        }
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        FunctionCounter.builder("tracing.spans", exported, LongAdder::sum)
+                .description("Finished spans by export outcome")
+                .tag("result", "exported")
+                .register(registry);
+        FunctionCounter.builder("tracing.spans", dropped, LongAdder::sum)
+                .description("Finished spans by export outcome")
+                .tag("result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("tracing.spans", failed, LongAdder::sum)
+                .description("Finished spans by export outcome")
+                .tag("result", "failed")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        exportThread.interrupt();
+        exportThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Starts the root span of an incoming request and makes it current. The span always has trace
+     * ids (for logs and propagation) but records only when the trace is sampled.
+     */
+    public Span startServerSpan(String name, String traceparent) {
+        TraceContext incoming = TraceContext.parse(traceparent);
+        boolean sampled = recordingEnabled && (incoming != null ? incoming.isSampled() : sample());
+        Span span = new Span(this, current.get(), Span.Kind.SERVER, name,
+                incoming != null ? incoming.getTraceId() : TraceContext.newTraceId(),
+                incoming != null ? incoming.getSpanId() : null, sampled, TraceContext.newSpanId());
+        current.set(span);
+        return span;
+    }
+
+    /** Starts a child of the current span, or returns Span.NOOP when nothing is being recorded. */
+    public Span startSpan(String name) {
+        return startSpan(name, Span.Kind.INTERNAL);
+    }
+
+    public Span startSpan(String name, Span.Kind kind) {
+        Span parent = current.get();
+        if (parent == null || !parent.isRecording()) {
+            return Span.NOOP;
+        }
+        Span span = new Span(this, parent, kind, name, parent.getTraceId(), parent.getSpanId(), true,
+                TraceContext.newSpanId());
+        current.set(span);
+        return span;
+    }
+
+    /** Whether the current thread is inside a recorded trace. */
+    public boolean isRecording() {
+        Span span = current.get();
+        return span != null && span.isRecording();
+    }
+
+    /** The current span, or Span.NOOP. */
+    public Span currentSpan() {
+        Span span = current.get();
+        return span != null ? span : Span.NOOP;
+    }
+
+    void end(Span span) {
+        Span parent = span.parent();
+        if (parent != null) {
+            current.set(parent);
+        } else {
+            current.remove();
+        }
+        if (span.isRecording() && !queue.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void exportLoop() {
+        List<Span> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                long deadline = System.nanoTime() + exportIntervalNanos;
+                while (batch.size() < batchSize) {
+                    Span span = running ? queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS) : queue.poll();
+                    if (span == null) {
+                        break;
+                    }
+                    batch.add(span);
+                }
+            } catch (InterruptedException e) {
+                // shutting down: export what is queued, then stop
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                export(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void export(List<Span> batch) {
+        try {
+            exporter.export(batch);
+            exported.add(batch.size());
+            if (exportFailing) {
+                exportFailing = false;
+                log.info("Span export recovered");
+            }
+        } catch (Exception e) {
+            failed.add(batch.size());
+            // warn once per outage; the tracing.spans{result=failed} counter keeps the count
+            if (!exportFailing) {
+                exportFailing = true;
+                log.warn("Span export failed, dropping spans until it recovers: {}", e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.company.employee.tracing;
+
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Span instrumentation below the server span: @Traced beans, JDBC (TracingDataSource) and
+ * Jackson body conversion (TracingHttpMessageConverter). With app.tracing.enabled=false none of
+ * it is installed.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /** Proxies @Traced beans; the span advice runs outside @Transactional, so it covers the commit. */
+    @Bean
+    public static BeanPostProcessor tracedMethodPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new TracedMethodPostProcessor(tracer);
+    }
+
+    @Bean
+    public static DataSourcePostProcessor tracingDataSourcePostProcessor(ObjectProvider<Tracer> tracer,
+                                                                         ObjectProvider<TracingProperties> properties) {
+        return new DataSourcePostProcessor(tracer, properties);
+    }
+
+    /**
+     * Wraps the Jackson converters (JSON, Smile, CBOR, protobuf) once WebMvcConfigurers have
+     * added theirs, before the handler adapter builds its argument and return value handlers.
+     */
+    @Bean
+    public static BeanPostProcessor tracingMessageConverterPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter) {
+                    List<HttpMessageConverter<?>> converters = ((RequestMappingHandlerAdapter) bean).getMessageConverters();
+                    converters.replaceAll(converter -> converter instanceof AbstractJackson2HttpMessageConverter
+                            ? new TracingHttpMessageConverter((GenericHttpMessageConverter<Object>) converter,
+                                    tracer.getObject())
+                            : converter);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class TracedMethodPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+        private TracedMethodPostProcessor(ObjectProvider<Tracer> tracer) {
+            Pointcut pointcut = new StaticMethodMatcherPointcut() {
+                {
+                    setClassFilter(new AnnotationClassFilter(Traced.class, true));
+                }
+
+                @Override
+                public boolean matches(Method method, Class<?> targetClass) {
+                    return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+                }
+            };
+            this.advisor = new DefaultPointcutAdvisor(pointcut, new TracingMethodInterceptor(tracer));
+            setBeforeExistingAdvisors(true);
+            setProxyTargetClass(true);
+        }
+    }
+
+    /**
+     * Wraps the application DataSource in a TracingDataSource. Ordered ahead of QueryTimeoutConfig's
+     * and DbConcurrencyConfig's post-processors, so it ends up innermost, next to the pool. Declared as the @Bean type so Spring sees it as Ordered.
+     */
+    static final class DataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<Tracer> tracer;
+        private final ObjectProvider<TracingProperties> properties;
+
+        private DataSourcePostProcessor(ObjectProvider<Tracer> tracer, ObjectProvider<TracingProperties> properties) {
+            this.tracer = tracer;
+            this.properties = properties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource && !(bean instanceof TracingDataSource)) {
+                return new TracingDataSource((DataSource) bean, tracer.getObject(),
+                        properties.getObject().getMaxStatementLength());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 2;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.company.employee.tracing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Traces JDBC work done inside a recorded trace: taking a connection from the pool
+ * (db.connection), each statement execution (db.query, with the SQL in db.statement and the
+ * update count in db.rows) and commits and rollbacks. Connections taken outside a recorded trace
+ * are returned unwrapped, so unsampled requests and background work pay nothing per statement.
+ *
+ * Installed by TracingConfig as the innermost wrapper of the "dataSource" bean, directly around
+ * the pool (or ReplicaRoutingDataSource), so db.connection measures the wait for a pooled
+ * connection and nothing else. ConcurrencyLimitedDataSource hands out lazy connections and only
+ * calls through to here when the first statement needs a real one, so the span starts then.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    private final Tracer tracer;
+    private final int maxStatementLength;
+
+    public TracingDataSource(DataSource target, Tracer tracer, int maxStatementLength) {
+        super(target);
+        this.tracer = tracer;
+        this.maxStatementLength = maxStatementLength;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!tracer.isRecording()) {
+            return super.getConnection();
+        }
+        Connection connection;
+        try (Span span = tracer.startSpan("db.connection", Span.Kind.CLIENT)) {
+            try {
+                connection = super.getConnection();
+            } catch (SQLException | RuntimeException ex) {
+                span.setError(ex);
+                throw ex;
+            }
+        }
+        return (Connection) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new TracedConnection(connection));
+    }
+
+    private String truncate(String sql) {
+        return sql.length() <= maxStatementLength ? sql : sql.substring(0, maxStatementLength) + "...";
+    }
+
+    private static String operation(String sql) {
+        String trimmed = sql.trim();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private final class TracedConnection implements InvocationHandler {
+
+        private final Connection target;
+
+        private TracedConnection(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "prepareStatement":
+                case "prepareCall":
+                    return wrap(proxy, (Statement) TracingDataSource.invoke(target, method, args), (String) args[0]);
+                case "createStatement":
+                    return wrap(proxy, (Statement) TracingDataSource.invoke(target, method, args), null);
+                case "commit":
+                case "rollback":
+                    if (args == null || args.length == 0) {
+                        return traced("db." + method.getName(), null, target, method, args);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return TracingDataSource.invoke(target, method, args);
+        }
+
+        private Object wrap(Object connectionProxy, Statement statement, String sql) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(), new Class<?>[] {type},
+                    new TracedStatement(statement, (Connection) connectionProxy, sql));
+        }
+    }
+
+    private final class TracedStatement implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+        private final String preparedSql;
+        private int batchSize;
+
+        private TracedStatement(Statement target, Connection connection, String preparedSql) {
+            this.target = target;
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connection;
+                case "addBatch":
+                    batchSize++;
+                    break;
+                case "clearBatch":
+                    batchSize = 0;
+                    break;
+                default:
+                    if (name.startsWith("execute")) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String
+                                ? (String) args[0] : preparedSql;
+                        int batch = batchSize;
+                        if (name.endsWith("Batch")) {
+                            batchSize = 0;
+                        }
+                        return traced("db.query", sql, target, method, args, name.endsWith("Batch") ? batch : -1);
+                    }
+                    break;
+            }
+            return TracingDataSource.invoke(target, method, args);
+        }
+    }
+
+    private Object traced(String spanName, String sql, Object target, Method method, Object[] args) throws Throwable {
+        return traced(spanName, sql, target, method, args, -1);
+    }
+
+    private Object traced(String spanName, String sql, Object target, Method method, Object[] args, int batchSize)
+            throws Throwable {
+        try (Span span = tracer.startSpan(spanName, Span.Kind.CLIENT)) {
+            if (span.isRecording() && sql != null) {
+                span.setAttribute("db.operation", operation(sql)).setAttribute("db.statement", truncate(sql));
+                if (batchSize >= 0) {
+                    span.setAttribute("db.batch_size", batchSize);
+                }
+            }
+            try {
+                Object result = invoke(target, method, args);
+                if (span.isRecording()) {
+                    span.setAttribute("db.rows", rows(result));
+                }
+                return result;
+            } catch (Throwable ex) {
+                span.setError(ex);
+                throw ex;
+            }
+        }
+    }
+
+    /** Update count of an execute* result; null for queries. */
+    private static Long rows(Object result) {
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).longValue();
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+        if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+        return null;
+    }
+}
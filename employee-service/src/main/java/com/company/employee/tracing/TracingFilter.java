@@ -0,0 +1,77 @@
+package com.company.employee.tracing;
+
+import com.company.employee.logging.RequestLoggingFilter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens the server span of every request, right after RequestLoggingFilter (so the request id is
+ * known) and before security, and closes it when the response is complete.
+ *
+ * The trace continues the caller's traceparent header (the GraphQL gateway sends one) or starts
+ * a new one. The trace id is put in the MDC as traceId, so log lines of a request can be matched
+ * to its trace, and echoed in the traceresponse header. The span is named after the matched
+ * route ("GET /employees/{id}"), which is only known once the handler has been chosen.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ID_MDC_KEY = "traceId";
+    public static final String TRACERESPONSE_HEADER = "traceresponse";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Span span = tracer.startServerSpan(request.getMethod(), request.getHeader(TraceContext.TRACEPARENT_HEADER));
+        MDC.put(TRACE_ID_MDC_KEY, span.getTraceId());
+        response.setHeader(TRACERESPONSE_HEADER, span.traceparent());
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            try {
+                if (span.isRecording()) {
+                    int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+                    Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    span.setName(route != null ? request.getMethod() + " " + route : request.getMethod())
+                            .setAttribute("http.method", request.getMethod())
+                            .setAttribute("http.target", request.getRequestURI())
+                            .setAttribute("http.route", route)
+                            .setAttribute("http.status_code", status)
+                            .setAttribute("http.request_id", MDC.get(RequestLoggingFilter.REQUEST_ID_MDC_KEY));
+                    if (request.isAsyncStarted()) {
+                        span.setAttribute("http.async", true);
+                    }
+                    if (status >= 500) {
+                        span.setError("HTTP " + status);
+                    }
+                }
+            } finally {
+                span.close();
+                MDC.remove(TRACE_ID_MDC_KEY);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.company.employee.tracing;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Times request body reading (deserialize span) and response body writing (serialize span) of a
+ * body converter: JSON, Smile, CBOR or protobuf. Writing includes flushing to the client.
+ */
+class TracingHttpMessageConverter implements GenericHttpMessageConverter<Object> {
+
+    private final GenericHttpMessageConverter<Object> delegate;
+    private final Tracer tracer;
+
+    TracingHttpMessageConverter(GenericHttpMessageConverter<Object> delegate, Tracer tracer) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+    }
+
+    GenericHttpMessageConverter<Object> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return delegate.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return delegate.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return delegate.canRead(type, contextClass, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return delegate.canWrite(type, clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return delegate.getSupportedMediaTypes();
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return delegate.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        Span span = start("deserialize", inputMessage.getHeaders().getContentType(), clazz);
+        try {
+            return delegate.read(clazz, inputMessage);
+        } finally {
+            span.close();
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        Span span = start("deserialize", inputMessage.getHeaders().getContentType(), type);
+        try {
+            return delegate.read(type, contextClass, inputMessage);
+        } finally {
+            span.close();
+        }
+    }
+
+    @Override
+    public void write(Object value, @Nullable MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Span span = start("serialize", contentType, value.getClass());
+        try {
+            delegate.write(value, contentType, outputMessage);
+        } finally {
+            span.close();
+        }
+    }
+
+    @Override
+    public void write(Object value, @Nullable Type type, @Nullable MediaType contentType,
+                      HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        Span span = start("serialize", contentType, value.getClass());
+        try {
+            delegate.write(value, type, contentType, outputMessage);
+        } finally {
+            span.close();
+        }
+    }
+
+    private Span start(String name, @Nullable MediaType contentType, Type type) {
+        if (!tracer.isRecording()) {
+            return Span.NOOP;
+        }
+        return tracer.startSpan(name)
+                .setAttribute("http.content_type", contentType != null ? contentType.toString() : null)
+                .setAttribute("code.type", type.getTypeName())
+                .setAttribute("converter", delegate.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.employee.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+/** Runs a method call of a @Traced bean in its own span. */
+class TracingMethodInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+    private volatile Tracer tracer;
+
+    TracingMethodInterceptor(ObjectProvider<Tracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer tracer = tracer();
+        if (!tracer.isRecording()) {
+            return invocation.proceed();
+        }
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis()) : invocation.getMethod().getDeclaringClass();
+        try (Span span = tracer.startSpan(targetClass.getSimpleName() + "." + invocation.getMethod().getName())) {
+            span.setAttribute("code.namespace", targetClass.getName())
+                    .setAttribute("code.function", invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                span.setError(e);
+                throw e;
+            }
+        }
+    }
+
+    /** Resolved on first use: post-processors are created before the beans the Tracer needs. */
+    private Tracer tracer() {
+        Tracer resolved = tracer;
+        if (resolved == null) {
+            resolved = tracerProvider.getObject();
+            tracer = resolved;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,57 @@
+package com.company.employee.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Request tracing (see Tracer): which requests are recorded and where their spans go.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    /** When false no spans are recorded, but incoming trace ids are still put in the MDC. */
+    private boolean enabled = true;
+
+    /**
+     * Share of new traces (requests without a traceparent header) that are recorded. Requests
+     * with a traceparent follow the caller's sampled flag, so a trace is never recorded in part.
+     */
+    private double sampleRate = 0.01;
+
+    /** log (one JSON line per span on the tracing.spans logger), otlp or none. */
+    private String exporter = "log";
+
+    /** service.name resource attribute of exported spans. */
+    private String serviceName = "employee-service";
+
+    /** Finished spans waiting for export; spans finishing while it is full are dropped. */
+    private int queueSize = 2048;
+
+    /** Spans per export call. */
+    private int batchSize = 512;
+
+    /** Longest wait before a partial batch is exported. */
+    private Duration exportInterval = Duration.ofSeconds(1);
+
+    /** SQL longer than this is cut in the db.statement attribute. */
+    private int maxStatementLength = 1000;
+
+    private final Otlp otlp = new Otlp();
+
+    @Getter
+    @Setter
+    public static class Otlp {
+
+        /** OTLP/HTTP traces endpoint of a collector (JSON encoding). */
+        private String endpoint = "http://localhost:4318/v1/traces";
+
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,8 @@
+-- Days whose full attendance recompute has finished (AttendanceRollup). One instance runs it per
+-- day, under an advisory lock; the others see the row and skip it.
+
+CREATE TABLE attendance_full_rollups (
+    day         DATE      NOT NULL,
+    finished_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (day)
+);
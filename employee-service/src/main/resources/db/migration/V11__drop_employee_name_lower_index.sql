@@ -0,0 +1,4 @@
+-- The lower(name) varchar_pattern_ops index from V2 serves equality and prefix LIKE only. The name
+-- filter of GET /employees is a contains match (lower(name) LIKE '%x%'), which never uses it, so
+-- it was pure write overhead. Dropped concurrently, so this script runs outside a transaction.
+DROP INDEX CONCURRENTLY IF EXISTS idx_employee_name_lower;
@@ -0,0 +1,58 @@
+-- Baseline schema, identical to what Hibernate generated from the entities.
+-- Databases created earlier with ddl-auto are baselined at this version and skip it.
+
+CREATE TABLE employees (
+    id             BIGSERIAL    NOT NULL,
+    age            INT4,
+    attendance     INT4,
+    created_at     TIMESTAMP    NOT NULL,
+    employee_class VARCHAR(100),
+    name           VARCHAR(255) NOT NULL,
+    role           VARCHAR(20),
+    updated_at     TIMESTAMP    NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE employee_subjects (
+    employee_id INT8 NOT NULL,
+    subject     VARCHAR(255)
+);
+
+CREATE TABLE users (
+    id         BIGSERIAL    NOT NULL,
+    created_at TIMESTAMP    NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    enabled    BOOLEAN      NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP    NOT NULL,
+    username   VARCHAR(100) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE user_roles (
+    user_id INT8 NOT NULL,
+    role    VARCHAR(255)
+);
+
+CREATE TABLE refresh_tokens (
+    id          BIGSERIAL    NOT NULL,
+    created_at  TIMESTAMP    NOT NULL,
+    expiry_date TIMESTAMP    NOT NULL,
+    token       VARCHAR(512) NOT NULL,
+    user_id     INT8         NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_employee_name ON employees (name);
+CREATE INDEX idx_employee_class ON employees (employee_class);
+
+ALTER TABLE users ADD CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+ALTER TABLE users ADD CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username);
+ALTER TABLE refresh_tokens ADD CONSTRAINT UK_ghpmfn23vmxfu3spu3lfg4r2d UNIQUE (token);
+
+ALTER TABLE employee_subjects
+    ADD CONSTRAINT FKgblw6dxp2kmeyhm2rchbfu86v FOREIGN KEY (employee_id) REFERENCES employees;
+ALTER TABLE user_roles
+    ADD CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT FK1lih5y2npsf8u5o3vhdb9y0os FOREIGN KEY (user_id) REFERENCES users;
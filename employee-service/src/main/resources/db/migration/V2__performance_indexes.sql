@@ -0,0 +1,21 @@
+-- Indexes for the hot lookups that Hibernate's schema inference never created.
+-- CONCURRENTLY builds them without blocking writes; Flyway runs this script outside a
+-- transaction. IF NOT EXISTS keeps a re-run safe after an index was built by hand.
+-- A failed concurrent build leaves an INVALID index behind: drop it and migrate again
+-- (SchemaIndexVerifier refuses to start while an expected index is missing or invalid).
+
+-- Refresh token revoke-by-user (RefreshTokenRepository.deleteByUser)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+
+-- Expired refresh token pruning (range scan on expiry_date)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
+
+-- Case-insensitive name match on lower(name): equality and prefix LIKE (pattern ops work
+-- under any collation). A contains search ('%x%') still scans; that needs a trigram index.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_name_lower ON employees (lower(name) varchar_pattern_ops);
+
+-- Eager subjects collection load and cascade delete by employee
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_subjects_employee_id ON employee_subjects (employee_id);
+
+-- Role load for every authenticated user
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_roles_user_id ON user_roles (user_id);
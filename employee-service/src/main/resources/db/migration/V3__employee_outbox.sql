@@ -0,0 +1,14 @@
+-- Transactional outbox of employee mutations, streamed to clients by GET /employees/changes.
+-- Rows are appended in the same transaction as the change and pruned after the retention period.
+
+CREATE TABLE employee_outbox (
+    id          BIGSERIAL   NOT NULL,
+    employee_id INT8        NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    payload     TEXT        NOT NULL,
+    created_at  TIMESTAMP   NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Retention pruning (new, empty table: no need to build concurrently)
+CREATE INDEX idx_employee_outbox_created_at ON employee_outbox (created_at);
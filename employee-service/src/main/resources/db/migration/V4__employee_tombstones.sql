@@ -0,0 +1,10 @@
+-- Deleted employee ids for GET /employees/delta, kept for the tombstone retention period.
+
+CREATE TABLE employee_tombstones (
+    employee_id INT8      NOT NULL,
+    deleted_at  TIMESTAMP NOT NULL,
+    PRIMARY KEY (employee_id)
+);
+
+-- Delta cursor scan (deleted_at, employee_id) and retention pruning
+CREATE INDEX idx_employee_tombstones_deleted_at ON employee_tombstones (deleted_at, employee_id);
@@ -0,0 +1,3 @@
+-- Delta cursor scan on (updated_at, id): a sync with no changes is a single index probe.
+-- Built concurrently on the existing employees table, so this script runs outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_updated_at ON employees (updated_at, id);
@@ -0,0 +1,16 @@
+-- Index-backed sorts for GET /employees (EmployeeSortPlanner). Every supported ORDER BY ends in
+-- id, so paging is stable across equal keys and the page is read straight from the index,
+-- forwards for asc and backwards for desc. Built concurrently, so this script runs outside a
+-- transaction.
+
+-- sort=name
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_name_id ON employees (name, id);
+-- sort=employeeClass[,name]. It does not serve sort=name within one class: the employeeClass
+-- filter is a contains match (LIKE '%x%'), which cannot use the employee_class prefix.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_class_name_id ON employees (employee_class, name, id);
+-- sort=createdAt (sort=updatedAt uses idx_employee_updated_at from V5)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_created_at ON employees (created_at, id);
+
+-- Superseded by the composite indexes above, which start with the same column
+DROP INDEX CONCURRENTLY IF EXISTS idx_employee_name;
+DROP INDEX CONCURRENTLY IF EXISTS idx_employee_class;
@@ -0,0 +1,17 @@
+-- Access-token revocation (TokenRevocationList).
+
+-- Logged-out access tokens by jti, kept until the token itself expires
+CREATE TABLE revoked_tokens (
+    jti        VARCHAR(36) NOT NULL,
+    expires_at TIMESTAMP   NOT NULL,
+    PRIMARY KEY (jti)
+);
+
+-- Pruning of expired entries
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- Revoke-all (logout everywhere, disable): access tokens carry the token_version they were
+-- issued with and are rejected once it has been bumped. tokens_revoked_at tells which users
+-- may still have such tokens within the access-token lifetime.
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN tokens_revoked_at TIMESTAMP;
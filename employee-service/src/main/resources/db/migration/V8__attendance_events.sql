@@ -0,0 +1,12 @@
+-- Daily check-ins (AttendanceIngestor), one row per employee and day; Employee.attendance is the
+-- rolling percentage folded from them (AttendanceRollup).
+
+CREATE TABLE attendance_events (
+    employee_id INT8      NOT NULL REFERENCES employees (id) ON DELETE CASCADE,
+    day         DATE      NOT NULL,
+    recorded_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (employee_id, day)
+);
+
+-- Retention pruning
+CREATE INDEX idx_attendance_events_day ON attendance_events (day);
@@ -0,0 +1,30 @@
+-- Report jobs (ReportJobService): one row per job, one row per finished chunk so that a job
+-- interrupted by a restart resumes with the chunks still missing.
+
+CREATE TABLE report_jobs (
+    id           BIGSERIAL    NOT NULL,
+    username     VARCHAR(100) NOT NULL,
+    type         VARCHAR(20)  NOT NULL,
+    state        VARCHAR(20)  NOT NULL,
+    first_id     INT8         NOT NULL,
+    chunk_size   INT4         NOT NULL,
+    total_chunks INT4         NOT NULL,
+    chunks_done  INT4         NOT NULL DEFAULT 0,
+    employees    INT8         NOT NULL DEFAULT 0,
+    error        VARCHAR(500),
+    lease_until  TIMESTAMP,
+    created_at   TIMESTAMP    NOT NULL,
+    started_at   TIMESTAMP,
+    finished_at  TIMESTAMP,
+    PRIMARY KEY (id)
+);
+
+-- A user's jobs, newest first; the per-user limit
+CREATE INDEX idx_report_jobs_username ON report_jobs (username, created_at);
+
+CREATE TABLE report_job_chunks (
+    job_id    INT8 NOT NULL REFERENCES report_jobs (id) ON DELETE CASCADE,
+    chunk     INT4 NOT NULL,
+    employees INT8 NOT NULL,
+    PRIMARY KEY (job_id, chunk)
+);
@@ -0,0 +1,117 @@
+package com.company.employee.perf;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.company.employee.logging.CountingAsyncAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Caller-side latency of log calls when the real appender cannot keep up: request threads log
+ * through the service's CountingAsyncAppender (AsyncAppender with neverBlock) and, for
+ * comparison, an AsyncAppender with its default settings, in front of an appender that takes
+ * 100 µs per event (a slow disk or a full pipe to the log shipper). Events are WARN so neither
+ * discards them early: once the queue is full the default blocks the caller, while neverBlock
+ * drops and counts the event. On few cores the maximum is dominated by scheduling, so compare the
+ * percentiles and producer wall time.
+ *
+ * Run: mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.AsyncLoggingBenchmark
+ */
+@Slf4j
+public final class AsyncLoggingBenchmark {
+
+    private static final int THREADS = 4;
+    private static final int EVENTS_PER_THREAD = 20_000;
+    private static final long SLOW_APPEND_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private AsyncLoggingBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("threads", THREADS);
+        report.put("eventsPerThread", EVENTS_PER_THREAD);
+
+        long droppedBefore = CountingAsyncAppender.totalDropped();
+        Map<String, Object> neverBlock = run(new CountingAsyncAppender());
+        neverBlock.put("dropped", CountingAsyncAppender.totalDropped() - droppedBefore);
+        report.put("neverBlock", neverBlock);
+        report.put("blockingDefault", run(new AsyncAppender()));
+        log.info("Async logging: {}", report);
+
+        Path file = Path.of("target/perf/async-logging-report.json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("Async logging report written to {}", file.toAbsolutePath());
+    }
+
+    private static Map<String, Object> run(AsyncAppender async) throws InterruptedException {
+        LoggerContext context = new LoggerContext();
+        SlowAppender slow = new SlowAppender();
+        slow.setContext(context);
+        slow.start();
+        async.setContext(context);
+        async.setName("ASYNC");
+        async.addAppender(slow);
+        async.start();
+        Logger logger = context.getLogger("benchmark");
+        logger.setAdditive(false);
+        logger.addAppender(async);
+
+        long[][] latencies = new long[THREADS][EVENTS_PER_THREAD];
+        CountDownLatch done = new CountDownLatch(THREADS);
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            long[] mine = latencies[t];
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                    long before = System.nanoTime();
+                    logger.warn("GET /employees/{} 200 {}ms", i, 3);
+                    mine[i] = System.nanoTime() - before;
+                }
+                done.countDown();
+            }, "producer-" + t);
+            producer.start();
+        }
+        done.await();
+        long producerMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        context.stop();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("producerWallMillis", producerMillis);
+        result.put("p50Micros", all[all.length / 2] / 1_000.0);
+        result.put("p99Micros", all[(int) (all.length * 0.99)] / 1_000.0);
+        result.put("maxMicros", all[all.length - 1] / 1_000.0);
+        result.put("written", slow.written);
+        return result;
+    }
+
+    private static final class SlowAppender extends AppenderBase<ILoggingEvent> {
+
+        private volatile long written;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            long until = System.nanoTime() + SLOW_APPEND_NANOS;
+            while (System.nanoTime() < until) {
+                LockSupport.parkNanos(until - System.nanoTime());
+            }
+            written++;
+        }
+    }
+}
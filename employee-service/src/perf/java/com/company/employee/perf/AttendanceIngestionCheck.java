@@ -0,0 +1,299 @@
+package com.company.employee.perf;
+
+import com.company.employee.EmployeeServiceApplication;
+import com.company.employee.config.AttendanceProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Check of attendance ingestion (AttendanceIngestor, AttendanceRollup) against PostgreSQL:
+ * - burst: single-event check-ins at RATE per second after a short warm-up, many of them repeats,
+ *   must all be answered 202 quickly and end up as exactly one row per employee and day, written
+ *   in batches;
+ * - backpressure: with the table locked by another session the writer stalls, so the queue
+ *   (QUEUE_CAPACITY) fills and requests get 503 with Retry-After. Once the lock is released,
+ *   every event that was accepted is written;
+ * - rollup: employees whose first check-in is today get attendance 100 (on a working day).
+ * Fails with an exception otherwise; writes target/perf/attendance-report.json.
+ *
+ * Today's check-ins already in the database (an earlier run) are removed first.
+ *
+ * Needs a migrated PostgreSQL database with many employees (see Scale Test Data), so that most
+ * check-ins are distinct:
+ * mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.AttendanceIngestionCheck \
+ *     -Dexec.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/employee_scale
+ *                  --spring.datasource.username=postgres --spring.datasource.password=secret"
+ */
+@Slf4j
+public final class AttendanceIngestionCheck {
+
+    private static final double RATE = 100;
+    private static final int BURST_SECONDS = 30;
+    private static final int WARMUP_SECONDS = 5;
+    private static final int QUEUE_CAPACITY = 1_000;
+    private static final int BACKPRESSURE_EVENTS = 2_000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AttendanceIngestionCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new AttendanceIngestionCheck().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        ConfigurableApplicationContext context = start(args);
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("server.servlet.context-path", "");
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            AttendanceProperties properties = context.getBean(AttendanceProperties.class);
+            LocalDate today = LocalDate.now(properties.getZone());
+            jdbc.update("DELETE FROM attendance_events WHERE day = ?", Date.valueOf(today));
+            List<Long> ids = jdbc.queryForList("select id from employees order by id", Long.class);
+            require(ids.size() > 1, "the database has employees");
+            String token = objectMapper.readTree(client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"usernameOrEmail\":\"employee1\",\"password\":\"password123\"}"))
+                            .build(), HttpResponse.BodyHandlers.ofString()).body())
+                    .path("accessToken").asText();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("generatedAt", Instant.now().toString());
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            // Burst: the employee set is smaller than the event count, so repeats are common
+            List<Long> burstIds = ids.subList(0, Math.min(ids.size(), (int) (RATE * BURST_SECONDS * 4 / 5)));
+            Set<Long> sent = ConcurrentHashMap.newKeySet();
+            // Not measured: the first requests of a cold JVM
+            drive(baseUrl, token, burstIds, sent, RATE, WARMUP_SECONDS);
+            Stats burst = drive(baseUrl, token, burstIds, sent, RATE, BURST_SECONDS);
+            awaitDrained(jdbc, today, sent.size());
+            DistributionSummary batches = registry.get("attendance.write.batch.size").summary();
+            Map<String, Object> burstReport = burst.summary();
+            burstReport.put("distinctCheckIns", sent.size());
+            burstReport.put("rows", rows(jdbc, today));
+            burstReport.put("writeBatches", batches.count());
+            burstReport.put("meanBatchSize", batches.mean());
+            report.put("burst", burstReport);
+            log.info("Burst: {}", burstReport);
+            require(burst.status(202) == burst.requests.sum(), "every check-in of the burst is accepted");
+            require(burst.accepted.getValueAtPercentile(99) < TimeUnit.MILLISECONDS.toMicros(250),
+                    "accepting is fast (p99 < 250 ms)");
+            require(rows(jdbc, today) == sent.size(), "one row per employee and day");
+            require(batches.mean() > 5, "check-ins are written in batches");
+
+            // Backpressure: hold the table lock so the writer cannot insert
+            List<Long> stalledIds = ids.subList(Math.min(ids.size() - 1, burstIds.size()), ids.size());
+            Set<Long> stalledSent = ConcurrentHashMap.newKeySet();
+            Stats stalled;
+            try (Connection lock = jdbc.getDataSource().getConnection()) {
+                lock.setAutoCommit(false);
+                try (Statement statement = lock.createStatement()) {
+                    statement.execute("LOCK TABLE attendance_events IN EXCLUSIVE MODE");
+                }
+                stalled = drive(baseUrl, token, stalledIds, stalledSent, RATE,
+                        (int) Math.ceil(BACKPRESSURE_EVENTS / RATE));
+                lock.rollback();
+            }
+            long accepted = stalled.acceptedEvents.sum();
+            awaitDrained(jdbc, today, sent.size() + accepted);
+            Map<String, Object> stalledReport = stalled.summary();
+            stalledReport.put("acceptedEvents", accepted);
+            stalledReport.put("rowsAfterRelease", rows(jdbc, today) - sent.size());
+            report.put("backpressure", stalledReport);
+            log.info("Backpressure: {}", stalledReport);
+            require(stalled.status(503) > 0 && stalled.retryAfter.sum() == stalled.status(503),
+                    "a full queue answers 503 with Retry-After");
+            require(accepted <= QUEUE_CAPACITY, "no more than the queue capacity is accepted while stalled");
+            require(rows(jdbc, today) == sent.size() + accepted, "every accepted check-in is written");
+            require(stalled.rejected.getValueAtPercentile(99) < TimeUnit.MILLISECONDS.toMicros(250),
+                    "rejections are fast");
+
+            // Rollup: today is the first check-in for employees without earlier rows
+            if (properties.getWorkingDays().contains(today.getDayOfWeek())) {
+                List<Integer> firstTimers;
+                Set<Integer> values;
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+                do {
+                    Thread.sleep(properties.getRollupInterval().toMillis());
+                    firstTimers = jdbc.queryForList(
+                            "SELECT e.attendance FROM employees e JOIN attendance_events a ON a.employee_id = e.id"
+                            + " WHERE a.day = ? AND NOT EXISTS (SELECT 1 FROM attendance_events b"
+                            + " WHERE b.employee_id = e.id AND b.day < ?) LIMIT 1000",
+                            Integer.class, Date.valueOf(today), Date.valueOf(today));
+                    values = new HashSet<>(firstTimers);
+                } while (!values.equals(Set.of(100)) && System.nanoTime() < deadline);
+                report.put("rollup", Map.of("checked", firstTimers.size(), "values", values));
+                log.info("Rollup: {} first-time employees, attendance values {}", firstTimers.size(), values);
+                require(!firstTimers.isEmpty() && values.equals(Set.of(100)),
+                        "first check-in on a working day gives attendance 100");
+            } else {
+                log.info("Rollup not checked: {} is not a working day", today.getDayOfWeek());
+            }
+
+            Path file = Path.of("target/perf/attendance-report.json");
+            Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            log.info("Attendance report written to {}", file.toAbsolutePath());
+            log.info("Attendance ingestion check passed");
+        } finally {
+            context.close();
+        }
+    }
+
+    private ConfigurableApplicationContext start(String[] args) {
+        String[] nodeArgs = new String[args.length + 8];
+        nodeArgs[0] = "--spring.profiles.active=prod";
+        nodeArgs[1] = "--server.port=0";
+        nodeArgs[2] = "--app.rate-limit.enabled=false";
+        nodeArgs[3] = "--app.warmup.enabled=false";
+        nodeArgs[4] = "--app.attendance.queue-capacity=" + QUEUE_CAPACITY;
+        nodeArgs[5] = "--app.attendance.rollup-interval=2s";
+        nodeArgs[6] = "--server.tomcat.threads.max=400";
+        nodeArgs[7] = "--logging.file.name=target/perf/attendance.log";
+        System.arraycopy(args, 0, nodeArgs, 8, args.length);
+        return new SpringApplication(EmployeeServiceApplication.class).run(nodeArgs);
+    }
+
+    /** Sends one check-in per request at a fixed rate for the given time and waits for the answers. */
+    private Stats drive(String baseUrl, String token, List<Long> ids, Set<Long> sent, double rate, int seconds)
+            throws InterruptedException {
+        Stats stats = new Stats();
+        AtomicInteger inFlight = new AtomicInteger();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long sentAt = intended;
+            long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/attendance/events"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"events\":[{\"employeeId\":" + id + "}]}"))
+                    .build();
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt));
+                        stats.requests.increment();
+                        if (error != null) {
+                            stats.statuses.computeIfAbsent(0, k -> new LongAdder()).increment();
+                            stats.lastError = error.toString();
+                        } else {
+                            stats.statuses.computeIfAbsent(response.statusCode(), k -> new LongAdder()).increment();
+                            if (response.statusCode() == 202) {
+                                stats.accepted.recordValue(micros);
+                                if (response.body().contains("\"accepted\":1")) {
+                                    sent.add(id);
+                                    stats.acceptedEvents.increment();
+                                }
+                            } else if (response.statusCode() == 503) {
+                                stats.rejected.recordValue(micros);
+                                response.headers().firstValue("Retry-After").ifPresent(v -> stats.retryAfter.increment());
+                            }
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        return stats;
+    }
+
+    private static void awaitDrained(JdbcTemplate jdbc, LocalDate day, long expectedRows) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (rows(jdbc, day) < expectedRows && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        // Allow a late extra batch to show up as a failure
+        Thread.sleep(500);
+    }
+
+    private static long rows(JdbcTemplate jdbc, LocalDate day) {
+        Long rows = jdbc.queryForObject("SELECT COUNT(*) FROM attendance_events WHERE day = ?", Long.class,
+                Date.valueOf(day));
+        return rows != null ? rows : 0;
+    }
+
+    private static void require(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + description);
+        }
+    }
+
+    private static final class Stats {
+
+        private final Histogram accepted = new ConcurrentHistogram(1, TimeUnit.MINUTES.toMicros(5), 3);
+        private final Histogram rejected = new ConcurrentHistogram(1, TimeUnit.MINUTES.toMicros(5), 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder acceptedEvents = new LongAdder();
+        private final LongAdder retryAfter = new LongAdder();
+        private volatile String lastError;
+
+        private long status(int code) {
+            LongAdder count = statuses.get(code);
+            return count != null ? count.sum() : 0;
+        }
+
+        private Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", requests.sum());
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            statuses.forEach((code, count) -> byStatus.put(Integer.toString(code), count.sum()));
+            summary.put("statuses", byStatus);
+            if (lastError != null) {
+                summary.put("lastError", lastError);
+            }
+            summary.put("acceptedP50Ms", accepted.getValueAtPercentile(50) / 1000.0);
+            summary.put("acceptedP99Ms", accepted.getValueAtPercentile(99) / 1000.0);
+            summary.put("rejectedP99Ms", rejected.getValueAtPercentile(99) / 1000.0);
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.company.employee.perf;
+
+import com.company.employee.EmployeeServiceApplication;
+import com.company.employee.config.CacheConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Multi-instance check of the cache invalidation bus: boots two instances of the service in one
+ * JVM against the same PostgreSQL database, writes through one and verifies that the other's
+ * cached employee (by id and in the list page) is evicted well before the cache TTL, including
+ * after its LISTEN connection has been killed, and that repeated logins work from the
+ * userDetails cache. Fails with an exception; writes target/perf/cache-coherence-report.json.
+ *
+ * Needs a migrated and seeded PostgreSQL database (any instance started once against it works):
+ * mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.CacheCoherenceCheck \
+ *     -Dexec.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/employee_db
+ *                  --spring.datasource.username=postgres --spring.datasource.password=secret"
+ */
+@Slf4j
+public final class CacheCoherenceCheck {
+
+    /**
+     * Much longer than any expected propagation delay, so a pass cannot come from expiry; with
+     * statistics, to see where the repeated login was served from.
+     */
+    private static final String CACHE_SPEC = "maximumSize=10000,expireAfterWrite=10m,recordStats";
+    private static final Duration MAX_PROPAGATION = Duration.ofSeconds(5);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CacheCoherenceCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new CacheCoherenceCheck().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        ConfigurableApplicationContext nodeA = start("a", args);
+        ConfigurableApplicationContext nodeB = start("b", args);
+        try {
+            String a = baseUrl(nodeA);
+            String b = baseUrl(nodeB);
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("generatedAt", Instant.now().toString());
+
+            // Logins are served from the userDetails cache after the first one
+            Cache<?, ?> userDetails = (Cache<?, ?>) nodeB.getBean(CacheManager.class)
+                    .getCache(CacheConfig.USER_DETAILS).getNativeCache();
+            login(b, "admin");
+            CacheStats afterFirstLogin = userDetails.stats();
+            String token = login(b, "admin");
+            CacheStats repeatedLogin = userDetails.stats().minus(afterFirstLogin);
+            require(repeatedLogin.hitCount() > 0 && repeatedLogin.missCount() == 0,
+                    "the repeated login is served from the userDetails cache (" + repeatedLogin + ")");
+            report.put("repeatedLoginCacheHits", repeatedLogin.hitCount());
+
+            long id = objectMapper.readTree(send(a, "POST", "/employees", token, employee("Coherence Original")))
+                    .path("id").asLong();
+            String byId = "/employees/" + id;
+            String page = "/employees?page=0&size=100&sort=updatedAt,desc";
+            require(nameOf(get(b, byId, token)).equals("Coherence Original"), "node b reads the new employee");
+            require(get(b, page, token).contains("Coherence Original"), "node b lists the new employee");
+
+            send(a, "PUT", byId, token, employee("Coherence Updated"));
+            report.put("updateVisibleByIdMs", await("node b sees the update by id",
+                    () -> nameOf(get(b, byId, token)).equals("Coherence Updated")));
+            report.put("updateVisibleInPageMs", await("node b lists the update",
+                    () -> get(b, page, token).contains("Coherence Updated")));
+
+            // Kill both LISTEN connections and write while they are down: the NOTIFY is lost for
+            // node b, which must clear its caches when it reconnects
+            JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+            List<Boolean> killed = jdbcTemplate.queryForList("select pg_terminate_backend(pid) from pg_stat_activity"
+                    + " where application_name = 'employee-service-cache-listener'", Boolean.class);
+            require(killed.size() >= 2, "both listener connections found (" + killed.size() + ")");
+            send(a, "PUT", byId, token, employee("Coherence After Reconnect"));
+            report.put("updateVisibleAfterReconnectMs", await("node b sees the update after reconnecting",
+                    () -> nameOf(get(b, byId, token)).equals("Coherence After Reconnect")));
+
+            send(a, "DELETE", byId, token, null);
+            report.put("deleteVisibleMs", await("node b no longer finds the deleted employee",
+                    () -> status(b, byId, token) == 404));
+
+            log.info("Cache coherence check passed: {}", report);
+            Path file = Path.of("target/perf/cache-coherence-report.json");
+            Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            log.info("Cache coherence report written to {}", file.toAbsolutePath());
+        } finally {
+            nodeB.close();
+            nodeA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String node, String[] args) {
+        String[] nodeArgs = new String[args.length + 5];
+        nodeArgs[0] = "--spring.profiles.active=prod";
+        nodeArgs[1] = "--server.port=0";
+        nodeArgs[2] = "--spring.cache.caffeine.spec=" + CACHE_SPEC;
+        nodeArgs[3] = "--app.rate-limit.enabled=false";
+        nodeArgs[4] = "--logging.file.name=target/perf/cache-coherence-" + node + ".log";
+        System.arraycopy(args, 0, nodeArgs, 5, args.length);
+        return new SpringApplication(EmployeeServiceApplication.class).run(nodeArgs);
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + context.getEnvironment().getProperty("server.servlet.context-path", "");
+    }
+
+    private long await(String description, BooleanSupplier condition) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + MAX_PROPAGATION.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Failed: " + description + " within " + MAX_PROPAGATION);
+            }
+            Thread.sleep(10);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("{}: {} ms", description, elapsedMs);
+        return elapsedMs;
+    }
+
+    private static void require(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + description);
+        }
+    }
+
+    private Map<String, Object> employee(String name) {
+        return Map.of("name", name, "age", 30, "employeeClass", "C1", "subjects", List.of("Math"),
+                "attendance", 90, "role", "EMPLOYEE");
+    }
+
+    private String nameOf(String json) {
+        try {
+            return objectMapper.readTree(json).path("name").asText();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String login(String baseUrl, String username) throws Exception {
+        JsonNode body = objectMapper.readTree(send(baseUrl, "POST", "/v1/auth/login", null,
+                Map.of("usernameOrEmail", username, "password", "password123")));
+        return body.path("accessToken").asText();
+    }
+
+    private String get(String baseUrl, String path, String token) {
+        try {
+            return send(baseUrl, "GET", path, token, null);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int status(String baseUrl, String path, String token) {
+        try {
+            return client.send(request(baseUrl, "GET", path, token, null), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String send(String baseUrl, String method, String path, String token, Object body) throws Exception {
+        HttpResponse<String> response = client.send(request(baseUrl, method, path, token, body),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(method + " " + path + ": HTTP " + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private HttpRequest request(String baseUrl, String method, String path, String token, Object body)
+            throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+}
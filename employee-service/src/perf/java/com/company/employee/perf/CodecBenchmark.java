@@ -0,0 +1,108 @@
+package com.company.employee.perf;
+
+import com.company.employee.config.ProtobufSchemas;
+import com.company.employee.dto.EmployeeRequest;
+import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.dto.PageResponse;
+import com.company.employee.model.EmployeeRole;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encode/decode cost and payload size of the negotiated wire formats (JSON, Smile, CBOR,
+ * Protobuf) for an employee page and a single EmployeeRequest, using the same mappers and
+ * schema as MessageConverterConfig.
+ *
+ * Run: mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.CodecBenchmark
+ */
+@Slf4j
+public final class CodecBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    private CodecBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ProtobufSchemas schemas = ProtobufSchemas.load();
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", mapper(new JsonFactory()));
+        formats.put("smile", mapper(new SmileFactory()));
+        formats.put("cbor", mapper(new CBORFactory()));
+        formats.put("protobuf", mapper(new ProtobufFactory()));
+
+        PageResponse<EmployeeResponse> page20 = PageResponse.of(SerializationBenchmark.samplePage(20));
+        PageResponse<EmployeeResponse> page100 = PageResponse.of(SerializationBenchmark.samplePage(100));
+        EmployeeRequest request = EmployeeRequest.builder()
+                .name("Grace Hopper")
+                .age(45)
+                .employeeClass("Class-7")
+                .subjects(List.of("Mathematics", "Physics"))
+                .attendance(97)
+                .role(EmployeeRole.EMPLOYEE)
+                .build();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            ObjectMapper mapper = format.getValue();
+            boolean protobuf = "protobuf".equals(format.getKey());
+            JavaType pageType = mapper.getTypeFactory()
+                    .constructParametricType(PageResponse.class, EmployeeResponse.class);
+            JavaType requestType = mapper.constructType(EmployeeRequest.class);
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            results.put("page20", measure(mapper, pageType, page20, protobuf ? schemas.forClass(PageResponse.class) : null));
+            results.put("page100", measure(mapper, pageType, page100, protobuf ? schemas.forClass(PageResponse.class) : null));
+            results.put("employeeRequest", measure(mapper, requestType, request,
+                    protobuf ? schemas.forClass(EmployeeRequest.class) : null));
+            report.put(format.getKey(), results);
+            log.info("{}: {}", format.getKey(), results);
+        }
+
+        Path file = Path.of("target/perf/codec-report.json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("Codec report written to {}", file.toAbsolutePath());
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return SerializationBenchmark.applicationMapperBuilder()
+                .factory(factory)
+                .featuresToEnable(JsonGenerator.Feature.IGNORE_UNKNOWN)
+                .build();
+    }
+
+    private static Map<String, Object> measure(ObjectMapper mapper, JavaType type, Object value, ProtobufSchema schema)
+            throws Exception {
+        ObjectWriter writer = schema != null ? mapper.writerFor(type).with(schema) : mapper.writerFor(type);
+        ObjectReader reader = schema != null ? mapper.readerFor(type).with(schema) : mapper.readerFor(type);
+        byte[] encoded = writer.writeValueAsBytes(value);
+        if (writer.writeValueAsBytes(reader.readValue(encoded)).length != encoded.length) {
+            throw new IllegalStateException("Round trip changed the payload for " + type);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("payloadBytes", encoded.length);
+        result.put("encode", MicroBenchmark.measure(WARMUP, ITERATIONS, () -> writer.writeValueAsBytes(value)));
+        result.put("decode", MicroBenchmark.measure(WARMUP, ITERATIONS, () -> reader.readValue(encoded)));
+        return result;
+    }
+}
@@ -0,0 +1,301 @@
+package com.company.employee.perf;
+
+import com.company.employee.EmployeeServiceApplication;
+import com.company.employee.config.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Overload check of the database concurrency limit (AdaptiveConcurrencyLimiter): drives a fixed
+ * rate of GET /employees/{id} while the database turns slow for a while, once with the limit
+ * and once without, and compares the outcome. Fails with an exception if, with the limit, the
+ * slow phase does not shed load with fast 503s while keeping successful requests quick; writes
+ * target/perf/db-overload-report.json.
+ *
+ * The slow database is simulated under the connection pool: every statement needs one of
+ * DB_CORES slots for the phase's service time, so latency rises with concurrency as on a
+ * saturated server. Caches, read coalescing and rate limits are off so every request queries.
+ *
+ * Needs a migrated and seeded PostgreSQL database:
+ * mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.DbOverloadCheck \
+ *     -Dexec.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/employee_db
+ *                  --spring.datasource.username=postgres --spring.datasource.password=secret"
+ */
+@Slf4j
+public final class DbOverloadCheck {
+
+    private static final int DB_CORES = 4;
+    private static final double RATE = 100;
+    /** The slow phase serves DB_CORES / 60 ms = 66 statements per second: a third of the load is excess. */
+    private static final Phase[] PHASES = {
+            new Phase("warmup", 2, 20),
+            new Phase("normal", 2, 10),
+            new Phase("slow", 60, 20),
+            new Phase("recovered", 2, 15)
+    };
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimulatedDatabase database = new SimulatedDatabase();
+
+    private DbOverloadCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DbOverloadCheck().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("rate", RATE);
+        report.put("dbCores", DB_CORES);
+        // Without the limit first, so the limited run does not start on a cold JVM
+        Map<String, Object> unlimited = runMode(false, args);
+        Map<String, Object> limited = runMode(true, args);
+        report.put("limited", limited);
+        report.put("unlimited", unlimited);
+
+        Path file = Path.of("target/perf/db-overload-report.json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("DB overload report written to {}", file.toAbsolutePath());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> slow = (Map<String, Object>) limited.get("slow");
+        require((long) slow.get("rejected") > 0, "the limit sheds load while the database is slow");
+        require((long) slow.get("rejectedP99Ms") < 500, "rejections are fast");
+        require((long) slow.get("okP99Ms") < 2_000, "accepted requests stay quick");
+        log.info("DB overload check passed");
+    }
+
+    private Map<String, Object> runMode(boolean limit, String[] args) throws Exception {
+        ConfigurableApplicationContext context = start(limit, args);
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("server.servlet.context-path", "");
+            List<Long> ids = context.getBean(JdbcTemplate.class)
+                    .queryForList("select id from employees order by id limit 1000", Long.class);
+            require(!ids.isEmpty(), "the database has employees");
+            String token = objectMapper.readTree(client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"usernameOrEmail\":\"admin\",\"password\":\"password123\"}"))
+                            .build(), HttpResponse.BodyHandlers.ofString()).body())
+                    .path("accessToken").asText();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (Phase phase : PHASES) {
+                database.serviceMicros = phase.serviceMs * 1000L;
+                PhaseStats stats = drive(baseUrl, token, ids, phase.seconds,
+                        limit ? context.getBean(AdaptiveConcurrencyLimiter.class) : null);
+                Map<String, Object> summary = stats.summary(phase.seconds);
+                log.info("{} / {} ({} ms per statement): {}", limit ? "limited" : "unlimited", phase.name,
+                        phase.serviceMs, summary);
+                result.put(phase.name, summary);
+            }
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean limit, String[] args) {
+        String[] nodeArgs = new String[args.length + 8];
+        nodeArgs[0] = "--spring.profiles.active=prod";
+        nodeArgs[1] = "--server.port=0";
+        nodeArgs[2] = "--spring.cache.type=none";
+        nodeArgs[3] = "--app.read-coalescing.enabled=false";
+        nodeArgs[4] = "--app.rate-limit.enabled=false";
+        nodeArgs[5] = "--app.db-concurrency.enabled=" + limit;
+        nodeArgs[6] = "--server.tomcat.threads.max=400";
+        nodeArgs[7] = "--logging.file.name=target/perf/db-overload.log";
+        System.arraycopy(args, 0, nodeArgs, 8, args.length);
+        SpringApplication application = new SpringApplication(EmployeeServiceApplication.class);
+        // Registered directly, so it wraps the pool before the concurrency limit wraps the result
+        application.addInitializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return "dataSource".equals(beanName) && bean instanceof DataSource
+                        ? new SlowDataSource((DataSource) bean, database) : bean;
+            }
+        }));
+        return application.run(nodeArgs);
+    }
+
+    /** Sends RATE requests per second for the given time on a fixed schedule and waits for the answers. */
+    private PhaseStats drive(String baseUrl, String token, List<Long> ids, int seconds,
+                             AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+        PhaseStats stats = new PhaseStats();
+        long nextSample = System.nanoTime();
+        AtomicInteger inFlight = new AtomicInteger();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / RATE);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (limiter != null && intended >= nextSample) {
+                stats.limits.add(limiter.getLimit());
+                nextSample += TimeUnit.SECONDS.toNanos(1);
+            }
+            long sentAt = intended;
+            long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/employees/" + id))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        stats.record(error == null ? response.statusCode() : 0, System.nanoTime() - sentAt);
+                        inFlight.decrementAndGet();
+                    });
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        return stats;
+    }
+
+    private static void require(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + description);
+        }
+    }
+
+    private static final class Phase {
+
+        private final String name;
+        private final int serviceMs;
+        private final int seconds;
+
+        private Phase(String name, int serviceMs, int seconds) {
+            this.name = name;
+            this.serviceMs = serviceMs;
+            this.seconds = seconds;
+        }
+    }
+
+    private static final class PhaseStats {
+
+        private final Histogram ok = new ConcurrentHistogram(1, TimeUnit.MINUTES.toMicros(5), 3);
+        private final Histogram rejected = new ConcurrentHistogram(1, TimeUnit.MINUTES.toMicros(5), 3);
+        private final LongAdder failed = new LongAdder();
+        /** The limit at each second of the phase. */
+        private final List<Integer> limits = new ArrayList<>();
+
+        private void record(int status, long nanos) {
+            long micros = Math.max(1, Math.min(TimeUnit.MINUTES.toMicros(5), TimeUnit.NANOSECONDS.toMicros(nanos)));
+            if (status == 200) {
+                ok.recordValue(micros);
+            } else if (status == 503) {
+                rejected.recordValue(micros);
+            } else {
+                failed.increment();
+            }
+        }
+
+        private Map<String, Object> summary(int seconds) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("ok", ok.getTotalCount());
+            summary.put("okPerSecond", ok.getTotalCount() / seconds);
+            summary.put("okP50Ms", ok.getValueAtPercentile(50) / 1000);
+            summary.put("okP99Ms", ok.getValueAtPercentile(99) / 1000);
+            summary.put("okMaxMs", ok.getMaxValue() / 1000);
+            summary.put("rejected", rejected.getTotalCount());
+            summary.put("rejectedP99Ms", rejected.getValueAtPercentile(99) / 1000);
+            summary.put("failed", failed.sum());
+            if (!limits.isEmpty()) {
+                summary.put("limitPerSecond", limits);
+            }
+            return summary;
+        }
+    }
+
+    /** Statements queue for DB_CORES slots and hold one for the current service time. */
+    private static final class SimulatedDatabase {
+
+        private final Semaphore cores = new Semaphore(DB_CORES, true);
+        private volatile long serviceMicros;
+
+        private void execute() throws InterruptedException {
+            cores.acquire();
+            try {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(serviceMicros));
+            } finally {
+                cores.release();
+            }
+        }
+    }
+
+    private static final class SlowDataSource extends DelegatingDataSource {
+
+        private final SimulatedDatabase database;
+
+        private SlowDataSource(DataSource pool, SimulatedDatabase database) {
+            super(pool);
+            this.database = database;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(DbOverloadCheck.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, methodArgs) -> {
+                        if (method.getName().equals("equals")) {
+                            return proxy == methodArgs[0];
+                        }
+                        if (method.getName().equals("hashCode")) {
+                            return System.identityHashCode(proxy);
+                        }
+                        if (method.getName().equals("prepareStatement")) {
+                            database.execute();
+                        }
+                        try {
+                            return method.invoke(target, methodArgs);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.company.employee.perf;
+
+import com.company.employee.EmployeeServiceApplication;
+import com.company.employee.dto.EmployeeCountsResponse;
+import com.company.employee.dto.EmployeeFilter;
+import com.company.employee.dto.EmployeeRequest;
+import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.model.EmployeeRole;
+import com.company.employee.service.EmployeeService;
+import com.company.employee.service.EmployeeSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that the in-memory EmployeeSnapshot answers exactly like the JPA path, and compares their
+ * latency. Against one instance with the snapshot enabled:
+ * - every supported sort and direction, with no filter, name, class, both, LIKE wildcards and no
+ *   match, on the first, a middle and the last page: same totals and same employees in the same
+ *   order (subjects compared as sets, their order is undefined on both paths);
+ * - counts by employeeClass, role and subject under the same filters;
+ * - a create, update and delete through EmployeeService are visible in the snapshot as soon as the
+ *   call returns;
+ * - median wall-clock time of representative list and count queries on both paths.
+ * Fails with an exception on any mismatch; writes target/perf/employee-snapshot-report.json.
+ *
+ * Needs a migrated and seeded PostgreSQL database, ideally a large one (see Scale Test Data):
+ * mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.EmployeeSnapshotCheck \
+ *     -Dexec.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/employee_db
+ *                  --spring.datasource.username=postgres --spring.datasource.password=secret"
+ */
+@Slf4j
+public final class EmployeeSnapshotCheck {
+
+    private static final String[] SORTS = {"name", "employeeClass", "employeeClass,name", "createdAt", "updatedAt", "id"};
+    private static final String[] GROUPINGS = {"employeeClass", "role", "subject"};
+    private static final int PAGE_SIZE = 20;
+    private static final int TIMED_RUNS = 21;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmployeeSnapshotCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new EmployeeSnapshotCheck().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        ConfigurableApplicationContext context = start(args);
+        try {
+            EmployeeSnapshot snapshot = context.getBean(EmployeeSnapshot.class);
+            EmployeeService employeeService = context.getBean(EmployeeService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            long loadStarted = System.nanoTime();
+            while (!snapshot.isServing()) {
+                require(System.nanoTime() - loadStarted < TimeUnit.MINUTES.toNanos(30), "the snapshot loads");
+                Thread.sleep(100);
+            }
+            Long employees = jdbcTemplate.queryForObject("select count(*) from employees", Long.class);
+            log.info("Snapshot serving {} employees", employees);
+
+            List<EmployeeFilter> filters = filters(jdbcTemplate);
+            int compared = 0;
+            List<String> mismatches = new ArrayList<>();
+            for (String sort : SORTS) {
+                for (String direction : new String[]{"asc", "desc"}) {
+                    String sortParam = sort.replace(",", "," + direction + ",") + "," + direction;
+                    if (!snapshot.isServing(sortParam)) {
+                        log.warn("Not comparing sort={}: the snapshot leaves it to the database", sortParam);
+                        continue;
+                    }
+                    for (EmployeeFilter filter : filters) {
+                        Page<EmployeeResponse> first = employeeService.getAllEmployees(0, PAGE_SIZE, sortParam, filter);
+                        int last = Math.max(0, first.getTotalPages() - 1);
+                        for (int page : new int[]{0, last / 2, last}) {
+                            compared++;
+                            String difference = compare(
+                                    employeeService.getAllEmployees(page, PAGE_SIZE, sortParam, filter),
+                                    snapshot.getAllEmployees(page, PAGE_SIZE, sortParam, filter));
+                            if (difference != null) {
+                                mismatches.add("sort=" + sortParam + " " + filter + " page=" + page + ": " + difference);
+                            }
+                        }
+                    }
+                }
+            }
+            for (String groupBy : GROUPINGS) {
+                for (EmployeeFilter filter : filters) {
+                    compared++;
+                    EmployeeCountsResponse expected = employeeService.countEmployees(groupBy, filter);
+                    EmployeeCountsResponse actual = snapshot.countEmployees(groupBy, filter);
+                    if (!expected.equals(actual)) {
+                        mismatches.add("groupBy=" + groupBy + " " + filter + ": expected " + expected + ", got " + actual);
+                    }
+                }
+            }
+            mismatches.forEach(mismatch -> log.error("Mismatch: {}", mismatch));
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("generatedAt", Instant.now().toString());
+            report.put("employees", employees);
+            report.put("queriesCompared", compared);
+            report.put("mismatches", mismatches.size());
+            report.put("writesVisible", checkWrites(employeeService, snapshot));
+            report.put("latencyMicros", latencies(employeeService, snapshot, filters));
+            log.info("Employee snapshot: {}", report);
+
+            Path file = Path.of("target/perf/employee-snapshot-report.json");
+            Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            log.info("Employee snapshot report written to {}", file.toAbsolutePath());
+            require(mismatches.isEmpty(), "the snapshot answers like the JPA path");
+            log.info("Employee snapshot check passed");
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String[] args) {
+        String[] nodeArgs = new String[args.length + 6];
+        nodeArgs[0] = "--spring.profiles.active=prod";
+        nodeArgs[1] = "--server.port=0";
+        nodeArgs[2] = "--spring.cache.type=none";
+        nodeArgs[3] = "--app.employees.snapshot.enabled=true";
+        nodeArgs[4] = "--app.rate-limit.enabled=false";
+        nodeArgs[5] = "--logging.file.name=target/perf/employee-snapshot.log";
+        System.arraycopy(args, 0, nodeArgs, 6, args.length);
+        return new SpringApplication(EmployeeServiceApplication.class).run(nodeArgs);
+    }
+
+    /** No filter, then filters taken from the data, LIKE wildcards and one that matches nothing. */
+    private static List<EmployeeFilter> filters(JdbcTemplate jdbcTemplate) {
+        String name = jdbcTemplate.queryForObject("select name from employees order by id limit 1", String.class);
+        String employeeClass = jdbcTemplate.queryForObject(
+                "select employee_class from employees where employee_class is not null order by id limit 1", String.class);
+        String namePart = name.substring(0, Math.min(3, name.length())).toUpperCase();
+        String classPart = employeeClass.substring(employeeClass.length() / 2);
+        return List.of(
+                new EmployeeFilter(null, null),
+                new EmployeeFilter(namePart, null),
+                new EmployeeFilter(null, classPart),
+                new EmployeeFilter(namePart, classPart),
+                new EmployeeFilter(" " + name.charAt(0) + "%" + name.charAt(name.length() - 1) + " ", null),
+                new EmployeeFilter("a_e", null),
+                new EmployeeFilter("no-such-" + UUID.randomUUID(), null));
+    }
+
+    private static String compare(Page<EmployeeResponse> expected, Page<EmployeeResponse> actual) {
+        if (expected.getTotalElements() != actual.getTotalElements()) {
+            return "total " + expected.getTotalElements() + " vs " + actual.getTotalElements();
+        }
+        List<EmployeeResponse> left = expected.getContent();
+        List<EmployeeResponse> right = actual.getContent();
+        if (left.size() != right.size()) {
+            return "page size " + left.size() + " vs " + right.size();
+        }
+        for (int i = 0; i < left.size(); i++) {
+            if (!normalized(left.get(i)).equals(normalized(right.get(i)))) {
+                return "row " + i + ": " + left.get(i) + " vs " + right.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static EmployeeResponse normalized(EmployeeResponse employee) {
+        return new EmployeeResponse(employee.getId(), employee.getName(), employee.getAge(),
+                employee.getEmployeeClass(), employee.getSubjects().stream().sorted().collect(Collectors.toList()),
+                employee.getAttendance(), employee.getRole(), employee.getCreatedAt(), employee.getUpdatedAt());
+    }
+
+    /** Creates, updates and deletes one employee; each change must be visible in the snapshot at once. */
+    private static Map<String, Object> checkWrites(EmployeeService employeeService, EmployeeSnapshot snapshot) {
+        String name = "Snapshot Check " + UUID.randomUUID();
+        EmployeeRequest request = EmployeeRequest.builder()
+                .name(name)
+                .age(30)
+                .employeeClass("snapshot-check")
+                .subjects(List.of("Physics", "Chemistry"))
+                .attendance(90)
+                .role(EmployeeRole.EMPLOYEE)
+                .build();
+        EmployeeFilter byName = new EmployeeFilter(name, null);
+
+        EmployeeResponse created = employeeService.createEmployee(request);
+        List<EmployeeResponse> found = snapshot.getAllEmployees(0, 1, "name", byName).getContent();
+        require(found.size() == 1 && Objects.equals(found.get(0).getId(), created.getId()), "a create is visible at once");
+
+        request.setAttendance(75);
+        request.setSubjects(List.of("Biology"));
+        employeeService.updateEmployee(created.getId(), request);
+        found = snapshot.getAllEmployees(0, 1, "name", byName).getContent();
+        require(found.size() == 1 && found.get(0).getAttendance() == 75
+                && found.get(0).getSubjects().equals(List.of("Biology")), "an update is visible at once");
+
+        employeeService.deleteById(created.getId());
+        require(snapshot.getAllEmployees(0, 1, "name", byName).getTotalElements() == 0, "a delete is visible at once");
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("create", true);
+        result.put("update", true);
+        result.put("delete", true);
+        return result;
+    }
+
+    private static Map<String, Object> latencies(EmployeeService employeeService, EmployeeSnapshot snapshot,
+                                                 List<EmployeeFilter> filters) {
+        EmployeeFilter none = filters.get(0);
+        EmployeeFilter byName = filters.get(1);
+        EmployeeFilter byClass = filters.get(2);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("firstPageByName", compareLatency(
+                () -> employeeService.getAllEmployees(0, PAGE_SIZE, "name", none),
+                () -> snapshot.getAllEmployees(0, PAGE_SIZE, "name", none)));
+        result.put("deepPageByCreatedAtDesc", compareLatency(
+                () -> employeeService.getAllEmployees(500, PAGE_SIZE, "createdAt,desc", none),
+                () -> snapshot.getAllEmployees(500, PAGE_SIZE, "createdAt,desc", none)));
+        result.put("nameFilter", compareLatency(
+                () -> employeeService.getAllEmployees(0, PAGE_SIZE, "name", byName),
+                () -> snapshot.getAllEmployees(0, PAGE_SIZE, "name", byName)));
+        result.put("classFilterByClass", compareLatency(
+                () -> employeeService.getAllEmployees(0, PAGE_SIZE, "employeeClass", byClass),
+                () -> snapshot.getAllEmployees(0, PAGE_SIZE, "employeeClass", byClass)));
+        result.put("countsByClass", compareLatency(
+                () -> employeeService.countEmployees("employeeClass", none),
+                () -> snapshot.countEmployees("employeeClass", none)));
+        result.put("countsBySubjectWithNameFilter", compareLatency(
+                () -> employeeService.countEmployees("subject", byName),
+                () -> snapshot.countEmployees("subject", byName)));
+        return result;
+    }
+
+    private static Map<String, Object> compareLatency(Supplier<?> jpa, Supplier<?> snapshot) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("jpa", medianMicros(jpa));
+        result.put("snapshot", medianMicros(snapshot));
+        return result;
+    }
+
+    private static long medianMicros(Supplier<?> query) {
+        long[] micros = new long[TIMED_RUNS];
+        for (int i = 0; i < 3; i++) {
+            query.get();
+        }
+        for (int i = 0; i < TIMED_RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        return micros[TIMED_RUNS / 2];
+    }
+
+    private static void require(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Employee snapshot check failed: " + description);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.employee.perf;
+
+import com.company.employee.EmployeeServiceApplication;
+import com.company.employee.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end HTTP load harness.
+ *
+ * Boots the full application with the "perf" profile (in-memory PostgreSQL stand-in on a
+ * random port), seeds it, then drives the login/refresh/list/get/create/update/delete mix at
+ * fixed arrival rates and writes a JSON report with throughput and latency percentiles.
+ *
+ * Run: mvn -Pperf compile exec:java [-Dperf.duration-seconds=120 -Dperf.rates.get=500 ...]
+ */
+@Slf4j
+public final class LoadHarness {
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication app = new SpringApplication(EmployeeServiceApplication.class);
+        ConfigurableApplicationContext context = app.run(withProfile(args));
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            LoadSettings settings = Binder.get(context.getEnvironment())
+                    .bind("perf", LoadSettings.class)
+                    .orElseGet(LoadSettings::new);
+            String port = context.getEnvironment().getProperty("local.server.port");
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            String baseUrl = "http://localhost:" + port + contextPath;
+            ObjectMapper objectMapper = new ObjectMapper();
+
+            long maxSeededId = new PerfDataSeeder(context.getBean(EmployeeRepository.class))
+                    .seed(settings.getSeedEmployees(), settings.getSeed());
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(httpExecutor)
+                    .build();
+            String readerToken = login(client, baseUrl, objectMapper, "employee1");
+            String adminToken = login(client, baseUrl, objectMapper, "admin");
+
+            OpenModelDriver driver = new OpenModelDriver(client, baseUrl, settings, objectMapper,
+                    maxSeededId, readerToken, adminToken);
+            log.info("Running load: warm-up {}s, measured {}s, rates {}",
+                    settings.getWarmupSeconds(), settings.getDurationSeconds(), settings.getRates());
+            driver.run();
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            meterRegistry.find("employee.reads.coalesced").counters().forEach(counter -> log.info(
+                    "Coalesced {} reads: {}", counter.getId().getTag("query"), (long) counter.count()));
+
+            LoadReport.write(Path.of(settings.getReportFile()), settings, driver.stats(), objectMapper);
+        } finally {
+            httpExecutor.shutdownNow();
+            context.close();
+        }
+    }
+
+    private static String[] withProfile(String[] args) {
+        String[] result = new String[args.length + 1];
+        result[0] = "--spring.profiles.active=perf";
+        System.arraycopy(args, 0, result, 1, args.length);
+        return result;
+    }
+
+    private static String login(HttpClient client, String baseUrl, ObjectMapper objectMapper, String username)
+            throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("usernameOrEmail", username, "password", "password123"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).path("accessToken").asText();
+    }
+}
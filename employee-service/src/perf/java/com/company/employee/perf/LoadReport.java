@@ -0,0 +1,93 @@
+package com.company.employee.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes the per-operation throughput and latency percentiles as JSON.
+ *
+ * Each operation also carries its compressed HdrHistogram (base64), so runs can be merged
+ * or re-analysed later without losing precision.
+ */
+@Slf4j
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    static void write(Path file, LoadSettings settings, Map<Operation, OperationStats> stats,
+                      ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("seedEmployees", settings.getSeedEmployees());
+        report.put("warmupSeconds", settings.getWarmupSeconds());
+        report.put("durationSeconds", settings.getDurationSeconds());
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        Histogram total = new Histogram(3);
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats s = entry.getValue();
+            if (s.requests() == 0 && s.dropped() == 0 && s.skipped() == 0) {
+                continue;
+            }
+            Map<String, Object> op = summarize(s.histogram(), s.requests(), s.errors(), settings.getDurationSeconds());
+            op.put("targetRate", settings.getRates().getOrDefault(entry.getKey(), 0d));
+            op.put("dropped", s.dropped());
+            op.put("skipped", s.skipped());
+            op.put("histogram", encode(s.histogram()));
+            operations.put(entry.getKey().name(), op);
+            total.add(s.histogram());
+            totalRequests += s.requests();
+            totalErrors += s.errors();
+            log.info("{}: {} req, {} err, p50={}us p99={}us p99.9={}us max={}us",
+                    entry.getKey(), s.requests(), s.errors(),
+                    s.histogram().getValueAtPercentile(50), s.histogram().getValueAtPercentile(99),
+                    s.histogram().getValueAtPercentile(99.9), s.histogram().getMaxValue());
+        }
+        report.put("operations", operations);
+        report.put("total", summarize(total, totalRequests, totalErrors, settings.getDurationSeconds()));
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("Load report written to {}", file.toAbsolutePath());
+    }
+
+    private static Map<String, Object> summarize(Histogram h, long requests, long errors, int durationSeconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("errors", errors);
+        summary.put("throughput", durationSeconds > 0 ? (double) requests / durationSeconds : 0d);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("min", h.getTotalCount() > 0 ? h.getMinValue() : 0);
+        latency.put("mean", h.getMean());
+        latency.put("p50", h.getValueAtPercentile(50));
+        latency.put("p90", h.getValueAtPercentile(90));
+        latency.put("p99", h.getValueAtPercentile(99));
+        latency.put("p99.9", h.getValueAtPercentile(99.9));
+        latency.put("max", h.getMaxValue());
+        summary.put("latencyMicros", latency);
+        return summary;
+    }
+
+    private static String encode(Histogram h) {
+        ByteBuffer buffer = ByteBuffer.allocate(h.getNeededByteBufferCapacity());
+        int length = h.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
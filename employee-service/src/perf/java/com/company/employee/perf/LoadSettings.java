@@ -0,0 +1,37 @@
+package com.company.employee.perf;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load harness settings, bound from the "perf" prefix (see application-perf.yml).
+ * Every value can be overridden on the command line with -Dperf.&lt;name&gt;=&lt;value&gt;.
+ */
+@Getter
+@Setter
+public class LoadSettings {
+
+    /** Number of employee rows seeded before the run. */
+    private int seedEmployees = 10_000;
+
+    /** Random seed for the data set and the request mix, so runs are repeatable. */
+    private long seed = 42;
+
+    /** Seconds of load applied before recording starts (JIT, pools, Hibernate plans). */
+    private int warmupSeconds = 10;
+
+    /** Seconds of recorded load. */
+    private int durationSeconds = 60;
+
+    /** Outstanding requests above which new arrivals are counted as dropped instead of sent. */
+    private int maxInFlight = 2000;
+
+    /** Where the JSON report is written. */
+    private String reportFile = "target/perf/load-report.json";
+
+    /** Arrival rate (requests/second) per operation. */
+    private Map<Operation, Double> rates = new EnumMap<>(Operation.class);
+}
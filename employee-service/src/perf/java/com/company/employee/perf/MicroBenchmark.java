@@ -0,0 +1,44 @@
+package com.company.employee.perf;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal single-threaded timing loop for the codec benchmarks: warm-up iterations, then
+ * measured iterations reporting mean CPU nanoseconds and allocated bytes per operation.
+ */
+final class MicroBenchmark {
+
+    /** One benchmarked operation; returns a value so the JIT cannot eliminate the work. */
+    interface Task {
+        Object run() throws Exception;
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile Object sink;
+
+    private MicroBenchmark() {
+    }
+
+    static Map<String, Object> measure(int warmupIterations, int iterations, Task task) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            sink = task.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long cpuBefore = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = task.run();
+        }
+        long cpuNanos = THREADS.getCurrentThreadCpuTime() - cpuBefore;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("cpuNanosPerOp", cpuNanos / iterations);
+        result.put("allocatedBytesPerOp", allocated / iterations);
+        return result;
+    }
+}
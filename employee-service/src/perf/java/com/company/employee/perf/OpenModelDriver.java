@@ -0,0 +1,224 @@
+package com.company.employee.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: every operation is issued on its own fixed schedule,
+ * independent of how fast the server answers.
+ *
+ * Latency is measured from the intended send time rather than the actual one, so a stalled
+ * server (or a stalled client thread) shows up as queueing delay in the percentiles instead
+ * of silently lowering the offered load (coordinated omission).
+ */
+@Slf4j
+class OpenModelDriver {
+
+    private static final String PASSWORD = "password123";
+    private static final int TOKEN_POOL_LIMIT = 1000;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadSettings settings;
+    private final ObjectMapper objectMapper;
+    private final long maxSeededId;
+    private final String readerToken;
+    private final String adminToken;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<String> refreshTokens = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelDriver(HttpClient client, String baseUrl, LoadSettings settings, ObjectMapper objectMapper,
+                    long maxSeededId, String readerToken, String adminToken) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.maxSeededId = maxSeededId;
+        this.readerToken = readerToken;
+        this.adminToken = adminToken;
+        for (Operation op : Operation.values()) {
+            stats.put(op, new OperationStats());
+        }
+    }
+
+    Map<Operation, OperationStats> stats() {
+        return stats;
+    }
+
+    /**
+     * Applies warm-up plus recorded load, then waits for outstanding requests to finish.
+     */
+    void run() throws InterruptedException {
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureStart = start + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+
+        List<Thread> dispatchers = new ArrayList<>();
+        for (Operation op : Operation.values()) {
+            double rate = settings.getRates().getOrDefault(op, 0d);
+            if (rate <= 0) {
+                continue;
+            }
+            Thread t = new Thread(() -> dispatch(op, rate, start, measureStart, end), "perf-" + op.name().toLowerCase());
+            t.setDaemon(true);
+            dispatchers.add(t);
+            t.start();
+        }
+        for (Thread t : dispatchers) {
+            t.join();
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests still outstanding after drain timeout", inFlight.get());
+        }
+    }
+
+    private void dispatch(Operation op, double rate, long start, long measureStart, long end) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            fire(op, intended, intended >= measureStart);
+        }
+    }
+
+    private void fire(Operation op, long intended, boolean recorded) {
+        OperationStats opStats = stats.get(op);
+        HttpRequest request = buildRequest(op);
+        if (request == null) {
+            if (recorded) {
+                opStats.markSkipped();
+            }
+            return;
+        }
+        if (inFlight.incrementAndGet() > settings.getMaxInFlight()) {
+            inFlight.decrementAndGet();
+            if (recorded) {
+                opStats.markDropped();
+            }
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    inFlight.decrementAndGet();
+                    boolean success = error == null && response.statusCode() / 100 == 2;
+                    if (recorded) {
+                        opStats.record(System.nanoTime() - intended, success);
+                    }
+                    if (success) {
+                        onSuccess(op, response.body());
+                    }
+                });
+    }
+
+    private HttpRequest buildRequest(Operation op) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (op) {
+            case LOGIN:
+                return post("/v1/auth/login", null, Map.of(
+                        "usernameOrEmail", "employee" + (1 + random.nextInt(5)),
+                        "password", PASSWORD));
+            case REFRESH:
+                String refreshToken = refreshTokens.poll();
+                return refreshToken == null ? null
+                        : post("/v1/auth/refresh", null, Map.of("refreshToken", refreshToken));
+            case LIST:
+                String sort = random.nextBoolean() ? "name,asc" : "employeeClass,desc";
+                return get("/employees?page=" + random.nextInt(50) + "&size=20&sort=" + sort);
+            case LIST_FILTERED:
+                String name = PerfDataSeeder.FIRST_NAMES[random.nextInt(PerfDataSeeder.FIRST_NAMES.length)]
+                        .substring(0, 3).toLowerCase();
+                return get("/employees?page=0&size=20&name=" + name
+                        + "&employeeClass=Class-" + (1 + random.nextInt(PerfDataSeeder.CLASS_COUNT)));
+            case GET:
+                return get("/employees/" + (1 + random.nextLong(maxSeededId)));
+            case CREATE:
+                return post("/employees", adminToken, randomEmployeeBody(random));
+            case UPDATE:
+                return send("PUT", "/employees/" + (1 + random.nextLong(maxSeededId)), adminToken,
+                        randomEmployeeBody(random));
+            case DELETE:
+                Long id = createdIds.poll();
+                return id == null ? null : send("DELETE", "/employees/" + id, adminToken, null);
+            default:
+                throw new IllegalArgumentException("Unknown operation " + op);
+        }
+    }
+
+    private void onSuccess(Operation op, byte[] body) {
+        try {
+            if (op == Operation.LOGIN || op == Operation.REFRESH) {
+                if (refreshTokens.size() < TOKEN_POOL_LIMIT) {
+                    refreshTokens.add(objectMapper.readTree(body).path("refreshToken").asText());
+                }
+            } else if (op == Operation.CREATE) {
+                JsonNode created = objectMapper.readTree(body);
+                createdIds.add(created.path("id").asLong());
+            }
+        } catch (Exception e) {
+            log.debug("Cannot parse {} response: {}", op, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> randomEmployeeBody(ThreadLocalRandom random) {
+        return Map.of(
+                "name", PerfDataSeeder.FIRST_NAMES[random.nextInt(PerfDataSeeder.FIRST_NAMES.length)] + " Load",
+                "age", 20 + random.nextInt(45),
+                "employeeClass", "Class-" + (1 + random.nextInt(PerfDataSeeder.CLASS_COUNT)),
+                "subjects", List.of(PerfDataSeeder.SUBJECTS[random.nextInt(PerfDataSeeder.SUBJECTS.length)]),
+                "attendance", random.nextInt(101),
+                "role", "EMPLOYEE");
+    }
+
+    private HttpRequest get(String path) {
+        return send("GET", path, readerToken, null);
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        return send("POST", path, token, body);
+    }
+
+    private HttpRequest send(String method, String path, String token, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            try {
+                builder.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot serialize request body", e);
+            }
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+}
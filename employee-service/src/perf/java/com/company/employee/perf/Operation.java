@@ -0,0 +1,15 @@
+package com.company.employee.perf;
+
+/**
+ * Operations in the load mix. Each one is driven at its own fixed arrival rate.
+ */
+public enum Operation {
+    LOGIN,
+    REFRESH,
+    LIST,
+    LIST_FILTERED,
+    GET,
+    CREATE,
+    UPDATE,
+    DELETE
+}
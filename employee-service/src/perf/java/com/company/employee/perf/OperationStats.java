@@ -0,0 +1,59 @@
+package com.company.employee.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recorded outcome of one operation: latency histogram (microseconds, measured from the
+ * intended send time) plus request, error, dropped and skipped counters.
+ */
+class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram histogram = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    void record(long latencyNanos, boolean success) {
+        long micros = Math.max(1, Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        histogram.recordValue(micros);
+        requests.increment();
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void markDropped() {
+        dropped.increment();
+    }
+
+    void markSkipped() {
+        skipped.increment();
+    }
+
+    Histogram histogram() {
+        return histogram;
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    long skipped() {
+        return skipped.sum();
+    }
+}
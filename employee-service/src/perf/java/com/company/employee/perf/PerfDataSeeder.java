@@ -0,0 +1,73 @@
+package com.company.employee.perf;
+
+import com.company.employee.model.Employee;
+import com.company.employee.model.EmployeeRole;
+import com.company.employee.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the stand-in database with a repeatable employee data set before a load run.
+ */
+@RequiredArgsConstructor
+@Slf4j
+class PerfDataSeeder {
+
+    static final String[] FIRST_NAMES = {
+            "Alice", "Bob", "Carol", "David", "Eve", "Frank", "Grace", "Heidi", "Ivan", "Judy",
+            "Mallory", "Niaj", "Olivia", "Peggy", "Rupert", "Sybil", "Trent", "Victor", "Walter", "Yara"
+    };
+    static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Martinez", "Lopez",
+            "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Thompson", "White"
+    };
+    static final String[] SUBJECTS = {
+            "Mathematics", "Physics", "Chemistry", "Biology", "History", "Geography", "English", "Art", "Music", "Economics"
+    };
+    static final int CLASS_COUNT = 40;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+
+    /**
+     * Inserts {@code count} employees and returns the highest generated id.
+     */
+    long seed(int count, long seed) {
+        Random random = new Random(seed);
+        long maxId = 0;
+        long start = System.nanoTime();
+        List<Employee> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            batch.add(randomEmployee(random));
+            if (batch.size() == BATCH_SIZE || i == count - 1) {
+                for (Employee saved : employeeRepository.saveAll(batch)) {
+                    maxId = Math.max(maxId, saved.getId());
+                }
+                batch.clear();
+            }
+        }
+        log.info("Seeded {} employees in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        return maxId;
+    }
+
+    static Employee randomEmployee(Random random) {
+        int subjectCount = random.nextInt(4);
+        List<String> subjects = new ArrayList<>(subjectCount);
+        for (int s = 0; s < subjectCount; s++) {
+            subjects.add(SUBJECTS[random.nextInt(SUBJECTS.length)]);
+        }
+        return Employee.builder()
+                .name(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                .age(20 + random.nextInt(45))
+                .employeeClass("Class-" + (1 + random.nextInt(CLASS_COUNT)))
+                .subjects(subjects)
+                .attendance(60 + random.nextInt(41))
+                .role(random.nextInt(10) == 0 ? EmployeeRole.ADMIN : EmployeeRole.EMPLOYEE)
+                .build();
+    }
+}
@@ -0,0 +1,246 @@
+package com.company.employee.perf;
+
+import com.company.employee.EmployeeServiceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query timeouts and disconnect cancellation of @QueryTimeout endpoints, against PostgreSQL.
+ * The employee queries are made to block by holding an exclusive lock on the employees table:
+ *
+ * - GET /employees/counts ?groupBy=role (timeout 2 s) gets 504 Query Timeout after about 2 s, and the
+ *   blocked statement is gone from pg_stat_activity.
+ * - GET /employees whose client closes the connection after 1 s: the statement is cancelled
+ *   within the disconnect check interval, long before its 60 s timeout.
+ * - The same, but while an identical request waits for the first one's query (read coalescing):
+ *   nothing is cancelled, and the waiting request gets its 200 once the lock is released.
+ * - A client that stays connected is never cancelled.
+ *
+ * Checks db.queries.cancelled{reason} for each case. Fails with an exception otherwise; writes
+ * target/perf/query-cancellation-report.json.
+ *
+ * Needs a migrated PostgreSQL database:
+ * mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.QueryCancellationCheck \
+ *     -Dexec.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/employee_db
+ *                  --spring.datasource.username=postgres --spring.datasource.password=secret"
+ */
+@Slf4j
+public final class QueryCancellationCheck {
+
+    /** Hibernate's employee queries, waiting for the lock (the SELECT list may cut off the FROM clause). */
+    private static final String BLOCKED = "SELECT COUNT(*) FROM pg_stat_activity WHERE datname = current_database()"
+            + " AND state = 'active' AND wait_event_type = 'Lock' AND query LIKE '%employee0_%'";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbc;
+    private MeterRegistry meterRegistry;
+    private String baseUrl;
+    private int port;
+    private String contextPath;
+    private String token;
+
+    private QueryCancellationCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new QueryCancellationCheck().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        ConfigurableApplicationContext context = start(args);
+        try {
+            jdbc = context.getBean(JdbcTemplate.class);
+            meterRegistry = context.getBean(MeterRegistry.class);
+            port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            baseUrl = "http://localhost:" + port + contextPath;
+            token = login();
+            DataSource dataSource = context.getBean(DataSource.class);
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("generatedAt", Instant.now().toString());
+
+            try (Connection lock = lockEmployees(dataSource)) {
+                long start = System.nanoTime();
+                HttpResponse<String> response = get("/employees/counts?groupBy=role&name=timeout");
+                long timeoutMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                report.put("timeoutResponseMs", timeoutMs);
+                log.info("Timed out counts request: {} in {} ms: {}", response.statusCode(), timeoutMs, response.body());
+                require(response.statusCode() == 504, "a query past its timeout gets 504, got " + response.statusCode());
+                require("Query Timeout".equals(objectMapper.readTree(response.body()).path("error").asText()),
+                        "the 504 says Query Timeout");
+                require(timeoutMs >= 1_500 && timeoutMs < 5_000, "the timeout is the endpoint's 2 s, took " + timeoutMs + " ms");
+                require(waitForBlocked(0, 2_000), "the timed out statement is not left running");
+                require(cancelled("timeout") == 1, "the timeout is counted in db.queries.cancelled{reason=timeout}");
+
+                // The leader's client goes away while an identical request waits for its query
+                Socket leader = openGet("/employees?name=coalesced");
+                require(waitForBlocked(1, 5_000), "the leader's query is blocked");
+                CompletableFuture<HttpResponse<String>> follower = client.sendAsync(request("/employees?name=coalesced"),
+                        HttpResponse.BodyHandlers.ofString());
+                Thread.sleep(500);
+                leader.close();
+                Thread.sleep(1_500);
+                require(count(BLOCKED) == 1, "a query other requests wait for is not cancelled with its leader's client");
+                require(cancelled("client_disconnect") == 0, "nothing was cancelled for a coalesced query");
+                lock.rollback();
+                HttpResponse<String> followed = follower.get(10, TimeUnit.SECONDS);
+                require(followed.statusCode() == 200, "the waiting request gets its result, got " + followed.statusCode());
+            }
+
+            try (Connection lock = lockEmployees(dataSource)) {
+                CompletableFuture<HttpResponse<String>> connected = client.sendAsync(request("/employees?name=connected"),
+                        HttpResponse.BodyHandlers.ofString());
+                Socket abandoned = openGet("/employees?name=abandoned");
+                require(waitForBlocked(2, 5_000), "both list queries are blocked");
+                Thread.sleep(1_000);
+                abandoned.close();
+                long closed = System.nanoTime();
+                require(waitForBlocked(1, 5_000), "the abandoned query is cancelled");
+                long cancelMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - closed);
+                report.put("disconnectToCancelMs", cancelMs);
+                log.info("Abandoned list query cancelled {} ms after the client disconnected", cancelMs);
+                require(waitForCounter("client_disconnect", 1, 2_000),
+                        "the disconnect is counted in db.queries.cancelled{reason=client_disconnect}");
+                Thread.sleep(1_000);
+                require(count(BLOCKED) == 1, "the connected client's query keeps running");
+                lock.rollback();
+                HttpResponse<String> response = connected.get(10, TimeUnit.SECONDS);
+                require(response.statusCode() == 200, "the connected client gets its result, got " + response.statusCode());
+            }
+            report.put("cancelledTimeout", cancelled("timeout"));
+            report.put("cancelledClientDisconnect", cancelled("client_disconnect"));
+
+            Path file = Path.of("target/perf/query-cancellation-report.json");
+            Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            log.info("Query cancellation check passed: {}", report);
+        } finally {
+            context.close();
+        }
+    }
+
+    private ConfigurableApplicationContext start(String[] args) {
+        String[] nodeArgs = new String[args.length + 8];
+        nodeArgs[0] = "--spring.profiles.active=prod";
+        nodeArgs[1] = "--server.port=0";
+        nodeArgs[2] = "--app.rate-limit.enabled=false";
+        nodeArgs[3] = "--app.warmup.enabled=false";
+        nodeArgs[4] = "--app.employees.snapshot.enabled=false";
+        nodeArgs[5] = "--app.query-timeouts.endpoints.counts=2s";
+        nodeArgs[6] = "--app.query-timeouts.endpoints.list=60s";
+        nodeArgs[7] = "--logging.file.name=target/perf/query-cancellation.log";
+        System.arraycopy(args, 0, nodeArgs, 8, args.length);
+        return new SpringApplication(EmployeeServiceApplication.class).run(nodeArgs);
+    }
+
+    /** Holds an exclusive lock on employees until the connection is rolled back or closed. */
+    private static Connection lockEmployees(DataSource dataSource) throws Exception {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LOCK TABLE employees IN ACCESS EXCLUSIVE MODE");
+        }
+        return connection;
+    }
+
+    /** Sends a GET on a plain socket, which the caller closes to disconnect. */
+    private Socket openGet(String path) throws Exception {
+        Socket socket = new Socket("localhost", port);
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET " + contextPath + path + " HTTP/1.1\r\nHost: localhost\r\nAuthorization: Bearer " + token
+                + "\r\nAccept: application/json\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    private boolean waitForBlocked(int expected, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (count(BLOCKED) != expected) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    private boolean waitForCounter(String reason, long expected, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (cancelled(reason) != expected) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    private long count(String sql) {
+        Long count = jdbc.queryForObject(sql, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private long cancelled(String reason) {
+        return (long) meterRegistry.find("db.queries.cancelled").tag("reason", reason).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private String login() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"usernameOrEmail\":\"admin\",\"password\":\"password123\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode body = objectMapper.readTree(response.body());
+        String accessToken = body.path("accessToken").asText();
+        require(!accessToken.isEmpty(), "admin can log in");
+        return accessToken;
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(request(path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void require(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + description);
+        }
+    }
+}
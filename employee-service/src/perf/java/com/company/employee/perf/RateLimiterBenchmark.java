@@ -0,0 +1,78 @@
+package com.company.employee.perf;
+
+import com.company.employee.security.RateLimitProperties;
+import com.company.employee.security.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-request cost of RateLimiter (rule match plus bucket acquire) as used by RateLimitFilter,
+ * with the default rules from application.yml and 10,000 distinct users.
+ *
+ * Run: mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.RateLimiterBenchmark
+ */
+@Slf4j
+public final class RateLimiterBenchmark {
+
+    private static final int WARMUP = 2_000_000;
+    private static final int ITERATIONS = 5_000_000;
+    private static final int USERS = 10_000;
+
+    private RateLimiterBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(
+                rule("auth", List.of("POST"), List.of("/v1/auth/login", "/v1/auth/register", "/v1/auth/refresh"), 1, 10),
+                rule("writes", List.of("POST", "PUT", "PATCH", "DELETE"), List.of("/employees/**"), 10, 20),
+                // High enough that the measured path is the admitted one
+                rule("reads", List.of("GET"), List.of("/employees/**"), 1_000_000_000, 100)));
+        RateLimiter limiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        String[] users = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = "user" + i;
+        }
+        int[] next = {0};
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("unlimitedPath", MicroBenchmark.measure(WARMUP, ITERATIONS,
+                () -> limiter.match("GET", "/actuator/health")));
+        report.put("readAllowed", MicroBenchmark.measure(WARMUP, ITERATIONS, () -> {
+            RateLimiter.Rule rule = limiter.match("GET", "/employees/42");
+            String user = users[next[0]++ % USERS];
+            return limiter.tryAcquire(rule, user, true);
+        }));
+        report.put("writeRejected", MicroBenchmark.measure(WARMUP, ITERATIONS, () -> {
+            RateLimiter.Rule rule = limiter.match("PUT", "/employees/42");
+            return limiter.tryAcquire(rule, "user0", true);
+        }));
+        limiter.shutdown();
+        log.info("Rate limiter: {}", report);
+
+        Path file = Path.of("target/perf/rate-limiter-report.json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("Rate limiter report written to {}", file.toAbsolutePath());
+    }
+
+    private static RateLimitProperties.Rule rule(String name, List<String> methods, List<String> paths,
+                                                 double permitsPerSecond, int burst) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName(name);
+        rule.setMethods(methods);
+        rule.setPaths(paths);
+        rule.setPermitsPerSecond(permitsPerSecond);
+        rule.setBurst(burst);
+        return rule;
+    }
+}
@@ -0,0 +1,317 @@
+package com.company.employee.perf;
+
+import com.company.employee.EmployeeServiceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Report jobs (ReportJobService) surviving a crash. Starts the service in a child JVM, submits an
+ * ATTENDANCE and a HEADCOUNT job and checks that a third submission gets 409 (per-user limit).
+ * Once a third of the ATTENDANCE chunks are done the JVM is killed (SIGKILL, no shutdown hooks)
+ * and a second one is started on the same report directory: it must take the jobs over once
+ * their lease expires, keep the chunks already done (progress never goes back) and complete
+ * both. The ATTENDANCE report must then hold every employee exactly once, in id order, and the
+ * HEADCOUNT report must add up to the employee count. Fails with an exception otherwise; writes
+ * target/perf/report-jobs-report.json.
+ *
+ * Needs a migrated PostgreSQL database with a few hundred thousand employees, e.g. one filled
+ * with POST /admin/dataset:
+ * mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.ReportJobCheck \
+ *     -Dexec.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/employee_scale
+ *                  --spring.datasource.username=postgres --spring.datasource.password=secret"
+ */
+@Slf4j
+public final class ReportJobCheck {
+
+    private static final int CHUNK_SIZE = 2_000;
+    private static final Duration LEASE = Duration.ofSeconds(6);
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration JOB_TIMEOUT = Duration.ofMinutes(5);
+    private static final Path DIRECTORY = Path.of("target/perf/reports");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ReportJobCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ReportJobCheck().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        long employeeCount = employeeCount(args);
+        require(employeeCount > CHUNK_SIZE * 10L, "the database has more than " + CHUNK_SIZE * 10 + " employees");
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("employees", employeeCount);
+        report.put("chunkSize", CHUNK_SIZE);
+
+        Instance first = start(args, "first");
+        long attendanceJob;
+        long headcountJob;
+        int doneAtKill;
+        try {
+            String token = login(first.baseUrl);
+            attendanceJob = submit(first.baseUrl, token, "ATTENDANCE").path("id").asLong();
+            headcountJob = submit(first.baseUrl, token, "HEADCOUNT").path("id").asLong();
+            HttpResponse<String> third = post(first.baseUrl, token, "HEADCOUNT");
+            require(third.statusCode() == 409, "a third job of the same user gets 409, got " + third.statusCode());
+
+            long deadline = System.nanoTime() + JOB_TIMEOUT.toNanos();
+            JsonNode job;
+            do {
+                Thread.sleep(20);
+                job = get(first.baseUrl, token, "/reports/jobs/" + attendanceJob);
+                require(System.nanoTime() < deadline, "the first instance makes progress");
+            } while (job.path("chunksDone").asInt() * 3 < job.path("totalChunks").asInt());
+            require(!"COMPLETED".equals(job.path("state").asText()), "the job is still running when killed");
+            doneAtKill = job.path("chunksDone").asInt();
+            report.put("totalChunks", job.path("totalChunks").asInt());
+            report.put("chunksDoneAtKill", doneAtKill);
+            log.info("Killing the first instance with {}/{} chunks done", doneAtKill, job.path("totalChunks").asInt());
+        } finally {
+            first.process.destroyForcibly().waitFor();
+        }
+
+        Instance second = start(args, "second");
+        try {
+            String token = login(second.baseUrl);
+            long killed = System.nanoTime();
+            int lowest = Integer.MAX_VALUE;
+            long deadline = killed + JOB_TIMEOUT.toNanos();
+            JsonNode attendance;
+            JsonNode headcount;
+            while (true) {
+                attendance = get(second.baseUrl, token, "/reports/jobs/" + attendanceJob);
+                headcount = get(second.baseUrl, token, "/reports/jobs/" + headcountJob);
+                lowest = Math.min(lowest, attendance.path("chunksDone").asInt());
+                require(!"FAILED".equals(attendance.path("state").asText()) && !"FAILED".equals(headcount.path("state").asText()),
+                        "no job fails: " + attendance + " " + headcount);
+                if ("COMPLETED".equals(attendance.path("state").asText()) && "COMPLETED".equals(headcount.path("state").asText())) {
+                    break;
+                }
+                require(System.nanoTime() < deadline, "both jobs complete after the restart");
+                Thread.sleep(100);
+            }
+            report.put("lowestChunksDoneAfterRestart", lowest);
+            report.put("attendanceJob", objectMapper.convertValue(attendance, Map.class));
+            report.put("headcountJob", objectMapper.convertValue(headcount, Map.class));
+            require(lowest >= doneAtKill, "chunks done before the crash are kept (" + lowest + " < " + doneAtKill + ")");
+            require(attendance.path("chunksDone").asInt() == attendance.path("totalChunks").asInt(), "every chunk is done");
+
+            List<Long> ids = new ArrayList<>();
+            try (BufferedReader lines = download(second.baseUrl, token, attendanceJob)) {
+                require("id,name,employee_class,attendance,check_in_days".equals(lines.readLine()), "the ATTENDANCE header");
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    ids.add(Long.parseLong(line.substring(0, line.indexOf(','))));
+                }
+            }
+            boolean ascending = true;
+            for (int i = 1; i < ids.size(); i++) {
+                ascending &= ids.get(i) > ids.get(i - 1);
+            }
+            report.put("attendanceRows", ids.size());
+            require(ids.size() == employeeCount, "the ATTENDANCE report has one line per employee (" + ids.size() + ")");
+            require(ascending, "ATTENDANCE lines are in strictly ascending id order");
+
+            long counted = 0;
+            try (BufferedReader lines = download(second.baseUrl, token, headcountJob)) {
+                lines.readLine();
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    counted += Long.parseLong(line.substring(line.lastIndexOf(',') + 1));
+                }
+            }
+            report.put("headcountTotal", counted);
+            require(counted == employeeCount, "the HEADCOUNT report adds up to the employee count (" + counted + ")");
+        } finally {
+            second.process.destroy();
+            if (!second.process.waitFor(30, TimeUnit.SECONDS)) {
+                second.process.destroyForcibly().waitFor();
+            }
+        }
+
+        Path file = Path.of("target/perf/report-jobs-report.json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("Report job check passed: {}", report);
+    }
+
+    private Instance start(String[] args, String name) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", classpath(),
+                EmployeeServiceApplication.class.getName(),
+                "--spring.profiles.active=prod",
+                "--server.port=" + port,
+                "--app.rate-limit.enabled=false",
+                "--app.warmup.enabled=false",
+                "--app.reports.directory=" + DIRECTORY.toAbsolutePath(),
+                "--app.reports.chunk-size=" + CHUNK_SIZE,
+                "--app.reports.lease=" + LEASE.getSeconds() + "s",
+                "--logging.file.name=target/perf/report-jobs-" + name + ".log"));
+        command.addAll(Arrays.asList(args));
+        Path output = Path.of("target/perf/report-jobs-" + name + ".out");
+        Files.createDirectories(output.getParent());
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output.toFile()).start();
+        Instance instance = new Instance(process, "http://localhost:" + port + "/api");
+        awaitReady(instance);
+        return instance;
+    }
+
+    private void awaitReady(Instance instance) throws Exception {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(instance.baseUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        while (System.nanoTime() < deadline) {
+            require(instance.process.isAlive(), "the service starts (see target/perf/report-jobs-*.out)");
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Failed: the service becomes ready within " + READY_TIMEOUT);
+    }
+
+    private String login(String baseUrl) throws Exception {
+        String token = objectMapper.readTree(client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"usernameOrEmail\":\"employee1\",\"password\":\"password123\"}"))
+                        .build(), HttpResponse.BodyHandlers.ofString()).body())
+                .path("accessToken").asText();
+        require(!token.isEmpty(), "login succeeds");
+        return token;
+    }
+
+    private JsonNode submit(String baseUrl, String token, String type) throws Exception {
+        HttpResponse<String> response = post(baseUrl, token, type);
+        require(response.statusCode() == 202, "submitting " + type + " gets 202, got " + response.statusCode());
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> post(String baseUrl, String token, String type) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/reports/jobs"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"type\":\"" + type + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode get(String baseUrl, String token, String path) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .build(), HttpResponse.BodyHandlers.ofString());
+        require(response.statusCode() == 200, "GET " + path + " gets 200, got " + response.statusCode());
+        return objectMapper.readTree(response.body());
+    }
+
+    private BufferedReader download(String baseUrl, String token, long job) throws Exception {
+        HttpResponse<InputStream> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/reports/jobs/" + job + "/download"))
+                        .header("Authorization", "Bearer " + token)
+                        .build(), HttpResponse.BodyHandlers.ofInputStream());
+        require(response.statusCode() == 200, "downloading job " + job + " gets 200, got " + response.statusCode());
+        return new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+    }
+
+    private static long employeeCount(String[] args) throws Exception {
+        Map<String, String> options = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .collect(Collectors.toMap(arg -> arg.substring(2, arg.indexOf('=')),
+                        arg -> arg.substring(arg.indexOf('=') + 1), (a, b) -> b));
+        try (Connection connection = DriverManager.getConnection(
+                options.getOrDefault("spring.datasource.url", "jdbc:postgresql://localhost:5432/employee_db"),
+                options.getOrDefault("spring.datasource.username", "postgres"),
+                options.getOrDefault("spring.datasource.password", "postgres"));
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select count(*) from employees")) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    /** exec:java runs this class in its own class loader; the child JVM gets the same class path. */
+    private static String classpath() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader instanceof URLClassLoader) {
+            return Arrays.stream(((URLClassLoader) loader).getURLs())
+                    .map(ReportJobCheck::toPath)
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+        return System.getProperty("java.class.path");
+    }
+
+    private static String toPath(URL url) {
+        try {
+            return Path.of(url.toURI()).toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected class path entry " + url, e);
+        }
+    }
+
+    private static void require(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + description);
+        }
+    }
+
+    private static final class Instance {
+
+        final Process process;
+        final String baseUrl;
+
+        Instance(Process process, String baseUrl) {
+            this.process = process;
+            this.baseUrl = baseUrl;
+        }
+    }
+}
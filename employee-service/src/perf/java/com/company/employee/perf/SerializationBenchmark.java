@@ -0,0 +1,117 @@
+package com.company.employee.perf;
+
+import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.dto.PageResponse;
+import com.company.employee.model.EmployeeRole;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the list response wire format: Spring's PageImpl through reflective bean
+ * serialization (previous output) against PageResponse with the hand-written serializers.
+ * Reports payload bytes, CPU time and allocation per serialized page.
+ *
+ * Run: mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.SerializationBenchmark
+ */
+@Slf4j
+public final class SerializationBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    private SerializationBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper applicationMapper = applicationMapper();
+        // Same settings with annotations ignored: EmployeeResponse falls back to reflective bean serialization
+        ObjectMapper reflectiveMapper = JsonMapper.builder()
+                .configure(MapperFeature.USE_ANNOTATIONS, false)
+                .findAndAddModules()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        for (int pageSize : new int[]{20, 100}) {
+            Page<EmployeeResponse> page = samplePage(pageSize);
+            PageResponse<EmployeeResponse> envelope = PageResponse.of(page);
+
+            Map<String, Object> pageImpl = MicroBenchmark.measure(WARMUP, ITERATIONS,
+                    () -> reflectiveMapper.writeValueAsBytes(page));
+            pageImpl.put("payloadBytes", reflectiveMapper.writeValueAsBytes(page).length);
+            Map<String, Object> pageResponse = MicroBenchmark.measure(WARMUP, ITERATIONS,
+                    () -> applicationMapper.writeValueAsBytes(envelope));
+            pageResponse.put("payloadBytes", applicationMapper.writeValueAsBytes(envelope).length);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("pageImplReflective", pageImpl);
+            result.put("pageResponseHandWritten", pageResponse);
+            report.put("pageSize" + pageSize, result);
+            log.info("page size {}: PageImpl {} / PageResponse {}", pageSize, pageImpl, pageResponse);
+        }
+
+        Path file = Path.of("target/perf/serialization-report.json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("Serialization report written to {}", file.toAbsolutePath());
+    }
+
+    /** Mirrors the spring.jackson settings in application.yml. */
+    static ObjectMapper applicationMapper() {
+        return applicationMapperBuilder().build();
+    }
+
+    static Jackson2ObjectMapperBuilder applicationMapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    static Page<EmployeeResponse> samplePage(int size) {
+        Random random = new Random(42);
+        List<EmployeeResponse> content = new ArrayList<>(size);
+        Instant now = Instant.parse("2026-01-15T09:30:00.123456Z");
+        for (int i = 0; i < size; i++) {
+            List<String> subjects = new ArrayList<>();
+            for (int s = random.nextInt(4); s > 0; s--) {
+                subjects.add(PerfDataSeeder.SUBJECTS[random.nextInt(PerfDataSeeder.SUBJECTS.length)]);
+            }
+            content.add(EmployeeResponse.builder()
+                    .id(1000L + i)
+                    .name(PerfDataSeeder.FIRST_NAMES[random.nextInt(PerfDataSeeder.FIRST_NAMES.length)] + " "
+                            + PerfDataSeeder.LAST_NAMES[random.nextInt(PerfDataSeeder.LAST_NAMES.length)])
+                    .age(20 + random.nextInt(45))
+                    .employeeClass("Class-" + (1 + random.nextInt(PerfDataSeeder.CLASS_COUNT)))
+                    .subjects(subjects)
+                    .attendance(random.nextInt(101))
+                    .role(EmployeeRole.EMPLOYEE)
+                    .createdAt(now.minusSeconds(random.nextInt(1_000_000)))
+                    .updatedAt(now)
+                    .build());
+        }
+        return new PageImpl<>(content, PageRequest.of(3, size, Sort.by("name")), 10_000);
+    }
+}
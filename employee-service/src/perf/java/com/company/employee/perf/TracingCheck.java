@@ -0,0 +1,420 @@
+package com.company.employee.perf;
+
+import com.company.employee.EmployeeServiceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end check of request tracing: boots the application with the OTLP exporter pointed at
+ * an in-process collector stand-in, sends requests carrying a traceparent as the GraphQL gateway
+ * does, and verifies the exported span trees:
+ *
+ * - a sampled read and a sampled create form one tree under the caller's span: the server span,
+ *   JwtAuthenticationFilter, the EmployeeService method, db.connection, db.query spans with SQL,
+ *   and (de)serialize
+ * - requests with the sampled flag off, or without a traceparent at sample rate 0, export nothing
+ *   but still get their trace id back in the traceresponse header
+ *
+ * - the "dataSource" bean is wrapped in the intended order: the concurrency limit outermost, then
+ *   CancellableDataSource, then TracingDataSource, then the pool
+ * - while every pooled connection is held elsewhere, a sampled read's db.connection span lasts
+ *   until one is returned
+ *
+ * It then measures GET /employees/{id} latency with tracing sampled and unsampled. Fails with an
+ * exception if a check does not hold; writes target/perf/tracing-report.json.
+ *
+ * Needs a migrated and seeded PostgreSQL database:
+ * mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.TracingCheck \
+ *     -Dexec.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/employee_db
+ *                  --spring.datasource.username=postgres --spring.datasource.password=secret"
+ */
+@Slf4j
+public final class TracingCheck {
+
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int MEASURED_REQUESTS = 5_000;
+    private static final long POOL_HOLD_MILLIS = 800;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    /** Spans received by the collector stand-in. */
+    private final ConcurrentLinkedQueue<JsonNode> spans = new ConcurrentLinkedQueue<>();
+    private final Set<String> serviceNames = ConcurrentHashMap.newKeySet();
+
+    private String baseUrl;
+    private String token;
+
+    private TracingCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new TracingCheck().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        HttpServer collector = startCollector();
+        ConfigurableApplicationContext context = null;
+        try {
+            context = start(collector.getAddress().getPort(), args);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("server.servlet.context-path", "");
+            List<Long> ids = context.getBean(JdbcTemplate.class)
+                    .queryForList("select id from employees order by id limit 1000", Long.class);
+            require(!ids.isEmpty(), "the database has employees");
+            token = objectMapper.readTree(send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"usernameOrEmail\":\"admin\",\"password\":\"password123\"}"))).body())
+                    .path("accessToken").asText();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("generatedAt", Instant.now().toString());
+            DataSource dataSource = context.getBean("dataSource", DataSource.class);
+            report.put("dataSourceChain", checkDataSourceChain(dataSource));
+            report.put("read", checkSampledRead(ids.get(0)));
+            report.put("create", checkSampledCreate());
+            report.put("unsampled", checkUnsampled(ids.get(0)));
+            report.put("poolWait", checkPoolWait(dataSource.unwrap(HikariDataSource.class), ids.get(0)));
+            report.put("serviceNames", serviceNames);
+            require(serviceNames.contains("employee-service"), "spans carry the service.name resource attribute");
+            report.put("latency", measureOverhead(ids));
+
+            Path file = Path.of("target/perf/tracing-report.json");
+            Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            log.info("Tracing report written to {}", file.toAbsolutePath());
+            log.info("Tracing check passed");
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            collector.stop(0);
+        }
+    }
+
+    private ConfigurableApplicationContext start(int collectorPort, String[] args) {
+        String[] nodeArgs = new String[args.length + 10];
+        nodeArgs[0] = "--spring.profiles.active=prod";
+        nodeArgs[1] = "--server.port=0";
+        nodeArgs[2] = "--spring.cache.type=none";
+        nodeArgs[3] = "--app.read-coalescing.enabled=false";
+        nodeArgs[4] = "--app.rate-limit.enabled=false";
+        nodeArgs[5] = "--app.tracing.exporter=otlp";
+        nodeArgs[6] = "--app.tracing.otlp.endpoint=http://localhost:" + collectorPort + "/v1/traces";
+        nodeArgs[7] = "--app.tracing.sample-rate=0";
+        nodeArgs[8] = "--app.tracing.export-interval=100ms";
+        nodeArgs[9] = "--logging.file.name=target/perf/tracing.log";
+        System.arraycopy(args, 0, nodeArgs, 10, args.length);
+        return new SpringApplication(EmployeeServiceApplication.class).run(nodeArgs);
+    }
+
+    /** OTLP/HTTP JSON endpoint that keeps every span it is sent. */
+    private HttpServer startCollector() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/traces", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                JsonNode request = objectMapper.readTree(body);
+                for (JsonNode resourceSpans : request.path("resourceSpans")) {
+                    for (JsonNode attribute : resourceSpans.path("resource").path("attributes")) {
+                        if ("service.name".equals(attribute.path("key").asText())) {
+                            serviceNames.add(attribute.path("value").path("stringValue").asText());
+                        }
+                    }
+                    for (JsonNode scopeSpans : resourceSpans.path("scopeSpans")) {
+                        scopeSpans.path("spans").forEach(spans::add);
+                    }
+                }
+                byte[] response = "{}".getBytes();
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                exchange.getResponseBody().write(response);
+            } catch (Exception e) {
+                exchange.sendResponseHeaders(400, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    /** Class names from the "dataSource" bean inwards, following DelegatingDataSource targets. */
+    private static List<String> checkDataSourceChain(DataSource dataSource) {
+        List<String> chain = new ArrayList<>();
+        for (DataSource current = dataSource; current != null; ) {
+            chain.add(current.getClass().getSimpleName());
+            current = current instanceof DelegatingDataSource
+                    ? ((DelegatingDataSource) current).getTargetDataSource() : null;
+        }
+        require(chain.equals(List.of("ConcurrencyLimitedDataSource", "Limited", "CancellableDataSource",
+                        "TracingDataSource", "HikariDataSource")),
+                "the DataSource wrappers are applied in order, got " + chain);
+        return chain;
+    }
+
+    private Map<String, Object> checkSampledRead(long id) throws Exception {
+        String traceId = randomHex(32);
+        String callerSpanId = randomHex(16);
+        HttpResponse<String> response = send(authorized("/employees/" + id)
+                .header("traceparent", "00-" + traceId + "-" + callerSpanId + "-01"));
+        require(response.statusCode() == 200, "sampled GET /employees/{id} succeeds");
+        List<JsonNode> trace = awaitTrace(traceId, "GET /employees/{id}");
+        verifyTree(trace, callerSpanId, "GET /employees/{id}", "JwtAuthenticationFilter",
+                "EmployeeService.getEmployeeById", "db.connection", "db.query", "serialize");
+        requireStatement(trace, "select");
+        return summary(trace);
+    }
+
+    private Map<String, Object> checkSampledCreate() throws Exception {
+        String traceId = randomHex(32);
+        String callerSpanId = randomHex(16);
+        HttpResponse<String> response = send(authorized("/employees")
+                .header("traceparent", "00-" + traceId + "-" + callerSpanId + "-01")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Tracing Check\",\"age\":30,"
+                        + "\"employeeClass\":\"TRACE\",\"subjects\":[\"Math\"],\"attendance\":90}")));
+        require(response.statusCode() == 201, "sampled POST /employees succeeds");
+        long createdId = objectMapper.readTree(response.body()).path("id").asLong();
+        try {
+            List<JsonNode> trace = awaitTrace(traceId, "POST /employees");
+            verifyTree(trace, callerSpanId, "POST /employees", "JwtAuthenticationFilter",
+                    "EmployeeService.createEmployee", "db.connection", "db.query", "db.commit", "deserialize", "serialize");
+            requireStatement(trace, "insert");
+            return summary(trace);
+        } finally {
+            send(authorized("/employees/" + createdId).DELETE());
+        }
+    }
+
+    /**
+     * Holds every pooled connection for POOL_HOLD_MILLIS while a sampled read runs: the read waits
+     * for one in the pool, and that wait has to show up in its db.connection span.
+     */
+    private Map<String, Object> checkPoolWait(HikariDataSource pool, long id) throws Exception {
+        List<Connection> held = new ArrayList<>();
+        CompletableFuture<HttpResponse<String>> response;
+        String traceId = randomHex(32);
+        try {
+            for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+                held.add(pool.getConnection());
+            }
+            response = client.sendAsync(authorized("/employees/" + id)
+                    .header("traceparent", "00-" + traceId + "-" + randomHex(16) + "-01").build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Thread.sleep(POOL_HOLD_MILLIS);
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+        require(response.get(10, TimeUnit.SECONDS).statusCode() == 200, "GET /employees/{id} succeeds after the pool wait");
+        long longestMillis = 0;
+        for (JsonNode span : awaitTrace(traceId, "GET /employees/{id}")) {
+            if ("db.connection".equals(span.path("name").asText())) {
+                long nanos = Long.parseLong(span.path("endTimeUnixNano").asText())
+                        - Long.parseLong(span.path("startTimeUnixNano").asText());
+                longestMillis = Math.max(longestMillis, TimeUnit.NANOSECONDS.toMillis(nanos));
+            }
+        }
+        require(longestMillis >= POOL_HOLD_MILLIS - 100, "db.connection covers the wait for a pooled connection");
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("heldConnections", held.size());
+        result.put("heldMillis", POOL_HOLD_MILLIS);
+        result.put("dbConnectionMillis", longestMillis);
+        return result;
+    }
+
+    private Map<String, Object> checkUnsampled(long id) throws Exception {
+        String notSampledTrace = randomHex(32);
+        HttpResponse<String> notSampled = send(authorized("/employees/" + id)
+                .header("traceparent", "00-" + notSampledTrace + "-" + randomHex(16) + "-00"));
+        HttpResponse<String> noHeader = send(authorized("/employees/" + id));
+        String generatedTrace = noHeader.headers().firstValue("traceresponse").orElse("");
+        require(notSampled.headers().firstValue("traceresponse").orElse("").startsWith("00-" + notSampledTrace + "-"),
+                "an unsampled request keeps the caller's trace id");
+        require(generatedTrace.matches("00-[0-9a-f]{32}-[0-9a-f]{16}-00"),
+                "a request without traceparent gets a new, unsampled trace at sample rate 0");
+        // A later sampled trace being exported shows the earlier, unsampled ones would have been by now
+        checkSampledRead(id);
+        String generatedTraceId = generatedTrace.substring(3, 35);
+        long leaked = spans.stream()
+                .map(span -> span.path("traceId").asText())
+                .filter(traceId -> traceId.equals(notSampledTrace) || traceId.equals(generatedTraceId))
+                .count();
+        require(leaked == 0, "unsampled requests export no spans");
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("exportedSpans", leaked);
+        return result;
+    }
+
+    /**
+     * Latency of sequential GET /employees/{id} with every request sampled versus none, in
+     * alternating blocks so drift affects both alike.
+     */
+    private Map<String, Object> measureOverhead(List<Long> ids) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            timedGet(ids, i % 2 == 0);
+        }
+        Histogram sampled = new Histogram(TimeUnit.SECONDS.toMicros(10), 3);
+        Histogram unsampled = new Histogram(TimeUnit.SECONDS.toMicros(10), 3);
+        int spansBefore = spans.size();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            boolean sample = (i / 100) % 2 == 0;
+            (sample ? sampled : unsampled).recordValue(timedGet(ids, sample));
+        }
+        Thread.sleep(1_000);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requestsPerMode", MEASURED_REQUESTS / 2);
+        result.put("sampled", percentiles(sampled));
+        result.put("unsampled", percentiles(unsampled));
+        result.put("spansPerSampledRequest", (double) (spans.size() - spansBefore) / sampled.getTotalCount());
+        result.put("meanOverheadMicros", Math.round(sampled.getMean() - unsampled.getMean()));
+        return result;
+    }
+
+    private long timedGet(List<Long> ids, boolean sample) throws Exception {
+        long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        HttpRequest request = authorized("/employees/" + id)
+                .header("traceparent", "00-" + randomHex(32) + "-" + randomHex(16) + (sample ? "-01" : "-00"))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        require(response.statusCode() == 200, "GET /employees/{id} succeeds");
+        return micros;
+    }
+
+    private List<JsonNode> awaitTrace(String traceId, String rootName) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            List<JsonNode> trace = new ArrayList<>();
+            for (JsonNode span : spans) {
+                if (traceId.equals(span.path("traceId").asText())) {
+                    trace.add(span);
+                }
+            }
+            if (trace.stream().anyMatch(span -> rootName.equals(span.path("name").asText()))) {
+                return trace;
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("Failed: trace " + traceId + " was exported");
+    }
+
+    /**
+     * The server span is the only child of the caller's span; every other span's parent is in
+     * the trace; the expected span names are all present.
+     */
+    private static void verifyTree(List<JsonNode> trace, String callerSpanId, String rootName, String... names) {
+        Map<String, JsonNode> byId = new HashMap<>();
+        trace.forEach(span -> byId.put(span.path("spanId").asText(), span));
+        Set<String> present = new HashSet<>();
+        for (JsonNode span : trace) {
+            String name = span.path("name").asText();
+            present.add(name);
+            String parent = span.path("parentSpanId").asText();
+            if (rootName.equals(name)) {
+                require(callerSpanId.equals(parent), "the server span is a child of the caller's span");
+                require(span.path("kind").asInt() == 2, "the server span has kind SERVER");
+            } else {
+                require(byId.containsKey(parent), name + " has its parent in the same trace");
+            }
+            require(Long.parseLong(span.path("endTimeUnixNano").asText())
+                    >= Long.parseLong(span.path("startTimeUnixNano").asText()), name + " ends after it starts");
+        }
+        for (String name : names) {
+            require(present.contains(name), "the trace has a " + name + " span");
+        }
+    }
+
+    private static void requireStatement(List<JsonNode> trace, String operation) {
+        boolean found = false;
+        for (JsonNode span : trace) {
+            for (JsonNode attribute : span.path("attributes")) {
+                if ("db.statement".equals(attribute.path("key").asText())
+                        && attribute.path("value").path("stringValue").asText().toLowerCase(Locale.ROOT).startsWith(operation)) {
+                    found = true;
+                }
+            }
+        }
+        require(found, "a db.query span has the " + operation + " statement");
+    }
+
+    private static Map<String, Object> summary(List<JsonNode> trace) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        trace.forEach(span -> counts.merge(span.path("name").asText(), 1, Integer::sum));
+        summary.put("spans", trace.size());
+        summary.put("names", counts);
+        return summary;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("meanMicros", Math.round(histogram.getMean()));
+        result.put("p50Micros", histogram.getValueAtPercentile(50));
+        result.put("p90Micros", histogram.getValueAtPercentile(90));
+        result.put("p99Micros", histogram.getValueAtPercentile(99));
+        return result;
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String randomHex(int length) {
+        StringBuilder hex = new StringBuilder(length);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < length; i++) {
+            hex.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return hex.toString();
+    }
+
+    private static void require(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + description);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.company.employee.perf;
+
+import com.company.employee.EmployeeServiceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provisioning USERS accounts one POST /v1/auth/register at a time versus one POST
+ * /admin/users/bulk (UserProvisioningService), against PostgreSQL. Checks that the bulk request
+ * creates every user with the EMPLOYEE role, that a created user can log in, and that repeating
+ * the request reports every row as DUPLICATE without hashing anything. On more than one core,
+ * the bulk request must also be at least 1.5 times faster; BCrypt dominates both, so on a single
+ * core the difference is only the saved round trips and queries. Fails with an exception
+ * otherwise; writes target/perf/user-provisioning-report.json. The users it creates are deleted
+ * again.
+ *
+ * Needs a migrated PostgreSQL database:
+ * mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.UserProvisioningBenchmark \
+ *     -Dexec.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/employee_db
+ *                  --spring.datasource.username=postgres --spring.datasource.password=secret"
+ */
+@Slf4j
+public final class UserProvisioningBenchmark {
+
+    private static final int USERS = 100;
+    private static final String PASSWORD = "password123";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UserProvisioningBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new UserProvisioningBenchmark().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        ConfigurableApplicationContext context = start(args);
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("server.servlet.context-path", "");
+            int cores = Runtime.getRuntime().availableProcessors();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("generatedAt", Instant.now().toString());
+            report.put("users", USERS);
+            report.put("cores", cores);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < USERS; i++) {
+                HttpResponse<String> response = post(baseUrl + "/v1/auth/register", null, user("serial", run, i).toString());
+                require(response.statusCode() == 201 || response.statusCode() == 200,
+                        "register succeeds, got " + response.statusCode() + " " + response.body());
+            }
+            long serialMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            report.put("serialRegisterMs", serialMs);
+            log.info("{} registrations one by one: {} ms", USERS, serialMs);
+
+            String adminToken = login(baseUrl, "admin");
+            ObjectNode body = objectMapper.createObjectNode();
+            ArrayNode users = body.putArray("users");
+            for (int i = 0; i < USERS; i++) {
+                users.add(user("bulk", run, i));
+            }
+            start = System.nanoTime();
+            JsonNode bulk = bulk(baseUrl, adminToken, body.toString());
+            long bulkMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            report.put("bulkMs", bulkMs);
+            report.put("speedup", (double) serialMs / bulkMs);
+            log.info("{} users in one bulk request: {} ms ({}x)", USERS, bulkMs, String.format("%.1f", (double) serialMs / bulkMs));
+            require(bulk.path("created").asInt() == USERS, "the bulk request creates every user: " + bulk.path("created"));
+            Integer withRole = jdbc.queryForObject("SELECT COUNT(*) FROM users u JOIN user_roles r ON r.user_id = u.id"
+                    + " WHERE u.username LIKE ? AND r.role = 'ROLE_EMPLOYEE'", Integer.class, "perf-bulk-" + run + "-%");
+            require(withRole != null && withRole == USERS, "every bulk user has the EMPLOYEE role");
+            login(baseUrl, "perf-bulk-" + run + "-0");
+
+            start = System.nanoTime();
+            JsonNode repeat = bulk(baseUrl, adminToken, body.toString());
+            long repeatMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            report.put("repeatMs", repeatMs);
+            boolean allDuplicates = true;
+            for (JsonNode result : repeat.path("results")) {
+                allDuplicates &= "DUPLICATE".equals(result.path("status").asText());
+            }
+            require(repeat.path("created").asInt() == 0 && allDuplicates, "a repeated request reports every row as DUPLICATE");
+            require(repeatMs < 2_000, "duplicates are found without hashing (" + repeatMs + " ms)");
+            require(cores == 1 || bulkMs * 1.5 < serialMs, "the bulk request is at least 1.5 times faster on "
+                    + cores + " cores (" + bulkMs + " vs " + serialMs + " ms)");
+
+            Path file = Path.of("target/perf/user-provisioning-report.json");
+            Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            log.info("User provisioning benchmark passed: {}", report);
+        } finally {
+            String users = "SELECT id FROM users WHERE username LIKE 'perf-%-" + run + "-%'";
+            jdbc.update("DELETE FROM refresh_tokens WHERE user_id IN (" + users + ")");
+            jdbc.update("DELETE FROM user_roles WHERE user_id IN (" + users + ")");
+            jdbc.update("DELETE FROM users WHERE username LIKE ?", "perf-%-" + run + "-%");
+            context.close();
+        }
+    }
+
+    private ConfigurableApplicationContext start(String[] args) {
+        String[] nodeArgs = new String[args.length + 5];
+        nodeArgs[0] = "--spring.profiles.active=prod";
+        nodeArgs[1] = "--server.port=0";
+        nodeArgs[2] = "--app.rate-limit.enabled=false";
+        nodeArgs[3] = "--app.warmup.enabled=false";
+        nodeArgs[4] = "--logging.file.name=target/perf/user-provisioning.log";
+        System.arraycopy(args, 0, nodeArgs, 5, args.length);
+        return new SpringApplication(EmployeeServiceApplication.class).run(nodeArgs);
+    }
+
+    private ObjectNode user(String kind, String run, int i) {
+        String username = "perf-" + kind + "-" + run + "-" + i;
+        return objectMapper.createObjectNode()
+                .put("username", username)
+                .put("email", username + "@example.com")
+                .put("password", PASSWORD);
+    }
+
+    private JsonNode bulk(String baseUrl, String token, String body) throws Exception {
+        HttpResponse<String> response = post(baseUrl + "/admin/users/bulk", token, body);
+        require(response.statusCode() == 200, "the bulk request gets 200, got " + response.statusCode() + " " + response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    private String login(String baseUrl, String username) throws Exception {
+        HttpResponse<String> response = post(baseUrl + "/v1/auth/login", null,
+                "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}");
+        String token = objectMapper.readTree(response.body()).path("accessToken").asText();
+        require(!token.isEmpty(), username + " can log in");
+        return token;
+    }
+
+    private HttpResponse<String> post(String url, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMinutes(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void require(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + description);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.company.employee.perf;
+
+import com.company.employee.EmployeeServiceApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * First-minute latency after a deploy, with and without the start-up warm-up (WarmupRunner).
+ * Each mode starts the service in a fresh JVM (JIT state cannot be reset in-process), waits for
+ * /actuator/health/readiness like a load balancer would, then sends RATE list and get-by-id
+ * requests per second for a minute on a fixed schedule. Latency is measured from the intended
+ * send time and reported per 10-second window, with non-200 answers counted as errors. Fails
+ * with an exception if a request fails after warm-up or warm-up does not lower the p99 of the
+ * first window; writes target/perf/warmup-report.json.
+ *
+ * Caches, read coalescing and rate limits are off so every request does the full work. The
+ * warm-up mode runs first, so the database's own caches favour the run without warm-up.
+ *
+ * Needs a migrated and seeded PostgreSQL database:
+ * mvn -Pperf compile exec:java -Dperf.main=com.company.employee.perf.WarmupBenchmark \
+ *     -Dexec.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/employee_db
+ *                  --spring.datasource.username=postgres --spring.datasource.password=secret"
+ */
+@Slf4j
+public final class WarmupBenchmark {
+
+    private static final double RATE = 50;
+    private static final int SECONDS = 60;
+    private static final int WINDOW_SECONDS = 10;
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(3);
+    private static final String[] SORTS = {"name,asc", "employeeClass,asc", "createdAt,desc", "updatedAt,desc"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private WarmupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new WarmupBenchmark().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        List<Long> ids = employeeIds(args);
+        require(!ids.isEmpty(), "the database has employees");
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("rate", RATE);
+        report.put("seconds", SECONDS);
+        Map<String, Object> warm = runMode(true, args, ids);
+        Map<String, Object> cold = runMode(false, args, ids);
+        report.put("withWarmup", warm);
+        report.put("withoutWarmup", cold);
+
+        Path file = Path.of("target/perf/warmup-report.json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("Warm-up report written to {}", file.toAbsolutePath());
+
+        // A cold instance can fail requests too: slow first queries make the database concurrency limit shed load
+        require((long) warm.get("errors") == 0, "no request fails after warm-up");
+        require(firstWindowP99(warm) < firstWindowP99(cold), "warm-up lowers the p99 of the first "
+                + WINDOW_SECONDS + " seconds");
+        log.info("Warm-up benchmark passed");
+    }
+
+    private Map<String, Object> runMode(boolean warmup, String[] args, List<Long> ids) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        String baseUrl = "http://localhost:" + port + "/api";
+        String mode = warmup ? "warmup" : "cold";
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", classpath(),
+                EmployeeServiceApplication.class.getName(),
+                "--spring.profiles.active=prod",
+                "--server.port=" + port,
+                "--spring.cache.type=none",
+                "--app.read-coalescing.enabled=false",
+                "--app.rate-limit.enabled=false",
+                "--app.warmup.enabled=" + warmup,
+                "--logging.file.name=target/perf/warmup-" + mode + ".log"));
+        command.addAll(Arrays.asList(args));
+        Path output = Path.of("target/perf/warmup-" + mode + ".out");
+        Files.createDirectories(output.getParent());
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output.toFile()).start();
+        try {
+            awaitReady(baseUrl, process);
+            long readyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+            String token = objectMapper.readTree(client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"usernameOrEmail\":\"employee1\",\"password\":\"password123\"}"))
+                            .build(), HttpResponse.BodyHandlers.ofString()).body())
+                    .path("accessToken").asText();
+            require(!token.isEmpty(), "login succeeds");
+
+            Map<String, Object> result = drive(baseUrl, token, ids);
+            result.put("readyMs", readyMs);
+            log.info("{}: {}", warmup ? "with warm-up" : "without warm-up", result);
+            return result;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private void awaitReady(String baseUrl, Process process) throws Exception {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        while (System.nanoTime() < deadline) {
+            require(process.isAlive(), "the service starts (see target/perf/warmup-*.out)");
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Failed: the service becomes ready within " + READY_TIMEOUT);
+    }
+
+    /** Sends RATE requests per second for SECONDS on a fixed schedule and waits for the answers. */
+    private Map<String, Object> drive(String baseUrl, String token, List<Long> ids) throws InterruptedException {
+        int windows = SECONDS / WINDOW_SECONDS;
+        List<Histogram> histograms = new ArrayList<>();
+        for (int w = 0; w < windows; w++) {
+            histograms.add(new ConcurrentHistogram(1, TimeUnit.MINUTES.toMicros(5), 3));
+        }
+        Histogram all = new ConcurrentHistogram(1, TimeUnit.MINUTES.toMicros(5), 3);
+        LongAdder errors = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / RATE);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(SECONDS);
+        int n = 0;
+        for (long intended = start; intended < end; intended += interval, n++) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long sentAt = intended;
+            Histogram window = histograms.get((int) (TimeUnit.NANOSECONDS.toSeconds(intended - start) / WINDOW_SECONDS));
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String path = n % 5 < 3
+                    ? "/employees?page=" + random.nextInt(3) + "&size=20&sort=" + SORTS[random.nextInt(SORTS.length)]
+                    : "/employees/" + ids.get(random.nextInt(ids.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long micros = Math.max(1, Math.min(TimeUnit.MINUTES.toMicros(5),
+                                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt)));
+                        if (error != null || response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                        window.recordValue(micros);
+                        all.recordValue(micros);
+                        inFlight.decrementAndGet();
+                    });
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+
+        Map<String, Object> result = summary(all);
+        result.put("errors", errors.sum());
+        List<Map<String, Object>> perWindow = new ArrayList<>();
+        for (int w = 0; w < windows; w++) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("fromSecond", w * WINDOW_SECONDS);
+            summary.putAll(summary(histograms.get(w)));
+            perWindow.add(summary);
+        }
+        result.put("windows", perWindow);
+        return result;
+    }
+
+    private static Map<String, Object> summary(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+        summary.put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0);
+        summary.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+        summary.put("maxMs", histogram.getMaxValue() / 1000.0);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double firstWindowP99(Map<String, Object> result) {
+        return (double) ((List<Map<String, Object>>) result.get("windows")).get(0).get("p99Ms");
+    }
+
+    /** Ids for get-by-id, read with plain JDBC so the service under test sees no extra requests. */
+    private static List<Long> employeeIds(String[] args) throws Exception {
+        Map<String, String> options = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .collect(Collectors.toMap(arg -> arg.substring(2, arg.indexOf('=')),
+                        arg -> arg.substring(arg.indexOf('=') + 1), (a, b) -> b));
+        List<Long> ids = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(
+                options.getOrDefault("spring.datasource.url", "jdbc:postgresql://localhost:5432/employee_db"),
+                options.getOrDefault("spring.datasource.username", "postgres"),
+                options.getOrDefault("spring.datasource.password", "postgres"));
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select id from employees order by id limit 1000")) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    /** exec:java runs this class in its own class loader; the child JVM gets the same class path. */
+    private static String classpath() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader instanceof URLClassLoader) {
+            return Arrays.stream(((URLClassLoader) loader).getURLs())
+                    .map(WarmupBenchmark::toPath)
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+        return System.getProperty("java.class.path");
+    }
+
+    private static String toPath(URL url) {
+        try {
+            return Path.of(url.toURI()).toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected class path entry " + url, e);
+        }
+    }
+
+    private static void require(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + description);
+        }
+    }
+}
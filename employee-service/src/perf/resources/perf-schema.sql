@@ -0,0 +1,14 @@
+-- Tables the service reaches with plain JDBC, which Hibernate does not create (see V8 and V10)
+
+CREATE TABLE attendance_events (
+    employee_id INT8      NOT NULL REFERENCES employees (id) ON DELETE CASCADE,
+    day         DATE      NOT NULL,
+    recorded_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (employee_id, day)
+);
+
+CREATE TABLE attendance_full_rollups (
+    day         DATE      NOT NULL,
+    finished_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (day)
+);
@@ -155,16 +155,16 @@ const Employees = () => {
     }))
   }, [data])
 
-  // Column definitions
+  // Column definitions (the API sorts only by id, name, employeeClass and createdAt/updatedAt)
   const columns = useMemo(
     () => [
       { key: 'id', label: 'ID', sortable: true },
       { key: 'name', label: 'Name', sortable: true },
-      { key: 'age', label: 'Age', sortable: true },
+      { key: 'age', label: 'Age', sortable: false },
       { key: 'employeeClass', label: 'Class', sortable: true },
       { key: 'subjects', label: 'Subjects', sortable: false },
-      { key: 'attendance', label: 'Attendance', sortable: true },
-      { key: 'role', label: 'Role', sortable: true },
+      { key: 'attendance', label: 'Attendance', sortable: false },
+      { key: 'role', label: 'Role', sortable: false },
       { key: 'createdAt', label: 'Created', sortable: true },
       ...(isAdmin ? [{ key: 'actions', label: 'Actions', sortable: false }] : []),
     ],
@@ -1,98 +1,131 @@
-import { useState } from 'react'
-import { FaDownload, FaFilePdf, FaFileExcel } from 'react-icons/fa'
+import { useCallback, useEffect, useState } from 'react'
+import { FaDownload, FaFileCsv, FaPlus } from 'react-icons/fa'
+import api from '../services/api'
 import logger from '../utils/logger'
 
-const Reports = () => {
-  const [reports] = useState([
-    { id: 1, title: 'Monthly Employee Report', date: '2026-02-01', type: 'PDF', size: '2.4 MB' },
-    { id: 2, title: 'Department Performance', date: '2026-02-15', type: 'Excel', size: '1.8 MB' },
-    { id: 3, title: 'Attendance Summary', date: '2026-02-10', type: 'PDF', size: '950 KB' },
-    { id: 4, title: 'Payroll Report', date: '2026-02-05', type: 'Excel', size: '3.2 MB' },
-  ])
+const REPORT_TYPES = [
+  { type: 'ATTENDANCE', title: 'Attendance Summary' },
+  { type: 'HEADCOUNT', title: 'Headcount by Class and Role' },
+]
+
+const POLL_INTERVAL_MS = 2000
+
+const titleOf = (type) => REPORT_TYPES.find((report) => report.type === type)?.title || type
 
+const isActive = (job) => job.state === 'QUEUED' || job.state === 'RUNNING'
+
+const Reports = () => {
+  const [jobs, setJobs] = useState([])
+  const [error, setError] = useState(null)
+  const [submittingType, setSubmittingType] = useState(null)
   const [downloadingId, setDownloadingId] = useState(null)
 
-  const handleDownload = async (report) => {
-    setDownloadingId(report.id)
-    
-    // Simulate download (in real app, this would fetch from backend)
-    setTimeout(() => {
-      try {
-        // Create proper file content based on type
-        let content = ''
-        let mimeType = 'text/plain'
-        let fileExtension = 'txt'
-        
-        if (report.type === 'PDF') {
-          // For PDF, we'll create a text file that explains it's a demo
-          // In production, this would be a real PDF blob from backend
-          content = `DEMO REPORT - ${report.title}\n\n`
-          content += `This is a demonstration report.\n`
-          content += `In production, this would be a real PDF file generated from backend data.\n\n`
-          content += `Report Details:\n`
-          content += `- Title: ${report.title}\n`
-          content += `- Date: ${report.date}\n`
-          content += `- Size: ${report.size}\n\n`
-          content += `Note: This is mock data for demonstration purposes.`
-          mimeType = 'text/plain'
-          fileExtension = 'txt'
-        } else if (report.type === 'Excel') {
-          // For Excel, create CSV format (can be opened in Excel)
-          content = `Report Title,Date,Type,Size\n`
-          content += `${report.title},${report.date},${report.type},${report.size}\n\n`
-          content += `Note: This is a demo CSV file. In production, this would be a real Excel file.`
-          mimeType = 'text/csv'
-          fileExtension = 'csv'
-        } else {
-          content = `DEMO REPORT - ${report.title}\n\n`
-          content += `This is a demonstration report.\n`
-          content += `Report Details:\n`
-          content += `- Title: ${report.title}\n`
-          content += `- Date: ${report.date}\n`
-          content += `- Type: ${report.type}\n`
-          content += `- Size: ${report.size}\n`
-          mimeType = 'text/plain'
-          fileExtension = 'txt'
-        }
-        
-        // Create blob with proper MIME type
-        const blob = new Blob([content], { type: mimeType })
-        const url = window.URL.createObjectURL(blob)
-        const a = document.createElement('a')
-        a.href = url
-        a.download = `${report.title.replace(/\s+/g, '_')}_DEMO.${fileExtension}`
-        document.body.appendChild(a)
-        a.click()
-        document.body.removeChild(a)
-        window.URL.revokeObjectURL(url)
-        
-        setDownloadingId(null)
-      } catch (error) {
-        logger.error('Download error:', error)
-        setDownloadingId(null)
-        alert('Download failed. This is a demo feature.')
-      }
-    }, 1000)
+  const fetchJobs = useCallback(async () => {
+    try {
+      const response = await api.get('/reports/jobs')
+      setJobs(response.data)
+    } catch (err) {
+      logger.error('Error fetching report jobs:', err)
+      setError('Failed to load reports. Please try again.')
+    }
+  }, [])
+
+  useEffect(() => {
+    fetchJobs()
+  }, [fetchJobs])
+
+  // Reports are generated in the background: poll while any of them is still in progress
+  useEffect(() => {
+    if (!jobs.some(isActive)) {
+      return undefined
+    }
+    const timer = setTimeout(fetchJobs, POLL_INTERVAL_MS)
+    return () => clearTimeout(timer)
+  }, [jobs, fetchJobs])
+
+  const handleGenerate = async (type) => {
+    setSubmittingType(type)
+    setError(null)
+    try {
+      await api.post('/reports/jobs', { type })
+      await fetchJobs()
+    } catch (err) {
+      logger.error('Error starting report:', err)
+      setError(err.response?.data?.message || 'Failed to start the report. Please try again.')
+    } finally {
+      setSubmittingType(null)
+    }
   }
 
-  const getFileIcon = (type) => {
-    return type === 'PDF' ? FaFilePdf : FaFileExcel
+  const handleDownload = async (job) => {
+    setDownloadingId(job.id)
+    try {
+      const response = await api.get(`/reports/jobs/${job.id}/download`, { responseType: 'blob' })
+      const url = window.URL.createObjectURL(response.data)
+      const a = document.createElement('a')
+      a.href = url
+      a.download = `${titleOf(job.type).replace(/\s+/g, '_')}_${job.id}.csv`
+      document.body.appendChild(a)
+      a.click()
+      document.body.removeChild(a)
+      window.URL.revokeObjectURL(url)
+    } catch (err) {
+      logger.error('Download error:', err)
+      setError('Download failed. Please try again.')
+    } finally {
+      setDownloadingId(null)
+    }
   }
 
-  const getFileColor = (type) => {
-    return type === 'PDF' ? 'text-red-600' : 'text-green-600'
+  const getStateColor = (state) => {
+    switch (state) {
+      case 'COMPLETED':
+        return 'bg-green-100 text-green-800'
+      case 'FAILED':
+        return 'bg-red-100 text-red-800'
+      default:
+        return 'bg-blue-100 text-blue-800'
+    }
+  }
+
+  const getProgress = (job) => {
+    if (job.state === 'COMPLETED') {
+      return `${job.employees.toLocaleString()} employees`
+    }
+    if (job.state === 'FAILED') {
+      return job.error || 'Failed'
+    }
+    return job.totalChunks > 0 ? `${Math.floor((100 * job.chunksDone) / job.totalChunks)}%` : 'Waiting'
   }
 
   return (
     <div className="space-y-6">
-      <div>
-        <h1 className="text-3xl font-bold text-gray-800 mb-2">Reports</h1>
-        <p className="text-gray-600">
-          View and download system reports. 
-          <span className="text-sm text-gray-500 ml-2">(Demo: Mock data - Download functionality simulated)</span>
-        </p>
+      <div className="flex flex-col md:flex-row md:items-end md:justify-between gap-4">
+        <div>
+          <h1 className="text-3xl font-bold text-gray-800 mb-2">Reports</h1>
+          <p className="text-gray-600">
+            Generate reports in the background and download them as CSV once they are ready.
+          </p>
+        </div>
+        <div className="flex flex-wrap gap-2">
+          {REPORT_TYPES.map(({ type, title }) => (
+            <button
+              key={type}
+              onClick={() => handleGenerate(type)}
+              disabled={submittingType !== null}
+              className="flex items-center space-x-2 px-4 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700 disabled:opacity-50 disabled:cursor-not-allowed transition-colors"
+            >
+              <FaPlus />
+              <span>{submittingType === type ? 'Starting...' : title}</span>
+            </button>
+          ))}
+        </div>
       </div>
 
+      {error && (
+        <div className="bg-red-50 border border-red-200 text-red-700 px-4 py-3 rounded-lg">{error}</div>
+      )}
+
       <div className="bg-white rounded-lg shadow overflow-hidden">
         <table className="min-w-full divide-y divide-gray-200">
           <thead className="bg-gray-50">
@@ -101,13 +134,13 @@ const Reports = () => {
                 Title
               </th>
               <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">
-                Date
+                Requested
               </th>
               <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">
-                Type
+                Status
               </th>
               <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">
-                Size
+                Progress
               </th>
               <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">
                 Actions
@@ -115,42 +148,44 @@ const Reports = () => {
             </tr>
           </thead>
           <tbody className="bg-white divide-y divide-gray-200">
-            {reports.map((report) => {
-              const FileIcon = getFileIcon(report.type)
-              const fileColor = getFileColor(report.type)
-              
-              return (
-                <tr key={report.id} className="hover:bg-gray-50 transition-colors">
-                  <td className="px-6 py-4 whitespace-nowrap">
-                    <div className="flex items-center space-x-3">
-                      <FileIcon className={`text-xl ${fileColor}`} />
-                      <span className="text-sm font-medium text-gray-900">{report.title}</span>
-                    </div>
-                  </td>
-                  <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-500">
-                    {report.date}
-                  </td>
-                  <td className="px-6 py-4 whitespace-nowrap">
-                    <span className="px-2 inline-flex text-xs leading-5 font-semibold rounded-full bg-blue-100 text-blue-800">
-                      {report.type}
-                    </span>
-                  </td>
-                  <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-500">
-                    {report.size}
-                  </td>
-                  <td className="px-6 py-4 whitespace-nowrap text-sm font-medium">
-                    <button
-                      onClick={() => handleDownload(report)}
-                      disabled={downloadingId === report.id}
-                      className="flex items-center space-x-2 text-blue-600 hover:text-blue-900 disabled:opacity-50 disabled:cursor-not-allowed transition-colors"
-                    >
-                      <FaDownload className={downloadingId === report.id ? 'animate-bounce' : ''} />
-                      <span>{downloadingId === report.id ? 'Downloading...' : 'Download'}</span>
-                    </button>
-                  </td>
-                </tr>
-              )
-            })}
+            {jobs.length === 0 && (
+              <tr>
+                <td colSpan={5} className="px-6 py-8 text-center text-sm text-gray-500">
+                  No reports yet. Generate one above.
+                </td>
+              </tr>
+            )}
+            {jobs.map((job) => (
+              <tr key={job.id} className="hover:bg-gray-50 transition-colors">
+                <td className="px-6 py-4 whitespace-nowrap">
+                  <div className="flex items-center space-x-3">
+                    <FaFileCsv className="text-xl text-green-600" />
+                    <span className="text-sm font-medium text-gray-900">{titleOf(job.type)}</span>
+                  </div>
+                </td>
+                <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-500">
+                  {new Date(job.createdAt).toLocaleString()}
+                </td>
+                <td className="px-6 py-4 whitespace-nowrap">
+                  <span className={`px-2 inline-flex text-xs leading-5 font-semibold rounded-full ${getStateColor(job.state)}`}>
+                    {job.state}
+                  </span>
+                </td>
+                <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-500">
+                  {getProgress(job)}
+                </td>
+                <td className="px-6 py-4 whitespace-nowrap text-sm font-medium">
+                  <button
+                    onClick={() => handleDownload(job)}
+                    disabled={job.state !== 'COMPLETED' || downloadingId === job.id}
+                    className="flex items-center space-x-2 text-blue-600 hover:text-blue-900 disabled:opacity-50 disabled:cursor-not-allowed transition-colors"
+                  >
+                    <FaDownload className={downloadingId === job.id ? 'animate-bounce' : ''} />
+                    <span>{downloadingId === job.id ? 'Downloading...' : 'Download'}</span>
+                  </button>
+                </td>
+              </tr>
+            ))}
           </tbody>
         </table>
       </div>
@@ -13,6 +13,7 @@ const { typeDefs } = require('./schema');
 const { resolvers } = require('./resolvers');
 const { authMiddleware, validateJWT } = require('./middleware');
 const logger = require('./utils/logger');
+const traceContext = require('./utils/traceContext');
 
 // Validate required environment variables
 const PORT = process.env.PORT || 4000;
@@ -76,7 +77,7 @@ async function start() {
     origin: corsOrigin === '*' ? '*' : corsOrigin.split(',').map(origin => origin.trim()),
     credentials: true,
     methods: ['GET', 'POST', 'OPTIONS'],
-    allowedHeaders: ['Content-Type', 'Authorization'],
+    allowedHeaders: ['Content-Type', 'Authorization', 'traceparent', 'tracestate'],
   };
   app.use(cors(corsOptions));
 
@@ -144,6 +145,7 @@ async function start() {
         return {
           user,
           token, // Pass token string to resolvers for API calls
+          trace: traceContext.fromRequest(req.headers), // W3C trace context for API calls
         };
       },
     })
@@ -8,7 +8,7 @@ const resolvers = {
      */
     employees: async (parent, args, context) => {
       const { page, size, sort } = args;
-      const { token } = context;
+      const { token, trace } = context;
 
       if (!token) {
         throw new GraphQLError('Authentication required', {
@@ -17,7 +17,7 @@ const resolvers = {
       }
 
       try {
-        const employeeService = new EmployeeService(token);
+        const employeeService = new EmployeeService(token, trace);
         return await employeeService.getEmployees({ page, size, sort });
       } catch (error) {
         // Re-throw GraphQL errors as-is, wrap others
@@ -35,7 +35,7 @@ const resolvers = {
      */
     employee: async (parent, args, context) => {
       const { id } = args;
-      const { token } = context;
+      const { token, trace } = context;
 
       if (!token) {
         throw new GraphQLError('Authentication required', {
@@ -50,7 +50,7 @@ const resolvers = {
       }
 
       try {
-        const employeeService = new EmployeeService(token);
+        const employeeService = new EmployeeService(token, trace);
         return await employeeService.getEmployeeById(id);
       } catch (error) {
         if (error.extensions) {
@@ -69,7 +69,7 @@ const resolvers = {
      */
     addEmployee: async (parent, args, context) => {
       const { input } = args;
-      const { token } = context;
+      const { token, trace } = context;
 
       if (!token) {
         throw new GraphQLError('Authentication required', {
@@ -90,7 +90,7 @@ const resolvers = {
       }
 
       try {
-        const employeeService = new EmployeeService(token);
+        const employeeService = new EmployeeService(token, trace);
         return await employeeService.createEmployee(input);
       } catch (error) {
         if (error.extensions) {
@@ -107,7 +107,7 @@ const resolvers = {
      */
     updateEmployee: async (parent, args, context) => {
       const { id, input } = args;
-      const { token } = context;
+      const { token, trace } = context;
 
       if (!token) {
         throw new GraphQLError('Authentication required', {
@@ -128,7 +128,7 @@ const resolvers = {
       }
 
       try {
-        const employeeService = new EmployeeService(token);
+        const employeeService = new EmployeeService(token, trace);
         return await employeeService.updateEmployee(id, input);
       } catch (error) {
         if (error.extensions) {
@@ -9,13 +9,16 @@ if (!API_BASE_URL) {
 
 /**
  * Creates an Axios instance configured for the Employee API
+ * @param {string} token - JWT of the caller
+ * @param {Object} trace - Trace context from utils/traceContext (adds traceparent/tracestate)
  */
-function createApiClient(token) {
+function createApiClient(token, trace) {
   const client = axios.create({
     baseURL: API_BASE_URL,
     headers: {
       'Content-Type': 'application/json',
       ...(token && { Authorization: `Bearer ${token}` }),
+      ...(trace && trace.headers),
     },
     timeout: API_TIMEOUT,
   });
@@ -27,8 +30,8 @@ function createApiClient(token) {
  * Employee service for interacting with Spring Boot REST API
  */
 class EmployeeService {
-  constructor(token) {
-    this.client = createApiClient(token);
+  constructor(token, trace) {
+    this.client = createApiClient(token, trace);
   }
 
   /**
@@ -151,6 +154,7 @@ class EmployeeService {
       422: 'VALIDATION_ERROR',
       500: 'INTERNAL_SERVER_ERROR',
       503: 'SERVICE_UNAVAILABLE',
+      504: 'GATEWAY_TIMEOUT',
     };
     return statusMap[status] || 'INTERNAL_ERROR';
   }
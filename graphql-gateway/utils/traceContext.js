@@ -0,0 +1,49 @@
+/**
+ * W3C Trace Context propagation (traceparent / tracestate headers).
+ *
+ * Each GraphQL request gets a gateway span id. Calls to the Employee API carry
+ * "00-<traceId>-<gatewaySpanId>-<flags>", so the API's spans join the caller's trace:
+ * - incoming valid traceparent: keep its trace id and sampled flag (tracestate is passed on as is)
+ * - otherwise: start a new trace, sampled with probability TRACE_SAMPLE_RATE (default 0.01)
+ */
+const crypto = require('crypto');
+
+const TRACEPARENT = /^([0-9a-f]{2})-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})(-.*)?$/;
+const SAMPLE_RATE = Math.min(Math.max(parseFloat(process.env.TRACE_SAMPLE_RATE || '0.01') || 0, 0), 1);
+
+function randomHex(bytes) {
+  let hex;
+  do {
+    hex = crypto.randomBytes(bytes).toString('hex');
+  } while (/^0+$/.test(hex));
+  return hex;
+}
+
+function parseTraceparent(header) {
+  const match = typeof header === 'string' ? TRACEPARENT.exec(header.trim()) : null;
+  if (!match) return null;
+  const [, version, traceId, parentId, flags, rest] = match;
+  if (version === 'ff' || (version === '00' && rest) || /^0+$/.test(traceId) || /^0+$/.test(parentId)) {
+    return null;
+  }
+  return { traceId, sampled: (parseInt(flags, 16) & 1) === 1 };
+}
+
+/**
+ * Trace context of an incoming request
+ * @param {Object} headers - Incoming request headers (lower-case names)
+ * @returns {Object} { traceId, spanId, sampled, headers } - headers to send downstream
+ */
+function fromRequest(headers = {}) {
+  const parent = parseTraceparent(headers.traceparent);
+  const traceId = parent ? parent.traceId : randomHex(16);
+  const sampled = parent ? parent.sampled : Math.random() < SAMPLE_RATE;
+  const spanId = randomHex(8);
+  const downstream = { traceparent: `00-${traceId}-${spanId}-${sampled ? '01' : '00'}` };
+  if (parent && headers.tracestate) {
+    downstream.tracestate = headers.tracestate;
+  }
+  return { traceId, spanId, sampled, headers: downstream };
+}
+
+module.exports = { fromRequest, parseTraceparent };